@@ -53,11 +53,24 @@ public final class CharacterCheckerUtil {
      */
     public static boolean checkValidCharOnly(BitSet validChars, String value) {
         
-        for (char c : value.toCharArray()) {
-            if (!validChars.get(c)) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (!validChars.get(value.charAt(i))) {
                 return false;
             }
         }
         return true;
     }
+
+    /**
+     * 文字列が有効な文字集合に全て含まれているかチェックする。
+     * <p/>
+     * 繰り返し使用する文字集合は、{@link BitSet}より{@link CharacterClass}の方が高速にチェックできる。
+     *
+     * @param validChars 有効な文字の集合
+     * @param value チェック対象の文字列
+     * @return チェック対象の文字列が全て文字集合に含まれる場合{@code true}
+     */
+    public static boolean checkValidCharOnly(CharacterClass validChars, String value) {
+        return validChars.containsAll(value);
+    }
 }
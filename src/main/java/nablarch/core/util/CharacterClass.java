@@ -0,0 +1,137 @@
+package nablarch.core.util;
+
+import java.util.BitSet;
+
+import nablarch.core.util.annotation.Published;
+
+/**
+ * 文字種チェックに使用する文字の集合を表すクラス。
+ * <p/>
+ * ASCII文字(0x00～0x7F)の集合を2つのlong値のビットマスクで保持し、
+ * ASCII以外の文字は{@link BitSet}で保持する。
+ * 文字列のチェックは{@link String#charAt(int)}で1文字ずつ参照するため、文字配列のコピーは発生しない。
+ * ASCII文字のみからなる集合の場合は、4文字ずつまとめて判定する。
+ * <p/>
+ * 本クラスは不変であり、複数のスレッドから共有できる。
+ *
+ * @author TIS
+ */
+@Published(tag = "architect")
+public final class CharacterClass {
+
+    /** 0x00～0x3Fの文字のビットマスク */
+    private final long low;
+
+    /** 0x40～0x7Fの文字のビットマスク */
+    private final long high;
+
+    /** ASCII以外の文字の集合。ASCII以外の文字を含まない場合はnull */
+    private final BitSet nonAscii;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param chars 文字の集合
+     */
+    private CharacterClass(BitSet chars) {
+        long lowMask = 0L;
+        long highMask = 0L;
+        for (int c = chars.nextSetBit(0); c >= 0 && c < 0x80; c = chars.nextSetBit(c + 1)) {
+            if (c < 0x40) {
+                lowMask |= 1L << c;
+            } else {
+                highMask |= 1L << c;
+            }
+        }
+        low = lowMask;
+        high = highMask;
+        if (chars.nextSetBit(0x80) >= 0) {
+            BitSet rest = (BitSet) chars.clone();
+            rest.clear(0, 0x80);
+            nonAscii = rest;
+        } else {
+            nonAscii = null;
+        }
+    }
+
+    /**
+     * 指定された文字からなる集合を作成する。
+     *
+     * @param validCharStrings 集合に含める全ての文字
+     * @return 文字の集合
+     */
+    public static CharacterClass of(String... validCharStrings) {
+        return new CharacterClass(CharacterCheckerUtil.createCharSet(validCharStrings));
+    }
+
+    /**
+     * {@link BitSet}で表された文字の集合から作成する。
+     * <p/>
+     * 指定された{@link BitSet}は複製して保持するため、作成後に変更しても本クラスには反映されない。
+     *
+     * @param validChars 文字の集合
+     * @return 文字の集合
+     */
+    public static CharacterClass of(BitSet validChars) {
+        return new CharacterClass(validChars);
+    }
+
+    /**
+     * 文字が集合に含まれるか判定する。
+     *
+     * @param c 判定対象の文字
+     * @return 集合に含まれる場合{@code true}
+     */
+    public boolean contains(char c) {
+        if (c < 0x80) {
+            return (((c < 0x40 ? low : high) >>> c) & 1L) != 0;
+        }
+        return nonAscii != null && nonAscii.get(c);
+    }
+
+    /**
+     * 文字列が全て集合に含まれる文字からなるか判定する。
+     *
+     * @param value 判定対象の文字列
+     * @return 全ての文字が集合に含まれる場合{@code true}
+     */
+    public boolean containsAll(String value) {
+        return indexOfInvalid(value) < 0;
+    }
+
+    /**
+     * 文字列のうち、集合に含まれない最初の文字の位置を返す。
+     *
+     * @param value 判定対象の文字列
+     * @return 集合に含まれない最初の文字の位置。全ての文字が集合に含まれる場合は-1
+     */
+    public int indexOfInvalid(String value) {
+        int length = value.length();
+        int i = 0;
+        if (nonAscii == null) {
+            // ASCII文字のみの集合は、4文字ずつまとめて判定する
+            for (int end = length - 3; i < end; i += 4) {
+                char c0 = value.charAt(i);
+                char c1 = value.charAt(i + 1);
+                char c2 = value.charAt(i + 2);
+                char c3 = value.charAt(i + 3);
+                if ((c0 | c1 | c2 | c3) >= 0x80) {
+                    break;
+                }
+                long matched = ((c0 < 0x40 ? low : high) >>> c0)
+                        & ((c1 < 0x40 ? low : high) >>> c1)
+                        & ((c2 < 0x40 ? low : high) >>> c2)
+                        & ((c3 < 0x40 ? low : high) >>> c3);
+                if ((matched & 1L) == 0) {
+                    break;
+                }
+            }
+        }
+        for (; i < length; i++) {
+            if (!contains(value.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,31 @@
+package nablarch.core.validation;
+
+import java.lang.annotation.Annotation;
+
+import nablarch.core.util.annotation.Published;
+
+/**
+ * アノテーションの属性値を保持する、不変のディスクリプタを生成するインタフェース。
+ * <p/>
+ * {@link Validator}または{@link Convertor}が本インタフェースを実装すると、{@link ValidationManager}は
+ * プロパティの定義ごとに一度だけディスクリプタを生成し、以降のバリデーションではアノテーションの代わりにディスクリプタを渡す。
+ * 実行時のアノテーションは属性値の読み出しごとに{@link java.lang.reflect.InvocationHandler}を経由するため、
+ * 属性値をフィールドに保持するディスクリプタを使用することで、属性値の読み出しを軽量化できる。
+ *
+ * @param <A> 対応するアノテーションの型
+ * @author TIS
+ */
+@Published(tag = "architect")
+public interface AnnotationDescriptorFactory<A extends Annotation> {
+
+    /**
+     * アノテーションのディスクリプタを生成する。
+     * <p/>
+     * ディスクリプタは複数のスレッドから共有されるため、属性値は生成時に確定させ、以降変化しないよう実装すること。
+     * ディスクリプタの各属性値は、元のアノテーションと同じ値を返すこと。
+     *
+     * @param annotation アノテーション
+     * @return アノテーションと同じ属性値を持つディスクリプタ
+     */
+    A createDescriptor(A annotation);
+}
@@ -0,0 +1,78 @@
+package nablarch.core.validation;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * フォームのクラスに設定された項目間のバリデーションを、バリデータとプロパティの定義に解決したもの。
+ *
+ * @author TIS
+ */
+final class CrossFieldRule {
+
+    /** アノテーション */
+    private final Annotation annotation;
+
+    /** バリデータ */
+    private final CrossFieldValidator validator;
+
+    /** バリデーションに使用するプロパティ名 */
+    private final String[] propertyNames;
+
+    /** バリデーションに使用するプロパティの定義 */
+    private final PropertyValidationDefinition[] propertyDefinitions;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param annotation アノテーション
+     * @param validator バリデータ
+     * @param formDef フォームの定義
+     * @throws IllegalArgumentException バリデーションに使用するプロパティがフォームに存在しない場合
+     */
+    CrossFieldRule(Annotation annotation, CrossFieldValidator validator, FormValidationDefinition formDef)
+            throws IllegalArgumentException {
+        this.annotation = annotation;
+        this.validator = validator;
+        propertyNames = validator.getPropertyNames(annotation).clone();
+        propertyDefinitions = new PropertyValidationDefinition[propertyNames.length];
+        for (int i = 0; i < propertyNames.length; i++) {
+            propertyDefinitions[i] = formDef.getPropertyValidationDefinition(propertyNames[i]);
+        }
+    }
+
+    /**
+     * アノテーションを取得する。
+     *
+     * @return アノテーション
+     */
+    Annotation getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * バリデータを取得する。
+     *
+     * @return バリデータ
+     */
+    CrossFieldValidator getValidator() {
+        return validator;
+    }
+
+    /**
+     * バリデーションに使用するプロパティ名を取得する。
+     *
+     * @return バリデーションに使用するプロパティ名
+     */
+    String[] getPropertyNames() {
+        return propertyNames;
+    }
+
+    /**
+     * バリデーションに使用するプロパティの定義を取得する。
+     *
+     * @return バリデーションに使用するプロパティの定義
+     */
+    PropertyValidationDefinition[] getPropertyDefinitions() {
+        return propertyDefinitions;
+    }
+}
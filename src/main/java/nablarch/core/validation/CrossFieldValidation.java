@@ -0,0 +1,23 @@
+package nablarch.core.validation;
+
+import nablarch.core.util.annotation.Published;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * フォームのクラスに設定する、項目間のバリデーション用のアノテーションであることを表わすアノテーション。
+ * <p/>
+ * 本アノテーションが設定されたアノテーションをフォームのクラスに設定すると、
+ * プロパティのバリデーションと変換の後に、対応する{@link CrossFieldValidator}でバリデーションが行われる。
+ *
+ * @author TIS
+ */
+@Target(ElementType.ANNOTATION_TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Published(tag = "architect")
+public @interface CrossFieldValidation {
+
+}
@@ -0,0 +1,47 @@
+package nablarch.core.validation;
+
+import java.lang.annotation.Annotation;
+
+import nablarch.core.util.annotation.Published;
+
+/**
+ * 項目間のバリデーションを行うクラスが実装すべきメソッドを定義したインタフェース。
+ * <p/>
+ * 対応するアノテーションはフォームのクラスに設定する。
+ * {@link ValidationManager}は、{@link #getPropertyNames(Annotation)}が返すプロパティが全てバリデーション済みであり、
+ * かつバリデーションエラーがない場合にのみ、{@link #validate(ValidationContext, Annotation, CrossFieldValues)}を呼び出す。
+ *
+ * @author TIS
+ */
+@Published(tag = "architect")
+public interface CrossFieldValidator {
+
+    /**
+     * 対応するアノテーションのクラスを取得する。
+     *
+     * @return 対応するアノテーションのクラス
+     */
+    Class<? extends Annotation> getAnnotationClass();
+
+    /**
+     * アノテーションに指定された、バリデーションに使用するプロパティ名を取得する。
+     * <p/>
+     * {@link CrossFieldValues}には、本メソッドが返す順にプロパティの値が格納される。
+     *
+     * @param annotation アノテーション
+     * @return バリデーションに使用するプロパティ名の配列
+     */
+    String[] getPropertyNames(Annotation annotation);
+
+    /**
+     * バリデーションを実行する。<br/>
+     * 対応するチェックの結果がNGであった場合、ValidationContextにエラーメッセージを追加し、falseを返す。
+     *
+     * @param <T> バリデーション結果で取得できる型
+     * @param context バリデーションコンテキスト
+     * @param annotation アノテーション
+     * @param values バリデーションに使用するプロパティの変換後の値
+     * @return バリデーションに通った場合true
+     */
+    <T> boolean validate(ValidationContext<T> context, Annotation annotation, CrossFieldValues values);
+}
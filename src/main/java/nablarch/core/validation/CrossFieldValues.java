@@ -0,0 +1,81 @@
+package nablarch.core.validation;
+
+import nablarch.core.util.annotation.Published;
+
+/**
+ * 項目間のバリデーションに使用するプロパティの、変換後の値を保持するクラス。
+ * <p/>
+ * 値は{@link CrossFieldValidator#getPropertyNames(java.lang.annotation.Annotation)}が返すプロパティ名の順に格納される。
+ * プロパティの表示名オブジェクトは、メッセージの追加時に必要となるため、取得時に生成する。
+ *
+ * @author TIS
+ */
+@Published(tag = "architect")
+public final class CrossFieldValues {
+
+    /** ValidationManager */
+    private final ValidationManager manager;
+
+    /** バリデーションコンテキスト */
+    private final ValidationContext<?> context;
+
+    /** 項目間のバリデーションの定義 */
+    private final CrossFieldRule rule;
+
+    /** プロパティの変換後の値 */
+    private final Object[] values;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param manager ValidationManager
+     * @param context バリデーションコンテキスト
+     * @param rule 項目間のバリデーションの定義
+     * @param values プロパティの変換後の値
+     */
+    CrossFieldValues(ValidationManager manager, ValidationContext<?> context, CrossFieldRule rule, Object[] values) {
+        this.manager = manager;
+        this.context = context;
+        this.rule = rule;
+        this.values = values;
+    }
+
+    /**
+     * プロパティの数を取得する。
+     *
+     * @return プロパティの数
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * プロパティ名を取得する。
+     *
+     * @param index インデックス
+     * @return プロパティ名
+     */
+    public String getPropertyName(int index) {
+        return rule.getPropertyNames()[index];
+    }
+
+    /**
+     * プロパティの変換後の値を取得する。
+     *
+     * @param index インデックス
+     * @return プロパティの変換後の値
+     */
+    public Object getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * プロパティの表示名オブジェクトを取得する。
+     *
+     * @param index インデックス
+     * @return プロパティの表示名オブジェクト
+     */
+    public Object getPropertyDisplayName(int index) {
+        return manager.createPropertyDisplayNameObject(context, rule.getPropertyDefinitions()[index]);
+    }
+}
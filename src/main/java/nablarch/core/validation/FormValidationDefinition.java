@@ -1,5 +1,6 @@
 package nablarch.core.validation;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
@@ -33,6 +34,11 @@ public class FormValidationDefinition {
      */
     private final Map<String, PropertyValidationDefinition> propertyDefinitions;
 
+    /**
+     * 項目間のバリデーションのアノテーションのリスト。
+     */
+    private final List<Annotation> crossFieldAnnotations;
+
     /**
      * コンストラクタ。
      * 
@@ -44,6 +50,71 @@ public class FormValidationDefinition {
         propertyDefinitions = getPropertyDefinitions(formClass);
 
         validateForMethods = getValidateForMethods(formClass);
+
+        crossFieldAnnotations = getCrossFieldAnnotations(formClass);
+    }
+
+    /**
+     * クラスから項目間のバリデーションのアノテーションを取得する。
+     * <p/>
+     * スーパークラスに設定されたアノテーションも対象とする。
+     * 項目間のバリデーションのアノテーションの配列をvalue属性に持つアノテーションが設定されている場合は、
+     * value属性に指定されたアノテーションを取得する。
+     *
+     * @param formClass 取得元のクラス
+     * @return 項目間のバリデーションのアノテーションのリスト
+     */
+    private static List<Annotation> getCrossFieldAnnotations(Class<?> formClass) {
+        List<Annotation> annotations = new ArrayList<Annotation>();
+        for (Class<?> clazz = formClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Annotation annotation : clazz.getDeclaredAnnotations()) {
+                if (isCrossFieldAnnotation(annotation.annotationType())) {
+                    annotations.add(annotation);
+                } else {
+                    annotations.addAll(getContainedCrossFieldAnnotations(annotation));
+                }
+            }
+        }
+        return Collections.unmodifiableList(annotations);
+    }
+
+    /**
+     * 項目間のバリデーションのアノテーションであるか否かを判定する。
+     *
+     * @param annotationType アノテーションの型
+     * @return 項目間のバリデーションのアノテーションである場合true
+     */
+    private static boolean isCrossFieldAnnotation(Class<?> annotationType) {
+        return annotationType.getAnnotation(CrossFieldValidation.class) != null;
+    }
+
+    /**
+     * アノテーションのvalue属性に指定された、項目間のバリデーションのアノテーションを取得する。
+     *
+     * @param annotation アノテーション
+     * @return value属性に指定された項目間のバリデーションのアノテーション。該当しない場合は空のリスト
+     */
+    private static List<Annotation> getContainedCrossFieldAnnotations(Annotation annotation) {
+        Method value;
+        try {
+            value = annotation.annotationType().getMethod("value");
+        } catch (NoSuchMethodException e) {
+            return Collections.emptyList();
+        }
+        Class<?> returnType = value.getReturnType();
+        if (!returnType.isArray() || !isCrossFieldAnnotation(returnType.getComponentType())) {
+            return Collections.emptyList();
+        }
+        try {
+            List<Annotation> contained = new ArrayList<Annotation>();
+            for (Object element : (Object[]) value.invoke(annotation)) {
+                contained.add((Annotation) element);
+            }
+            return contained;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("failed to get the value of the annotation. "
+                    + "annotation = " + annotation.annotationType().getName(), e);
+        }
     }
 
     /**
@@ -171,4 +242,14 @@ public class FormValidationDefinition {
     public Map<String, PropertyValidationDefinition> getPropertyValidationDefinitions() {
         return propertyDefinitions;
     }
+
+    /**
+     * フォームのクラスに設定された項目間のバリデーションのアノテーションを全て取得する。<br/>
+     * 取得したリストは変更できない。
+     *
+     * @return 項目間のバリデーションのアノテーションのリスト
+     */
+    public List<Annotation> getCrossFieldAnnotations() {
+        return crossFieldAnnotations;
+    }
 }
@@ -0,0 +1,46 @@
+package nablarch.core.validation;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+import nablarch.core.util.annotation.Published;
+
+/**
+ * プロパティに設定された複数のバリデーションアノテーションに対するバリデーションを、まとめて行うインタフェース。
+ * <p/>
+ * {@link ValidationManager}は、プロパティに設定されたアノテーションの組み合わせと変換後の値に対して
+ * {@link #isApplicable(List, Object)}が{@code true}を返す場合、アノテーションごとの{@link Validator}を
+ * 呼び出す代わりに本インタフェースの{@link #validate(ValidationContext, String, Object, List, Object)}を呼び出す。
+ * <p/>
+ * 実装クラスは、アノテーションごとの{@link Validator}を順に呼び出した場合と同じ結果となるよう、
+ * 最初に失敗したアノテーションのメッセージのみを追加すること。
+ *
+ * @author TIS
+ */
+@Published(tag = "architect")
+public interface FusedValidator {
+
+    /**
+     * 指定されたアノテーションの組み合わせと値に対して、まとめてバリデーションを行えるか否かを判定する。
+     *
+     * @param annotations プロパティに設定されたバリデーションアノテーションのリスト
+     * @param value バリデーション対象の値
+     * @return まとめてバリデーションを行える場合true
+     */
+    boolean isApplicable(List<Annotation> annotations, Object value);
+
+    /**
+     * 指定されたアノテーションのリストに沿ったバリデーションをまとめて行う。<br/>
+     * チェックの結果がNGであった場合、ValidationContextにエラーメッセージを追加し、falseを返す。
+     *
+     * @param <T> バリデーション結果で取得できる型
+     * @param context バリデーションコンテキスト
+     * @param propertyName プロパティ名
+     * @param propertyDisplayName プロパティの表示名オブジェクト
+     * @param annotations プロパティに設定されたバリデーションアノテーションのリスト
+     * @param value バリデーション対象の値
+     * @return バリデーションに通った場合true
+     */
+    <T> boolean validate(ValidationContext<T> context, String propertyName, Object propertyDisplayName,
+            List<Annotation> annotations, Object value);
+}
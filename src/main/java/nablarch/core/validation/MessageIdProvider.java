@@ -0,0 +1,27 @@
+package nablarch.core.validation;
+
+import java.util.List;
+
+import nablarch.core.util.annotation.Published;
+
+/**
+ * コンバータやバリデータに設定されたメッセージIDを提供するインタフェース。
+ * <p/>
+ * {@link ValidationManager}でメッセージの事前取得を有効にした場合、
+ * 本インタフェースを実装したコンバータおよびバリデータから取得したメッセージIDに対応するメッセージを事前に取得する。
+ *
+ * @author TIS
+ */
+@Published(tag = "architect")
+public interface MessageIdProvider {
+
+    /**
+     * 設定されたメッセージIDを取得する。
+     * <p/>
+     * 内部で使用する他のコンバータやバリデータに設定されたメッセージIDも含めること。
+     * 設定されていないメッセージID(nullまたは空文字列)は含まれていてもよい。
+     *
+     * @return メッセージIDのリスト
+     */
+    List<String> getMessageIds();
+}
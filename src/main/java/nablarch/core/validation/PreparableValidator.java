@@ -0,0 +1,30 @@
+package nablarch.core.validation;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+import nablarch.core.util.annotation.Published;
+
+/**
+ * パラメータからアノテーションを生成できる{@link DirectCallableValidator}が実装するインタフェース。
+ * <p/>
+ * 本インタフェースを実装したバリデータは、{@link ValidationManager#prepare(Class, String, Class, Map)}で
+ * アノテーションを一度だけ生成し、生成したアノテーションを繰り返し使用してバリデーションを行うことができる。
+ *
+ * @param <A> 対応するアノテーションの型
+ * @author TIS
+ */
+@Published(tag = "architect")
+public interface PreparableValidator<A extends Annotation> extends DirectCallableValidator {
+
+    /**
+     * 指定されたパラメータを属性値とするアノテーションオブジェクトを作成する。
+     * <p/>
+     * 作成したアノテーションオブジェクトは複数のスレッドから共有されるため、
+     * 属性値は作成時に確定させ、以降変化しないよう実装すること。
+     *
+     * @param params アノテーションの属性値を格納したMap
+     * @return アノテーション
+     */
+    A createAnnotation(Map<String, Object> params);
+}
@@ -0,0 +1,97 @@
+package nablarch.core.validation;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+import nablarch.core.util.annotation.Published;
+
+/**
+ * 対象のプロパティに対するバリデーションを、事前に解決した状態で保持するクラス。
+ * <p/>
+ * {@link ValidationManager#prepare(Class, String, Class, Map)}で生成する。
+ * バリデータ、プロパティの定義、およびパラメータから生成したアノテーションを生成時に解決しておくため、
+ * 同じバリデーションを繰り返し実行する場合に、呼び出しごとの解決処理を省略できる。
+ * <p/>
+ * 本クラスのインスタンスは不変であり、複数のスレッドから共有できる。
+ *
+ * @author TIS
+ * @see ValidationUtil#prepare(Class, String, Class, Map)
+ */
+@Published(tag = "architect")
+public final class PreparedValidation {
+
+    /** 表示名の解決に使用する{@link ValidationManager} */
+    private final ValidationManager manager;
+
+    /** バリデーション対象のフォームのクラス */
+    private final Class<?> targetClass;
+
+    /** バリデーション対象のプロパティの定義 */
+    private final PropertyValidationDefinition propertyDef;
+
+    /** バリデータ */
+    private final DirectCallableValidator validator;
+
+    /**
+     * パラメータから生成したアノテーション。
+     * バリデータが{@link PreparableValidator}を実装していない場合はnull
+     */
+    private final Annotation annotation;
+
+    /** バリデーションアノテーションのパラメータ */
+    private final Map<String, Object> params;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param manager 表示名の解決に使用する{@link ValidationManager}
+     * @param targetClass バリデーション対象のフォームのクラス
+     * @param propertyDef バリデーション対象のプロパティの定義
+     * @param validator バリデータ
+     * @param annotation パラメータから生成したアノテーション(生成できない場合はnull)
+     * @param params バリデーションアノテーションのパラメータ(変更不可であること)
+     */
+    PreparedValidation(ValidationManager manager, Class<?> targetClass, PropertyValidationDefinition propertyDef,
+            DirectCallableValidator validator, Annotation annotation, Map<String, Object> params) {
+        this.manager = manager;
+        this.targetClass = targetClass;
+        this.propertyDef = propertyDef;
+        this.validator = validator;
+        this.annotation = annotation;
+        this.params = params;
+    }
+
+    /**
+     * バリデーションを行う。
+     * <p/>
+     * バリデーション結果は{@link ValidationContext}に保持される。
+     *
+     * @param <T> バリデーション結果で取得できる型
+     * @param context バリデーションコンテキスト
+     * @return バリデーションに通った場合true
+     * @throws IllegalArgumentException バリデーションコンテキストの対象クラスが、生成時に指定したクラスと異なる場合
+     */
+    public <T> boolean validate(ValidationContext<T> context) throws IllegalArgumentException {
+        if (context.getTargetClass() != targetClass) {
+            throw new IllegalArgumentException("target class of the context did not match the prepared class. "
+                    + "prepared class = " + targetClass.getName()
+                    + ", context target class = " + context.getTargetClass().getName());
+        }
+        String propertyName = propertyDef.getName();
+        Object propertyDispName = manager.createPropertyDisplayNameObject(context, propertyDef);
+        Object convertedValue = context.getConvertedValue(propertyName);
+        if (annotation != null) {
+            return validator.validate(context, propertyName, propertyDispName, annotation, convertedValue);
+        }
+        return validator.validate(context, propertyName, propertyDispName, params, convertedValue);
+    }
+
+    /**
+     * バリデーション対象のプロパティ名を取得する。
+     *
+     * @return プロパティ名
+     */
+    public String getPropertyName() {
+        return propertyDef.getName();
+    }
+}
@@ -0,0 +1,92 @@
+package nablarch.core.validation;
+
+import java.util.Locale;
+
+import nablarch.core.log.Logger;
+import nablarch.core.log.LoggerManager;
+import nablarch.core.message.MessageNotFoundException;
+import nablarch.core.message.MessageUtil;
+import nablarch.core.message.StringResource;
+
+/**
+ * メッセージから取得するプロパティの表示名を、エラーメッセージの生成時まで取得しないためのクラス。
+ * <p/>
+ * {@link ValidationManager}がプロパティの定義ごとに生成し、プロパティの表示名オブジェクトとしてバリデータに渡す。
+ * {@link ValidationContext}にエラーメッセージが追加された時点でメッセージを取得し、
+ * メッセージの埋め込み値を取得したメッセージに置き換える。
+ * 取得したメッセージは、メッセージが存在しなかったことも含めて保持し、以降は再取得しない。
+ *
+ * @author TIS
+ */
+final class PropertyDisplayName implements StringResource {
+
+    /** ロガー。 */
+    private static final Logger LOGGER = LoggerManager.get(ValidationManager.class);
+
+    /** プロパティの表示名のメッセージID */
+    private final String messageId;
+
+    /** メッセージが存在しない場合に使用するプロパティ名 */
+    private final String propertyName;
+
+    /** メッセージが存在しない場合に例外とするか否か */
+    private final boolean required;
+
+    /** 取得したメッセージ。メッセージが存在しなかった場合はプロパティ名、取得していない場合はnull */
+    private volatile Object resolved;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param messageId プロパティの表示名のメッセージID
+     * @param propertyName メッセージが存在しない場合に使用するプロパティ名
+     * @param required メッセージが存在しない場合に例外とする場合true
+     */
+    PropertyDisplayName(String messageId, String propertyName, boolean required) {
+        this.messageId = messageId;
+        this.propertyName = propertyName;
+        this.required = required;
+    }
+
+    /**
+     * プロパティの表示名を取得する。
+     * <p/>
+     * 初回のみメッセージを取得する。メッセージが存在しない場合、警告ログを出力してプロパティ名を返す。
+     *
+     * @param context メッセージの取得に使用するValidationContext。nullの場合は{@link MessageUtil}から取得する
+     * @return プロパティの表示名のメッセージ。メッセージが存在しない場合はプロパティ名
+     * @throws MessageNotFoundException メッセージが存在せず、例外とする設定の場合
+     */
+    Object resolve(ValidationContext<?> context) throws MessageNotFoundException {
+        Object value = resolved;
+        if (value == null) {
+            try {
+                value = context != null ? context.getMessage(messageId) : MessageUtil.getStringResource(messageId);
+            } catch (MessageNotFoundException e) {
+                if (required) {
+                    throw e;
+                }
+                LOGGER.logWarn("message was not found."
+                        + " message id = " + messageId
+                        , e);
+                value = propertyName;
+            }
+            resolved = value;
+        }
+        return value;
+    }
+
+    /** {@inheritDoc} */
+    public String getId() {
+        return messageId;
+    }
+
+    /** {@inheritDoc} */
+    public String getValue(Locale locale) {
+        Object value = resolve(null);
+        if (value instanceof StringResource) {
+            return ((StringResource) value).getValue(locale);
+        }
+        return (String) value;
+    }
+}
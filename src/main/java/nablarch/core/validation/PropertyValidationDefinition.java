@@ -48,6 +48,22 @@ public class PropertyValidationDefinition {
      * バリデーションアノテーションのリスト。
      */
     private List<Annotation> validatorAnnotations;
+    /**
+     * 変換フォーマットアノテーションのディスクリプタ。
+     */
+    private volatile Annotation convertorFormatDescriptor;
+    /**
+     * バリデーションアノテーションのディスクリプタのリスト。
+     */
+    private volatile List<Annotation> validatorDescriptors;
+    /**
+     * メッセージから取得するプロパティの表示名。
+     */
+    private volatile PropertyDisplayName displayName;
+    /**
+     * プロパティ名をメッセージIDとして取得するプロパティの表示名。
+     */
+    private volatile PropertyDisplayName displayNameByPropertyName;
 
     /**
      * コンストラクタ。
@@ -151,4 +167,58 @@ public class PropertyValidationDefinition {
     public List<Annotation> getValidatorAnnotations() {
         return validatorAnnotations;
     }
+
+    /**
+     * {@link ValidationManager}が生成した、変換フォーマットアノテーションのディスクリプタを取得する。
+     * @return 変換フォーマットアノテーションのディスクリプタ。生成されていない場合はnull
+     */
+    Annotation getConvertorFormatDescriptor() {
+        return convertorFormatDescriptor;
+    }
+
+    /**
+     * 変換フォーマットアノテーションのディスクリプタを設定する。
+     * @param convertorFormatDescriptor 変換フォーマットアノテーションのディスクリプタ
+     */
+    void setConvertorFormatDescriptor(Annotation convertorFormatDescriptor) {
+        this.convertorFormatDescriptor = convertorFormatDescriptor;
+    }
+
+    /**
+     * {@link ValidationManager}が生成した、バリデーションアノテーションのディスクリプタのリストを取得する。
+     * @return バリデーションアノテーションのディスクリプタのリスト。生成されていない場合はnull
+     */
+    List<Annotation> getValidatorDescriptors() {
+        return validatorDescriptors;
+    }
+
+    /**
+     * バリデーションアノテーションのディスクリプタのリストを設定する。
+     * @param validatorDescriptors バリデーションアノテーションのディスクリプタのリスト
+     */
+    void setValidatorDescriptors(List<Annotation> validatorDescriptors) {
+        this.validatorDescriptors = validatorDescriptors;
+    }
+
+    /**
+     * {@link ValidationManager}が生成した、プロパティの表示名を取得する。
+     * @param byPropertyName プロパティ名をメッセージIDとして取得する表示名の場合true
+     * @return プロパティの表示名。生成されていない場合はnull
+     */
+    PropertyDisplayName getDisplayName(boolean byPropertyName) {
+        return byPropertyName ? displayNameByPropertyName : displayName;
+    }
+
+    /**
+     * プロパティの表示名を設定する。
+     * @param byPropertyName プロパティ名をメッセージIDとして取得する表示名の場合true
+     * @param displayName プロパティの表示名
+     */
+    void setDisplayName(boolean byPropertyName, PropertyDisplayName displayName) {
+        if (byPropertyName) {
+            this.displayNameByPropertyName = displayName;
+        } else {
+            this.displayName = displayName;
+        }
+    }
 }
@@ -72,6 +72,11 @@ public class ValidationContext<T> {
      */
     private Set<String> processedProperties;
 
+    /**
+     * 事前に取得したメッセージのマップ。
+     */
+    private Map<String, StringResource> messageCache;
+
     /**
      * {@code ValidationContext}オブジェクトを生成する。
      *
@@ -104,7 +109,7 @@ public class ValidationContext<T> {
      */
     @Published
     public void addMessage(String messageId, Object... params) {
-        messages.add(MessageUtil.createMessage(MessageLevel.ERROR, messageId, params));
+        messages.add(MessageUtil.createMessage(MessageLevel.ERROR, messageId, resolveDisplayNames(params)));
     }
 
 
@@ -158,13 +163,33 @@ public class ValidationContext<T> {
             throw new IllegalArgumentException("property name was not specified");
         }
         StringResource message = getMessage(messageId);
-        ValidationResultMessage resultMessage = new ValidationResultMessage(prefix + propertyName, message, params);
+        ValidationResultMessage resultMessage = new ValidationResultMessage(prefix + propertyName, message,
+                resolveDisplayNames(params));
         messages.add(resultMessage);
         
         // validでないプロパティの名前を追加する。
         invalidPropertyNames.add(propertyName);
     }
 
+    /**
+     * メッセージの埋め込み値に含まれるプロパティの表示名を、表示名のメッセージに置き換える。
+     *
+     * @param params メッセージの埋め込み値
+     * @return プロパティの表示名を置き換えた埋め込み値
+     */
+    private Object[] resolveDisplayNames(Object[] params) {
+        Object[] resolved = params;
+        for (int i = 0; i < params.length; i++) {
+            if (params[i] instanceof PropertyDisplayName) {
+                if (resolved == params) {
+                    resolved = params.clone();
+                }
+                resolved[i] = ((PropertyDisplayName) params[i]).resolve(this);
+            }
+        }
+        return resolved;
+    }
+
     /**
      * メッセージIDに対応するメッセージを取得する。
      * 
@@ -173,9 +198,26 @@ public class ValidationContext<T> {
      */
     @Published(tag = "architect")
     public StringResource getMessage(String messageId) {
+        if (messageCache != null) {
+            StringResource message = messageCache.get(messageId);
+            if (message != null) {
+                return message;
+            }
+        }
         return MessageUtil.getStringResource(messageId);
     }
 
+    /**
+     * 事前に取得したメッセージのマップを設定する。
+     * <p/>
+     * マップに含まれるメッセージIDは、{@link MessageUtil}を経由せずにマップのメッセージを使用する。
+     *
+     * @param messageCache メッセージIDをキーとするメッセージのマップ
+     */
+    void setMessageCache(Map<String, StringResource> messageCache) {
+        this.messageCache = messageCache;
+    }
+
     /**
      * フォームオブジェクトを生成する。
      * 
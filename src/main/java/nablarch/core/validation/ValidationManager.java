@@ -11,11 +11,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import nablarch.core.cache.StaticDataCache;
 import nablarch.core.log.Logger;
 import nablarch.core.log.LoggerManager;
 import nablarch.core.message.MessageNotFoundException;
+import nablarch.core.message.MessageUtil;
+import nablarch.core.message.StringResource;
 import nablarch.core.message.StringResourceHolder;
 import nablarch.core.repository.IgnoreProperty;
 import nablarch.core.repository.initialization.Initializable;
@@ -61,12 +64,34 @@ public class ValidationManager implements Initializable {
     /** バリデータのマップ。 */
     private Map<Class<? extends Annotation>, Validator> validatorMap;
 
+    /** 項目間のバリデーションを行うバリデータのリスト。 */
+    private List<CrossFieldValidator> crossFieldValidators = Collections.emptyList();
+
+    /** 項目間のバリデーションを行うバリデータのマップ。 */
+    private Map<Class<? extends Annotation>, CrossFieldValidator> crossFieldValidatorMap;
+
+    /**
+     * フォームのクラスをキーとした、解決済みの項目間のバリデーションの定義のリスト。
+     * <p/>
+     * 定義は本クラスのバリデータを保持するため、フォームの定義とは別に本クラスで保持し、初期化時に破棄する。
+     */
+    private Map<Class<?>, List<CrossFieldRule>> crossFieldRules;
+
+    /** 複数のアノテーションをまとめてバリデーションするバリデータのリスト。 */
+    private List<FusedValidator> fusedValidators = Collections.emptyList();
+
     /** フォーム配列サイズ文字列の最大長。 */
     private int formArraySizeValueMaxLength = DEFAULT_SIZE_KEY_MAX_LENGTH;
 
     /** ValidationTargetアノテーションのsizeKeyに不正な長さを指定した際のエラーメッセージID。 */
     private String invalidSizeKeyMessageId;
 
+    /** コンバータとバリデータに設定されたメッセージを事前に取得するか否か。 */
+    private boolean prefetchMessages = false;
+
+    /** 事前に取得したメッセージのマップ。 */
+    private volatile Map<String, StringResource> messageCache;
+
     /**
      * FormValidationDefinitionをキャッシュするStaticDataCacheをセットする。
      *
@@ -117,6 +142,28 @@ public class ValidationManager implements Initializable {
         this.validators = validators;
     }
 
+    /**
+     * 項目間のバリデーションを行うバリデータのリストをセットする。
+     *
+     * @param crossFieldValidators 項目間のバリデーションを行うバリデータのリスト
+     */
+    public void setCrossFieldValidators(List<CrossFieldValidator> crossFieldValidators) {
+        this.crossFieldValidators = crossFieldValidators;
+    }
+
+    /**
+     * 複数のアノテーションをまとめてバリデーションするバリデータのリストをセットする。
+     * <p/>
+     * プロパティのバリデーションでは、リストの先頭から順に{@link FusedValidator#isApplicable(List, Object)}を呼び出し、
+     * 最初に適用可能と判定されたバリデータでまとめてバリデーションを行う。
+     * いずれも適用できない場合は、アノテーションごとのバリデータでバリデーションを行う。
+     *
+     * @param fusedValidators 複数のアノテーションをまとめてバリデーションするバリデータのリスト
+     */
+    public void setFusedValidators(List<FusedValidator> fusedValidators) {
+        this.fusedValidators = fusedValidators;
+    }
+
     /**
      * フォームのプロパティ名をデフォルトのメッセージIDとして使用するかどうかの設定値を設定する。
      *
@@ -147,6 +194,23 @@ public class ValidationManager implements Initializable {
         this.invalidSizeKeyMessageId = invalidSizeKeyLengthMessageId;
     }
 
+    /**
+     * コンバータとバリデータに設定されたメッセージを事前に取得するか否かを設定する。
+     * <p/>
+     * trueを設定した場合、初回のバリデーション時に{@link MessageIdProvider}を実装したコンバータおよびバリデータと、
+     * 本クラスに設定されたメッセージIDに対応するメッセージを取得して保持し、
+     * エラーメッセージの生成時には{@link MessageUtil}を経由せずに保持したメッセージを使用する。
+     * アノテーションに指定されたメッセージIDなど、事前に取得していないメッセージは従来通り{@link MessageUtil}から取得する。
+     * <p/>
+     * 保持したメッセージは以降更新されないため、実行中にメッセージを更新する場合はfalseとすること。
+     * デフォルトはfalse。
+     *
+     * @param prefetchMessages メッセージを事前に取得する場合true
+     */
+    public void setPrefetchMessages(boolean prefetchMessages) {
+        this.prefetchMessages = prefetchMessages;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -186,6 +250,23 @@ public class ValidationManager implements Initializable {
             postMap.put(annotationClass, validator);
         }
         this.validatorMap = Collections.unmodifiableMap(postMap);
+
+        Map<Class<? extends Annotation>, CrossFieldValidator> crossFieldMap = new HashMap<Class<? extends Annotation>, CrossFieldValidator>();
+        for (CrossFieldValidator validator : crossFieldValidators) {
+            Class<? extends Annotation> annotationClass = validator.getAnnotationClass();
+            if (annotationClass == null) {
+                throw new IllegalStateException("CrossFieldValidator's annotation class was not specified. "
+                        + "validator class = " + validator.getClass().getName());
+            }
+            if (annotationClass.getAnnotation(CrossFieldValidation.class) == null) {
+                throw new IllegalStateException("CrossFieldValidator's annotation class was not annotated. "
+                        + "validator class = " + validator.getClass().getName());
+            }
+            crossFieldMap.put(annotationClass, validator);
+        }
+        this.crossFieldValidatorMap = Collections.unmodifiableMap(crossFieldMap);
+        this.crossFieldRules = new ConcurrentHashMap<Class<?>, List<CrossFieldRule>>();
+        this.messageCache = null;
     }
 
     /**
@@ -215,6 +296,9 @@ public class ValidationManager implements Initializable {
 
         FormValidationDefinition formValidationDefinition = formDefinitionCache.getValue(targetClass);
         ValidationContext<T> context = createValidationContext(targetClass, params, innerPrefix, validateFor);
+        if (prefetchMessages) {
+            context.setMessageCache(getMessageCache());
+        }
 
         if (validateFor != null) {
             List<Method> validateForMethods = formValidationDefinition.getValidateForMethods(validateFor);
@@ -230,10 +314,135 @@ public class ValidationManager implements Initializable {
         } else {
             validateAndConvertAllProperty(context, formValidationDefinition);
         }
+        validateCrossFields(context, formValidationDefinition);
 
         return context;
     }
 
+    /**
+     * フォームのクラスに設定された項目間のバリデーションを行う。
+     * <p/>
+     * バリデーションに使用するプロパティのいずれかが、バリデーションされていない場合またはバリデーションエラーとなっている場合、
+     * その項目間のバリデーションは行わない。
+     *
+     * @param <T>     バリデーション結果で取得できる型
+     * @param context ValidationContext
+     * @param formDef FormValidationDefinition
+     */
+    private <T> void validateCrossFields(ValidationContext<T> context, FormValidationDefinition formDef) {
+        for (CrossFieldRule rule : resolveCrossFieldRules(context.getTargetClass(), formDef)) {
+            String[] propertyNames = rule.getPropertyNames();
+            Object[] values = new Object[propertyNames.length];
+            boolean validatable = true;
+            for (int i = 0; i < propertyNames.length; i++) {
+                if (!context.isProcessed(propertyNames[i]) || context.isInvalid(propertyNames[i])) {
+                    validatable = false;
+                    break;
+                }
+                values[i] = context.getConvertedValue(propertyNames[i]);
+            }
+            if (validatable) {
+                rule.getValidator().validate(context, rule.getAnnotation(),
+                        new CrossFieldValues(this, context, rule, values));
+            }
+        }
+    }
+
+    /**
+     * フォームのクラスに設定された項目間のバリデーションの定義を取得する。
+     * <p/>
+     * 初回のみ、アノテーションを本クラスのバリデータとプロパティの定義に解決して保持する。
+     * フォームの定義は複数のインスタンスで共有されることがあるため、解決した定義はフォームの定義ではなく本クラスで保持する。
+     *
+     * @param formClass フォームのクラス
+     * @param formDef FormValidationDefinition
+     * @return 項目間のバリデーションの定義のリスト
+     */
+    private List<CrossFieldRule> resolveCrossFieldRules(Class<?> formClass, FormValidationDefinition formDef) {
+        List<CrossFieldRule> rules = crossFieldRules.get(formClass);
+        if (rules == null) {
+            List<Annotation> annotations = formDef.getCrossFieldAnnotations();
+            rules = new ArrayList<CrossFieldRule>(annotations.size());
+            for (Annotation annotation : annotations) {
+                CrossFieldValidator validator = crossFieldValidatorMap.get(annotation.annotationType());
+                if (validator == null) {
+                    throw new UnsupportedOperationException("Cross field validation annotation was not supported. "
+                            + "Cross field validation annotation = " + annotation.annotationType().getName());
+                }
+                rules.add(new CrossFieldRule(annotation, validator, formDef));
+            }
+            rules = Collections.unmodifiableList(rules);
+            // 同時に解決された場合でも結果は等価なため、後勝ちで問題ない。
+            crossFieldRules.put(formClass, rules);
+        }
+        return rules;
+    }
+
+    /**
+     * 解決済みの項目間のバリデーションの定義のリストを取得する。
+     *
+     * @param formClass フォームのクラス
+     * @return 項目間のバリデーションの定義のリスト。解決されていない場合はnull
+     */
+    List<CrossFieldRule> getCrossFieldRules(Class<?> formClass) {
+        return crossFieldRules.get(formClass);
+    }
+
+    /**
+     * 事前に取得したメッセージのマップを取得する。
+     * <p/>
+     * 初回のみ、{@link MessageIdProvider}を実装したコンバータおよびバリデータと、本クラスに設定されたメッセージIDに
+     * 対応するメッセージを取得する。
+     * メッセージが存在しないメッセージIDはマップに含めない。
+     *
+     * @return メッセージIDをキーとするメッセージのマップ
+     */
+    private Map<String, StringResource> getMessageCache() {
+        Map<String, StringResource> cache = messageCache;
+        if (cache == null) {
+            Set<String> messageIds = new HashSet<String>();
+            if (!StringUtil.isNullOrEmpty(invalidSizeKeyMessageId)) {
+                messageIds.add(invalidSizeKeyMessageId);
+            }
+            collectMessageIds(convertors, messageIds);
+            collectMessageIds(validators, messageIds);
+            collectMessageIds(crossFieldValidators, messageIds);
+            collectMessageIds(fusedValidators, messageIds);
+            cache = new HashMap<String, StringResource>();
+            for (String messageId : messageIds) {
+                try {
+                    cache.put(messageId, MessageUtil.getStringResource(messageId));
+                } catch (MessageNotFoundException e) {
+                    // メッセージが存在しない場合は、エラーメッセージの生成時に従来通り例外とする。
+                    LOGGER.logDebug("message was not found. message id = " + messageId);
+                }
+            }
+            cache = Collections.unmodifiableMap(cache);
+            messageCache = cache;
+        }
+        return cache;
+    }
+
+    /**
+     * コンポーネントに設定されたメッセージIDを取得する。
+     * <p/>
+     * コンポーネントが{@link MessageIdProvider}を実装している場合のみ取得する。
+     *
+     * @param components コンポーネントのリスト
+     * @param messageIds 取得したメッセージIDを格納するセット
+     */
+    private static void collectMessageIds(List<?> components, Set<String> messageIds) {
+        for (Object component : components) {
+            if (component instanceof MessageIdProvider) {
+                for (String messageId : ((MessageIdProvider) component).getMessageIds()) {
+                    if (!StringUtil.isNullOrEmpty(messageId)) {
+                        messageIds.add(messageId);
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * {@link ValidationContext}を生成する。
      *
@@ -376,7 +585,7 @@ public class ValidationManager implements Initializable {
                         + ", propertyName = " + propertyName);
             }
     
-            Annotation format = getFormatAnnotation(convertorFormatAnnotation);
+            Annotation format = getFormatAnnotation(getConvertorFormatDescriptor(propertyDef, convertor));
             if (!convertor.isConvertible(context, propertyName, propertyDisplayName, values, format)) {
                 return;
             }
@@ -385,8 +594,17 @@ public class ValidationManager implements Initializable {
         }
         context.putConvertedValue(propertyName, converted);
 
+        // まとめてバリデーションできる場合は、アノテーションごとのバリデーションを行わない
+        List<Annotation> validatorAnnotations = getValidatorDescriptors(propertyDef);
+        for (FusedValidator fusedValidator : fusedValidators) {
+            if (fusedValidator.isApplicable(validatorAnnotations, converted)) {
+                fusedValidator.validate(context, propertyName, propertyDisplayName, validatorAnnotations, converted);
+                return;
+            }
+        }
+
         // バリデーションを実施
-        for (Annotation annotation : propertyDef.getValidatorAnnotations()) {
+        for (Annotation annotation : validatorAnnotations) {
             Validator validator = validatorMap.get(annotation.annotationType());
             if (validator == null) {
                 throw new UnsupportedOperationException("Validation annotation was not supported. "
@@ -402,6 +620,68 @@ public class ValidationManager implements Initializable {
         }
     }
     
+    /**
+     * プロパティの変換フォーマットアノテーションのディスクリプタを取得する。
+     * <p/>
+     * コンバータが{@link AnnotationDescriptorFactory}を実装している場合は、初回のみディスクリプタを生成して
+     * プロパティの定義に保持する。それ以外の場合は、アノテーションをそのまま返す。
+     *
+     * @param propertyDef PropertyValidationDefinition
+     * @param convertor コンバータ
+     * @return 変換フォーマットアノテーションのディスクリプタ
+     */
+    private Annotation getConvertorFormatDescriptor(PropertyValidationDefinition propertyDef, Convertor convertor) {
+        Annotation annotation = propertyDef.getConvertorFormatAnnotation();
+        if (annotation == null) {
+            return null;
+        }
+        Annotation descriptor = propertyDef.getConvertorFormatDescriptor();
+        if (descriptor == null) {
+            descriptor = createDescriptor(convertor, annotation);
+            propertyDef.setConvertorFormatDescriptor(descriptor);
+        }
+        return descriptor;
+    }
+
+    /**
+     * プロパティのバリデーションアノテーションのディスクリプタのリストを取得する。
+     * <p/>
+     * 初回のみ、{@link AnnotationDescriptorFactory}を実装したバリデータに対応するアノテーションをディスクリプタに置き換えた
+     * リストを生成してプロパティの定義に保持する。
+     *
+     * @param propertyDef PropertyValidationDefinition
+     * @return バリデーションアノテーションのディスクリプタのリスト
+     */
+    private List<Annotation> getValidatorDescriptors(PropertyValidationDefinition propertyDef) {
+        List<Annotation> descriptors = propertyDef.getValidatorDescriptors();
+        if (descriptors == null) {
+            List<Annotation> annotations = propertyDef.getValidatorAnnotations();
+            descriptors = new ArrayList<Annotation>(annotations.size());
+            for (Annotation annotation : annotations) {
+                descriptors.add(createDescriptor(validatorMap.get(annotation.annotationType()), annotation));
+            }
+            descriptors = Collections.unmodifiableList(descriptors);
+            propertyDef.setValidatorDescriptors(descriptors);
+        }
+        return descriptors;
+    }
+
+    /**
+     * アノテーションのディスクリプタを生成する。
+     *
+     * @param factory ディスクリプタを生成するバリデータまたはコンバータ
+     * @param annotation アノテーション
+     * @return factoryが{@link AnnotationDescriptorFactory}を実装している場合は生成したディスクリプタ、
+     *          それ以外の場合はアノテーション
+     */
+    @SuppressWarnings("unchecked")
+    private static Annotation createDescriptor(Object factory, Annotation annotation) {
+        if (factory instanceof AnnotationDescriptorFactory) {
+            return ((AnnotationDescriptorFactory<Annotation>) factory).createDescriptor(annotation);
+        }
+        return annotation;
+    }
+
     /** ドメイン定義によるバリデーションをサポートするヘルパークラス */
     private DomainValidationHelper domainValidationHelper;
 
@@ -438,11 +718,58 @@ public class ValidationManager implements Initializable {
      * @param params       バリデーションアノテーションのパラメータ
      */
     public <T> void validate(ValidationContext<T> context, String propertyName, Class<? extends Annotation> annotation, Map<String, Object> params) {
+        DirectCallableValidator directCallable = getDirectCallableValidator(context.getTargetClass(), propertyName, annotation);
+        FormValidationDefinition formValidationDefinition = formDefinitionCache.getValue(context.getTargetClass());
+        PropertyValidationDefinition propertyDef = formValidationDefinition.getPropertyValidationDefinition(propertyName);
+        Object propertyDispName = createPropertyDisplayNameObject(context, propertyDef);
+        Object convertedValue = context.getConvertedValue(propertyName);
+        if (!directCallable.validate(context, propertyName, propertyDispName, params, convertedValue)) {
+            return;
+        }
+    }
+
+    /**
+     * 対象のプロパティについて、指定したアノテーションクラスに従ったバリデーションを事前に解決する。
+     * <p/>
+     * バリデータ、プロパティの定義を解決し、バリデータが{@link PreparableValidator}を実装している場合は
+     * パラメータからアノテーションを生成した上で、繰り返し使用可能な{@link PreparedValidation}を返す。
+     *
+     * @param targetClass  バリデーション対象のフォームのクラス
+     * @param propertyName バリデーション対象のプロパティ名
+     * @param annotation   バリデーションアノテーションクラス
+     * @param params       バリデーションアノテーションのパラメータ
+     * @return 事前に解決したバリデーション
+     */
+    @Published(tag = "architect")
+    public PreparedValidation prepare(Class<?> targetClass, String propertyName,
+            Class<? extends Annotation> annotation, Map<String, Object> params) {
+        DirectCallableValidator directCallable = getDirectCallableValidator(targetClass, propertyName, annotation);
+        FormValidationDefinition formValidationDefinition = formDefinitionCache.getValue(targetClass);
+        PropertyValidationDefinition propertyDef = formValidationDefinition.getPropertyValidationDefinition(propertyName);
+        Map<String, Object> copiedParams = Collections.unmodifiableMap(new HashMap<String, Object>(params));
+        Annotation preparedAnnotation = directCallable instanceof PreparableValidator
+                ? ((PreparableValidator<?>) directCallable).createAnnotation(copiedParams)
+                : null;
+        return new PreparedValidation(this, targetClass, propertyDef, directCallable, preparedAnnotation, copiedParams);
+    }
+
+    /**
+     * アノテーションクラスに対応する{@link DirectCallableValidator}を取得する。
+     *
+     * @param targetClass  バリデーション対象のフォームのクラス
+     * @param propertyName バリデーション対象のプロパティ名
+     * @param annotation   バリデーションアノテーションクラス
+     * @return アノテーションクラスに対応する{@link DirectCallableValidator}
+     * @throws UnsupportedOperationException 対応するバリデータが存在しない場合や、
+     *                                       バリデータが{@link DirectCallableValidator}を実装していない場合
+     */
+    private DirectCallableValidator getDirectCallableValidator(Class<?> targetClass, String propertyName,
+            Class<? extends Annotation> annotation) throws UnsupportedOperationException {
         Validator validator = validatorMap.get(annotation);
         if (validator == null) {
             throw new UnsupportedOperationException("Validation annotation was not supported. "
                     + "Validation annotation = " + annotation.getClass().getName()
-                    + ", targetClass = " + context.getTargetClass().getName()
+                    + ", targetClass = " + targetClass.getName()
                     + ", propertyName = " + propertyName);
         }
         if (!(validator instanceof DirectCallableValidator)) {
@@ -451,14 +778,7 @@ public class ValidationManager implements Initializable {
               + "if you want to call it in program code. : " + validator.getClass().getName() 
             );
         }
-        DirectCallableValidator directCallable = (DirectCallableValidator) validator;
-        FormValidationDefinition formValidationDefinition = formDefinitionCache.getValue(context.getTargetClass());
-        PropertyValidationDefinition propertyDef = formValidationDefinition.getPropertyValidationDefinition(propertyName);
-        Object propertyDispName = createPropertyDisplayNameObject(context, propertyDef);
-        Object convertedValue = context.getConvertedValue(propertyName);
-        if (!directCallable.validate(context, propertyName, propertyDispName, params, convertedValue)) {
-            return;
-        }
+        return (DirectCallableValidator) validator;
     }
 
     /**
@@ -502,6 +822,9 @@ public class ValidationManager implements Initializable {
 
     /**
      * プロパティの表示名を表すオブジェクトを作成する。
+     * <p/>
+     * メッセージから取得する表示名は、プロパティの定義ごとに保持した{@link StringResource}を返し、
+     * メッセージはエラーメッセージが{@link ValidationContext}に追加された時点で初めて取得する。
      *
      * @param <T>         バリデーション結果で取得できる型
      * @param context     ValidationContext
@@ -513,7 +836,7 @@ public class ValidationManager implements Initializable {
 
         // プロパティ名を使用する設定が有効になっていた場合、プロパティ名をメッセージIDとして使用する。
         if (useFormPropertyNameAsMessageId) {
-            return context.getMessage(propertyDef.getNameWithClass());
+            return getDisplayName(propertyDef, true);
         }
 
         // @PropertyName に value が指定されていた場合、そのままその文字列を使用する。
@@ -523,14 +846,7 @@ public class ValidationManager implements Initializable {
 
         // @PropertyName に messageId が指定されていた場合、対応するメッセージを使用する。
         if (!StringUtil.isNullOrEmpty(propertyDef.getMessageId())) {
-
-            try {
-                return context.getMessage(propertyDef.getMessageId());
-            } catch (MessageNotFoundException e) {
-                LOGGER.logWarn("message was not found."
-                        + " message id = " + propertyDef.getMessageId()
-                        , e);
-            }
+            return getDisplayName(propertyDef, false);
         }
 
         // 上記のいずれにもあてはまらない場合は、プロパティ名をそのまま使用する。
@@ -538,6 +854,28 @@ public class ValidationManager implements Initializable {
 
     }
 
+    /**
+     * メッセージから取得するプロパティの表示名を取得する。
+     * <p/>
+     * 表示名はプロパティの定義ごとに一度だけ生成し、メッセージはエラーメッセージの生成時に取得する。
+     *
+     * @param propertyDef PropertyValidationDefinition
+     * @param byPropertyName プロパティ名をメッセージIDとして使用する場合true
+     * @return プロパティの表示名
+     */
+    private static PropertyDisplayName getDisplayName(PropertyValidationDefinition propertyDef, boolean byPropertyName) {
+        PropertyDisplayName displayName = propertyDef.getDisplayName(byPropertyName);
+        if (displayName == null) {
+            if (byPropertyName) {
+                displayName = new PropertyDisplayName(propertyDef.getNameWithClass(), propertyDef.getName(), true);
+            } else {
+                displayName = new PropertyDisplayName(propertyDef.getMessageId(), propertyDef.getName(), false);
+            }
+            propertyDef.setDisplayName(byPropertyName, displayName);
+        }
+        return displayName;
+    }
+
     /**
      * バリデーション対象のプロパティを指定してバリデーションを行う。
      *
@@ -91,6 +91,41 @@ public final class ValidationUtil {
         getManager().validate(context, propertyName, annotation, Collections.EMPTY_MAP);
     }    
 
+    /**
+     * 対象のプロパティについて、指定したアノテーションクラスに従ったバリデーションを事前に解決する。
+     * <p/>
+     * 返却される{@link PreparedValidation}は複数のスレッドから共有でき、
+     * {@link #validate(ValidationContext, String, Class, Map)}と同じバリデーションを、
+     * 呼び出しごとの解決処理なしに繰り返し実行できる。
+     *
+     * @param targetClass  バリデーション対象のフォームのクラス
+     * @param propertyName バリデーション対象とするプロパティ名
+     * @param annotation   バリデーション用のアノテーションクラス
+     * @param params       バリデーション用のアノテーションパラメータ
+     * @return 事前に解決したバリデーション
+     */
+    @Published(tag = "architect")
+    public static PreparedValidation prepare(Class<?> targetClass, String propertyName,
+            Class<? extends Annotation> annotation, Map<String, Object> params) {
+        return getManager().prepare(targetClass, propertyName, annotation, params);
+    }
+
+    /**
+     * 対象のプロパティについて、指定したアノテーションクラスに従ったバリデーションを事前に解決する。
+     *
+     * @param targetClass  バリデーション対象のフォームのクラス
+     * @param propertyName バリデーション対象とするプロパティ名
+     * @param annotation   バリデーション用のアノテーションクラス
+     * @return 事前に解決したバリデーション
+     * @see #prepare(Class, String, Class, Map)
+     */
+    @Published(tag = "architect")
+    @SuppressWarnings("unchecked")
+    public static PreparedValidation prepare(Class<?> targetClass, String propertyName,
+            Class<? extends Annotation> annotation) {
+        return getManager().prepare(targetClass, propertyName, annotation, Collections.EMPTY_MAP);
+    }
+
     /**
      * バリデーション対象としないプロパティを指定してバリデーションを行う。
      * <p/>
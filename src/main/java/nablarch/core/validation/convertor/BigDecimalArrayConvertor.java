@@ -0,0 +1,23 @@
+package nablarch.core.validation.convertor;
+
+import java.math.BigDecimal;
+
+/**
+ * 値をBigDecimal配列に変換するクラス。
+ * <p/>
+ * 要素ごとの変換可否の判定および変換は、{@link BigDecimalConvertor}の仕様に従う。
+ * 空文字列の要素はnullに変換する。
+ *
+ * @author TIS
+ * @see NumberArrayConvertorSupport
+ * @see BigDecimalConvertor
+ */
+public class BigDecimalArrayConvertor extends NumberArrayConvertorSupport {
+
+    /**
+     * コンストラクタ。
+     */
+    public BigDecimalArrayConvertor() {
+        super(new BigDecimalConvertor(), BigDecimal.class);
+    }
+}
@@ -2,6 +2,7 @@ package nablarch.core.validation.convertor;
 
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.text.DecimalFormatSymbols;
 import java.util.regex.Pattern;
 
@@ -75,6 +76,9 @@ import nablarch.core.util.annotation.Published;
 @Published(tag = "architect")
 public class BigDecimalConvertor extends NumberConvertorSupport {
 
+    /** longの非スケール値として桁あふれせずに保持できる最大の桁数 */
+    private static final int MAX_UNSCALED_LONG_DIGITS = 18;
+
     /**
      * {@inheritDoc}
      */
@@ -87,7 +91,67 @@ public class BigDecimalConvertor extends NumberConvertorSupport {
      */
     @Override
     protected Number convertToPropertyType(String numberString) {
-        return new BigDecimal(numberString);
+        BigDecimal value = valueOfUnscaledLong(numberString);
+        return value != null ? value : new BigDecimal(numberString);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 文字列から変換した場合と同じく、スケールが負の値はスケールを0にした値を返す。
+     */
+    @Override
+    protected Number convertNumberToPropertyType(Number value) {
+        if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            return decimal.scale() < 0 ? decimal.setScale(0) : decimal;
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        return BigDecimal.valueOf(value.longValue());
+    }
+
+    /**
+     * 数字を1回走査して非スケール値とスケールを求め、{@link BigDecimal#valueOf(long, int)}で生成する。
+     * <p/>
+     * 符号、数字、小数点以外の文字を含む場合や、数字の桁数がlongで保持できる桁数を超える場合は、
+     * 文字列からの生成に委ねるためnullを返す。
+     *
+     * @param numberString トリムおよびフォーマットを行った文字列
+     * @return 変換結果。非スケール値として生成できない場合はnull
+     */
+    private static BigDecimal valueOfUnscaledLong(String numberString) {
+        int length = numberString.length();
+        int i = 0;
+        boolean negative = false;
+        if (length != 0 && (numberString.charAt(0) == '-' || numberString.charAt(0) == '+')) {
+            negative = numberString.charAt(0) == '-';
+            i++;
+        }
+        long unscaled = 0;
+        int digitCount = 0;
+        int scale = -1;
+        for (; i < length; i++) {
+            char c = numberString.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digitCount > MAX_UNSCALED_LONG_DIGITS) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return null;
+            }
+        }
+        if (digitCount == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale < 0 ? 0 : scale);
     }
     
     @Override
@@ -1,8 +1,12 @@
 package nablarch.core.validation.convertor;
 
 import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
 
 import nablarch.core.validation.Convertor;
+import nablarch.core.validation.MessageIdProvider;
 import nablarch.core.validation.ValidationContext;
 import nablarch.core.validation.ValidationResultMessageUtil;
 
@@ -11,7 +15,10 @@ import nablarch.core.validation.ValidationResultMessageUtil;
  * 
  * @author TIS
  */
-public class BooleanConvertor implements Convertor {
+public class BooleanConvertor implements Convertor, MessageIdProvider {
+
+    /** 真偽値として変換可能な文字列のパターン */
+    private static final Pattern BOOLEAN_PATTERN = Pattern.compile("[tT][rR][uU][eE]|[fF][aA][lL][sS][eE]");
 
     /**
      * 変換失敗時のデフォルトのエラーメッセージのメッセージID。
@@ -34,6 +41,13 @@ public class BooleanConvertor implements Convertor {
         this.conversionFailedMessageId = conversionFailedMessageId;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public List<String> getMessageIds() {
+        return Arrays.asList(conversionFailedMessageId);
+    }
+
     /**
      * 変換対象の値にnullを許可するか否かを設定する。
      * <p/>
@@ -54,6 +68,9 @@ public class BooleanConvertor implements Convertor {
         if (value == null) {
             return Boolean.FALSE;
             
+        } else if (value instanceof Boolean) {
+            return value;
+
         } else if (value instanceof String[]) {
             value = ((String[]) value)[0];
         }
@@ -80,6 +97,9 @@ public class BooleanConvertor implements Convertor {
         boolean convertible = false;
         if (value == null && allowNullValue) {
             return true;
+        } else if (value instanceof Boolean) {
+            // 真偽値は文字列に変換せずに変換可能とする。
+            return true;
         } else if (value instanceof String) {
             convertible = true;
         } else if (value instanceof String[]) {
@@ -89,7 +109,7 @@ public class BooleanConvertor implements Convertor {
             }
         }
 
-        if (value != null && value.toString().matches("[tT][rR][uU][eE]|[fF][aA][lL][sS][eE]")) {
+        if (value != null && BOOLEAN_PATTERN.matcher(value.toString()).matches()) {
             convertible = true;
         } else {
             convertible = false;
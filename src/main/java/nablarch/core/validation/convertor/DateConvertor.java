@@ -0,0 +1,199 @@
+package nablarch.core.validation.convertor;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import nablarch.core.util.FormatSpec;
+import nablarch.core.util.StringUtil;
+import nablarch.core.util.annotation.Published;
+import nablarch.core.validation.Convertor;
+import nablarch.core.validation.MessageIdProvider;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.ValidationResultMessageUtil;
+
+/**
+ * 値を{@link Date}に変換するクラス。
+ * <p/>
+ * 変換に使用する日付パターンは、次の優先順位で決定する。
+ * <ol>
+ * <li>プロパティに対するフォーマット仕様(例: "date{yyyy/MM/dd}")のパターン</li>
+ * <li>defaultPatternプロパティに設定されたパターン</li>
+ * </ol>
+ * フォーマット仕様のパターンの末尾に言語が指定されている場合(例: "date{yyyy/MM/dd|ja}")は、
+ * その言語を使用して解析する。
+ * <p/>
+ * 解析済みのパターンはパターンと言語の組み合わせごとにキャッシュし、全てのスレッドで共有する。
+ * パターンが固定長の数値項目(yyyy, MM, dd, HH, mm, ss, SSS)と区切り文字のみで構成される場合は、
+ * {@link java.text.SimpleDateFormat}を使用せずに数字を直接解析する。
+ *
+ * <p>
+ * <b>トリム仕様</b>
+ * <p>
+ * 値の前後の空白文字はトリムしてから変換可否の判定および変換を行う。<br/>
+ * 空文字列は変換可能とし、変換結果はnullとなる。
+ * </p>
+ * </p>
+ *
+ * @author TIS
+ * @see ConversionUtil#getFormatSpec(ValidationContext, String)
+ */
+public class DateConvertor implements Convertor, MessageIdProvider {
+
+    /** フォーマット仕様のデータタイプ */
+    private static final String DATA_TYPE = "date";
+
+    /**
+     * 変換失敗時のデフォルトのエラーメッセージのメッセージID。
+     */
+    private String conversionFailedMessageId;
+
+    /**
+     * 変換対象の値にnullを許可するか否か。
+     */
+    private boolean allowNullValue = true;
+
+    /**
+     * フォーマット仕様が指定されなかった場合に使用する日付パターン。
+     */
+    private String defaultPattern;
+
+    /**
+     * 変換失敗時のデフォルトのエラーメッセージのメッセージIDを設定する。<br/>
+     * デフォルトメッセージの例 : "{0}は正しい日付で入力してください。"
+     *
+     * @param conversionFailedMessageId 変換失敗時のデフォルトのエラーメッセージのメッセージID
+     */
+    public void setConversionFailedMessageId(String conversionFailedMessageId) {
+        this.conversionFailedMessageId = conversionFailedMessageId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<String> getMessageIds() {
+        return Arrays.asList(conversionFailedMessageId);
+    }
+
+    /**
+     * 変換対象の値にnullを許可するか否かを設定する。
+     * <p/>
+     * 設定を省略した場合、nullが許可される。
+     *
+     * @param allowNullValue nullを許可するか否か。許可する場合は、true
+     */
+    public void setAllowNullValue(boolean allowNullValue) {
+        this.allowNullValue = allowNullValue;
+    }
+
+    /**
+     * フォーマット仕様が指定されなかった場合に使用する日付パターンを設定する。<br/>
+     * パターンの形式は{@link java.text.SimpleDateFormat}に従う。
+     *
+     * @param defaultPattern 日付パターン(例: "yyyyMMdd")
+     */
+    public void setDefaultPattern(String defaultPattern) {
+        this.defaultPattern = defaultPattern;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Class<?> getTargetClass() {
+        return Date.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T> boolean isConvertible(ValidationContext<T> context,
+            String propertyName, Object propertyDisplayName, Object value,
+            Annotation format) {
+
+        if (value == null && allowNullValue) {
+            return true;
+        }
+        String str = convertToString(value);
+        if (str != null) {
+            if (str.length() == 0) {
+                return true;
+            }
+            if (getDatePattern(context, propertyName).parse(str) != null) {
+                return true;
+            }
+        }
+        ValidationResultMessageUtil.addResultMessage(context, propertyName,
+                conversionFailedMessageId, propertyDisplayName);
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T> Object convert(ValidationContext<T> context, String propertyName, Object value, Annotation format) {
+        String str = convertToString(value);
+        if (StringUtil.isNullOrEmpty(str)) {
+            return null;
+        }
+        return getDatePattern(context, propertyName).parse(str);
+    }
+
+    /**
+     * パラメータのオブジェクトを文字列に変換する。
+     * <p/>
+     * {@link String}または要素数1の{@link String}配列以外のオブジェクトの場合には、nullを返却する。
+     * 値の前後の空白文字はトリムする。
+     *
+     * @param value 変換対象のオブジェクト
+     * @return 変換後の文字列
+     */
+    private String convertToString(Object value) {
+        String str;
+        if (value instanceof String) {
+            str = (String) value;
+        } else if (value instanceof String[] && ((String[]) value).length == 1) {
+            str = ((String[]) value)[0];
+        } else {
+            return null;
+        }
+        return str == null ? null : str.trim();
+    }
+
+    /**
+     * プロパティに対する解析済みの日付パターンを取得する。
+     *
+     * @param <T> バリデーション結果で取得できる型
+     * @param context ValidationContext
+     * @param propertyName プロパティ名
+     * @return 解析済みの日付パターン
+     * @throws IllegalStateException 日付パターンが指定されていない場合
+     */
+    private <T> DatePattern getDatePattern(ValidationContext<T> context, String propertyName)
+            throws IllegalStateException {
+        FormatSpec formatSpec = ConversionUtil.getFormatSpec(context, propertyName);
+        if (formatSpec != null && DATA_TYPE.equals(formatSpec.getDataType())
+                && StringUtil.hasValue(formatSpec.getFormatOfPattern())) {
+            String language = formatSpec.getAdditionalInfoOfPattern();
+            Locale locale = StringUtil.hasValue(language) ? new Locale(language) : getDefaultLocale();
+            return DatePattern.getInstance(formatSpec.getFormatOfPattern(), locale);
+        }
+        if (StringUtil.isNullOrEmpty(defaultPattern)) {
+            throw new IllegalStateException("date pattern was not specified. "
+                    + "set 'defaultPattern' property or specify format spec. property = " + propertyName);
+        }
+        return DatePattern.getInstance(defaultPattern, getDefaultLocale());
+    }
+
+    /**
+     * フォーマット仕様に言語が指定されなかった場合に使用するロケールを返す。<br/>
+     * デフォルト実装では日本語のロケールを返す。
+     *
+     * @return 日本語のロケール
+     */
+    @Published(tag = "architect")
+    protected Locale getDefaultLocale() {
+        return Locale.JAPANESE;
+    }
+}
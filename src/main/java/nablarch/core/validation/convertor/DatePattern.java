@@ -0,0 +1,338 @@
+package nablarch.core.validation.convertor;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 日付パターンを解析済みの状態で保持するクラス。
+ * <p/>
+ * 本クラスのインスタンスは不変であり、パターン、ロケールおよびデフォルトのタイムゾーンの組み合わせごとにキャッシュされ、
+ * 複数のスレッドから共有される。
+ * 解析は、インスタンスを取得した時点のデフォルトのタイムゾーンで行う。
+ * <p/>
+ * パターンが固定長の数値項目(yyyy, MM, dd, HH, mm, ss, SSS)と区切り文字のみで構成される場合、
+ * {@link SimpleDateFormat}を使用せずに数字を直接解析する。
+ * それ以外のパターンの場合や、入力値がパターンの桁数と一致しない場合は、
+ * キャッシュした{@link SimpleDateFormat}の複製を使用して解析する。
+ *
+ * @author TIS
+ */
+final class DatePattern {
+
+    /** パターン、ロケールおよびタイムゾーンをキーに解析済みのパターンを保持するキャッシュ */
+    private static final Map<String, DatePattern> CACHE = new ConcurrentHashMap<String, DatePattern>();
+
+    /** 数値を直接解析する際に、グレゴリオ暦として扱える最小の年 */
+    private static final int MIN_GREGORIAN_YEAR = 1583;
+
+    /** 固定長項目の種類：年 */
+    private static final int YEAR = 0;
+
+    /** 固定長項目の種類：月 */
+    private static final int MONTH = 1;
+
+    /** 固定長項目の種類：日 */
+    private static final int DAY = 2;
+
+    /** 固定長項目の種類：時 */
+    private static final int HOUR = 3;
+
+    /** 固定長項目の種類：分 */
+    private static final int MINUTE = 4;
+
+    /** 固定長項目の種類：秒 */
+    private static final int SECOND = 5;
+
+    /** 固定長項目の種類：ミリ秒 */
+    private static final int MILLISECOND = 6;
+
+    /** 区切り文字を表す項目の種類 */
+    private static final int LITERAL = -1;
+
+    /** 解析に使用する{@link SimpleDateFormat}の雛形 */
+    private final SimpleDateFormat prototype;
+
+    /**
+     * パターンの各文字位置に対応する項目の種類。
+     * 数値を直接解析できないパターンの場合はnull
+     */
+    private final int[] fieldTypes;
+
+    /** パターン文字列 */
+    private final String pattern;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param pattern 日付パターン
+     * @param locale ロケール
+     * @param timeZone 解析に使用するタイムゾーン
+     */
+    private DatePattern(String pattern, Locale locale, TimeZone timeZone) {
+        this.pattern = pattern;
+        prototype = new SimpleDateFormat(pattern, locale);
+        prototype.setTimeZone(timeZone);
+        prototype.setLenient(false);
+        // 和暦等のグレゴリオ暦以外の暦法は、数値を直接解析しない。
+        fieldTypes = prototype.getCalendar() instanceof GregorianCalendar ? compileFixedWidth(pattern) : null;
+    }
+
+    /**
+     * パターンとロケール、および現在のデフォルトのタイムゾーンに対応する{@link DatePattern}を取得する。
+     * <p/>
+     * デフォルトのタイムゾーンが変更された場合は、変更後のタイムゾーンで解析する{@link DatePattern}を返却する。
+     *
+     * @param pattern 日付パターン
+     * @param locale ロケール
+     * @return 解析済みのパターン
+     * @throws IllegalArgumentException パターンが不正な場合
+     */
+    static DatePattern getInstance(String pattern, Locale locale) throws IllegalArgumentException {
+        TimeZone timeZone = TimeZone.getDefault();
+        String key = pattern + '|' + locale + '|' + timeZone.getID();
+        DatePattern datePattern = CACHE.get(key);
+        if (datePattern == null) {
+            // 同時に生成された場合でも結果は等価なため、後勝ちで問題ない。
+            datePattern = new DatePattern(pattern, locale, timeZone);
+            CACHE.put(key, datePattern);
+        }
+        return datePattern;
+    }
+
+    /**
+     * 数値を直接解析できるパターンか否かを判定する。
+     *
+     * @return 数値を直接解析できる場合はtrue
+     */
+    boolean isFixedWidth() {
+        return fieldTypes != null;
+    }
+
+    /**
+     * 文字列を解析し、日付に変換する。
+     *
+     * @param value 解析対象の文字列
+     * @return 日付。解析できない場合はnull
+     */
+    Date parse(String value) {
+        if (fieldTypes == null
+                || value.length() != fieldTypes.length
+                || !isDigitsAndSeparatorsMatched(value)) {
+            return parseByFormat(value);
+        }
+        int[] fields = toFields(value);
+        if (fields[YEAR] < MIN_GREGORIAN_YEAR) {
+            // ユリウス暦の範囲はCalendarの暦法に従わせる。
+            return parseByFormat(value);
+        }
+        if (!isInRange(fields)) {
+            return null;
+        }
+        Date date = toDate(fields);
+        // 夏時間への切り替え等でタイムゾーン上に存在しない日時は、SimpleDateFormatの判定に従わせる。
+        return date != null ? date : parseByFormat(value);
+    }
+
+    /**
+     * パターン文字列を取得する。
+     *
+     * @return パターン文字列
+     */
+    String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * {@link SimpleDateFormat}を使用して解析する。
+     * <p/>
+     * 文字列全体が解析されなかった場合は、解析できなかったものとみなす。
+     *
+     * @param value 解析対象の文字列
+     * @return 日付。解析できない場合はnull
+     */
+    private Date parseByFormat(String value) {
+        SimpleDateFormat format = (SimpleDateFormat) prototype.clone();
+        ParsePosition position = new ParsePosition(0);
+        Date date = format.parse(value, position);
+        if (date == null || position.getIndex() != value.length()) {
+            return null;
+        }
+        return date;
+    }
+
+    /**
+     * 固定長の数値項目として文字列を解析する。
+     *
+     * @param value 解析対象の文字列(数字と区切り文字の並びがパターンと一致すること)
+     * @return 項目の種類ごとの値
+     */
+    private int[] toFields(String value) {
+        int[] fields = {1, 1, 1, 0, 0, 0, 0};
+        int current = LITERAL;
+        for (int i = 0; i < fieldTypes.length; i++) {
+            int type = fieldTypes[i];
+            if (type != LITERAL) {
+                int digit = value.charAt(i) - '0';
+                fields[type] = (type == current ? fields[type] * 10 : 0) + digit;
+            }
+            current = type;
+        }
+        return fields;
+    }
+
+    /**
+     * 文字列の数字と区切り文字の並びがパターンと一致するか否かを判定する。
+     *
+     * @param value 判定対象の文字列(パターンと同じ長さであること)
+     * @return 一致する場合はtrue
+     */
+    private boolean isDigitsAndSeparatorsMatched(String value) {
+        for (int i = 0; i < fieldTypes.length; i++) {
+            char c = value.charAt(i);
+            if (fieldTypes[i] == LITERAL ? c != pattern.charAt(i) : (c < '0' || c > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 各項目の値が有効な範囲内か否かを判定する。
+     *
+     * @param fields 項目の種類ごとの値
+     * @return 有効な範囲内の場合はtrue
+     */
+    private static boolean isInRange(int[] fields) {
+        int year = fields[YEAR];
+        int month = fields[MONTH];
+        return month >= 1 && month <= 12
+            && fields[DAY] >= 1 && fields[DAY] <= getDaysOfMonth(year, month)
+            && fields[HOUR] <= 23
+            && fields[MINUTE] <= 59
+            && fields[SECOND] <= 59;
+    }
+
+    /**
+     * 月の日数を取得する。
+     *
+     * @param year 年(グレゴリオ暦)
+     * @param month 月
+     * @return 月の日数
+     */
+    private static int getDaysOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * 項目の値から日付を生成する。
+     * <p/>
+     * {@link SimpleDateFormat}と同じタイムゾーンで解釈する。
+     * 夏時間への切り替え等により、項目の値に対応する日時がタイムゾーン上に存在しない場合はnullを返却する。
+     *
+     * @param fields 項目の種類ごとの値
+     * @return 日付。日時がタイムゾーン上に存在しない場合はnull
+     */
+    private Date toDate(int[] fields) {
+        Calendar calendar = (Calendar) prototype.getCalendar().clone();
+        calendar.clear();
+        calendar.set(fields[YEAR], fields[MONTH] - 1, fields[DAY], fields[HOUR], fields[MINUTE], fields[SECOND]);
+        calendar.set(Calendar.MILLISECOND, fields[MILLISECOND]);
+        try {
+            return calendar.getTime();
+        } catch (IllegalArgumentException e) {
+            // 厳密な解釈を行うCalendarは、存在しない日時に対して例外を送出する。
+            return null;
+        }
+    }
+
+    /**
+     * パターンを固定長の数値項目と区切り文字に分解する。
+     *
+     * @param pattern 日付パターン
+     * @return パターンの各文字位置に対応する項目の種類。数値を直接解析できないパターンの場合はnull
+     */
+    private static int[] compileFixedWidth(String pattern) {
+        int length = pattern.length();
+        int[] types = new int[length];
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                // 引用符で囲まれたリテラルはサポートしない。
+                return null;
+            }
+            if (!isPatternLetter(c)) {
+                types[i++] = LITERAL;
+                continue;
+            }
+            int end = i;
+            while (end < length && pattern.charAt(end) == c) {
+                end++;
+            }
+            int type = toFieldType(c, end - i);
+            if (type == LITERAL) {
+                return null;
+            }
+            for (; i < end; i++) {
+                types[i] = type;
+            }
+        }
+        return types;
+    }
+
+    /**
+     * パターン文字と連続数から固定長項目の種類を取得する。
+     *
+     * @param letter パターン文字
+     * @param count 連続数
+     * @return 固定長項目の種類。固定長の数値項目として扱えない場合は{@link #LITERAL}
+     */
+    private static int toFieldType(char letter, int count) {
+        switch (letter) {
+            case 'y':
+                return count == 4 ? YEAR : LITERAL;
+            case 'M':
+                return count == 2 ? MONTH : LITERAL;
+            case 'd':
+                return count == 2 ? DAY : LITERAL;
+            case 'H':
+                return count == 2 ? HOUR : LITERAL;
+            case 'm':
+                return count == 2 ? MINUTE : LITERAL;
+            case 's':
+                return count == 2 ? SECOND : LITERAL;
+            case 'S':
+                return count == 3 ? MILLISECOND : LITERAL;
+            default:
+                return LITERAL;
+        }
+    }
+
+    /**
+     * パターン文字か否かを判定する。
+     *
+     * @param c 文字
+     * @return パターン文字の場合はtrue
+     */
+    private static boolean isPatternLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -0,0 +1,73 @@
+package nablarch.core.validation.convertor;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * {@link Digits}の属性値をフィールドに保持するディスクリプタ。
+ *
+ * @author TIS
+ */
+final class DigitsDescriptor implements Digits {
+
+    /** 整数部桁数 */
+    private final int integer;
+
+    /** 小数部桁数 */
+    private final int fraction;
+
+    /** カンマ編集可否 */
+    private final boolean commaSeparated;
+
+    /** 変換失敗時のメッセージID */
+    private final String messageId;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param digits Digitsアノテーション
+     */
+    private DigitsDescriptor(Digits digits) {
+        integer = digits.integer();
+        fraction = digits.fraction();
+        commaSeparated = digits.commaSeparated();
+        messageId = digits.messageId();
+    }
+
+    /**
+     * アノテーションのディスクリプタを生成する。
+     *
+     * @param annotation アノテーション
+     * @return {@link Digits}の場合はディスクリプタ、それ以外の場合は指定されたアノテーション
+     */
+    static Annotation of(Annotation annotation) {
+        if (annotation instanceof Digits && !(annotation instanceof DigitsDescriptor)) {
+            return new DigitsDescriptor((Digits) annotation);
+        }
+        return annotation;
+    }
+
+    /** {@inheritDoc} */
+    public int integer() {
+        return integer;
+    }
+
+    /** {@inheritDoc} */
+    public int fraction() {
+        return fraction;
+    }
+
+    /** {@inheritDoc} */
+    public boolean commaSeparated() {
+        return commaSeparated;
+    }
+
+    /** {@inheritDoc} */
+    public String messageId() {
+        return messageId;
+    }
+
+    /** {@inheritDoc} */
+    public Class<? extends Annotation> annotationType() {
+        return Digits.class;
+    }
+}
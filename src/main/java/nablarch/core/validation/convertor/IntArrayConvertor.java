@@ -0,0 +1,21 @@
+package nablarch.core.validation.convertor;
+
+/**
+ * 値をint配列に変換するクラス。
+ * <p/>
+ * 要素ごとの変換可否の判定および変換は、{@link IntegerConvertor}の仕様に従う。
+ * 空文字列の要素は変換不可とする。
+ *
+ * @author TIS
+ * @see NumberArrayConvertorSupport
+ * @see IntegerConvertor
+ */
+public class IntArrayConvertor extends NumberArrayConvertorSupport {
+
+    /**
+     * コンストラクタ。
+     */
+    public IntArrayConvertor() {
+        super(new IntegerConvertor(), int.class);
+    }
+}
@@ -0,0 +1,21 @@
+package nablarch.core.validation.convertor;
+
+/**
+ * 値をInteger配列に変換するクラス。
+ * <p/>
+ * 要素ごとの変換可否の判定および変換は、{@link IntegerConvertor}の仕様に従う。
+ * 空文字列の要素はnullに変換する。
+ *
+ * @author TIS
+ * @see NumberArrayConvertorSupport
+ * @see IntegerConvertor
+ */
+public class IntegerArrayConvertor extends NumberArrayConvertorSupport {
+
+    /**
+     * コンストラクタ。
+     */
+    public IntegerArrayConvertor() {
+        super(new IntegerConvertor(), Integer.class);
+    }
+}
@@ -88,6 +88,32 @@ public class IntegerConvertor extends NumberConvertorSupport {
         return Integer.valueOf(numberString);
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Number convertNumberToPropertyType(Number value) throws NumberFormatException {
+        if (value instanceof Integer) {
+            return value;
+        }
+        long longValue = toLongExact(value);
+        if (longValue < Integer.MIN_VALUE || Integer.MAX_VALUE < longValue) {
+            throw new NumberFormatException("value is out of range of Integer. value = " + longValue);
+        }
+        return Integer.valueOf((int) longValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * パターンを使用してチェックする場合と同様に、Digitsの内容が対応可能な値であることもチェックする。
+     */
+    @Override
+    protected boolean isDigitsMatched(Number value, Digits digits) {
+        checkDigit(digits);
+        return super.isDigitsMatched(value, digits);
+    }
+
     @Override
     protected Pattern createPattern(Digits digits, DecimalFormatSymbols symbols) {
 
@@ -51,6 +51,17 @@ public class LongConvertor extends IntegerConvertor {
         return Long.valueOf(numberString);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Number convertNumberToPropertyType(Number value) throws NumberFormatException {
+        if (value instanceof Long) {
+            return value;
+        }
+        return Long.valueOf(toLongExact(value));
+    }
+
     @Override
     protected void checkDigit(Digits digit) throws IllegalArgumentException {
         if (digit.fraction() > 0) {
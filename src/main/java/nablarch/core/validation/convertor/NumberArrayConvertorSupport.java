@@ -0,0 +1,207 @@
+package nablarch.core.validation.convertor;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.text.DecimalFormatSymbols;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import nablarch.core.validation.AnnotationDescriptorFactory;
+import nablarch.core.validation.Convertor;
+import nablarch.core.validation.MessageIdProvider;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.ValidationResultMessageUtil;
+
+/**
+ * 数値の配列に変換するコンバータの作成を助けるサポートクラス。
+ * <p/>
+ * 要素ごとの変換可否の判定および変換は、要素の型に対応する{@link NumberConvertorSupport}の仕様に従う。
+ * {@link Digits}アノテーションの指定は全ての要素に適用され、
+ * 判定に使用する正規表現パターンおよび{@link Matcher}は配列全体で1つのものを共有する。
+ * <p/>
+ * 変換可否の判定に失敗した場合は、最初に失敗した要素の位置(1始まり)を
+ * メッセージの4番目のパラメータ({3})として、{@link Digits}に対応するメッセージを通知する。
+ * <p/>
+ * 変換対象の値はString配列であること。nullの場合は変換可能とし、変換結果はnullとなる。
+ * 空文字列の要素は、参照型の配列の場合はnullに変換し、プリミティブ型の配列の場合は変換不可とする。
+ *
+ * <p>
+ * <b>トリム仕様</b>
+ * <p>
+ * 要素の前後の空白文字はトリムしてから変換可否の判定および変換を行う。<br/>
+ * </p>
+ * </p>
+ *
+ * @author TIS
+ * @see Digits
+ * @see NumberConvertorSupport
+ */
+public abstract class NumberArrayConvertorSupport implements Convertor, AnnotationDescriptorFactory<Annotation>,
+        MessageIdProvider {
+
+    /** 要素の変換に使用するコンバータ */
+    private final NumberConvertorSupport elementConvertor;
+
+    /** 配列の要素の型 */
+    private final Class<?> componentType;
+
+    /** 変換対象の配列の型 */
+    private final Class<?> targetClass;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param elementConvertor 要素の変換に使用するコンバータ
+     * @param componentType 配列の要素の型
+     */
+    protected NumberArrayConvertorSupport(NumberConvertorSupport elementConvertor, Class<?> componentType) {
+        this.elementConvertor = elementConvertor;
+        this.componentType = componentType;
+        targetClass = Array.newInstance(componentType, 0).getClass();
+    }
+
+    /**
+     * 小数部を指定しなかった場合の桁数不正時のデフォルトのエラーメッセージのメッセージIDを設定する。<br/>
+     * デフォルトメッセージの例 : "{0}の{3}番目の要素には{1}桁以下の数値を入力してください。"
+     *
+     * @param invalidDigitsMessageId 小数部を指定しなかった場合の桁数不正時のデフォルトのエラーメッセージのメッセージID
+     */
+    public void setInvalidDigitsIntegerMessageId(String invalidDigitsMessageId) {
+        elementConvertor.setInvalidDigitsIntegerMessageId(invalidDigitsMessageId);
+    }
+
+    /**
+     * 小数部を指定した場合の桁数不正時のデフォルトのエラーメッセージのメッセージIDを設定する。<br/>
+     * デフォルトメッセージの例 : "{0}の{3}番目の要素には整数部{1}桁以下、小数部{2}桁以下の数値を入力してください。"
+     *
+     * @param invalidDigitsFractionMessageId 小数部を指定した場合の桁数不正時のデフォルトのエラーメッセージのメッセージID
+     */
+    public void setInvalidDigitsFractionMessageId(String invalidDigitsFractionMessageId) {
+        elementConvertor.setInvalidDigitsFractionMessageId(invalidDigitsFractionMessageId);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 要素の変換に使用するコンバータに設定されたメッセージIDを返却する。
+     */
+    public List<String> getMessageIds() {
+        return elementConvertor.getMessageIds();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> boolean isConvertible(ValidationContext<T> context,
+            String propertyName, Object propertyDisplayName, Object value,
+            Annotation format) {
+        if (value == null) {
+            return true;
+        }
+        String[] values = toStringArray(propertyName, value);
+        Digits digits = toDigits(propertyName, format);
+        DecimalFormatSymbols symbols = elementConvertor.getDecimalFormatSymbols(context, propertyName);
+
+        Matcher matcher = elementConvertor.getPattern(digits, symbols).matcher("");
+        for (int i = 0; i < values.length; i++) {
+            String str = trim(values[i]);
+            boolean valid = NumberConvertorSupport.isPatternMatched(matcher, str)
+                    && !(str.length() == 0 && componentType.isPrimitive());
+            if (!valid) {
+                ValidationResultMessageUtil.addResultMessage(
+                        context, propertyName, elementConvertor.getMessageId(digits),
+                        propertyDisplayName, digits.integer(), digits.fraction(), i + 1);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> Object convert(ValidationContext<T> context, String propertyName, Object value, Annotation format) {
+        if (value == null) {
+            return null;
+        }
+        String[] values = toStringArray(propertyName, value);
+        DecimalFormatSymbols symbols = elementConvertor.getDecimalFormatSymbols(context, propertyName);
+
+        Object result = Array.newInstance(componentType, values.length);
+        try {
+            for (int i = 0; i < values.length; i++) {
+                String str = trim(values[i]);
+                if (str.length() != 0) {
+                    Array.set(result, i, elementConvertor.convertToPropertyType(
+                            elementConvertor.convertToNumber(str, symbols)));
+                }
+            }
+        } catch (NumberFormatException ignore) {
+            // 万が一、Numberへの変換に失敗した場合にも実行時例外が送出されないようにする。
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * 変換対象の値をString配列に変換する。
+     *
+     * @param propertyName プロパティ名
+     * @param value 変換対象の値
+     * @return String配列
+     * @throws IllegalArgumentException 変換対象の値がString配列でない場合
+     */
+    private static String[] toStringArray(String propertyName, Object value) throws IllegalArgumentException {
+        if (!(value instanceof String[])) {
+            throw new IllegalArgumentException("Type of the value must be String[]."
+                    + " property = " + propertyName + ", value type = " + value.getClass().getName());
+        }
+        return (String[]) value;
+    }
+
+    /**
+     * フォーマット指定を{@link Digits}に変換する。
+     *
+     * @param propertyName プロパティ名
+     * @param format フォーマット指定
+     * @return {@link Digits}
+     * @throws IllegalArgumentException フォーマット指定が{@link Digits}でない場合
+     */
+    private static Digits toDigits(String propertyName, Annotation format) throws IllegalArgumentException {
+        if (!(format instanceof Digits)) {
+            throw new IllegalArgumentException(
+                    "Must specify @Digits annotation."
+                            + "property = " + propertyName);
+        }
+        return (Digits) format;
+    }
+
+    /**
+     * 要素をトリムする。nullの要素は空文字列として扱う。
+     *
+     * @param value 要素
+     * @return トリム後の文字列
+     */
+    private String trim(String value) {
+        return value == null ? "" : elementConvertor.trim(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * {@link Digits}の場合は属性値をフィールドに保持するディスクリプタを、それ以外の場合はアノテーションをそのまま返す。
+     */
+    public Annotation createDescriptor(Annotation annotation) {
+        return DigitsDescriptor.of(annotation);
+    }
+}
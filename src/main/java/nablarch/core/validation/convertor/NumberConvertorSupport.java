@@ -2,16 +2,22 @@ package nablarch.core.validation.convertor;
 
 import java.lang.annotation.Annotation;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import nablarch.core.util.FormatSpec;
 import nablarch.core.util.StringUtil;
 import nablarch.core.util.annotation.Published;
+import nablarch.core.validation.AnnotationDescriptorFactory;
 import nablarch.core.validation.Convertor;
+import nablarch.core.validation.MessageIdProvider;
 import nablarch.core.validation.ValidationContext;
 import nablarch.core.validation.ValidationResultMessageUtil;
 
@@ -25,6 +31,8 @@ import nablarch.core.validation.ValidationResultMessageUtil;
  *     <li>入力値がNumber、String、String配列のいずれかのインスタンスであること。</li>
  *     <li>入力値がString配列である場合、要素数が1であること。</li>
  * </ul>
+ * 入力値が{@link BigDecimal}、{@link BigInteger}、{@link Long}、{@link Integer}、{@link Short}、{@link Byte}の場合は、
+ * 文字列に変換せずに桁数のチェックおよび変換を行う。
  *
  * <p>
  * <b>トリム仕様</b>
@@ -39,7 +47,7 @@ import nablarch.core.validation.ValidationResultMessageUtil;
  * @see LongConvertor
  * @see IntegerConvertor
  */
-public abstract class NumberConvertorSupport implements Convertor {
+public abstract class NumberConvertorSupport implements Convertor, AnnotationDescriptorFactory<Annotation>, MessageIdProvider {
 
     /**
      * 小数部を指定しなかった場合の桁数不正時のデフォルトのエラーメッセージのメッセージID。
@@ -62,6 +70,19 @@ public abstract class NumberConvertorSupport implements Convertor {
     /** 数字をあらわす正規表現 */
     private static final Pattern NUMBER = Pattern.compile("[0-9]");
 
+    /** longの最大値の桁数 */
+    private static final int MAX_LONG_DIGITS = 19;
+
+    /** 10のべき乗(10^0～10^18) */
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
     /**
      * 小数部を指定しなかった場合の桁数不正時のデフォルトのエラーメッセージのメッセージIDを設定する。<br/>
      * デフォルトメッセージの例 : "{0}には{1}桁以下の数値を入力してください。"
@@ -93,6 +114,13 @@ public abstract class NumberConvertorSupport implements Convertor {
         this.multiInputMessageId = multiInputMessageId;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public List<String> getMessageIds() {
+        return Arrays.asList(invalidDigitsIntegerMessageId, invalidDigitsFractionMessageId, multiInputMessageId);
+    }
+
     /**
      * 変換対象の値にnullを許可するか否かを設定する。
      *
@@ -140,10 +168,12 @@ public abstract class NumberConvertorSupport implements Convertor {
                             + "property = " + propertyName);
         }
         Digits digits = (Digits) format;
-        DecimalFormatSymbols symbols = getDecimalFormatSymbols(context, propertyName);
 
-        // チェック対象の値がパターンに合致しているか
-        if (!isPatternMatched(digits, symbols, value)) {
+        // 数値型の値は文字列に変換せずに桁数をチェックし、それ以外はパターンに合致しているかをチェックする。
+        boolean valid = isTypedNumber(value)
+                ? isDigitsMatched((Number) value, digits)
+                : isPatternMatched(digits, getDecimalFormatSymbols(context, propertyName), value);
+        if (!valid) {
             ValidationResultMessageUtil.addResultMessage(
                     context, propertyName, getMessageId(digits),
                     propertyDisplayName, digits.integer(),
@@ -153,6 +183,70 @@ public abstract class NumberConvertorSupport implements Convertor {
         return true;
     }
 
+    /**
+     * 文字列に変換せずに桁数をチェックできる数値型の値か否かを判定する。
+     * <p/>
+     * {@link BigDecimal}、{@link BigInteger}、{@link Long}、{@link Integer}、{@link Short}、{@link Byte}の場合にtrueを返す。
+     * それ以外の数値型(浮動小数点数等)は、従来通り文字列に変換してチェックを行う。
+     *
+     * @param value バリデーション対象の値
+     * @return 文字列に変換せずにチェックできる場合はtrue
+     */
+    static boolean isTypedNumber(Object value) {
+        return value instanceof BigDecimal
+                || value instanceof BigInteger
+                || isIntegral(value);
+    }
+
+    /**
+     * longに変換しても値が変わらない整数型の値か否かを判定する。
+     *
+     * @param value 値
+     * @return {@link Long}、{@link Integer}、{@link Short}、{@link Byte}の場合はtrue
+     */
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long
+                || value instanceof Integer
+                || value instanceof Short
+                || value instanceof Byte;
+    }
+
+    /**
+     * 数値型の値が、Digitsアノテーションに指定された桁数に収まるかを、文字列に変換せずにチェックする。
+     * <p/>
+     * 桁数の数え方は、値を{@link BigDecimal#toPlainString()}で文字列に変換した場合と同じである。
+     * (整数部が0の場合も整数部は1桁とし、小数部の桁数はスケールとする。)
+     * <p/>
+     * 整数型の値は、桁数の上限から求めた境界値との大小比較でチェックする。
+     * {@link BigDecimal}および{@link BigInteger}の値は、精度とスケールから桁数を求めてチェックする。
+     *
+     * @param value {@link #isTypedNumber(Object)}がtrueを返す数値型の値
+     * @param digits アノテーション
+     * @return 桁数に収まる場合はtrue
+     */
+    @Published(tag = "architect")
+    protected boolean isDigitsMatched(Number value, Digits digits) {
+        int integer = digits.integer();
+        if (isIntegral(value)) {
+            if (integer <= 0) {
+                return false;
+            }
+            if (integer >= MAX_LONG_DIGITS) {
+                return true;
+            }
+            long bound = POWERS_OF_TEN[integer];
+            long longValue = value.longValue();
+            return -bound < longValue && longValue < bound;
+        }
+        BigDecimal decimal = value instanceof BigDecimal
+                ? (BigDecimal) value
+                : new BigDecimal((BigInteger) value);
+        int scale = decimal.scale();
+        int integerDigits = Math.max(decimal.precision() - scale, 1);
+        int fractionDigits = Math.max(scale, 0);
+        return integerDigits <= integer && fractionDigits <= digits.fraction();
+    }
+
     /**
      * バリデーション対象の値がパターンにマッチするかチェックする。
      *
@@ -162,10 +256,21 @@ public abstract class NumberConvertorSupport implements Convertor {
      * @return パターンに合致する場合 true
      */
     private boolean isPatternMatched(Digits digits, DecimalFormatSymbols symbols, Object value) {
-        Pattern pattern = getPattern(digits, symbols);
-        String str = convertToString(value);
+        return isPatternMatched(getPattern(digits, symbols).matcher(""), convertToString(value));
+    }
 
-        if (!pattern.matcher(str).matches()) {
+    /**
+     * バリデーション対象の文字列がパターンにマッチするかチェックする。
+     * <p/>
+     * 複数の値をチェックする場合に同じ{@link Matcher}を使い回せるよう、
+     * 引数の{@link Matcher}をリセットしてチェックを行う。
+     *
+     * @param matcher パターンの{@link Matcher}
+     * @param str トリム済みのバリデーション対象の文字列
+     * @return パターンに合致する場合 true
+     */
+    static boolean isPatternMatched(Matcher matcher, String str) {
+        if (!matcher.reset(str).matches()) {
             // パターンに合致しない
             return false;
         }
@@ -181,7 +286,7 @@ public abstract class NumberConvertorSupport implements Convertor {
      * @param digits アノテーション
      * @return 設定されたアノテーションにあったエラーメッセージのメッセージID
      */
-    private String getMessageId(Digits digits) {
+    String getMessageId(Digits digits) {
         boolean hasOwnMessageId = digits.messageId().length() != 0;
         if (hasOwnMessageId) {
             return digits.messageId();
@@ -197,6 +302,15 @@ public abstract class NumberConvertorSupport implements Convertor {
     @Override
     public <T> Object convert(ValidationContext<T> context, String propertyName, Object value, Annotation format) {
 
+        if (isTypedNumber(value)) {
+            try {
+                return convertNumberToPropertyType((Number) value);
+            } catch (NumberFormatException ignore) {
+                // 文字列から変換する場合と同様に、プロパティの型で表現できない値はnullとする。
+                return null;
+            }
+        }
+
         String str = convertToString(value);
         if (StringUtil.isNullOrEmpty(str)) {
             return null;
@@ -220,6 +334,45 @@ public abstract class NumberConvertorSupport implements Convertor {
     @Published(tag = "architect")
     protected abstract Number convertToPropertyType(String numberString);
 
+    /**
+     * 数値型の値を、プロパティの型のオブジェクトへ変換する。
+     * <p/>
+     * デフォルト実装では、値を文字列に変換して{@link #convertToPropertyType(String)}に処理を委譲する。
+     * サブクラスでは、文字列を経由せずに変換するようオーバーライドすること。
+     *
+     * @param value {@link #isTypedNumber(Object)}がtrueを返す数値型の値
+     * @return プロパティの型のオブジェクト（数値型）
+     * @throws NumberFormatException プロパティの型で表現できない値の場合
+     */
+    @Published(tag = "architect")
+    protected Number convertNumberToPropertyType(Number value) throws NumberFormatException {
+        return convertToPropertyType(convertToString(value));
+    }
+
+    /**
+     * 数値型の値をlongに変換する。
+     *
+     * @param value {@link #isTypedNumber(Object)}がtrueを返す数値型の値
+     * @return longの値
+     * @throws NumberFormatException 小数部を持つ値や、longで表現できない値の場合
+     */
+    static long toLongExact(Number value) throws NumberFormatException {
+        if (isIntegral(value)) {
+            return value.longValue();
+        }
+        BigDecimal decimal = value instanceof BigDecimal
+                ? (BigDecimal) value
+                : new BigDecimal((BigInteger) value);
+        if (decimal.scale() > 0) {
+            throw new NumberFormatException("value has fraction part. value = " + decimal.toPlainString());
+        }
+        try {
+            return decimal.longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("value is out of range. value = " + decimal.toPlainString());
+        }
+    }
+
     /**
      * パラメータのオブジェクトを文字列に変換する。
      *
@@ -264,7 +417,7 @@ public abstract class NumberConvertorSupport implements Convertor {
      * @param symbols 小数点に使用する文字や1000の区切り文字を提供する{@link java.text.DecimalFormatSymbols}
      * @return パターンを取得する。
      */
-    private Pattern getPattern(Digits digits, DecimalFormatSymbols symbols) {
+    Pattern getPattern(Digits digits, DecimalFormatSymbols symbols) {
 
         String key = digits + symbols.toString();
         if (patterns.containsKey(key)) {
@@ -343,6 +496,15 @@ public abstract class NumberConvertorSupport implements Convertor {
         return ConversionUtil.convertToNumber(number, symbols);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * {@link Digits}の場合は属性値をフィールドに保持するディスクリプタを、それ以外の場合はアノテーションをそのまま返す。
+     */
+    public Annotation createDescriptor(Annotation annotation) {
+        return DigitsDescriptor.of(annotation);
+    }
+
     /**
      * トリムを実行する。
      * @param value トリム対象の文字列
@@ -0,0 +1,21 @@
+package nablarch.core.validation.convertor;
+
+/**
+ * 値をlong配列に変換するクラス。
+ * <p/>
+ * 要素ごとの変換可否の判定および変換は、{@link LongConvertor}の仕様に従う。
+ * 空文字列の要素は変換不可とする。
+ *
+ * @author TIS
+ * @see NumberArrayConvertorSupport
+ * @see LongConvertor
+ */
+public class PrimitiveLongArrayConvertor extends NumberArrayConvertorSupport {
+
+    /**
+     * コンストラクタ。
+     */
+    public PrimitiveLongArrayConvertor() {
+        super(new LongConvertor(), long.class);
+    }
+}
@@ -1,12 +1,14 @@
 package nablarch.core.validation.convertor;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.List;
 
 import nablarch.core.util.Builder;
 import nablarch.core.util.StringUtil;
 import nablarch.core.util.annotation.Published;
 import nablarch.core.validation.Convertor;
+import nablarch.core.validation.MessageIdProvider;
 import nablarch.core.validation.ValidationContext;
 import nablarch.core.validation.ValidationResultMessageUtil;
 
@@ -34,10 +36,25 @@ import nablarch.core.validation.ValidationResultMessageUtil;
  * trimPolicyプロパティにポリシーが設定されなかった場合はトリムを行わない（"noTrim"が設定された場合と同様の動作となる）。
  * </p>
  * </p>
+ *
+ * <p>
+ * <b>正規化仕様</b>
+ * <p>
+ * トリムの後に、normalizePoliciesプロパティに設定されたポリシーにしたがって文字列の正規化を行う。<br/>
+ * 設定された全てのポリシーは文字列の1回の走査で適用され、値が変化しない場合は新たな文字列を生成しない。<br/>
+ * ポリシーとして設定可能な値を以下に示す。<br/>
+ * <ul>
+ * <li><b>"trimFullWidthSpace"</b>: 全角スペース(U+3000)を含めて前後の空白文字をトリムする</li>
+ * <li><b>"toHalfWidthAscii"</b>: 全角英数記号(U+FF01～U+FF5E)と全角スペースを半角に変換する</li>
+ * <li><b>"unifyLineSeparator"</b>: 改行コード(CRLF, CR)をLFに統一する</li>
+ * </ul>
+ * normalizePoliciesプロパティが設定されなかった場合は正規化を行わない。
+ * </p>
+ * </p>
  * 
  * @author Koichi Asano
  */
-public class StringConvertor implements Convertor {
+public class StringConvertor implements Convertor, MessageIdProvider {
 
     /**
      * コンストラクタ。
@@ -52,6 +69,15 @@ public class StringConvertor implements Convertor {
     /** トリムを行わないポリシー */
     private static final String NO_TRIM = "noTrim";
 
+    /** 全角スペースを含めて前後の空白文字をトリムする正規化ポリシー */
+    private static final String TRIM_FULL_WIDTH_SPACE = "trimFullWidthSpace";
+
+    /** 全角英数記号と全角スペースを半角に変換する正規化ポリシー */
+    private static final String TO_HALF_WIDTH_ASCII = "toHalfWidthAscii";
+
+    /** 改行コードをLFに統一する正規化ポリシー */
+    private static final String UNIFY_LINE_SEPARATOR = "unifyLineSeparator";
+
     /**
      * 変換失敗時のデフォルトのエラーメッセージのメッセージID。
      */
@@ -69,6 +95,9 @@ public class StringConvertor implements Convertor {
     
     /** トリムポリシー */
     private String trimPolicy = null;
+
+    /** 正規化を行うクラス。正規化を行わない場合はnull */
+    private StringNormalizer normalizer = null;
     
     /**
      * トリムポリシーを設定する。
@@ -95,6 +124,36 @@ public class StringConvertor implements Convertor {
         this.trimPolicy = trimPolicy;
     }
     
+    /**
+     * 正規化ポリシーのリストを設定する。
+     *
+     * @param normalizePolicies 正規化ポリシーのリスト
+     */
+    public void setNormalizePolicies(List<String> normalizePolicies) {
+
+        boolean trim = false;
+        boolean toHalfWidth = false;
+        boolean unifyLineSeparator = false;
+        for (String policy : normalizePolicies) {
+            if (TRIM_FULL_WIDTH_SPACE.equals(policy)) {
+                trim = true;
+            } else if (TO_HALF_WIDTH_ASCII.equals(policy)) {
+                toHalfWidth = true;
+            } else if (UNIFY_LINE_SEPARATOR.equals(policy)) {
+                unifyLineSeparator = true;
+            } else {
+                throw new IllegalArgumentException(Builder.concat(
+                        "invalid property value was specified."
+                      , " '", policy, "' was not supported normalize policy name."
+                      , " supported normalize policy name=[\""
+                      , TRIM_FULL_WIDTH_SPACE, "\", \"", TO_HALF_WIDTH_ASCII, "\", \"", UNIFY_LINE_SEPARATOR, "\"]."));
+            }
+        }
+        normalizer = (trim || toHalfWidth || unifyLineSeparator)
+                ? new StringNormalizer(trim, toHalfWidth, unifyLineSeparator)
+                : null;
+    }
+
     /**
      * 拡張StringConvertorのリストを設定する。
      *
@@ -116,6 +175,24 @@ public class StringConvertor implements Convertor {
         this.conversionFailedMessageId = conversionFailedMessageId;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 拡張StringConvertorのうち、{@link MessageIdProvider}を実装したものに設定されたメッセージIDも含める。
+     */
+    public List<String> getMessageIds() {
+        List<String> messageIds = new ArrayList<String>();
+        messageIds.add(conversionFailedMessageId);
+        if (extendedStringConvertors != null) {
+            for (ExtendedStringConvertor convertor : extendedStringConvertors) {
+                if (convertor instanceof MessageIdProvider) {
+                    messageIds.addAll(((MessageIdProvider) convertor).getMessageIds());
+                }
+            }
+        }
+        return messageIds;
+    }
+
     /**
      * 変換対象の値にnullを許可するか否かを設定する。
      * <p/>
@@ -139,8 +216,8 @@ public class StringConvertor implements Convertor {
             value = ((String[]) value)[0];
         }
         
-        // トリム
-        String str = applyTrimPolicy((String) value, format);
+        // トリム、正規化
+        String str = normalize(applyTrimPolicy((String) value, format));
         
         // 拡張コンバータ
         Convertor nestedConvertor = format == null ? null : getConvertorRelatedToFormat(format);
@@ -202,8 +279,8 @@ public class StringConvertor implements Convertor {
         if (nestedConvertor == null) {
             return true;
         } else {
-            // トリム
-            value = applyTrimPolicy((String) value, format);
+            // トリム、正規化
+            value = normalize(applyTrimPolicy((String) value, format));
             return nestedConvertor.isConvertible(context, propertyName, propertyDisplayName, value, format);
         }
     }        
@@ -229,6 +306,16 @@ public class StringConvertor implements Convertor {
         }
     }
     
+    /**
+     * normalizePoliciesプロパティに設定されたポリシーにしたがって正規化を実行する。
+     *
+     * @param value 正規化対象の文字列
+     * @return 正規化後の文字列
+     */
+    private String normalize(String value) {
+        return normalizer == null ? value : normalizer.normalize(value);
+    }
+
     /**
      * トリムを実行する。
      * <p/>
@@ -0,0 +1,147 @@
+package nablarch.core.validation.convertor;
+
+/**
+ * 文字列の正規化を行うクラス。
+ * <p/>
+ * 設定された全ての正規化を、文字列の1回の走査で行う。
+ * 正規化によって値が変化しない場合は、新たな文字列を生成せずに元の文字列を返す。
+ * 値が変化する場合は、スレッドごとに再利用するバッファに正規化後の文字を書き込む。
+ * <p/>
+ * 本クラスのインスタンスは不変であり、複数のスレッドから共有できる。
+ *
+ * @author TIS
+ */
+final class StringNormalizer {
+
+    /** スレッドごとに再利用するバッファの最大長 */
+    private static final int MAX_REUSABLE_BUFFER_LENGTH = 4096;
+
+    /** 全角ASCII文字(U+FF01～U+FF5E)の先頭 */
+    private static final char FULL_WIDTH_ASCII_START = '\uFF01';
+
+    /** 全角ASCII文字(U+FF01～U+FF5E)の末尾 */
+    private static final char FULL_WIDTH_ASCII_END = '\uFF5E';
+
+    /** 全角ASCII文字と半角ASCII文字のコードポイントの差 */
+    private static final int FULL_WIDTH_ASCII_OFFSET = 0xFEE0;
+
+    /** 全角スペース */
+    private static final char FULL_WIDTH_SPACE = '\u3000';
+
+    /** スレッドごとに再利用するバッファ */
+    private static final ThreadLocal<char[]> BUFFER = new ThreadLocal<char[]>();
+
+    /** 全角スペースを含めて前後の空白文字をトリムするか否か */
+    private final boolean trim;
+
+    /** 全角ASCII文字と全角スペースを半角に変換するか否か */
+    private final boolean toHalfWidth;
+
+    /** 改行コード(CRLF, CR)をLFに統一するか否か */
+    private final boolean unifyLineSeparator;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param trim 全角スペースを含めて前後の空白文字をトリムするか否か
+     * @param toHalfWidth 全角ASCII文字と全角スペースを半角に変換するか否か
+     * @param unifyLineSeparator 改行コード(CRLF, CR)をLFに統一するか否か
+     */
+    StringNormalizer(boolean trim, boolean toHalfWidth, boolean unifyLineSeparator) {
+        this.trim = trim;
+        this.toHalfWidth = toHalfWidth;
+        this.unifyLineSeparator = unifyLineSeparator;
+    }
+
+    /**
+     * 文字列を正規化する。
+     *
+     * @param value 正規化対象の文字列
+     * @return 正規化後の文字列。値が変化しない場合は引数の文字列そのもの
+     */
+    String normalize(String value) {
+        int start = 0;
+        int end = value.length();
+        if (trim) {
+            while (start < end && isTrimTarget(value.charAt(start))) {
+                start++;
+            }
+            while (end > start && isTrimTarget(value.charAt(end - 1))) {
+                end--;
+            }
+        }
+
+        char[] buffer = null;
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            char normalized = toHalfWidth ? toHalfWidth(c) : c;
+            boolean skip = false;
+            if (unifyLineSeparator && c == '\r') {
+                if (i + 1 < end && value.charAt(i + 1) == '\n') {
+                    skip = true;
+                } else {
+                    normalized = '\n';
+                }
+            }
+            if (buffer == null) {
+                if (normalized == c && !skip) {
+                    continue;
+                }
+                // 初めて値が変化した位置までを、バッファにコピーする。
+                buffer = getBuffer(end - start);
+                length = i - start;
+                value.getChars(start, i, buffer, 0);
+            }
+            if (!skip) {
+                buffer[length++] = normalized;
+            }
+        }
+        return buffer == null ? value.substring(start, end) : new String(buffer, 0, length);
+    }
+
+    /**
+     * トリム対象の文字か否かを判定する。
+     * <p/>
+     * {@link String#trim()}がトリム対象とするU+0020以下の文字と、全角スペースをトリム対象とする。
+     *
+     * @param c 文字
+     * @return トリム対象の文字の場合はtrue
+     */
+    private static boolean isTrimTarget(char c) {
+        return c <= ' ' || c == FULL_WIDTH_SPACE;
+    }
+
+    /**
+     * 全角ASCII文字と全角スペースを半角に変換する。
+     *
+     * @param c 文字
+     * @return 変換後の文字。変換対象でない場合は引数の文字
+     */
+    private static char toHalfWidth(char c) {
+        if (c >= FULL_WIDTH_ASCII_START && c <= FULL_WIDTH_ASCII_END) {
+            return (char) (c - FULL_WIDTH_ASCII_OFFSET);
+        }
+        return c == FULL_WIDTH_SPACE ? ' ' : c;
+    }
+
+    /**
+     * 正規化後の文字を書き込むバッファを取得する。
+     * <p/>
+     * 一定の長さ以下の場合は、スレッドごとに再利用するバッファを返す。
+     *
+     * @param length 必要な長さ
+     * @return バッファ
+     */
+    private static char[] getBuffer(int length) {
+        if (length > MAX_REUSABLE_BUFFER_LENGTH) {
+            return new char[length];
+        }
+        char[] buffer = BUFFER.get();
+        if (buffer == null || buffer.length < length) {
+            buffer = new char[MAX_REUSABLE_BUFFER_LENGTH];
+            BUFFER.set(buffer);
+        }
+        return buffer;
+    }
+}
@@ -1,7 +1,6 @@
 package nablarch.core.validation.validator;
 
-import java.util.BitSet;
-
+import nablarch.core.util.CharacterClass;
 import nablarch.core.util.annotation.Published;
 
 /**
@@ -22,28 +21,25 @@ public final class AsciiCharacterChecker {
     /**
      * Ascii文字の集合。
      */
-    private static final BitSet ASCII_CHAR_SET;
+    private static final CharacterClass ASCII_CHAR_SET;
     /**
      * 半角英字の集合。
      */
-    private static final BitSet ASCII_ALPHA_CHAR_SET;
+    private static final CharacterClass ASCII_ALPHA_CHAR_SET;
     /**
      * 半角数値の集合。
      */
-    private static final BitSet ASCII_NUM_CHAR_SET;
+    private static final CharacterClass ASCII_NUM_CHAR_SET;
     /**
      * 半角英数値の集合。
      */
-    private static final BitSet ASCII_ALNUM_CHAR_SET;
+    private static final CharacterClass ASCII_ALNUM_CHAR_SET;
     static {
 
-        ASCII_ALPHA_CHAR_SET = nablarch.core.util.CharacterCheckerUtil
-                .createCharSet("abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ");
-        ASCII_NUM_CHAR_SET = nablarch.core.util.CharacterCheckerUtil.createCharSet("0123456789");
-        ASCII_ALNUM_CHAR_SET = nablarch.core.util.CharacterCheckerUtil
-                .createCharSet("0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ");
-        ASCII_CHAR_SET = nablarch.core.util.CharacterCheckerUtil
-                .createCharSet(" !\"#$%&'()*+,-./0123456789:;<=>?@ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_`abcdefghijklmnopqrstuvwxyz{|}~");
+        ASCII_ALPHA_CHAR_SET = CharacterClass.of("abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ");
+        ASCII_NUM_CHAR_SET = CharacterClass.of("0123456789");
+        ASCII_ALNUM_CHAR_SET = CharacterClass.of("0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ");
+        ASCII_CHAR_SET = CharacterClass.of(" !\"#$%&'()*+,-./0123456789:;<=>?@ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_`abcdefghijklmnopqrstuvwxyz{|}~");
     }
 
     /**
@@ -0,0 +1,147 @@
+package nablarch.core.validation.validator;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 文字列をエンコードした場合のバイト数を、バイト配列を生成せずに数えるクラス。
+ * <p/>
+ * UTF-8の場合は、コードポイントごとのバイト数を計算して数える。
+ * それ以外の文字セットの場合は、スレッドごとに再利用するエンコーダとバッファを使用して、
+ * バッファに書き出されたバイト数を数える。
+ * いずれの場合も、エンコードできない文字は{@link String#getBytes(Charset)}と同様に置換文字として数える。
+ * <p/>
+ * 本クラスのインスタンスは文字セットごとにキャッシュされ、複数のスレッドから共有される。
+ *
+ * @author TIS
+ */
+abstract class ByteLengthCounter {
+
+    /** 文字セット名をキーにインスタンスを保持するキャッシュ */
+    private static final Map<String, ByteLengthCounter> CACHE = new ConcurrentHashMap<String, ByteLengthCounter>();
+
+    /** UTF-8の文字セット名 */
+    private static final String UTF_8 = "UTF-8";
+
+    /**
+     * 文字セット名に対応するインスタンスを取得する。
+     *
+     * @param charsetName 文字セット名
+     * @return インスタンス
+     * @throws IllegalArgumentException 文字セットがサポートされていない場合
+     */
+    static ByteLengthCounter getInstance(String charsetName) throws IllegalArgumentException {
+        ByteLengthCounter counter = CACHE.get(charsetName);
+        if (counter == null) {
+            Charset charset = Charset.forName(charsetName);
+            counter = UTF_8.equals(charset.name()) ? new Utf8Counter() : new EncoderCounter(charset);
+            CACHE.put(charsetName, counter);
+        }
+        return counter;
+    }
+
+    /**
+     * エンコードした場合のバイト数を数える。
+     *
+     * @param value 文字列
+     * @return バイト数
+     */
+    abstract int count(String value);
+
+    /**
+     * UTF-8でエンコードした場合のバイト数を計算するクラス。
+     */
+    private static final class Utf8Counter extends ByteLengthCounter {
+
+        @Override
+        int count(String value) {
+            int length = value.length();
+            int bytes = 0;
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    bytes++;
+                } else if (c < 0x800) {
+                    bytes += 2;
+                } else if (Character.isHighSurrogate(c)
+                        && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 4;
+                    i++;
+                } else if (Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
+                    // 対になっていないサロゲートは置換文字('?')となる。
+                    bytes++;
+                } else {
+                    bytes += 3;
+                }
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * エンコーダを使用してバイト数を数えるクラス。
+     */
+    private static final class EncoderCounter extends ByteLengthCounter {
+
+        /** 再利用するバッファのサイズ */
+        private static final int BUFFER_SIZE = 1024;
+
+        /** 文字セット */
+        private final Charset charset;
+
+        /** スレッドごとに再利用するエンコーダ */
+        private final ThreadLocal<CharsetEncoder> encoder = new ThreadLocal<CharsetEncoder>() {
+            @Override
+            protected CharsetEncoder initialValue() {
+                return charset.newEncoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            }
+        };
+
+        /** スレッドごとに再利用するバッファ */
+        private final ThreadLocal<ByteBuffer> buffer = new ThreadLocal<ByteBuffer>() {
+            @Override
+            protected ByteBuffer initialValue() {
+                return ByteBuffer.allocate(BUFFER_SIZE);
+            }
+        };
+
+        /**
+         * コンストラクタ。
+         *
+         * @param charset 文字セット
+         */
+        EncoderCounter(Charset charset) {
+            this.charset = charset;
+        }
+
+        @Override
+        int count(String value) {
+            CharsetEncoder enc = encoder.get();
+            ByteBuffer out = buffer.get();
+            CharBuffer in = CharBuffer.wrap(value);
+            enc.reset();
+            out.clear();
+            int bytes = 0;
+            CoderResult result;
+            do {
+                result = enc.encode(in, out, true);
+                bytes += out.position();
+                out.clear();
+            } while (result.isOverflow());
+            do {
+                result = enc.flush(out);
+                bytes += out.position();
+                out.clear();
+            } while (result.isOverflow());
+            return bytes;
+        }
+    }
+}
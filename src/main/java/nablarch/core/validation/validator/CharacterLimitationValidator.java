@@ -1,9 +1,12 @@
 package nablarch.core.validation.validator;
 
 import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
 
 import nablarch.core.util.StringUtil;
 import nablarch.core.util.annotation.Published;
+import nablarch.core.validation.MessageIdProvider;
 import nablarch.core.validation.ValidationContext;
 import nablarch.core.validation.ValidationResultMessageUtil;
 
@@ -17,7 +20,8 @@ import nablarch.core.validation.ValidationResultMessageUtil;
  * @author Koichi Asano
  *
  */
-public abstract class CharacterLimitationValidator<A extends Annotation> extends StringValidatorSupport<A> {
+public abstract class CharacterLimitationValidator<A extends Annotation> extends StringValidatorSupport<A>
+implements MessageIdProvider {
 
     /**
      * コンストラクタ。
@@ -40,6 +44,13 @@ public abstract class CharacterLimitationValidator<A extends Annotation> extends
         this.messageId = messageId;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public List<String> getMessageIds() {
+        return Arrays.asList(messageId);
+    }
+
     @Override 
     public <T> boolean validateSingleValue(ValidationContext<T> context,
             String propertyName, Object propertyDisplayObject,
@@ -0,0 +1,94 @@
+package nablarch.core.validation.validator;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * コンパイル済みの正規表現を保持するクラス。
+ * <p/>
+ * コンパイル結果は正規表現ごとに全体で共有するキャッシュに保持する。
+ * キャッシュに保持する正規表現の数は{@link #MAX_CACHE_SIZE}までとし、超える場合はいずれかの正規表現を破棄する。
+ *
+ * @author TIS
+ */
+final class CompiledPattern {
+
+    /** キャッシュに保持する正規表現の最大数 */
+    static final int MAX_CACHE_SIZE = 512;
+
+    /** 正規表現をキーとするキャッシュ */
+    private static final ConcurrentMap<String, CompiledPattern> CACHE = new ConcurrentHashMap<String, CompiledPattern>();
+
+    /** コンパイルした正規表現 */
+    private final java.util.regex.Pattern pattern;
+
+    /** 線形時間で照合する正規表現。対応しない構文を含む場合はnull */
+    private final LinearPattern linearPattern;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param regexp 正規表現
+     * @throws java.util.regex.PatternSyntaxException 正規表現の構文が不正な場合
+     */
+    private CompiledPattern(String regexp) {
+        pattern = java.util.regex.Pattern.compile(regexp);
+        linearPattern = LinearPattern.compile(regexp);
+    }
+
+    /**
+     * コンパイル済みの正規表現を取得する。
+     * <p/>
+     * キャッシュに存在しない場合はコンパイルしてキャッシュに保持する。
+     *
+     * @param regexp 正規表現
+     * @return コンパイル済みの正規表現
+     * @throws java.util.regex.PatternSyntaxException 正規表現の構文が不正な場合
+     */
+    static CompiledPattern get(String regexp) {
+        CompiledPattern compiled = CACHE.get(regexp);
+        if (compiled == null) {
+            compiled = new CompiledPattern(regexp);
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                Iterator<String> keys = CACHE.keySet().iterator();
+                if (keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
+            CompiledPattern cached = CACHE.putIfAbsent(regexp, compiled);
+            if (cached != null) {
+                compiled = cached;
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * キャッシュに保持している正規表現の数を取得する。
+     *
+     * @return キャッシュに保持している正規表現の数
+     */
+    static int cacheSize() {
+        return CACHE.size();
+    }
+
+    /**
+     * コンパイルした正規表現を取得する。
+     *
+     * @return コンパイルした正規表現
+     */
+    java.util.regex.Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 線形時間で照合する正規表現を取得する。
+     *
+     * @return 線形時間で照合する正規表現。対応しない構文を含む場合はnull
+     */
+    LinearPattern getLinearPattern() {
+        return linearPattern;
+    }
+}
@@ -0,0 +1,54 @@
+package nablarch.core.validation.validator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * 項目間のバリデーションを行うバリデータで使用するユーティリティクラス。
+ *
+ * @author TIS
+ */
+final class CrossFieldValidationUtil {
+
+    /** プライベートコンストラクタ */
+    private CrossFieldValidationUtil() {
+    }
+
+    /**
+     * 値が入力されていないかを判定する。
+     * <p/>
+     * {@link RequiredValidator}と同様に、null、空文字列、空の配列を未入力とする。
+     *
+     * @param value 値
+     * @return 値が入力されていない場合true
+     */
+    static boolean isEmpty(Object value) {
+        if (value instanceof String) {
+            return ((String) value).length() == 0;
+        }
+        if (value instanceof String[]) {
+            return ((String[]) value).length == 0;
+        }
+        return value == null;
+    }
+
+    /**
+     * 数値を{@link BigDecimal}に変換する。
+     *
+     * @param value 数値
+     * @return 変換した値
+     */
+    static BigDecimal toBigDecimal(Number value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        if (value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(value.longValue());
+        }
+        return new BigDecimal(value.toString());
+    }
+}
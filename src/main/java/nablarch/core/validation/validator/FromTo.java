@@ -0,0 +1,63 @@
+package nablarch.core.validation.validator;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import nablarch.core.util.annotation.Published;
+import nablarch.core.validation.CrossFieldValidation;
+
+/**
+ * 開始を表すプロパティの値が、終了を表すプロパティの値以前であることを表わすアノテーション。
+ * <p>
+ *   フォームのクラスに設定する。バリデーションの内容と設定については{@link FromToValidator}を参照。
+ * </p>
+ *
+ * @author TIS
+ */
+@CrossFieldValidation
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Published
+public @interface FromTo {
+
+    /**
+     * 開始を表すプロパティ名。
+     */
+    String from();
+
+    /**
+     * 終了を表すプロパティ名。
+     */
+    String to();
+
+    /**
+     * 開始と終了が同じ値の場合を許容するか否か。
+     * <p>
+     *   デフォルトは{@code true}(許容する)
+     * </p>
+     */
+    boolean allowEqual() default true;
+
+    /**
+     * メッセージID。
+     * <p>
+     *   指定しなかった場合、{@link FromToValidator}で設定されたデフォルトのメッセージIDが使用される。
+     * </p>
+     */
+    String messageId() default "";
+
+    /**
+     * 1つのクラスに複数の{@link FromTo}を設定するためのアノテーション。
+     */
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Published
+    @interface List {
+        /**
+         * {@link FromTo}の配列。
+         */
+        FromTo[] value();
+    }
+}
@@ -0,0 +1,132 @@
+package nablarch.core.validation.validator;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+
+import nablarch.core.validation.CrossFieldValidator;
+import nablarch.core.validation.CrossFieldValues;
+import nablarch.core.validation.MessageIdProvider;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.ValidationResultMessageUtil;
+
+/**
+ * 開始を表すプロパティの値が、終了を表すプロパティの値以前であるかをチェックするクラス。
+ * <p>
+ *   {@link FromTo}アノテーションが設定されたフォームについて、開始と終了を表すプロパティの変換後の値を比較する。
+ *   いずれかの値が入力されていない場合はチェックを行わない。
+ *   値が数値の場合は数値として、それ以外の場合は{@link Comparable}として比較する。
+ *   エラーメッセージは終了を表すプロパティに対して追加され、メッセージには終了を表すプロパティの表示名({0})と
+ *   開始を表すプロパティの表示名({1})が埋め込まれる。
+ *
+ *   <p>
+ *     <b>使用するための設定</b>
+ *   </p>
+ *   本バリデータを使用するためにはデフォルトのメッセージIDを指定する必要がある。
+ *   <pre>
+ *     {@code <component class="nablarch.core.validation.validator.FromToValidator">
+ *         <property name="messageId" value="MSG90001"/>
+ *     </component>}
+ *   </pre>
+ *
+ *   <p>
+ *     <b>フォームの設定</b>
+ *   </p>
+ *   <pre>
+ *     {@code @FromTo(from = "dateFrom", to = "dateTo")
+ *     public class SearchForm {
+ *         ...
+ *     }}
+ *   </pre>
+ * </p>
+ *
+ * @author TIS
+ */
+public class FromToValidator implements CrossFieldValidator, MessageIdProvider {
+
+    /**
+     * デフォルトのエラーメッセージのメッセージID。
+     */
+    private String messageId;
+
+    /**
+     * デフォルトのエラーメッセージのメッセージIDを設定する。<br/>
+     * 例 : "{0}は{1}以降の値を入力してください。"
+     *
+     * @param messageId エラーメッセージのデフォルトのメッセージID
+     */
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<String> getMessageIds() {
+        return Arrays.asList(messageId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Class<? extends Annotation> getAnnotationClass() {
+        return FromTo.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 開始を表すプロパティ名、終了を表すプロパティ名の順に返す。
+     */
+    public String[] getPropertyNames(Annotation annotation) {
+        FromTo fromTo = (FromTo) annotation;
+        return new String[] {fromTo.from(), fromTo.to()};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T> boolean validate(ValidationContext<T> context, Annotation annotation, CrossFieldValues values) {
+        FromTo fromTo = (FromTo) annotation;
+        Object from = values.getValue(0);
+        Object to = values.getValue(1);
+        if (CrossFieldValidationUtil.isEmpty(from) || CrossFieldValidationUtil.isEmpty(to)) {
+            return true;
+        }
+        int result = compare(from, to, values);
+        if (result < 0 || (result == 0 && fromTo.allowEqual())) {
+            return true;
+        }
+        String selectedMessageId = fromTo.messageId().length() > 0 ? fromTo.messageId() : messageId;
+        ValidationResultMessageUtil.addResultMessage(context, values.getPropertyName(1), selectedMessageId,
+                values.getPropertyDisplayName(1), values.getPropertyDisplayName(0));
+        return false;
+    }
+
+    /**
+     * 開始と終了の値を比較する。
+     *
+     * @param from 開始の値
+     * @param to 終了の値
+     * @param values プロパティの値
+     * @return 開始が終了より前の場合は負の値、等しい場合は0、後の場合は正の値
+     * @throws IllegalArgumentException 比較できない型の値の場合
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(Object from, Object to, CrossFieldValues values) throws IllegalArgumentException {
+        if (from instanceof Number && to instanceof Number) {
+            if (from.getClass() != to.getClass() || !(from instanceof Comparable)) {
+                return CrossFieldValidationUtil.toBigDecimal((Number) from)
+                        .compareTo(CrossFieldValidationUtil.toBigDecimal((Number) to));
+            }
+        }
+        if (from instanceof Comparable && from.getClass() == to.getClass()) {
+            return ((Comparable<Object>) from).compareTo(to);
+        }
+        throw new IllegalArgumentException("values of @FromTo could not be compared."
+                + " from property = " + values.getPropertyName(0)
+                + ", from type = " + from.getClass().getName()
+                + ", to property = " + values.getPropertyName(1)
+                + ", to type = " + to.getClass().getName());
+    }
+}
@@ -12,6 +12,10 @@ import nablarch.core.validation.Validation;
  * 指定された範囲内の文字列長であることを表すアノテーション。
  * <br/>
  * 入力値がnull又は空文字の場合は、validと判定する。
+ * <br/>
+ * 文字列長を数える単位は{@link #unit()}で指定する。
+ * {@link LengthUnit#BYTE}を指定した場合は、{@link #charset()}(省略時は{@link LengthValidator}に設定された文字セット)で
+ * エンコードした場合のバイト数を文字列長とする。
  *
  * @author Koichi Asano
  */
@@ -32,4 +36,16 @@ public @interface Length {
      * 指定しなかった場合、デフォルトが使用される。
      */
     String messageId() default "";
+
+    /**
+     * 文字列長を数える単位。<br/>
+     * 指定しなかった場合、UTF-16のコードユニット数で数える。
+     */
+    LengthUnit unit() default LengthUnit.CHAR;
+
+    /**
+     * {@link LengthUnit#BYTE}の場合に使用する文字セット名。<br/>
+     * 指定しなかった場合、{@link LengthValidator}に設定された文字セットが使用される。
+     */
+    String charset() default "";
 }
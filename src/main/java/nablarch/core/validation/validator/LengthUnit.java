@@ -0,0 +1,21 @@
+package nablarch.core.validation.validator;
+
+import nablarch.core.util.annotation.Published;
+
+/**
+ * {@link Length}で文字列長を数える単位を表す列挙型。
+ *
+ * @author TIS
+ */
+@Published
+public enum LengthUnit {
+
+    /** UTF-16のコードユニット数({@link String#length()})で数える。 */
+    CHAR,
+
+    /** コードポイント数で数える。サロゲートペアは1文字として数える。 */
+    CODE_POINT,
+
+    /** 指定された文字セットでエンコードした場合のバイト数で数える。 */
+    BYTE
+}
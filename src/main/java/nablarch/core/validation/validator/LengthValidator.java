@@ -1,19 +1,28 @@
 package nablarch.core.validation.validator;
 
 import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import nablarch.core.validation.AnnotationDescriptorFactory;
+import nablarch.core.validation.MessageIdProvider;
 import nablarch.core.validation.ValidationContext;
 import nablarch.core.validation.ValidationResultMessageUtil;
 
 
 /**
  * 文字列長をチェックするクラス。
+ * <p/>
+ * 文字列長は{@link Length#unit()}に指定された単位で数える。
+ * {@link LengthUnit#BYTE}の場合は、バイト配列を生成せずにエンコード後のバイト数を数える。
  * 
  * @author Koichi Asano
  *
  */
-public class LengthValidator extends StringValidatorSupport<Length> {
+public class LengthValidator extends StringValidatorSupport<Length>
+implements AnnotationDescriptorFactory<Length>, MessageIdProvider {
 
     /**
      * 最大文字列長を越えるエラーが発生した際に、最小文字列が指定されていなかった場合のデフォルトのエラーメッセージのメッセージID。
@@ -30,6 +39,11 @@ public class LengthValidator extends StringValidatorSupport<Length> {
      */
     private String fixLengthMessageId;
 
+    /**
+     * {@link LengthUnit#BYTE}でバイト数を数える際に、アノテーションで文字セットが指定されなかった場合に使用する文字セット名。
+     */
+    private String charset;
+
     /**
      * 最大文字列長を越えるエラーが発生した際に、最小文字列が指定されていなかった場合のデフォルトのエラーメッセージのメッセージIDを設定する。<br/>
      * 例 : "{0}は{2}文字以下で入力してください。"
@@ -57,6 +71,23 @@ public class LengthValidator extends StringValidatorSupport<Length> {
     public void setFixLengthMessageId(String fixLengthMessageId) {
         this.fixLengthMessageId = fixLengthMessageId;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<String> getMessageIds() {
+        return Arrays.asList(maxMessageId, maxAndMinMessageId, fixLengthMessageId);
+    }
+
+    /**
+     * {@link LengthUnit#BYTE}でバイト数を数える際に、アノテーションで文字セットが指定されなかった場合に使用する文字セット名を設定する。<br/>
+     * 例 : "Windows-31J"
+     *
+     * @param charset 文字セット名
+     */
+    public void setCharset(String charset) {
+        this.charset = charset;
+    }
     /**
      * {@inheritDoc}
      */
@@ -73,15 +104,19 @@ public class LengthValidator extends StringValidatorSupport<Length> {
             Object propertyDisplayName, Length length, String value) {
         // 文字列長 0 は @Required で防ぐ前提であるため、無条件で許可する
         // 例えば文字列長が 0 (入力なし) または 8 のみを許可するために使用する
-        if (length.min() > 0 && value.length() != 0) {
-            if (value.length() < length.min()) {
+        if (value.length() == 0) {
+            return true;
+        }
+        int valueLength = getLength(length, value);
+        if (length.min() > 0) {
+            if (valueLength < length.min()) {
                 addMessage(context, propertyName, propertyDisplayName, length);
                 return false;
             }
         }
 
         if (length.max() > 0) {
-            if (value.length() > length.max()) {
+            if (valueLength > length.max()) {
                 addMessage(context, propertyName, propertyDisplayName, length);
                 return false;
             }
@@ -89,6 +124,31 @@ public class LengthValidator extends StringValidatorSupport<Length> {
         return true;
     }
 
+    /**
+     * アノテーションに指定された単位で文字列長を数える。
+     *
+     * @param length Lengthアノテーション
+     * @param value 文字列
+     * @return 文字列長
+     * @throws IllegalArgumentException バイト数を数える文字セットが指定されていない場合
+     */
+    private int getLength(Length length, String value) throws IllegalArgumentException {
+        switch (length.unit()) {
+            case CODE_POINT:
+                return value.codePointCount(0, value.length());
+            case BYTE:
+                String charsetName = length.charset().length() != 0 ? length.charset() : charset;
+                if (charsetName == null || charsetName.length() == 0) {
+                    throw new IllegalArgumentException(
+                            "charset must be specified to count the byte length of @Length. "
+                            + "specify the charset attribute of @Length or the charset property of LengthValidator.");
+                }
+                return ByteLengthCounter.getInstance(charsetName).count(value);
+            default:
+                return value.length();
+        }
+    }
+
     /**
      * 最大文字列長以上のエラーメッセージを設定する。
      * 
@@ -115,20 +175,46 @@ public class LengthValidator extends StringValidatorSupport<Length> {
         ValidationResultMessageUtil.addResultMessage(context, propertyName, messageId, propertyDisplayName, length.min(), length.max());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * アノテーションの属性値をパラメータとして{@link #createAnnotation(Map)}を呼び出し、ディスクリプタを生成する。
+     */
+    public Length createDescriptor(Length length) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("min", length.min());
+        params.put("max", length.max());
+        params.put("messageId", length.messageId());
+        params.put("unit", length.unit());
+        params.put("charset", length.charset());
+        return createAnnotation(params);
+    }
+
     @Override
     public Length createAnnotation(final Map<String, Object> params) {
+        // 属性値の読み出しごとにMapを参照しないよう、生成時に属性値を取り出しておく。
+        Integer minParam = (Integer) params.get("min");
+        final int min = (minParam == null || minParam < 0) ? 0
+                                                         : minParam;
+        final Integer max = (Integer) params.get("max");
+        String messageIdParam = (String) params.get("messageId");
+        final String messageId = (messageIdParam == null) ? ""
+                                                          : messageIdParam;
+        LengthUnit unitParam = (LengthUnit) params.get("unit");
+        final LengthUnit unit = (unitParam == null) ? LengthUnit.CHAR
+                                                    : unitParam;
+        String charsetParam = (String) params.get("charset");
+        final String charset = (charsetParam == null) ? ""
+                                                      : charsetParam;
         return  new Length() {
             public Class<? extends Annotation> annotationType() {
                 return Length.class;
             }
             public int min() {
-                Integer min = (Integer) params.get("min");
-                return (min == null || min < 0) ? 0
-                                                : min;
+                return min;
             }
 
             public int max() {
-                Integer max = (Integer) params.get("max");
                 if (max == null) {
                     throw new IllegalArgumentException(
                     "max must be assigned to execute the validation of @Length."
@@ -138,9 +224,15 @@ public class LengthValidator extends StringValidatorSupport<Length> {
             }
 
             public String messageId() {
-                String messageId = (String) params.get("messageId");
-                return (messageId == null) ? ""
-                                           : messageId;
+                return messageId;
+            }
+
+            public LengthUnit unit() {
+                return unit;
+            }
+
+            public String charset() {
+                return charset;
             }
         };
     }
@@ -0,0 +1,554 @@
+package nablarch.core.validation.validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 単純な正規表現を、バックトラックを行わずに入力長に比例する時間で照合するクラス。
+ * <p/>
+ * 対応する構文は次のとおり。これ以外の構文を含む正規表現は{@link #compile(String)}がnullを返す。
+ * <ul>
+ *   <li>文字(メタ文字以外の文字、メタ文字のエスケープ、\t \n \r \f、\\uhhhh、\\xhh)</li>
+ *   <li>任意の文字(.)。{@link java.util.regex.Pattern}と同様に行末文字には一致しない</li>
+ *   <li>文字クラス([abc]、[^a-z0-9_]、クラス内の\d \w \s)</li>
+ *   <li>定義済みの文字クラス(\d \D \w \W \s \S)</li>
+ *   <li>量指定子(? * + {n} {n,} {n,m})と、その最短一致指定(??、*?など)</li>
+ *   <li>正規表現の先頭の^、末尾の$</li>
+ * </ul>
+ * グループ、選択(|)、後方参照、先読みなどは対応しない。
+ * 照合は入力文字列全体に対して行い、{@link java.util.regex.Matcher#matches()}と同じ結果となる。
+ * <p/>
+ * 量指定子を展開した状態数に比例する作業領域を使用するため、状態数が{@link #MAX_STATES}を超える正規表現は対応しない。
+ *
+ * @author TIS
+ */
+final class LinearPattern {
+
+    /** 対応する最大の状態数 */
+    static final int MAX_STATES = 1024;
+
+    /** 必ず1回一致する要素 */
+    private static final byte ONE = 0;
+
+    /** 0回または1回一致する要素 */
+    private static final byte OPTIONAL = 1;
+
+    /** 0回以上一致する要素 */
+    private static final byte REPEAT = 2;
+
+    /** \d の範囲 */
+    private static final int[] DIGIT = {'0', '9'};
+
+    /** \w の範囲 */
+    private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+
+    /** \s の範囲 */
+    private static final int[] SPACE = {'\t', '\r', ' ', ' '};
+
+    /** . が一致しない行末文字の範囲 */
+    private static final int[] LINE_TERMINATOR = {'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029};
+
+    /** 要素ごとの、一致する文字の範囲(開始と終了のコードポイントの組を昇順に並べたもの) */
+    private final int[][] ranges;
+
+    /** 要素ごとの、範囲を反転するか否か */
+    private final boolean[] negated;
+
+    /** 要素ごとの、一致する回数の種類 */
+    private final byte[] kinds;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param elements 要素のリスト
+     */
+    private LinearPattern(List<Element> elements) {
+        int size = elements.size();
+        ranges = new int[size][];
+        negated = new boolean[size];
+        kinds = new byte[size];
+        for (int i = 0; i < size; i++) {
+            Element element = elements.get(i);
+            ranges[i] = element.ranges;
+            negated[i] = element.negated;
+            kinds[i] = element.kind;
+        }
+    }
+
+    /**
+     * 正規表現をコンパイルする。
+     *
+     * @param regexp 正規表現
+     * @return コンパイルした正規表現。対応しない構文を含む場合はnull
+     */
+    static LinearPattern compile(String regexp) {
+        List<Element> elements = new ArrayList<Element>();
+        Parser parser = new Parser(regexp);
+        if (parser.hasNext() && parser.peek() == '^') {
+            parser.next();
+        }
+        while (parser.hasNext()) {
+            int c = parser.peek();
+            if (c == '$' && parser.pos == regexp.length() - 1) {
+                break;
+            }
+            Element atom = parser.parseAtom();
+            if (atom == null) {
+                return null;
+            }
+            int min = 1;
+            int max = 1;
+            if (parser.hasNext()) {
+                c = parser.peek();
+                if (c == '?') {
+                    min = 0;
+                } else if (c == '*') {
+                    min = 0;
+                    max = -1;
+                } else if (c == '+') {
+                    max = -1;
+                } else if (c == '{') {
+                    int[] bounds = parser.parseBounds();
+                    if (bounds == null) {
+                        return null;
+                    }
+                    min = bounds[0];
+                    max = bounds[1];
+                }
+                if (c == '?' || c == '*' || c == '+') {
+                    parser.next();
+                }
+                if (c == '?' || c == '*' || c == '+' || c == '{') {
+                    // 最短一致は全体の照合結果に影響しない。強欲な量指定子は対応しない
+                    if (parser.hasNext() && parser.peek() == '?') {
+                        parser.next();
+                    } else if (parser.hasNext() && parser.peek() == '+') {
+                        return null;
+                    }
+                }
+            }
+            int states = elements.size() + (max < 0 ? min + 1 : max);
+            if (states > MAX_STATES) {
+                return null;
+            }
+            for (int i = 0; i < min; i++) {
+                elements.add(atom.withKind(ONE));
+            }
+            if (max < 0) {
+                elements.add(atom.withKind(REPEAT));
+            } else {
+                for (int i = min; i < max; i++) {
+                    elements.add(atom.withKind(OPTIONAL));
+                }
+            }
+        }
+        return new LinearPattern(elements);
+    }
+
+    /**
+     * 入力文字列全体が正規表現に一致するか判定する。
+     *
+     * @param input 入力文字列
+     * @return 一致する場合true
+     */
+    boolean matches(CharSequence input) {
+        int size = kinds.length;
+        boolean[] current = new boolean[size + 1];
+        boolean[] next = new boolean[size + 1];
+        addState(current, 0);
+        for (int i = 0, length = input.length(); i < length;) {
+            int codePoint = Character.codePointAt(input, i);
+            i += Character.charCount(codePoint);
+            Arrays.fill(next, false);
+            boolean alive = false;
+            for (int state = 0; state < size; state++) {
+                if (current[state] && accepts(state, codePoint)) {
+                    addState(next, kinds[state] == REPEAT ? state : state + 1);
+                    alive = true;
+                }
+            }
+            if (!alive) {
+                return false;
+            }
+            boolean[] swap = current;
+            current = next;
+            next = swap;
+        }
+        return current[size];
+    }
+
+    /**
+     * 状態と、その状態から文字を消費せずに遷移できる状態を追加する。
+     *
+     * @param states 状態の集合
+     * @param state 追加する状態
+     */
+    private void addState(boolean[] states, int state) {
+        for (int s = state; !states[s]; s++) {
+            states[s] = true;
+            if (s == kinds.length || kinds[s] == ONE) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 状態の要素が文字に一致するか判定する。
+     *
+     * @param state 状態
+     * @param codePoint 文字
+     * @return 一致する場合true
+     */
+    private boolean accepts(int state, int codePoint) {
+        return inRanges(ranges[state], codePoint) != negated[state];
+    }
+
+    /**
+     * 文字が範囲に含まれるか判定する。
+     *
+     * @param ranges 範囲
+     * @param codePoint 文字
+     * @return 含まれる場合true
+     */
+    private static boolean inRanges(int[] ranges, int codePoint) {
+        int low = 0;
+        int high = ranges.length / 2 - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (codePoint < ranges[mid * 2]) {
+                high = mid - 1;
+            } else if (codePoint > ranges[mid * 2 + 1]) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 範囲を昇順に並べ、重複または隣接する範囲を結合する。
+     *
+     * @param pairs 開始と終了のコードポイントの組のリスト
+     * @return 正規化した範囲
+     */
+    private static int[] normalize(List<int[]> pairs) {
+        int[][] sorted = pairs.toArray(new int[pairs.size()][]);
+        Arrays.sort(sorted, new Comparator<int[]>() {
+            public int compare(int[] o1, int[] o2) {
+                return o1[0] < o2[0] ? -1 : (o1[0] == o2[0] ? 0 : 1);
+            }
+        });
+        int[] result = new int[sorted.length * 2];
+        int count = 0;
+        for (int[] pair : sorted) {
+            if (count > 0 && pair[0] <= result[count - 1] + 1) {
+                result[count - 1] = Math.max(result[count - 1], pair[1]);
+            } else {
+                result[count++] = pair[0];
+                result[count++] = pair[1];
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 範囲の配列を、開始と終了の組のリストに追加する。
+     *
+     * @param pairs 開始と終了のコードポイントの組のリスト
+     * @param ranges 範囲
+     */
+    private static void addAll(List<int[]> pairs, int[] ranges) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            pairs.add(new int[] {ranges[i], ranges[i + 1]});
+        }
+    }
+
+    /**
+     * 正規表現の1文字に一致する要素。
+     */
+    private static final class Element {
+
+        /** 一致する文字の範囲 */
+        private final int[] ranges;
+
+        /** 範囲を反転するか否か */
+        private final boolean negated;
+
+        /** 一致する回数の種類 */
+        private final byte kind;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param ranges 一致する文字の範囲
+         * @param negated 範囲を反転する場合true
+         * @param kind 一致する回数の種類
+         */
+        Element(int[] ranges, boolean negated, byte kind) {
+            this.ranges = ranges;
+            this.negated = negated;
+            this.kind = kind;
+        }
+
+        /**
+         * 一致する回数の種類を変更した要素を返す。
+         *
+         * @param newKind 一致する回数の種類
+         * @return 要素
+         */
+        Element withKind(byte newKind) {
+            return new Element(ranges, negated, newKind);
+        }
+    }
+
+    /**
+     * 正規表現の構文解析を行うクラス。
+     */
+    private static final class Parser {
+
+        /** 正規表現 */
+        private final String regexp;
+
+        /** 解析中の位置 */
+        private int pos;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param regexp 正規表現
+         */
+        Parser(String regexp) {
+            this.regexp = regexp;
+        }
+
+        /**
+         * 解析していない文字が残っているか判定する。
+         *
+         * @return 残っている場合true
+         */
+        boolean hasNext() {
+            return pos < regexp.length();
+        }
+
+        /**
+         * 次の文字を参照する。
+         *
+         * @return 次の文字
+         */
+        int peek() {
+            return regexp.codePointAt(pos);
+        }
+
+        /**
+         * 次の文字を読み進める。
+         *
+         * @return 次の文字
+         */
+        int next() {
+            int c = regexp.codePointAt(pos);
+            pos += Character.charCount(c);
+            return c;
+        }
+
+        /**
+         * 1文字に一致する要素を解析する。
+         *
+         * @return 要素。対応しない構文の場合はnull
+         */
+        Element parseAtom() {
+            int c = next();
+            switch (c) {
+                case '.':
+                    return new Element(LINE_TERMINATOR, true, ONE);
+                case '[':
+                    return parseClass();
+                case '\\':
+                    return parseEscape(false);
+                case '(': case ')': case '|': case '^': case '$':
+                case '?': case '*': case '+': case '{':
+                    return null;
+                default:
+                    return new Element(new int[] {c, c}, false, ONE);
+            }
+        }
+
+        /**
+         * エスケープを解析する。
+         *
+         * @param inClass 文字クラスの中の場合true
+         * @return 要素。対応しない構文の場合はnull
+         */
+        Element parseEscape(boolean inClass) {
+            if (!hasNext()) {
+                return null;
+            }
+            int c = next();
+            switch (c) {
+                case 'd':
+                    return new Element(DIGIT, false, ONE);
+                case 'w':
+                    return new Element(WORD, false, ONE);
+                case 's':
+                    return new Element(SPACE, false, ONE);
+                case 'D':
+                    return inClass ? null : new Element(DIGIT, true, ONE);
+                case 'W':
+                    return inClass ? null : new Element(WORD, true, ONE);
+                case 'S':
+                    return inClass ? null : new Element(SPACE, true, ONE);
+                case 't':
+                    return literal('\t');
+                case 'n':
+                    return literal('\n');
+                case 'r':
+                    return literal('\r');
+                case 'f':
+                    return literal('\f');
+                case 'u':
+                    return parseHex(4);
+                case 'x':
+                    return parseHex(2);
+                default:
+                    if (c < 0x80 && Character.isLetterOrDigit(c)) {
+                        return null;
+                    }
+                    return literal(c);
+            }
+        }
+
+        /**
+         * 16進数で表された文字を解析する。
+         *
+         * @param digits 桁数
+         * @return 要素。不正な形式の場合はnull
+         */
+        private Element parseHex(int digits) {
+            if (pos + digits > regexp.length()) {
+                return null;
+            }
+            int c = 0;
+            for (int i = 0; i < digits; i++) {
+                int digit = Character.digit(regexp.charAt(pos++), 16);
+                if (digit < 0) {
+                    return null;
+                }
+                c = c * 16 + digit;
+            }
+            return literal(c);
+        }
+
+        /**
+         * 1つの文字に一致する要素を作成する。
+         *
+         * @param c 文字
+         * @return 要素
+         */
+        private static Element literal(int c) {
+            return new Element(new int[] {c, c}, false, ONE);
+        }
+
+        /**
+         * 文字クラスを解析する。
+         *
+         * @return 要素。対応しない構文の場合はnull
+         */
+        private Element parseClass() {
+            boolean negate = false;
+            if (hasNext() && peek() == '^') {
+                next();
+                negate = true;
+            }
+            List<int[]> pairs = new ArrayList<int[]>();
+            boolean first = true;
+            while (hasNext()) {
+                int c = peek();
+                if (c == ']') {
+                    if (first) {
+                        // 先頭の]の扱いは解釈が分かれるため対応しない
+                        return null;
+                    }
+                    next();
+                    return new Element(normalize(pairs), negate, ONE);
+                }
+                first = false;
+                if (c == '[' || (c == '&' && regexp.startsWith("&&", pos))) {
+                    return null;
+                }
+                int[] start = parseClassChar();
+                if (start == null) {
+                    return null;
+                }
+                if (hasNext() && peek() == '-' && pos + 1 < regexp.length() && regexp.charAt(pos + 1) != ']') {
+                    next();
+                    int[] end = parseClassChar();
+                    if (!isSingle(start) || end == null || !isSingle(end) || end[0] < start[0]) {
+                        return null;
+                    }
+                    pairs.add(new int[] {start[0], end[0]});
+                } else {
+                    addAll(pairs, start);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 範囲が1文字のみからなるか判定する。
+         *
+         * @param ranges 範囲
+         * @return 1文字のみからなる場合true
+         */
+        private static boolean isSingle(int[] ranges) {
+            return ranges.length == 2 && ranges[0] == ranges[1];
+        }
+
+        /**
+         * 文字クラスの中の1文字、またはエスケープされた定義済みの文字クラスを解析する。
+         *
+         * @return 範囲。対応しない構文の場合はnull
+         */
+        private int[] parseClassChar() {
+            int c = next();
+            if (c == '\\') {
+                Element escaped = parseEscape(true);
+                return escaped == null ? null : escaped.ranges;
+            }
+            return new int[] {c, c};
+        }
+
+        /**
+         * {n}、{n,}、{n,m}形式の量指定子を解析する。
+         *
+         * @return 最小回数と最大回数(上限なしの場合は-1)。不正な形式の場合はnull
+         */
+        int[] parseBounds() {
+            int close = regexp.indexOf('}', pos);
+            if (close < 0) {
+                return null;
+            }
+            String body = regexp.substring(pos + 1, close);
+            int comma = body.indexOf(',');
+            try {
+                int min;
+                int max;
+                if (comma < 0) {
+                    min = Integer.parseInt(body);
+                    max = min;
+                } else {
+                    min = Integer.parseInt(body.substring(0, comma));
+                    max = comma == body.length() - 1 ? -1 : Integer.parseInt(body.substring(comma + 1));
+                }
+                if (min < 0 || (max >= 0 && max < min) || min > MAX_STATES || max > MAX_STATES) {
+                    return null;
+                }
+                pos = close + 1;
+                return new int[] {min, max};
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
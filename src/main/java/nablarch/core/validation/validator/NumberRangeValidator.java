@@ -1,10 +1,19 @@
 package nablarch.core.validation.validator;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 import nablarch.core.util.StringUtil;
-import nablarch.core.validation.DirectCallableValidator;
+import nablarch.core.validation.AnnotationDescriptorFactory;
+import nablarch.core.validation.MessageIdProvider;
+import nablarch.core.validation.PreparableValidator;
 import nablarch.core.validation.ValidationContext;
 import nablarch.core.validation.ValidationResultMessageUtil;
 
@@ -54,10 +63,19 @@ import nablarch.core.validation.ValidationResultMessageUtil;
  *   }}
  *   </pre>
  *
+ *   <p>
+ *     <b>値の比較方法</b>
+ *   </p>
+ *   {@link Integer}、{@link Long}、{@link Short}、{@link Byte}の値はlongに変換した範囲と、
+ *   {@link BigDecimal}、{@link BigInteger}の値は{@link BigDecimal}に変換した範囲(アノテーションに記述した10進数の値)と比較するため、
+ *   doubleで表現できない精度の値も正確に判定される。それ以外の型の値はdoubleに変換して比較する。
+ *   変換した範囲は、アノテーションごとにキャッシュされる。
+ *
  * @author Koichi Asano
  *
  */
-public class NumberRangeValidator implements DirectCallableValidator {
+public class NumberRangeValidator implements PreparableValidator<NumberRange>, AnnotationDescriptorFactory<NumberRange>,
+        MessageIdProvider {
     /**
      * バリデーションの条件に最大値のみが指定されていた場合のデフォルトのエラーメッセージのメッセージID
      */
@@ -73,6 +91,17 @@ public class NumberRangeValidator implements DirectCallableValidator {
      */
     private String minMessageId;
 
+    /**
+     * アノテーションのインスタンスごとに、比較に使用する範囲を保持するキャッシュ。
+     * <p/>
+     * 実行時のアノテーションの{@code hashCode()}および{@code equals()}はリフレクションで属性値を参照するため、
+     * インスタンスの同一性で検索する。参照時にロックを取得しないよう、追加時は複製したMapに置き換える。
+     */
+    private volatile Map<NumberRange, Bounds> boundsCache = new IdentityHashMap<NumberRange, Bounds>();
+
+    /** {@link #boundsCache}を置き換える際のロック */
+    private final Object boundsCacheLock = new Object();
+
     /**
      * バリデーションの条件に最大値のみが指定されていた場合のデフォルトのエラーメッセージのメッセージID。<br/>
      * 例 : "{0}は{2}以下で入力してください。"
@@ -100,6 +129,13 @@ public class NumberRangeValidator implements DirectCallableValidator {
         this.minMessageId = minMessageId;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public List<String> getMessageIds() {
+        return Arrays.asList(maxMessageId, maxAndMinMessageId, minMessageId);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -117,23 +153,45 @@ public class NumberRangeValidator implements DirectCallableValidator {
             return true;
         }
 
-        Number num = (Number) value;
         NumberRange range = (NumberRange) annotation;
-        if (range.min() > Double.NEGATIVE_INFINITY) {
-            if (num.doubleValue() < range.min()) {
-                addMessage(context, propertyName, propertyDisplayName, range);
-                return false;
-            }
+        if (!getBounds(range).contains((Number) value)) {
+            addMessage(context, propertyName, propertyDisplayName, range);
+            return false;
         }
+        return true;
+    }
 
-        if (range.max() < Double.POSITIVE_INFINITY) {
-            if (num.doubleValue() > range.max()) {
-                addMessage(context, propertyName, propertyDisplayName, range);
-                return false;
+    /**
+     * アノテーションに対応する、比較に使用する範囲を取得する。
+     * <p/>
+     * {@link #createAnnotation(Map)}で生成したアノテーションは生成時に変換した範囲を、
+     * 実行時のアノテーションはキャッシュした範囲を返す。それ以外の場合は、都度変換する。
+     *
+     * @param range NumberRangeアノテーション
+     * @return 比較に使用する範囲
+     */
+    private Bounds getBounds(NumberRange range) {
+        if (range instanceof PreparedNumberRange) {
+            return ((PreparedNumberRange) range).bounds;
+        }
+        if (!Proxy.isProxyClass(range.getClass())) {
+            // 呼び出しごとに生成されたアノテーションをキャッシュし続けないよう、実行時のアノテーション以外はキャッシュしない
+            return new Bounds(range.min(), range.max());
+        }
+        Bounds bounds = boundsCache.get(range);
+        if (bounds != null) {
+            return bounds;
+        }
+        synchronized (boundsCacheLock) {
+            bounds = boundsCache.get(range);
+            if (bounds == null) {
+                bounds = new Bounds(range.min(), range.max());
+                Map<NumberRange, Bounds> copy = new IdentityHashMap<NumberRange, Bounds>(boundsCache);
+                copy.put(range, bounds);
+                boundsCache = copy;
             }
         }
-
-        return true;
+        return bounds;
     }
 
     /**
@@ -168,32 +226,195 @@ public class NumberRangeValidator implements DirectCallableValidator {
                                 Object                     propertyDisplayName,
                                 final Map<String, Object>  params,
                                 Object                     value) {
+        return validate(context, propertyName, propertyDisplayName, createAnnotation(params), value);
+    }
 
-        NumberRange annotation = new NumberRange() {
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * アノテーションの属性値をパラメータとして{@link #createAnnotation(Map)}を呼び出し、ディスクリプタを生成する。
+     */
+    public NumberRange createDescriptor(NumberRange range) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("min", range.min());
+        params.put("max", range.max());
+        params.put("messageId", range.messageId());
+        return createAnnotation(params);
+    }
 
-            public Class<? extends Annotation> annotationType() {
-                return NumberRange.class;
-            }
+    /**{@inheritDoc}*/
+    public NumberRange createAnnotation(Map<String, Object> params) {
+        Double minParam = (Double) params.get("min");
+        double min = (minParam == null) ? Double.NEGATIVE_INFINITY
+                                        : minParam;
+        Double maxParam = (Double) params.get("max");
+        double max = (maxParam == null) ? Double.POSITIVE_INFINITY
+                                        : maxParam;
+        String messageIdParam = (String) params.get("messageId");
+        String messageId = StringUtil.isNullOrEmpty(messageIdParam) ? ""
+                                                                    : messageIdParam;
+        return new PreparedNumberRange(min, max, messageId);
+    }
 
-            public double min() {
-                Double min = (Double) params.get("min");
-                return (min == null) ? Double.NEGATIVE_INFINITY
-                                     : min;
-            }
+    /**
+     * パラメータから生成した{@link NumberRange}。比較に使用する範囲を生成時に変換して保持する。
+     */
+    private static final class PreparedNumberRange implements NumberRange {
+
+        /** 最小値 */
+        private final double min;
 
-            public double max() {
-                Double max = (Double) params.get("max");
-                return (max == null) ? Double.POSITIVE_INFINITY
-                                     : max;
+        /** 最大値 */
+        private final double max;
+
+        /** メッセージID */
+        private final String messageId;
+
+        /** 比較に使用する範囲 */
+        private final Bounds bounds;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param min 最小値
+         * @param max 最大値
+         * @param messageId メッセージID
+         */
+        PreparedNumberRange(double min, double max, String messageId) {
+            this.min = min;
+            this.max = max;
+            this.messageId = messageId;
+            this.bounds = new Bounds(min, max);
+        }
+
+        /** {@inheritDoc} */
+        public Class<? extends Annotation> annotationType() {
+            return NumberRange.class;
+        }
+
+        /** {@inheritDoc} */
+        public double min() {
+            return min;
+        }
+
+        /** {@inheritDoc} */
+        public double max() {
+            return max;
+        }
+
+        /** {@inheritDoc} */
+        public String messageId() {
+            return messageId;
+        }
+    }
+
+    /**
+     * {@link NumberRange}の最小値と最大値を、値の型ごとの比較に使用する形式に変換して保持するクラス。
+     */
+    private static final class Bounds {
+
+        /** longの最小値(-2^63)をdoubleで表した値 */
+        private static final double LONG_MIN = -0x1p63;
+
+        /** longの最大値+1(2^63)をdoubleで表した値 */
+        private static final double LONG_MAX_PLUS_ONE = 0x1p63;
+
+        /** 最小値 */
+        private final double min;
+
+        /** 最大値 */
+        private final double max;
+
+        /** 最小値が指定されているか */
+        private final boolean hasMin;
+
+        /** 最大値が指定されているか */
+        private final boolean hasMax;
+
+        /** 範囲内のlongの最小値 */
+        private final long minLong;
+
+        /** 範囲内のlongの最大値 */
+        private final long maxLong;
+
+        /** 範囲内にlongの値が存在しないか */
+        private final boolean noLongInRange;
+
+        /** BigDecimalで表した最小値(最小値が指定されていない場合はnull) */
+        private final BigDecimal minDecimal;
+
+        /** BigDecimalで表した最大値(最大値が指定されていない場合はnull) */
+        private final BigDecimal maxDecimal;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param min 最小値
+         * @param max 最大値
+         */
+        Bounds(double min, double max) {
+            this.min = min;
+            this.max = max;
+            // NaNは従来のdoubleでの比較と同様に、範囲が指定されていないものとして扱う
+            hasMin = min > Double.NEGATIVE_INFINITY;
+            hasMax = max < Double.POSITIVE_INFINITY;
+
+            long lower = Long.MIN_VALUE;
+            long upper = Long.MAX_VALUE;
+            boolean empty = false;
+            if (hasMin && min > LONG_MIN) {
+                if (min >= LONG_MAX_PLUS_ONE) {
+                    empty = true;
+                } else {
+                    lower = (long) Math.ceil(min);
+                }
             }
+            if (hasMax && max < LONG_MAX_PLUS_ONE) {
+                if (max < LONG_MIN) {
+                    empty = true;
+                } else {
+                    upper = (long) Math.floor(max);
+                }
+            }
+            minLong = lower;
+            maxLong = upper;
+            noLongInRange = empty || lower > upper;
+            // アノテーションに記述した10進数の値と一致させるため、doubleの2進数での値ではなく文字列表現から変換する
+            minDecimal = hasMin ? BigDecimal.valueOf(min) : null;
+            maxDecimal = hasMax ? BigDecimal.valueOf(max) : null;
+        }
 
-            public String messageId() {
-                String messageId = (String) params.get("messageId");
-                return StringUtil.isNullOrEmpty(messageId) ? ""
-                                                           : messageId;
+        /**
+         * 値が範囲内であるかを判定する。
+         *
+         * @param value 値
+         * @return 範囲内である場合true
+         */
+        boolean contains(Number value) {
+            if (value instanceof Integer || value instanceof Long
+                    || value instanceof Short || value instanceof Byte) {
+                long longValue = value.longValue();
+                return !noLongInRange && minLong <= longValue && longValue <= maxLong;
             }
-        };
+            if (value instanceof BigDecimal) {
+                return contains((BigDecimal) value);
+            }
+            if (value instanceof BigInteger) {
+                return contains(new BigDecimal((BigInteger) value));
+            }
+            double doubleValue = value.doubleValue();
+            return !(hasMin && doubleValue < min) && !(hasMax && doubleValue > max);
+        }
 
-        return validate(context, propertyName, propertyDisplayName, annotation, value);
+        /**
+         * BigDecimalの値が範囲内であるかを判定する。
+         *
+         * @param value 値
+         * @return 範囲内である場合true
+         */
+        private boolean contains(BigDecimal value) {
+            return !(minDecimal != null && value.compareTo(minDecimal) < 0)
+                    && !(maxDecimal != null && value.compareTo(maxDecimal) > 0);
+        }
     }
 }
@@ -0,0 +1,40 @@
+package nablarch.core.validation.validator;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import nablarch.core.util.annotation.Published;
+import nablarch.core.validation.Validation;
+
+/**
+ * 入力値が正規表現に一致することを表わすアノテーション。
+ * <p>
+ *   バリデーションの内容と設定については{@link PatternValidator}を参照。
+ * </p>
+ *
+ * @author TIS
+ */
+@Validation
+@Target({ ElementType.FIELD, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Published
+public @interface Pattern {
+
+    /**
+     * 入力値が一致すべき正規表現。
+     * <p>
+     *   入力値全体が正規表現に一致する必要がある({@link java.util.regex.Matcher#matches()}で判定する)。
+     * </p>
+     */
+    String regexp();
+
+    /**
+     * メッセージID。
+     * <p>
+     *   指定しなかった場合、{@link PatternValidator}で設定されたデフォルトのメッセージIDが使用される。
+     * </p>
+     */
+    String messageId() default "";
+}
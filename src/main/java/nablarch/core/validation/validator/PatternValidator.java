@@ -0,0 +1,338 @@
+package nablarch.core.validation.validator;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import nablarch.core.log.Logger;
+import nablarch.core.log.LoggerManager;
+import nablarch.core.validation.AnnotationDescriptorFactory;
+import nablarch.core.validation.MessageIdProvider;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.ValidationResultMessageUtil;
+
+/**
+ * 入力値が正規表現に一致するかをチェックするクラス。
+ * <p>
+ *   {@link Pattern}アノテーションが設定されたプロパティの値全体が、指定された正規表現に一致するかをチェックする。
+ *   空文字列の場合はチェックを行わない。
+ *   エラーメッセージにはプロパティの表示名({0})と正規表現({1})が埋め込まれる。
+ *
+ *   <p>
+ *     <b>正規表現のコンパイル</b>
+ *   </p>
+ *   コンパイルした正規表現は、正規表現ごとに全てのバリデータで共有するキャッシュに保持するため、
+ *   同じ正規表現を繰り返しコンパイルすることはない。
+ *
+ *   <p>
+ *     <b>照合時間の制限</b>
+ *   </p>
+ *   {@link java.util.regex.Pattern}による照合は、正規表現と入力値によってはバックトラックにより
+ *   入力値の長さに対して指数関数的な時間がかかる。
+ *   このため、照合中に入力値の文字を参照した回数が、入力値の文字数×maxReadsPerChar(デフォルトは1000)を超えた場合は
+ *   照合を打ち切り、正規表現に一致しないものとして扱う。
+ *   また、グループの繰り返しを含む正規表現は長い入力値に対してスタックオーバーフローが発生するため、
+ *   スタックオーバーフローが発生した場合も照合を打ち切り、正規表現に一致しないものとして扱う。
+ *   <p>
+ *   linearMatchingにtrueを設定した場合、文字、文字クラスと量指定子のみからなる単純な正規表現は、
+ *   バックトラックを行わずに入力値の長さに比例する時間で照合する。
+ *   照合結果は{@link java.util.regex.Pattern}と同じとなる。
+ *   グループや選択(|)を含む正規表現は、{@link java.util.regex.Pattern}で照合する。
+ *
+ *   <p>
+ *     <b>使用するための設定</b>
+ *   </p>
+ *   本バリデータを使用するためにはデフォルトのメッセージIDを指定する必要がある。
+ *   <pre>
+ *     {@code <component class="nablarch.core.validation.validator.PatternValidator">
+ *         <property name="messageId" value="MSG90001"/>
+ *         <property name="linearMatching" value="true"/>
+ *     </component>}
+ *   </pre>
+ *
+ *   <p>
+ *     <b>プロパティの設定</b>
+ *   </p>
+ *   <pre>
+ *     {@code @Pattern(regexp = "[0-9]{3}-[0-9]{4}")
+ *     public void setPostalCode(String postalCode) {
+ *         this.postalCode = postalCode;
+ *     }}
+ *   </pre>
+ * </p>
+ *
+ * @author TIS
+ */
+public class PatternValidator extends StringValidatorSupport<Pattern> implements AnnotationDescriptorFactory<Pattern>,
+        MessageIdProvider {
+
+    /** ロガー。 */
+    private static final Logger LOGGER = LoggerManager.get(PatternValidator.class);
+
+    /** 入力値の1文字あたりの最大参照回数のデフォルト値 */
+    private static final int DEFAULT_MAX_READS_PER_CHAR = 1000;
+
+    /**
+     * デフォルトのエラーメッセージのメッセージID。
+     */
+    private String messageId;
+
+    /**
+     * 単純な正規表現を線形時間で照合するか否か。
+     */
+    private boolean linearMatching = false;
+
+    /**
+     * 照合中の、入力値の1文字あたりの最大参照回数。
+     */
+    private int maxReadsPerChar = DEFAULT_MAX_READS_PER_CHAR;
+
+    /**
+     * デフォルトのエラーメッセージのメッセージIDを設定する。<br/>
+     * 例 : "{0}の形式が正しくありません。"
+     *
+     * @param messageId エラーメッセージのデフォルトのメッセージID
+     */
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<String> getMessageIds() {
+        return Arrays.asList(messageId);
+    }
+
+    /**
+     * 単純な正規表現を、バックトラックを行わずに線形時間で照合するか否かを設定する。
+     * <p/>
+     * デフォルトはfalse。
+     *
+     * @param linearMatching 線形時間で照合する場合true
+     */
+    public void setLinearMatching(boolean linearMatching) {
+        this.linearMatching = linearMatching;
+    }
+
+    /**
+     * 照合中の、入力値の1文字あたりの最大参照回数を設定する。
+     * <p/>
+     * 照合中に入力値の文字を参照した回数が、(入力値の文字数 + 1)×本設定値を超えた場合は照合を打ち切り、
+     * 正規表現に一致しないものとして扱う。0以下を設定した場合は制限しない。
+     * デフォルトは1000。
+     *
+     * @param maxReadsPerChar 入力値の1文字あたりの最大参照回数
+     */
+    public void setMaxReadsPerChar(int maxReadsPerChar) {
+        this.maxReadsPerChar = maxReadsPerChar;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Class<? extends Annotation> getAnnotationClass() {
+        return Pattern.class;
+    }
+
+    /**
+     * {@inheritDoc}<br/>
+     * 入力値が正規表現に一致するかのバリデーションを行う。
+     */
+    public <T> boolean validateSingleValue(ValidationContext<T> context, String propertyName,
+            Object propertyDisplayName, Pattern pattern, String value) {
+        if (value.length() == 0) {
+            return true;
+        }
+        CompiledPattern compiled = pattern instanceof PreparedPattern
+                ? ((PreparedPattern) pattern).compiled
+                : CompiledPattern.get(pattern.regexp());
+        if (matches(compiled, propertyName, value)) {
+            return true;
+        }
+        String selectedMessageId = pattern.messageId().length() > 0 ? pattern.messageId() : messageId;
+        ValidationResultMessageUtil.addResultMessage(context, propertyName, selectedMessageId,
+                propertyDisplayName, pattern.regexp());
+        return false;
+    }
+
+    /**
+     * 入力値全体が正規表現に一致するか判定する。
+     *
+     * @param compiled コンパイル済みの正規表現
+     * @param propertyName プロパティ名
+     * @param value 入力値
+     * @return 一致する場合true
+     */
+    private boolean matches(CompiledPattern compiled, String propertyName, String value) {
+        LinearPattern linearPattern = compiled.getLinearPattern();
+        if (linearMatching && linearPattern != null) {
+            return linearPattern.matches(value);
+        }
+        CharSequence input = value;
+        if (maxReadsPerChar > 0) {
+            long limit = Math.min((long) (value.length() + 1) * maxReadsPerChar, Integer.MAX_VALUE);
+            input = new ReadLimitedCharSequence(value, (int) limit);
+        }
+        try {
+            return compiled.getPattern().matcher(input).matches();
+        } catch (ReadLimitExceededException e) {
+            logAborted("the input was read too many times", compiled, propertyName, value);
+            return false;
+        } catch (StackOverflowError e) {
+            // グループの繰り返しは入力値の長さに比例した深さの再帰で照合されるため、長い入力値ではスタックが溢れる
+            logAborted("the stack overflowed", compiled, propertyName, value);
+            return false;
+        }
+    }
+
+    /**
+     * 照合を打ち切ったことをログに出力する。
+     *
+     * @param reason 打ち切った理由
+     * @param compiled コンパイル済みの正規表現
+     * @param propertyName プロパティ名
+     * @param value 入力値
+     */
+    private static void logAborted(String reason, CompiledPattern compiled, String propertyName, String value) {
+        LOGGER.logWarn("matching was aborted because " + reason + "."
+                + " property name = " + propertyName
+                + ", regexp = " + compiled.getPattern().pattern()
+                + ", input length = " + value.length());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * アノテーションの属性値をパラメータとして{@link #createAnnotation(Map)}を呼び出し、ディスクリプタを生成する。
+     */
+    public Pattern createDescriptor(Pattern pattern) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("regexp", pattern.regexp());
+        params.put("messageId", pattern.messageId());
+        return createAnnotation(params);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 生成したアノテーションは、コンパイル済みの正規表現を保持する。
+     *
+     * @throws IllegalArgumentException 正規表現が指定されていない場合
+     * @throws java.util.regex.PatternSyntaxException 正規表現の構文が不正な場合
+     */
+    @Override
+    public Pattern createAnnotation(Map<String, Object> params) {
+        String regexp = (String) params.get("regexp");
+        if (regexp == null) {
+            throw new IllegalArgumentException(
+                    "regexp must be assigned to execute the validation of @Pattern.");
+        }
+        String messageIdParam = (String) params.get("messageId");
+        return new PreparedPattern(regexp, (messageIdParam == null) ? "" : messageIdParam);
+    }
+
+    /**
+     * コンパイル済みの正規表現を保持する{@link Pattern}。
+     */
+    private static final class PreparedPattern implements Pattern {
+
+        /** 正規表現 */
+        private final String regexp;
+
+        /** メッセージID */
+        private final String messageId;
+
+        /** コンパイル済みの正規表現 */
+        private final CompiledPattern compiled;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param regexp 正規表現
+         * @param messageId メッセージID
+         */
+        PreparedPattern(String regexp, String messageId) {
+            this.regexp = regexp;
+            this.messageId = messageId;
+            this.compiled = CompiledPattern.get(regexp);
+        }
+
+        /** {@inheritDoc} */
+        public Class<? extends Annotation> annotationType() {
+            return Pattern.class;
+        }
+
+        /** {@inheritDoc} */
+        public String regexp() {
+            return regexp;
+        }
+
+        /** {@inheritDoc} */
+        public String messageId() {
+            return messageId;
+        }
+    }
+
+    /**
+     * 文字を参照した回数を制限する{@link CharSequence}。
+     */
+    private static final class ReadLimitedCharSequence implements CharSequence {
+
+        /** 元の文字列 */
+        private final String value;
+
+        /** 残りの参照回数 */
+        private int remaining;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param value 元の文字列
+         * @param limit 最大参照回数
+         */
+        ReadLimitedCharSequence(String value, int limit) {
+            this.value = value;
+            this.remaining = limit;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws ReadLimitExceededException 最大参照回数を超えた場合
+         */
+        public char charAt(int index) {
+            if (--remaining < 0) {
+                throw new ReadLimitExceededException();
+            }
+            return value.charAt(index);
+        }
+
+        /** {@inheritDoc} */
+        public int length() {
+            return value.length();
+        }
+
+        /** {@inheritDoc} */
+        public CharSequence subSequence(int start, int end) {
+            return value.subSequence(start, end);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    /**
+     * 照合中に文字を参照した回数が制限を超えたことを表す例外。
+     */
+    private static final class ReadLimitExceededException extends RuntimeException {
+
+        /** シリアルバージョンUID */
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,63 @@
+package nablarch.core.validation.validator;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import nablarch.core.util.annotation.Published;
+import nablarch.core.validation.CrossFieldValidation;
+
+/**
+ * 条件となるプロパティの値に応じて、プロパティが必須入力となることを表わすアノテーション。
+ * <p>
+ *   フォームのクラスに設定する。バリデーションの内容と設定については{@link RequiredIfValidator}を参照。
+ * </p>
+ *
+ * @author TIS
+ */
+@CrossFieldValidation
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Published
+public @interface RequiredIf {
+
+    /**
+     * 必須入力となるプロパティ名。
+     */
+    String property();
+
+    /**
+     * 条件となるプロパティ名。
+     */
+    String dependsOn();
+
+    /**
+     * 必須入力となる、条件となるプロパティの値。
+     * <p>
+     *   指定しなかった場合、条件となるプロパティに値が入力されている場合に必須入力となる。
+     * </p>
+     */
+    String[] values() default {};
+
+    /**
+     * メッセージID。
+     * <p>
+     *   指定しなかった場合、{@link RequiredIfValidator}で設定されたデフォルトのメッセージIDが使用される。
+     * </p>
+     */
+    String messageId() default "";
+
+    /**
+     * 1つのクラスに複数の{@link RequiredIf}を設定するためのアノテーション。
+     */
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Published
+    @interface List {
+        /**
+         * {@link RequiredIf}の配列。
+         */
+        RequiredIf[] value();
+    }
+}
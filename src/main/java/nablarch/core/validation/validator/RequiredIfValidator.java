@@ -0,0 +1,125 @@
+package nablarch.core.validation.validator;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+
+import nablarch.core.validation.CrossFieldValidator;
+import nablarch.core.validation.CrossFieldValues;
+import nablarch.core.validation.MessageIdProvider;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.ValidationResultMessageUtil;
+
+/**
+ * 条件となるプロパティの値に応じて、プロパティが入力されているかをチェックするクラス。
+ * <p>
+ *   {@link RequiredIf}アノテーションが設定されたフォームについて、条件となるプロパティの変換後の値が
+ *   {@link RequiredIf#values()}のいずれかと等しい場合(指定されていない場合は、値が入力されている場合)に、
+ *   必須入力となるプロパティに値が入力されているかをチェックする。
+ *   値の比較は、変換後の値を{@link String#valueOf(Object)}で文字列にして行う。
+ *   エラーメッセージは必須入力となるプロパティに対して追加され、メッセージには必須入力となるプロパティの表示名({0})と
+ *   条件となるプロパティの表示名({1})が埋め込まれる。
+ *
+ *   <p>
+ *     <b>使用するための設定</b>
+ *   </p>
+ *   本バリデータを使用するためにはデフォルトのメッセージIDを指定する必要がある。
+ *   <pre>
+ *     {@code <component class="nablarch.core.validation.validator.RequiredIfValidator">
+ *         <property name="messageId" value="MSG90001"/>
+ *     </component>}
+ *   </pre>
+ *
+ *   <p>
+ *     <b>フォームの設定</b>
+ *   </p>
+ *   <pre>
+ *     {@code @RequiredIf(property = "otherReason", dependsOn = "reasonCode", values = "99")
+ *     public class ApplicationForm {
+ *         ...
+ *     }}
+ *   </pre>
+ * </p>
+ *
+ * @author TIS
+ */
+public class RequiredIfValidator implements CrossFieldValidator, MessageIdProvider {
+
+    /**
+     * デフォルトのエラーメッセージのメッセージID。
+     */
+    private String messageId;
+
+    /**
+     * デフォルトのエラーメッセージのメッセージIDを設定する。<br/>
+     * 例 : "{1}を選択した場合、{0}は必ず入力してください。"
+     *
+     * @param messageId エラーメッセージのデフォルトのメッセージID
+     */
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<String> getMessageIds() {
+        return Arrays.asList(messageId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Class<? extends Annotation> getAnnotationClass() {
+        return RequiredIf.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 必須入力となるプロパティ名、条件となるプロパティ名の順に返す。
+     */
+    public String[] getPropertyNames(Annotation annotation) {
+        RequiredIf requiredIf = (RequiredIf) annotation;
+        return new String[] {requiredIf.property(), requiredIf.dependsOn()};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T> boolean validate(ValidationContext<T> context, Annotation annotation, CrossFieldValues values) {
+        RequiredIf requiredIf = (RequiredIf) annotation;
+        if (!isConditionMatched(requiredIf, values.getValue(1))
+                || !CrossFieldValidationUtil.isEmpty(values.getValue(0))) {
+            return true;
+        }
+        String selectedMessageId = requiredIf.messageId().length() > 0 ? requiredIf.messageId() : messageId;
+        ValidationResultMessageUtil.addResultMessage(context, values.getPropertyName(0), selectedMessageId,
+                values.getPropertyDisplayName(0), values.getPropertyDisplayName(1));
+        return false;
+    }
+
+    /**
+     * 条件となるプロパティの値が、必須入力となる条件を満たすかを判定する。
+     *
+     * @param requiredIf RequiredIfアノテーション
+     * @param condition 条件となるプロパティの値
+     * @return 必須入力となる場合true
+     */
+    private static boolean isConditionMatched(RequiredIf requiredIf, Object condition) {
+        if (CrossFieldValidationUtil.isEmpty(condition)) {
+            return false;
+        }
+        String[] expected = requiredIf.values();
+        if (expected.length == 0) {
+            return true;
+        }
+        String conditionValue = String.valueOf(condition);
+        for (String value : expected) {
+            if (value.equals(conditionValue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,9 +1,14 @@
 package nablarch.core.validation.validator;
 
 import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import nablarch.core.validation.DirectCallableValidator;
+import nablarch.core.validation.AnnotationDescriptorFactory;
+import nablarch.core.validation.MessageIdProvider;
+import nablarch.core.validation.PreparableValidator;
 import nablarch.core.validation.ValidationContext;
 import nablarch.core.validation.ValidationResultMessageUtil;
 
@@ -38,7 +43,8 @@ import nablarch.core.validation.ValidationResultMessageUtil;
  * @author Koichi Asano
  *
  */
-public class RequiredValidator implements DirectCallableValidator {
+public class RequiredValidator implements PreparableValidator<Required>, AnnotationDescriptorFactory<Required>,
+        MessageIdProvider {
 
     /**
      * デフォルトのエラーメッセージのメッセージID。
@@ -54,6 +60,13 @@ public class RequiredValidator implements DirectCallableValidator {
         this.messageId = messageId;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public List<String> getMessageIds() {
+        return Arrays.asList(messageId);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -118,18 +131,34 @@ public class RequiredValidator implements DirectCallableValidator {
                                 Object                    propertyDisplayName,
                                 final Map<String, Object> params,
                                 Object                    value) {
-        
-        Required annotation = new Required() {
+        return validate(context, propertyName, propertyDisplayName, createAnnotation(params), value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * アノテーションの属性値をパラメータとして{@link #createAnnotation(Map)}を呼び出し、ディスクリプタを生成する。
+     */
+    public Required createDescriptor(Required required) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("messageId", required.messageId());
+        return createAnnotation(params);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Required createAnnotation(Map<String, Object> params) {
+        String messageIdParam = (String) params.get("messageId");
+        final String messageId = (messageIdParam == null) ? ""
+                                                          : messageIdParam;
+        return new Required() {
             public Class<? extends Annotation> annotationType() {
                 return Required.class;
             }
             public String messageId() {
-                String messageId = (String) params.get("messageId");
-                return (messageId == null) ? ""
-                                           : messageId;
+                return messageId;
             }
         };
-    
-        return validate(context, propertyName, propertyDisplayName, annotation, value);
     }
 }
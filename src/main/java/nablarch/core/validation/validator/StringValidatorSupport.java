@@ -5,7 +5,7 @@ import java.util.Map;
 
 import nablarch.core.util.annotation.Published;
 import nablarch.core.validation.ValidationContext;
-import nablarch.core.validation.DirectCallableValidator;
+import nablarch.core.validation.PreparableValidator;
 
 
 /**
@@ -17,7 +17,7 @@ import nablarch.core.validation.DirectCallableValidator;
  *
  */
 public abstract class StringValidatorSupport<A extends Annotation>
-implements DirectCallableValidator {
+implements PreparableValidator<A> {
 
     /**
      * コンストラクタ。
@@ -65,9 +65,7 @@ implements DirectCallableValidator {
     }
     
     /**
-     * 指定されたパラメータを属性値とするアノテーションオブジェクトを作成する。
-     * @param params アノテーションの属性値を格納したMap
-     * @return アノテーション
+     * {@inheritDoc}
      */
     @Published(tag = "architect")
     public abstract A createAnnotation(Map<String, Object> params);
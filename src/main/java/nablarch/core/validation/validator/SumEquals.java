@@ -0,0 +1,55 @@
+package nablarch.core.validation.validator;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import nablarch.core.util.annotation.Published;
+import nablarch.core.validation.CrossFieldValidation;
+
+/**
+ * 数値のプロパティの合計が、合計を表すプロパティの値と等しいことを表わすアノテーション。
+ * <p>
+ *   フォームのクラスに設定する。バリデーションの内容と設定については{@link SumEqualsValidator}を参照。
+ * </p>
+ *
+ * @author TIS
+ */
+@CrossFieldValidation
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Published
+public @interface SumEquals {
+
+    /**
+     * 合計するプロパティ名。
+     */
+    String[] properties();
+
+    /**
+     * 合計を表すプロパティ名。
+     */
+    String total();
+
+    /**
+     * メッセージID。
+     * <p>
+     *   指定しなかった場合、{@link SumEqualsValidator}で設定されたデフォルトのメッセージIDが使用される。
+     * </p>
+     */
+    String messageId() default "";
+
+    /**
+     * 1つのクラスに複数の{@link SumEquals}を設定するためのアノテーション。
+     */
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Published
+    @interface List {
+        /**
+         * {@link SumEquals}の配列。
+         */
+        SumEquals[] value();
+    }
+}
@@ -0,0 +1,133 @@
+package nablarch.core.validation.validator;
+
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import nablarch.core.validation.CrossFieldValidator;
+import nablarch.core.validation.CrossFieldValues;
+import nablarch.core.validation.MessageIdProvider;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.ValidationResultMessageUtil;
+
+/**
+ * 数値のプロパティの合計が、合計を表すプロパティの値と等しいかをチェックするクラス。
+ * <p>
+ *   {@link SumEquals}アノテーションが設定されたフォームについて、合計するプロパティの変換後の値を
+ *   {@link BigDecimal}で合計し、合計を表すプロパティの値と比較する。
+ *   合計を表すプロパティが入力されていない場合はチェックを行わない。入力されていないプロパティは0として合計する。
+ *   エラーメッセージは合計を表すプロパティに対して追加され、メッセージには合計を表すプロパティの表示名({0})が埋め込まれる。
+ *
+ *   <p>
+ *     <b>使用するための設定</b>
+ *   </p>
+ *   本バリデータを使用するためにはデフォルトのメッセージIDを指定する必要がある。
+ *   <pre>
+ *     {@code <component class="nablarch.core.validation.validator.SumEqualsValidator">
+ *         <property name="messageId" value="MSG90001"/>
+ *     </component>}
+ *   </pre>
+ *
+ *   <p>
+ *     <b>フォームの設定</b>
+ *   </p>
+ *   <pre>
+ *     {@code @SumEquals(properties = {"price", "tax"}, total = "totalPrice")
+ *     public class OrderForm {
+ *         ...
+ *     }}
+ *   </pre>
+ * </p>
+ *
+ * @author TIS
+ */
+public class SumEqualsValidator implements CrossFieldValidator, MessageIdProvider {
+
+    /**
+     * デフォルトのエラーメッセージのメッセージID。
+     */
+    private String messageId;
+
+    /**
+     * デフォルトのエラーメッセージのメッセージIDを設定する。<br/>
+     * 例 : "{0}が合計と一致しません。"
+     *
+     * @param messageId エラーメッセージのデフォルトのメッセージID
+     */
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<String> getMessageIds() {
+        return Arrays.asList(messageId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Class<? extends Annotation> getAnnotationClass() {
+        return SumEquals.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 合計を表すプロパティ名、合計するプロパティ名の順に返す。
+     */
+    public String[] getPropertyNames(Annotation annotation) {
+        SumEquals sumEquals = (SumEquals) annotation;
+        String[] properties = sumEquals.properties();
+        String[] names = new String[properties.length + 1];
+        names[0] = sumEquals.total();
+        System.arraycopy(properties, 0, names, 1, properties.length);
+        return names;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T> boolean validate(ValidationContext<T> context, Annotation annotation, CrossFieldValues values) {
+        SumEquals sumEquals = (SumEquals) annotation;
+        Object total = values.getValue(0);
+        if (CrossFieldValidationUtil.isEmpty(total)) {
+            return true;
+        }
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 1; i < values.size(); i++) {
+            Object value = values.getValue(i);
+            if (!CrossFieldValidationUtil.isEmpty(value)) {
+                sum = sum.add(toBigDecimal(value, values, i));
+            }
+        }
+        if (sum.compareTo(toBigDecimal(total, values, 0)) == 0) {
+            return true;
+        }
+        String selectedMessageId = sumEquals.messageId().length() > 0 ? sumEquals.messageId() : messageId;
+        ValidationResultMessageUtil.addResultMessage(context, values.getPropertyName(0), selectedMessageId,
+                values.getPropertyDisplayName(0));
+        return false;
+    }
+
+    /**
+     * プロパティの値を{@link BigDecimal}に変換する。
+     *
+     * @param value プロパティの値
+     * @param values プロパティの値
+     * @param index プロパティのインデックス
+     * @return 変換した値
+     * @throws IllegalArgumentException 値が数値でない場合
+     */
+    private static BigDecimal toBigDecimal(Object value, CrossFieldValues values, int index)
+            throws IllegalArgumentException {
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException("value of @SumEquals must be a number."
+                    + " property = " + values.getPropertyName(index)
+                    + ", type = " + value.getClass().getName());
+        }
+        return CrossFieldValidationUtil.toBigDecimal((Number) value);
+    }
+}
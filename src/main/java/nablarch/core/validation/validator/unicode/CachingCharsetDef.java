@@ -1,28 +1,25 @@
 package nablarch.core.validation.validator.unicode;
 
-import java.util.BitSet;
-
 /**
  * 許容文字かどうかの判定結果をキャッシュする{@link CharsetDef}実装クラス。<br/>
  * 他の{@link CharsetDef}実装クラスにラップして使用することで、
  * 判定処理に要する処理速度を改善できる。
+ * <p/>
+ * 判定結果は、コードポイントごとに「判定済み」と「許容」の2ビットをまとめて保持する。
+ * キャッシュ済みのコードポイントの判定はロックを取得せずに行い、
+ * 判定結果の書き込みは2ビットをまとめてCASで設定するため、複数のスレッドから同時に呼び出されても排他しない。
+ * 判定結果を保持する領域は4096コードポイントごとのページに分割し、
+ * ページは初めてそのページのコードポイントを判定した際に割り当てるため、
+ * 使用量は実際に判定したコードポイントの範囲に比例する。
+ * 同じコードポイントを複数のスレッドが同時に判定した場合は委譲先が複数回呼び出されることがあるため、
+ * 委譲先の{@link CharsetDef}は同じコードポイントに対して常に同じ結果を返すこと。
  *
  * @author T.Kawasaki
  */
 public class CachingCharsetDef extends CharsetDefSupport {
 
-    /**
-     * 文字（コードポイント）の最大数。
-     * {@link BitSet}はスレッドセーフでないため、初期状態で十分な容量を確保し
-     * 使用領域に拡張が発生しないようにする。
-     */
-    private static final int MAX = Character.MAX_CODE_POINT - Character.MIN_CODE_POINT + 1;
-
-    /** 許可文字のキャッシュ */
-    private final BitSet allowed = new BitSet(MAX);
-
-    /** 不許可許可文字のキャッシュ */
-    private final BitSet rejected = new BitSet(MAX);
+    /** 判定結果のキャッシュ */
+    private final PagedCodePointCache cache = new PagedCodePointCache();
 
     /** 実際の許容文字定義 */
     private CharsetDef charsetDef;
@@ -37,25 +34,41 @@ public class CachingCharsetDef extends CharsetDefSupport {
     }
 
     /** {@inheritDoc} */
-    public synchronized boolean contains(int codePoint) {
+    public boolean contains(int codePoint) {
+        if (!PagedCodePointCache.isCacheable(codePoint)) {
+            return getDelegate().contains(codePoint);
+        }
         // キャッシュから取得を試みる。
-        if (allowed.get(codePoint)) {
-            return true;
-        } else if (rejected.get(codePoint)) {
-            return false;
+        int cached = cache.get(codePoint);
+        if (cached != PagedCodePointCache.UNKNOWN) {
+            return cached == PagedCodePointCache.ALLOWED;
         }
         // 委譲先に問い合わせ
         CharsetDef delegate = getDelegate();
         boolean result = delegate.contains(codePoint);
         // 問い合わせ結果をキャッシュする。
-        if (result) {
-            allowed.set(codePoint);
-        } else {
-            rejected.set(codePoint);
-        }
+        cache.put(codePoint, result);
         return result;
     }
 
+    /**
+     * 委譲先の許容文字集合定義を取得する。
+     *
+     * @return 許容文字集合定義。設定されていない場合はnull
+     */
+    CharsetDef getCharsetDef() {
+        return charsetDef;
+    }
+
+    /**
+     * 判定結果を保持するために割り当てたページ数を取得する。
+     *
+     * @return 割り当てたページ数
+     */
+    int getAllocatedPages() {
+        return cache.allocatedPages();
+    }
+
     /**
      * 委譲先の許容文字集合定義を取得する。
      *
@@ -0,0 +1,331 @@
+package nablarch.core.validation.validator.unicode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import nablarch.core.repository.initialization.Initializable;
+import nablarch.core.util.annotation.Published;
+
+/**
+ * 複数の許容文字集合定義を1つの表にまとめて保持するクラス。
+ * <p/>
+ * 登録された許容文字集合定義ごとに1ビットを割り当て、コードポイントごとに、
+ * そのコードポイントを含む許容文字集合定義のビットを立てたビットマスクを保持する。
+ * 基本多言語面のコードポイントの判定は1回の配列参照とビット演算で行い、
+ * 補助平面のコードポイントの判定はビットマスクが変わる位置の配列の二分探索で行う。
+ * 全ての許容文字集合定義で1つの表を共有するため、許容文字集合定義ごとにキャッシュやビットマップを保持する必要がない。
+ * <p/>
+ * 表は{@link #initialize()}で作成する。初期化されていない場合は、最初に{@link #getCharsetDef(String)}を呼び出した際に作成する。
+ * 表の作成後に元の許容文字集合定義の許容文字を変更しても、表には反映されない。
+ * 登録できる許容文字集合定義は最大32個。
+ * <p/>
+ * {@link SystemCharValidator}に設定すると、{@link SystemChar#charsetDef()}に指定された名称が本クラスに登録されている場合は、
+ * リポジトリから取得した許容文字集合定義の代わりに本クラスの表で判定する。
+ * <pre>
+ *     {@code <component name="charsetDefTable" class="nablarch.core.validation.validator.unicode.CharsetDefTable">
+ *         <property name="charsetDefs">
+ *             <map>
+ *                 <entry key="halfWidthKatakana" value-name="halfWidthKatakana"/>
+ *                 <entry key="zenkaku" value-name="zenkaku"/>
+ *             </map>
+ *         </property>
+ *     </component>
+ *
+ *     <component class="nablarch.core.validation.validator.unicode.SystemCharValidator">
+ *         <property name="defaultCharsetDef" ref="zenkaku"/>
+ *         <property name="charsetDefTable" ref="charsetDefTable"/>
+ *         <property name="messageId" value="MSG90001"/>
+ *     </component>}
+ * </pre>
+ *
+ * @author TIS
+ */
+@Published(tag = "architect")
+public class CharsetDefTable implements Initializable {
+
+    /** 登録できる許容文字集合定義の最大数 */
+    static final int MAX_CHARSET_DEFS = Integer.SIZE;
+
+    /** 名称をキーとした許容文字集合定義 */
+    private Map<String, CharsetDef> charsetDefs;
+
+    /** 作成した表 */
+    private volatile Table table;
+
+    /**
+     * 許容文字集合定義を設定する。
+     * <p/>
+     * キーには{@link SystemChar#charsetDef()}に指定する名称を設定する。
+     *
+     * @param charsetDefs 名称をキーとした許容文字集合定義
+     * @throws IllegalArgumentException 許容文字集合定義の数が最大数を超える場合
+     */
+    public void setCharsetDefs(Map<String, CharsetDef> charsetDefs) throws IllegalArgumentException {
+        if (charsetDefs.size() > MAX_CHARSET_DEFS) {
+            throw new IllegalArgumentException(
+                    "too many charsetDefs were specified. max = " + MAX_CHARSET_DEFS
+                            + ", size = " + charsetDefs.size());
+        }
+        this.charsetDefs = new LinkedHashMap<String, CharsetDef>(charsetDefs);
+        table = null;
+    }
+
+    /**
+     * 表を作成する。
+     *
+     * @throws IllegalStateException 許容文字集合定義が設定されていない場合
+     */
+    public void initialize() throws IllegalStateException {
+        table = build();
+    }
+
+    /**
+     * 名称に対応する許容文字集合定義を取得する。
+     * <p/>
+     * 返却する許容文字集合定義は本クラスの表で判定し、メッセージIDは元の許容文字集合定義から取得する。
+     *
+     * @param name 名称
+     * @return 許容文字集合定義。名称が登録されていない場合はnull
+     * @throws IllegalStateException 許容文字集合定義が設定されていない場合
+     */
+    public CharsetDef getCharsetDef(String name) throws IllegalStateException {
+        return getTable().members.get(name);
+    }
+
+    /**
+     * 登録された許容文字集合定義のメッセージIDを取得する。
+     *
+     * @return メッセージIDのリスト。許容文字集合定義が設定されていない場合は空のリスト
+     */
+    List<String> getMessageIds() {
+        List<String> messageIds = new ArrayList<String>();
+        if (charsetDefs != null) {
+            for (CharsetDef charsetDef : charsetDefs.values()) {
+                messageIds.add(charsetDef.getMessageId());
+            }
+        }
+        return messageIds;
+    }
+
+    /**
+     * 作成した表を取得する。
+     * <p/>
+     * 作成されていない場合は作成する。
+     *
+     * @return 表
+     * @throws IllegalStateException 許容文字集合定義が設定されていない場合
+     */
+    private Table getTable() throws IllegalStateException {
+        Table result = table;
+        if (result == null) {
+            result = build();
+            table = result;
+        }
+        return result;
+    }
+
+    /**
+     * 表を作成する。
+     *
+     * @return 表
+     * @throws IllegalStateException 許容文字集合定義が設定されていない場合
+     */
+    private Table build() throws IllegalStateException {
+        if (charsetDefs == null) {
+            throw new IllegalStateException(
+                    "charsetDefs must be set.");
+        }
+        CodePointSet[] sets = new CodePointSet[charsetDefs.size()];
+        int index = 0;
+        for (CharsetDef charsetDef : charsetDefs.values()) {
+            sets[index++] = new CodePointSet.Builder().addAll(charsetDef).build();
+        }
+
+        // 基本多言語面は、コードポイントごとにビットマスクを保持する
+        int[] bmpMasks = new int[CodePointSet.BMP_SIZE];
+        for (int i = 0; i < sets.length; i++) {
+            long[] bmp = sets[i].getBmp();
+            for (int w = 0; w < CodePointSet.BMP_WORDS; w++) {
+                for (long word = bmp[w]; word != 0; word &= word - 1) {
+                    bmpMasks[(w << 6) + Long.numberOfTrailingZeros(word)] |= 1 << i;
+                }
+            }
+        }
+
+        // 補助平面は、ビットマスクが変わる位置とその位置以降のビットマスクを保持する
+        TreeSet<Integer> boundaries = new TreeSet<Integer>();
+        boundaries.add(CodePointSet.BMP_SIZE);
+        for (CodePointSet set : sets) {
+            int[] ranges = set.getRanges();
+            for (int i = 0; i < ranges.length; i += 2) {
+                boundaries.add(ranges[i]);
+                if (ranges[i + 1] < Character.MAX_CODE_POINT) {
+                    boundaries.add(ranges[i + 1] + 1);
+                }
+            }
+        }
+        int[] starts = new int[boundaries.size()];
+        int[] masks = new int[boundaries.size()];
+        int size = 0;
+        for (int start : boundaries) {
+            int mask = 0;
+            for (int i = 0; i < sets.length; i++) {
+                if (sets[i].contains(start)) {
+                    mask |= 1 << i;
+                }
+            }
+            // ビットマスクが直前と同じ位置は併合する
+            if (size > 0 && masks[size - 1] == mask) {
+                continue;
+            }
+            starts[size] = start;
+            masks[size] = mask;
+            size++;
+        }
+
+        Table result = new Table(bmpMasks, Arrays.copyOf(starts, size), Arrays.copyOf(masks, size));
+        index = 0;
+        for (Map.Entry<String, CharsetDef> entry : charsetDefs.entrySet()) {
+            result.members.put(entry.getKey(), new Member(result, 1 << index++, entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * コードポイントごとのビットマスクを保持する表。
+     */
+    private static final class Table {
+
+        /** 基本多言語面のコードポイントごとのビットマスク */
+        private final int[] bmpMasks;
+
+        /** 補助平面のビットマスクが変わる位置(昇順) */
+        private final int[] supplementaryStarts;
+
+        /** 補助平面のビットマスクが変わる位置以降のビットマスク */
+        private final int[] supplementaryMasks;
+
+        /** 名称をキーとした、本表で判定する許容文字集合定義 */
+        private final Map<String, Member> members = new HashMap<String, Member>();
+
+        /**
+         * コンストラクタ。
+         *
+         * @param bmpMasks 基本多言語面のコードポイントごとのビットマスク
+         * @param supplementaryStarts 補助平面のビットマスクが変わる位置
+         * @param supplementaryMasks 補助平面のビットマスクが変わる位置以降のビットマスク
+         */
+        Table(int[] bmpMasks, int[] supplementaryStarts, int[] supplementaryMasks) {
+            this.bmpMasks = bmpMasks;
+            this.supplementaryStarts = supplementaryStarts;
+            this.supplementaryMasks = supplementaryMasks;
+        }
+
+        /**
+         * コードポイントを含む許容文字集合定義のビットマスクを取得する。
+         *
+         * @param codePoint コードポイント
+         * @return ビットマスク
+         */
+        int getMask(int codePoint) {
+            if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+                return 0;
+            }
+            if (codePoint < CodePointSet.BMP_SIZE) {
+                return bmpMasks[codePoint];
+            }
+            // 開始位置がコードポイント以下となる最後の位置を探す
+            int low = 0;
+            int high = supplementaryStarts.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (supplementaryStarts[mid] <= codePoint) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high >= 0 ? supplementaryMasks[high] : 0;
+        }
+    }
+
+    /**
+     * 表で判定する許容文字集合定義。
+     */
+    static final class Member implements CharsetDef {
+
+        /** 表 */
+        private final Table table;
+
+        /** 本許容文字集合定義に割り当てたビット */
+        private final int bit;
+
+        /** 元の許容文字集合定義 */
+        private final CharsetDef source;
+
+        /** ASCII文字(0x00～0x3F, 0x40～0x7F)のビットマップ */
+        private final long[] asciiWords = new long[2];
+
+        /**
+         * コンストラクタ。
+         *
+         * @param table 表
+         * @param bit 割り当てたビット
+         * @param source 元の許容文字集合定義
+         */
+        Member(Table table, int bit, CharsetDef source) {
+            this.table = table;
+            this.bit = bit;
+            this.source = source;
+            for (int i = 0; i < asciiWords.length; i++) {
+                asciiWords[i] = computeBmpWord(i);
+            }
+        }
+
+        /** {@inheritDoc} */
+        public boolean contains(int codePoint) {
+            return (table.getMask(codePoint) & bit) != 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         * <p/>
+         * 元の許容文字集合定義のメッセージIDを返却する。
+         */
+        public String getMessageId() {
+            return source.getMessageId();
+        }
+
+        /**
+         * 基本多言語面のビットマップのワードを取得する。
+         *
+         * @param index ワードのインデックス
+         * @return ワード(第kビットがコードポイント(index×64+k)の判定結果を表す)
+         */
+        long getBmpWord(int index) {
+            return index < asciiWords.length ? asciiWords[index] : computeBmpWord(index);
+        }
+
+        /**
+         * 表から基本多言語面のビットマップのワードを求める。
+         *
+         * @param index ワードのインデックス
+         * @return ワード
+         */
+        private long computeBmpWord(int index) {
+            long word = 0L;
+            int base = index << 6;
+            for (int k = 0; k < 64; k++) {
+                if ((table.bmpMasks[base + k] & bit) != 0) {
+                    word |= 1L << k;
+                }
+            }
+            return word;
+        }
+    }
+}
@@ -11,6 +11,9 @@ import nablarch.core.util.annotation.Published;
 @Published(tag = "architect")
 public final class CharsetDefValidationUtil {
 
+    /** 改行コード(U+000DとU+000A)のビットマスク */
+    private static final long LINE_SEPARATORS = (1L << 0x0D) | (1L << 0x0A);
+
     /** プライベートコンストラクタ */
     private CharsetDefValidationUtil() {
     }
@@ -121,45 +124,184 @@ public final class CharsetDefValidationUtil {
                                   boolean allowLineSeparator,
                                   boolean allowSurrogatePair) {
 
-        for (int i = 0, length = value.length(); i < length; i++) {
+        return indexOfInvalid(charsetDef, value, allowLineSeparator, allowSurrogatePair) < 0;
+    }
 
-            int codePoint = value.codePointAt(i);      // バリデーション対象のコードポイント
+    /**
+     * 文字列のうち、許容されない最初の文字の位置を返す。<br/>
+     * 許容されるかどうかの判定は{@link #isValid(CharsetDef, String, boolean, boolean)}と同じ。
+     * 許容されない文字がサロゲートペアの場合は、上位サロゲートの位置を返す。
+     * <p/>
+     * ASCII文字の判定は、ASCII文字の判定結果を保持したビットマスクで行う。
+     * 本パッケージの{@link CompiledCharsetDef}, {@link DifferenceCharsetDef}, {@link IntersectionCharsetDef},
+     * {@link MappedCharsetDef}, {@link JapaneseCharsetDef}と、{@link CharsetDefTable}から取得した許容文字集合定義は
+     * 保持する表からビットマスクを取得するため、ASCII文字について{@link CharsetDef#contains(int)}を呼び出さない。
+     * 全てのASCII文字を許容する場合は、連続するASCII文字をまとめて読み飛ばす。
+     * それ以外の許容文字集合定義では、ASCII文字ごとに最初の1回のみ{@link CharsetDef#contains(int)}を呼び出す。
+     * <p/>
+     * {@link SystemCharValidator}および{@link FusedStringValidator}の許容文字のチェックは本メソッドで行うため、
+     * 判定方法を変更する場合は本メソッドのみを変更すればよい。
+     *
+     * @param charsetDef         許容される文字集合の定義
+     * @param value              バリデーション対象の文字列
+     * @param allowLineSeparator 改行コードを許容するか
+     *                           (改行コードと認識するのは、\r(CR)と\n(LF)）
+     * @param allowSurrogatePair サロゲートペアを許容するか
+     * @return 許容されない最初の文字の位置。全ての文字が許容される場合は-1
+     */
+    public static int indexOfInvalid(CharsetDef charsetDef,
+                                     String value,
+                                     boolean allowLineSeparator,
+                                     boolean allowSurrogatePair) {
 
-            // ----- サロゲートペアのチェック ----- //
-            boolean isSurrogatePair = false;
-            boolean isLast = (i == length - 1);
-            if (!isLast && Character.isHighSurrogate(value.charAt(i))) {
-                isSurrogatePair = true;
-                i++;    // LowSurrogateをスキップ
-            }
-            if (isSurrogatePair && !allowSurrogatePair) {
-                return false; // サロゲートは許容しない(デフォルト）
+        return indexOfInvalid(charsetDef, value, allowLineSeparator, allowSurrogatePair, null);
+    }
+
+    /**
+     * 文字列のうち、許容されない最初の文字の位置を返すとともに、走査した範囲のコードポイント数を数える。<br/>
+     * 判定は{@link #indexOfInvalid(CharsetDef, String, boolean, boolean)}と同じ。
+     * <p/>
+     * 許容文字の判定と同じ走査でコードポイント数を数えるため、
+     * 許容文字とコードポイント単位の文字列長の両方をチェックする場合に、文字列を1回走査するだけで済む。
+     *
+     * @param charsetDef         許容される文字集合の定義
+     * @param value              バリデーション対象の文字列
+     * @param allowLineSeparator 改行コードを許容するか
+     *                           (改行コードと認識するのは、\r(CR)と\n(LF)）
+     * @param allowSurrogatePair サロゲートペアを許容するか
+     * @param codePointCount     先頭の要素に、許容されない最初の文字より前(全ての文字が許容される場合は文字列全体)の
+     *                           コードポイント数を格納する配列。数える必要がない場合はnull
+     * @return 許容されない最初の文字の位置。全ての文字が許容される場合は-1
+     */
+    static int indexOfInvalid(CharsetDef charsetDef,
+                              String value,
+                              boolean allowLineSeparator,
+                              boolean allowSurrogatePair,
+                              int[] codePointCount) {
+
+        // ASCII文字の判定結果(0x00～0x3F, 0x40～0x7F)と、判定済みかどうか
+        long allowedLow = 0L;
+        long allowedHigh = 0L;
+        long knownLow = 0L;
+        long knownHigh = 0L;
+        if (hasBmpTable(charsetDef)) {
+            allowedLow = getBmpWord(charsetDef, 0);
+            allowedHigh = getBmpWord(charsetDef, 1);
+            knownLow = -1L;
+            knownHigh = -1L;
+        }
+        // 改行コードは許容文字集合によらず判定する
+        allowedLow = allowLineSeparator ? allowedLow | LINE_SEPARATORS : allowedLow & ~LINE_SEPARATORS;
+        knownLow |= LINE_SEPARATORS;
+        boolean allAsciiAllowed = (allowedLow & allowedHigh) == -1L;
+
+        int length = value.length();
+        int i = 0;
+        // 走査済みのサロゲートペアの数(コードポイント数は、走査した文字数からサロゲートペアの数を引いて求める)
+        int pairs = 0;
+        while (i < length) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (allAsciiAllowed) {
+                    // 連続するASCII文字を読み飛ばす
+                    do {
+                        i++;
+                    } while (i < length && value.charAt(i) < 0x80);
+                    continue;
+                }
+                long bit = 1L << c;
+                if (c < 0x40) {
+                    if ((knownLow & bit) == 0) {
+                        knownLow |= bit;
+                        allowedLow |= charsetDef.contains(c) ? bit : 0L;
+                    }
+                    if ((allowedLow & bit) == 0) {
+                        return setCodePointCount(codePointCount, i - pairs, i);
+                    }
+                } else {
+                    if ((knownHigh & bit) == 0) {
+                        knownHigh |= bit;
+                        allowedHigh |= charsetDef.contains(c) ? bit : 0L;
+                    }
+                    if ((allowedHigh & bit) == 0) {
+                        return setCodePointCount(codePointCount, i - pairs, i);
+                    }
+                }
+                i++;
+                continue;
             }
 
-            // ----- 改行コードチェック ----- //
-            if (isLineSeparator(codePoint)) {
-                if (allowLineSeparator) {
-                    continue;  // 改行を許容する（次の文字へ）
+            // ----- サロゲートペアのチェック ----- //
+            int codePoint = c;
+            int start = i;
+            if (Character.isHighSurrogate(c) && i != length - 1) {
+                if (!allowSurrogatePair) {
+                    return setCodePointCount(codePointCount, i - pairs, i); // サロゲートは許容しない(デフォルト）
                 }
-                return false;  // 改行を許容しない
+                codePoint = value.codePointAt(i);
+                i += 2;    // LowSurrogateをスキップ
+            } else {
+                i++;
             }
 
             // ----- 許容文字かどうか判定 ----- //
             if (!charsetDef.contains(codePoint)) {
-                return false;  // 許容されない文字が発見されたら終了
+                return setCodePointCount(codePointCount, start - pairs, start);  // 許容されない文字が発見されたら終了
+            }
+            if (Character.isSupplementaryCodePoint(codePoint)) {
+                pairs++;
             }
         }
-        return true;
+        setCodePointCount(codePointCount, length - pairs, -1);
+        return -1;
     }
 
     /**
-     * 指定されたコードポイントが改行コード（U+000DまたはU+000A)かどうか判定する。
+     * コードポイント数を格納する。
      *
-     * @param codePoint コードポイント
-     * @return 指定されたコードポイントが改行コードの場合、{@code true}
+     * @param codePointCount コードポイント数を格納する配列。nullの場合は格納しない
+     * @param count          コードポイント数
+     * @param index          返却する位置
+     * @return 引数で指定された位置
      */
-    private static boolean isLineSeparator(int codePoint) {
-        return codePoint == 0x0D || codePoint == 0x0A;
+    private static int setCodePointCount(int[] codePointCount, int count, int index) {
+        if (codePointCount != null) {
+            codePointCount[0] = count;
+        }
+        return index;
+    }
+
+    /**
+     * 許容文字集合定義が基本多言語面のビットマップを保持しているか判定する。
+     *
+     * @param charsetDef 許容文字集合定義
+     * @return ビットマップを保持している場合、{@code true}
+     */
+    private static boolean hasBmpTable(CharsetDef charsetDef) {
+        return charsetDef instanceof CompilingCharsetDefSupport
+                || charsetDef instanceof MappedCharsetDef
+                || charsetDef instanceof JapaneseCharsetDef
+                || charsetDef instanceof CharsetDefTable.Member;
+    }
+
+    /**
+     * 許容文字集合定義が保持する基本多言語面のビットマップのワードを取得する。
+     *
+     * @param charsetDef 許容文字集合定義({@link #hasBmpTable(CharsetDef)}が真であること)
+     * @param index ワードのインデックス
+     * @return ワード
+     */
+    private static long getBmpWord(CharsetDef charsetDef, int index) {
+        if (charsetDef instanceof CompilingCharsetDefSupport) {
+            return ((CompilingCharsetDefSupport) charsetDef).getBmpWord(index);
+        }
+        if (charsetDef instanceof MappedCharsetDef) {
+            return ((MappedCharsetDef) charsetDef).getBmpWord(index);
+        }
+        if (charsetDef instanceof JapaneseCharsetDef) {
+            return ((JapaneseCharsetDef) charsetDef).getBmpWord(index);
+        }
+        return ((CharsetDefTable.Member) charsetDef).getBmpWord(index);
     }
 
     /**
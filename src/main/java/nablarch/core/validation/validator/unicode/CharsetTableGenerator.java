@@ -0,0 +1,126 @@
+package nablarch.core.validation.validator.unicode;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import nablarch.core.util.FileUtil;
+import nablarch.core.util.annotation.Published;
+
+/**
+ * 許容文字集合を{@link MappedCharsetDef}で読み込む表のファイルに出力するツール。
+ * <p/>
+ * 許容文字集合は、{@link CharsetDef}または許容するコードポイントを列挙したテキストファイルで指定する。
+ * テキストファイルはUTF-8で記述し、1行に1つのコードポイント(U+n表記)またはコードポイントの範囲(U+n-U+n表記)を記述する。
+ * 空行と#から始まる行は無視する。
+ * <pre>
+ * # CJK統合漢字
+ * U+4E00-U+9FFF
+ * # 々
+ * U+3005
+ * </pre>
+ * 以下のように、テキストファイルと出力先のファイルを指定して実行する。
+ * テキストファイルのパスは{@code file:}または{@code classpath:}から始まる形式で指定する。
+ * <pre>
+ * java nablarch.core.validation.validator.unicode.CharsetTableGenerator \
+ *     file:/opt/app/charset/jis-kanji.txt /opt/app/charset/jis-kanji.tbl
+ * </pre>
+ *
+ * @author TIS
+ */
+@Published(tag = "architect")
+public final class CharsetTableGenerator {
+
+    /** コードポイントまたはコードポイントの範囲を記述した行の正規表現 */
+    private static final Pattern LINE_PATTERN = Pattern.compile(
+            "U\\+([0-9A-Fa-f]{4,8})(?:\\s*-\\s*U\\+([0-9A-Fa-f]{4,8}))?");
+
+    /** 隠蔽コンストラクタ */
+    private CharsetTableGenerator() {
+    }
+
+    /**
+     * テキストファイルに列挙したコードポイントを、表のファイルに出力する。
+     *
+     * @param args テキストファイルのパス、出力先のファイル
+     * @throws IOException 入出力に失敗した場合
+     * @throws IllegalArgumentException 引数の数が正しくない場合、テキストファイルの記述が不正な場合
+     */
+    public static void main(String[] args) throws IOException, IllegalArgumentException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException(
+                    "usage: CharsetTableGenerator <code point list file> <output file>");
+        }
+        write(parse(args[0]), new File(args[1]));
+    }
+
+    /**
+     * 許容文字集合定義を表のファイルに出力する。
+     *
+     * @param charsetDef 許容文字集合定義
+     * @param output 出力先のファイル
+     * @throws IOException 出力に失敗した場合
+     */
+    public static void generate(CharsetDef charsetDef, File output) throws IOException {
+        write(new CodePointSet.Builder().addAll(charsetDef).build(), output);
+    }
+
+    /**
+     * テキストファイルに列挙したコードポイントを読み込む。
+     *
+     * @param path テキストファイルのパス
+     * @return コードポイントの集合
+     * @throws IOException 読み込みに失敗した場合
+     * @throws IllegalArgumentException テキストファイルの記述が不正な場合
+     */
+    private static CodePointSet parse(String path) throws IOException, IllegalArgumentException {
+        CodePointSet.Builder builder = new CodePointSet.Builder();
+        InputStream in = FileUtil.getResource(path);
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+            int lineNumber = 0;
+            for (String line; (line = reader.readLine()) != null;) {
+                lineNumber++;
+                line = line.trim();
+                if (line.length() == 0 || line.startsWith("#")) {
+                    continue;
+                }
+                Matcher m = LINE_PATTERN.matcher(line);
+                int start = m.matches() ? Integer.parseInt(m.group(1), 16) : -1;
+                int end = (m.matches() && m.group(2) != null) ? Integer.parseInt(m.group(2), 16) : start;
+                if (!Character.isValidCodePoint(start) || !Character.isValidCodePoint(end) || start > end) {
+                    throw new IllegalArgumentException(
+                            "invalid code point definition. path = [" + path + "], line = " + lineNumber
+                                    + ", value = [" + line + "]");
+                }
+                builder.addRange(start, end);
+            }
+        } finally {
+            FileUtil.closeQuietly(in);
+        }
+        return builder.build();
+    }
+
+    /**
+     * コードポイントの集合を表のファイルに出力する。
+     *
+     * @param codePointSet コードポイントの集合
+     * @param output 出力先のファイル
+     * @throws IOException 出力に失敗した場合
+     */
+    private static void write(CodePointSet codePointSet, File output) throws IOException {
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(output));
+        try {
+            CodePointSetFile.write(codePointSet, out);
+        } finally {
+            FileUtil.closeQuietly(out);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package nablarch.core.validation.validator.unicode;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * コードポイントの集合を保持する不変クラス。
+ * <p/>
+ * 基本多言語面(U+0000～U+FFFF)のコードポイントはビットマップで保持し、
+ * 補助平面のコードポイントは、開始位置の昇順に整列し重複と隣接を併合した範囲の配列で保持する。
+ * 基本多言語面のコードポイントの判定は1回の配列参照で、
+ * 補助平面のコードポイントの判定は範囲の配列の二分探索で行う。
+ * <p/>
+ * 本クラスは不変であり、複数のスレッドから共有できる。
+ *
+ * @author TIS
+ */
+final class CodePointSet {
+
+    /** 基本多言語面のコードポイントの数 */
+    static final int BMP_SIZE = Character.MIN_SUPPLEMENTARY_CODE_POINT;
+
+    /** 基本多言語面のビットマップのワード数 */
+    static final int BMP_WORDS = BMP_SIZE >>> 6;
+
+    /** 空の集合 */
+    static final CodePointSet EMPTY = new Builder().build();
+
+    /** 基本多言語面のビットマップ */
+    private final long[] bmp;
+
+    /** 補助平面の範囲。開始位置と終了位置(終了位置を含む)を交互に保持する */
+    private final int[] ranges;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param bmp 基本多言語面のビットマップ
+     * @param ranges 補助平面の範囲
+     */
+    CodePointSet(long[] bmp, int[] ranges) {
+        this.bmp = bmp;
+        this.ranges = ranges;
+    }
+
+    /**
+     * コードポイントが集合に含まれるか判定する。
+     *
+     * @param codePoint コードポイント
+     * @return 集合に含まれる場合true
+     */
+    boolean contains(int codePoint) {
+        if (codePoint < 0) {
+            return false;
+        }
+        if (codePoint < BMP_SIZE) {
+            return (bmp[codePoint >>> 6] & (1L << codePoint)) != 0;
+        }
+        // 開始位置がコードポイント以下となる最後の範囲を探す
+        int low = 0;
+        int high = (ranges.length >>> 1) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (ranges[mid << 1] <= codePoint) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high >= 0 && codePoint <= ranges[(high << 1) + 1];
+    }
+
+    /**
+     * 本集合と指定された集合の両方に含まれるコードポイントの集合(積集合)を返す。
+     *
+     * @param other 集合
+     * @return 積集合
+     */
+    CodePointSet intersect(CodePointSet other) {
+        long[] resultBmp = new long[BMP_WORDS];
+        for (int i = 0; i < BMP_WORDS; i++) {
+            resultBmp[i] = bmp[i] & other.bmp[i];
+        }
+        int[] result = new int[ranges.length + other.ranges.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < ranges.length && j < other.ranges.length) {
+            int start = Math.max(ranges[i], other.ranges[j]);
+            int end = Math.min(ranges[i + 1], other.ranges[j + 1]);
+            if (start <= end) {
+                result[size++] = start;
+                result[size++] = end;
+            }
+            // 終了位置が小さい方の範囲を進める
+            if (ranges[i + 1] < other.ranges[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+        return new CodePointSet(resultBmp, Arrays.copyOf(result, size));
+    }
+
+    /**
+     * 本集合に含まれ、指定された集合に含まれないコードポイントの集合(差集合)を返す。
+     *
+     * @param other 集合
+     * @return 差集合
+     */
+    CodePointSet subtract(CodePointSet other) {
+        long[] resultBmp = new long[BMP_WORDS];
+        for (int i = 0; i < BMP_WORDS; i++) {
+            resultBmp[i] = bmp[i] & ~other.bmp[i];
+        }
+        int[] result = new int[ranges.length + other.ranges.length];
+        int size = 0;
+        int j = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            int current = ranges[i];
+            int end = ranges[i + 1];
+            // 範囲の手前で終わる除外範囲を読み飛ばす
+            while (j < other.ranges.length && other.ranges[j + 1] < current) {
+                j += 2;
+            }
+            // 範囲と重なる除外範囲を取り除く
+            int k = j;
+            while (k < other.ranges.length && other.ranges[k] <= end) {
+                if (other.ranges[k] > current) {
+                    result[size++] = current;
+                    result[size++] = other.ranges[k] - 1;
+                }
+                current = Math.max(current, other.ranges[k + 1] + 1);
+                k += 2;
+            }
+            if (current <= end) {
+                result[size++] = current;
+                result[size++] = end;
+            }
+        }
+        return new CodePointSet(resultBmp, Arrays.copyOf(result, size));
+    }
+
+    /**
+     * 基本多言語面のビットマップを取得する。
+     * <p/>
+     * 返却した配列を変更してはならない。
+     *
+     * @return 基本多言語面のビットマップ
+     */
+    long[] getBmp() {
+        return bmp;
+    }
+
+    /**
+     * 補助平面の範囲を取得する。
+     * <p/>
+     * 返却した配列を変更してはならない。
+     *
+     * @return 補助平面の範囲。開始位置と終了位置を交互に保持する
+     */
+    int[] getRanges() {
+        return ranges;
+    }
+
+    /**
+     * {@link CodePointSet}を構築するクラス。
+     */
+    static final class Builder {
+
+        /** 基本多言語面のビットマップ */
+        private final long[] bmp = new long[BMP_WORDS];
+
+        /** 補助平面の範囲 */
+        private final List<int[]> ranges = new ArrayList<int[]>();
+
+        /**
+         * コードポイントを追加する。
+         *
+         * @param codePoint コードポイント
+         * @return 本インスタンス自身
+         */
+        Builder add(int codePoint) {
+            return addRange(codePoint, codePoint);
+        }
+
+        /**
+         * コードポイントの範囲を追加する。
+         * <p/>
+         * 有効なコードポイントの範囲外の部分は無視する。
+         *
+         * @param start 開始位置
+         * @param end 終了位置(終了位置を含む)
+         * @return 本インスタンス自身
+         */
+        Builder addRange(int start, int end) {
+            start = Math.max(start, 0);
+            end = Math.min(end, Character.MAX_CODE_POINT);
+            if (start > end) {
+                return this;
+            }
+            int bmpEnd = Math.min(end, BMP_SIZE - 1);
+            for (int codePoint = start; codePoint <= bmpEnd; codePoint++) {
+                bmp[codePoint >>> 6] |= 1L << codePoint;
+            }
+            if (end >= BMP_SIZE) {
+                ranges.add(new int[] {Math.max(start, BMP_SIZE), end});
+            }
+            return this;
+        }
+
+        /**
+         * 許容文字集合定義が許容するコードポイントを全て追加する。
+         * <p/>
+         * 本パッケージの{@link CharsetDef}実装クラスは、保持する定義または表から直接追加する。
+         * それ以外の実装クラスの場合は、全てのコードポイントについて
+         * {@link CharsetDef#contains(int)}を呼び出して追加する。
+         *
+         * @param charsetDef 許容文字集合定義
+         * @return 本インスタンス自身
+         */
+        Builder addAll(CharsetDef charsetDef) {
+            if (charsetDef instanceof CompilingCharsetDefSupport) {
+                return addAll(((CompilingCharsetDefSupport) charsetDef).getCompiled());
+            }
+            if (charsetDef instanceof MappedCharsetDef) {
+                return addAll(((MappedCharsetDef) charsetDef).toCodePointSet());
+            }
+            if (charsetDef instanceof JapaneseCharsetDef) {
+                ByteBuffer table = ((JapaneseCharsetDef) charsetDef).getCharset().getTable();
+                return addAll(CodePointSetFile.toCodePointSet(table));
+            }
+            if (charsetDef instanceof CachingCharsetDef
+                    && ((CachingCharsetDef) charsetDef).getCharsetDef() != null) {
+                return addAll(((CachingCharsetDef) charsetDef).getCharsetDef());
+            }
+            if (charsetDef instanceof CompositeCharsetDef
+                    && ((CompositeCharsetDef) charsetDef).getCharsetDefList() != null) {
+                for (CharsetDef child : ((CompositeCharsetDef) charsetDef).getCharsetDefList()) {
+                    addAll(child);
+                }
+                return this;
+            }
+            if (charsetDef instanceof RangedCharsetDef && ((RangedCharsetDef) charsetDef).isConfigured()) {
+                RangedCharsetDef ranged = (RangedCharsetDef) charsetDef;
+                return addRange(ranged.getStart(), ranged.getEnd());
+            }
+            if (charsetDef instanceof LiteralCharsetDef
+                    && ((LiteralCharsetDef) charsetDef).getAllowedCodePoints() != null) {
+                BitSet allowed = ((LiteralCharsetDef) charsetDef).getAllowedCodePoints();
+                for (int codePoint = allowed.nextSetBit(0); codePoint >= 0;
+                        codePoint = allowed.nextSetBit(codePoint + 1)) {
+                    add(codePoint);
+                }
+                return this;
+            }
+            return addByScan(charsetDef);
+        }
+
+        /**
+         * コードポイントの集合を全て追加する。
+         *
+         * @param codePointSet コードポイントの集合
+         * @return 本インスタンス自身
+         */
+        Builder addAll(CodePointSet codePointSet) {
+            for (int i = 0; i < BMP_WORDS; i++) {
+                bmp[i] |= codePointSet.bmp[i];
+            }
+            for (int i = 0; i < codePointSet.ranges.length; i += 2) {
+                ranges.add(new int[] {codePointSet.ranges[i], codePointSet.ranges[i + 1]});
+            }
+            return this;
+        }
+
+        /**
+         * 全てのコードポイントについて判定を行い、許容されるコードポイントを追加する。
+         *
+         * @param charsetDef 許容文字集合定義
+         * @return 本インスタンス自身
+         */
+        Builder addByScan(CharsetDef charsetDef) {
+            for (int codePoint = 0; codePoint < BMP_SIZE; codePoint++) {
+                if (charsetDef.contains(codePoint)) {
+                    bmp[codePoint >>> 6] |= 1L << codePoint;
+                }
+            }
+            int start = -1;
+            for (int codePoint = BMP_SIZE; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+                if (charsetDef.contains(codePoint)) {
+                    if (start < 0) {
+                        start = codePoint;
+                    }
+                } else if (start >= 0) {
+                    ranges.add(new int[] {start, codePoint - 1});
+                    start = -1;
+                }
+            }
+            if (start >= 0) {
+                ranges.add(new int[] {start, Character.MAX_CODE_POINT});
+            }
+            return this;
+        }
+
+        /**
+         * コードポイントの集合を構築する。
+         *
+         * @return コードポイントの集合
+         */
+        CodePointSet build() {
+            List<int[]> sorted = new ArrayList<int[]>(ranges);
+            Collections.sort(sorted, new Comparator<int[]>() {
+                public int compare(int[] o1, int[] o2) {
+                    return o1[0] < o2[0] ? -1 : (o1[0] == o2[0] ? 0 : 1);
+                }
+            });
+            int[] merged = new int[sorted.size() * 2];
+            int size = 0;
+            for (int[] range : sorted) {
+                if (size > 0 && range[0] <= merged[size - 1] + 1) {
+                    // 重複または隣接する範囲は併合する
+                    merged[size - 1] = Math.max(merged[size - 1], range[1]);
+                } else {
+                    merged[size++] = range[0];
+                    merged[size++] = range[1];
+                }
+            }
+            return new CodePointSet(bmp.clone(), Arrays.copyOf(merged, size));
+        }
+    }
+}
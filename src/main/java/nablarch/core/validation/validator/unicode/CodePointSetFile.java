@@ -0,0 +1,239 @@
+package nablarch.core.validation.validator.unicode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import nablarch.core.util.FileUtil;
+
+/**
+ * {@link CodePointSet}をファイルに保存し、読み込むユーティリティクラス。
+ * <p/>
+ * ファイルの形式は以下のとおり。数値は全てビッグエンディアンとする。
+ * <pre>
+ * int    マジックナンバー({@link #MAGIC})
+ * int    形式のバージョン({@link #VERSION})
+ * int    基本多言語面のビットマップのワード数({@link CodePointSet#BMP_WORDS})
+ * int    補助平面の範囲の数
+ * long[] 基本多言語面のビットマップ
+ * int[]  補助平面の範囲(開始位置と終了位置を交互に格納)
+ * </pre>
+ *
+ * @author TIS
+ */
+final class CodePointSetFile {
+
+    /** マジックナンバー("NCST") */
+    static final int MAGIC = 0x4E435354;
+
+    /** 形式のバージョン */
+    static final int VERSION = 1;
+
+    /** ヘッダのバイト数 */
+    static final int HEADER_SIZE = 16;
+
+    /** ビットマップの開始位置 */
+    static final int BMP_OFFSET = HEADER_SIZE;
+
+    /** 補助平面の範囲の開始位置 */
+    static final int RANGES_OFFSET = BMP_OFFSET + CodePointSet.BMP_WORDS * 8;
+
+    /** 隠蔽コンストラクタ */
+    private CodePointSetFile() {
+    }
+
+    /**
+     * コードポイントの集合を出力する。
+     * <p/>
+     * 出力ストリームはクローズしない。
+     *
+     * @param codePointSet コードポイントの集合
+     * @param out 出力ストリーム
+     * @throws IOException 出力に失敗した場合
+     */
+    static void write(CodePointSet codePointSet, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        int[] ranges = codePointSet.getRanges();
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(CodePointSet.BMP_WORDS);
+        data.writeInt(ranges.length >>> 1);
+        for (long word : codePointSet.getBmp()) {
+            data.writeLong(word);
+        }
+        for (int value : ranges) {
+            data.writeInt(value);
+        }
+        data.flush();
+    }
+
+    /**
+     * コードポイントの集合を保存したファイルを読み込む。
+     * <p/>
+     * ファイルシステム上のファイルの場合は、読み取り専用でメモリにマップする。
+     * それ以外(JARファイル内のリソースなど)の場合は、ヒープ外のバッファに読み込む。
+     *
+     * @param path ファイルのパス({@link FileUtil#getResourceURL(String)}の形式)
+     * @return ファイルの内容を保持するバッファ
+     * @throws IllegalArgumentException ファイルが存在しない場合
+     * @throws IllegalStateException ファイルの読み込みに失敗した場合、ファイルの形式が不正な場合
+     */
+    static ByteBuffer load(String path) throws IllegalArgumentException, IllegalStateException {
+        URL url = FileUtil.getResourceURL(path);
+        if (url == null) {
+            throw new IllegalArgumentException(
+                    "charset table was not found. path = [" + path + "]");
+        }
+        ByteBuffer buffer;
+        try {
+            buffer = "file".equals(url.getProtocol()) ? map(new File(url.toURI())) : read(url);
+        } catch (IOException e) {
+            throw new IllegalStateException(
+                    "failed to load charset table. path = [" + path + "]", e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(
+                    "failed to load charset table. path = [" + path + "]", e);
+        }
+        verify(buffer, path);
+        return buffer;
+    }
+
+    /**
+     * バッファに保持したコードポイントの集合を{@link CodePointSet}に変換する。
+     *
+     * @param buffer {@link #load(String)}で読み込んだバッファ
+     * @return コードポイントの集合
+     */
+    static CodePointSet toCodePointSet(ByteBuffer buffer) {
+        long[] bmp = new long[CodePointSet.BMP_WORDS];
+        for (int i = 0; i < bmp.length; i++) {
+            bmp[i] = buffer.getLong(BMP_OFFSET + (i << 3));
+        }
+        int[] ranges = new int[rangeCount(buffer) << 1];
+        for (int i = 0; i < ranges.length; i++) {
+            ranges[i] = buffer.getInt(RANGES_OFFSET + (i << 2));
+        }
+        return new CodePointSet(bmp, ranges);
+    }
+
+    /**
+     * バッファに保持したコードポイントの集合に、コードポイントが含まれるか判定する。
+     * <p/>
+     * バッファの位置は変更しないため、複数のスレッドから同時に呼び出すことができる。
+     *
+     * @param buffer {@link #load(String)}で読み込んだバッファ
+     * @param codePoint コードポイント
+     * @return 含まれる場合true
+     */
+    static boolean contains(ByteBuffer buffer, int codePoint) {
+        if (codePoint < 0) {
+            return false;
+        }
+        if (codePoint < CodePointSet.BMP_SIZE) {
+            return (buffer.getLong(BMP_OFFSET + ((codePoint >>> 6) << 3)) & (1L << codePoint)) != 0;
+        }
+        // 開始位置がコードポイント以下となる最後の範囲を探す
+        int low = 0;
+        int high = rangeCount(buffer) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getInt(RANGES_OFFSET + (mid << 3)) <= codePoint) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high >= 0 && codePoint <= buffer.getInt(RANGES_OFFSET + (high << 3) + 4);
+    }
+
+    /**
+     * バッファに保持した基本多言語面のビットマップのワードを取得する。
+     *
+     * @param buffer {@link #load(String)}で読み込んだバッファ
+     * @param index ワードのインデックス
+     * @return ワード
+     */
+    static long getBmpWord(ByteBuffer buffer, int index) {
+        return buffer.getLong(BMP_OFFSET + (index << 3));
+    }
+
+    /**
+     * 補助平面の範囲の数を取得する。
+     *
+     * @param buffer バッファ
+     * @return 補助平面の範囲の数
+     */
+    private static int rangeCount(ByteBuffer buffer) {
+        return buffer.getInt(12);
+    }
+
+    /**
+     * ファイルを読み取り専用でメモリにマップする。
+     *
+     * @param file ファイル
+     * @return マップしたバッファ
+     * @throws IOException マップに失敗した場合
+     */
+    private static ByteBuffer map(File file) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            FileChannel channel = in.getChannel();
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            FileUtil.closeQuietly(in);
+        }
+    }
+
+    /**
+     * リソースをヒープ外のバッファに読み込む。
+     *
+     * @param url リソースのURL
+     * @return 読み込んだバッファ
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private static ByteBuffer read(URL url) throws IOException {
+        InputStream in = url.openStream();
+        try {
+            byte[] buf = new byte[8192];
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(RANGES_OFFSET);
+            for (int n; (n = in.read(buf)) != -1;) {
+                bytes.write(buf, 0, n);
+            }
+            byte[] content = bytes.toByteArray();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(content.length);
+            buffer.put(content);
+            buffer.flip();
+            return buffer.asReadOnlyBuffer();
+        } finally {
+            FileUtil.closeQuietly(in);
+        }
+    }
+
+    /**
+     * ファイルの形式を検証する。
+     *
+     * @param buffer バッファ
+     * @param path ファイルのパス
+     * @throws IllegalStateException ファイルの形式が不正な場合
+     */
+    private static void verify(ByteBuffer buffer, String path) throws IllegalStateException {
+        int capacity = buffer.capacity();
+        if (capacity < RANGES_OFFSET
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(4) != VERSION
+                || buffer.getInt(8) != CodePointSet.BMP_WORDS
+                || rangeCount(buffer) < 0
+                || capacity != RANGES_OFFSET + ((long) rangeCount(buffer) << 3)) {
+            throw new IllegalStateException(
+                    "invalid charset table format. path = [" + path + "]");
+        }
+    }
+}
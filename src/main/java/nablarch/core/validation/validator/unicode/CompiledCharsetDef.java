@@ -0,0 +1,81 @@
+package nablarch.core.validation.validator.unicode;
+
+/**
+ * 他の許容文字集合定義を、判定用の表に変換して判定する{@link CharsetDef}実装クラス。
+ * <p/>
+ * {@link CompositeCharsetDef}は、構成する許容文字集合定義を順に判定するため、
+ * 判定に要する時間は構成する許容文字集合定義の数と入れ子の深さに比例する。
+ * 本クラスは、初期化時に変換元の許容文字集合定義が許容する全てのコードポイントを
+ * 基本多言語面のビットマップと補助平面の範囲の配列からなる1つの表に変換するため、
+ * 判定に要する時間は変換元の構成によらず一定となる。
+ * <p/>
+ * 本パッケージの{@link CharsetDef}実装クラス({@link CompositeCharsetDef}, {@link RangedCharsetDef},
+ * {@link LiteralCharsetDef}, {@link CachingCharsetDef}, 本クラス)は保持する定義から変換する。
+ * それ以外の実装クラスは、全てのコードポイントについて判定を行い変換する。
+ * 変換後に変換元の許容文字集合定義を変更しても、本クラスの判定結果には反映されない。
+ * <p/>
+ * 変換は{@link #initialize()}で行う。初期化されていない場合は、最初の判定時に変換する。
+ * 差集合、積集合を判定用の表に変換する場合は、{@link DifferenceCharsetDef}、{@link IntersectionCharsetDef}を使用する。
+ * <pre>
+ * {@literal
+ * <component name="compiledCharset" class="nablarch.core.validation.validator.unicode.CompiledCharsetDef">
+ *   <property name="charsetDef" ref="composite" />
+ * </component>
+ *
+ * <component name="initializer" class="nablarch.core.repository.initialization.BasicApplicationInitializer">
+ *   <property name="initializeList">
+ *     <list>
+ *       <component-ref name="compiledCharset" />
+ *     </list>
+ *   </property>
+ * </component>
+ * }
+ * </pre>
+ * <p/>
+ * メッセージIDが設定されていない場合は、変換元の許容文字集合定義のメッセージIDを使用する。
+ *
+ * @author TIS
+ */
+public class CompiledCharsetDef extends CompilingCharsetDefSupport {
+
+    /** 変換元の許容文字集合定義 */
+    private CharsetDef charsetDef;
+
+    /**
+     * 変換元の許容文字集合定義を設定する。
+     *
+     * @param charsetDef 変換元の許容文字集合定義
+     */
+    public void setCharsetDef(CharsetDef charsetDef) {
+        this.charsetDef = charsetDef;
+        reset();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * メッセージIDが設定されていない場合は、変換元の許容文字集合定義のメッセージIDを返却する。
+     */
+    @Override
+    public String getMessageId() {
+        String messageId = super.getMessageId();
+        if (messageId == null && charsetDef != null) {
+            return charsetDef.getMessageId();
+        }
+        return messageId;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException 変換元の許容文字集合定義が設定されていない場合
+     */
+    @Override
+    CodePointSet compile() throws IllegalStateException {
+        if (charsetDef == null) {
+            throw new IllegalStateException(
+                    "charsetDef must be set.");
+        }
+        return new CodePointSet.Builder().addAll(charsetDef).build();
+    }
+}
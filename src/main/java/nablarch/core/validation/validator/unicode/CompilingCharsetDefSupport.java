@@ -0,0 +1,76 @@
+package nablarch.core.validation.validator.unicode;
+
+import nablarch.core.repository.initialization.Initializable;
+
+/**
+ * 初期化時に許容文字をコードポイントの集合({@link CodePointSet})に変換し、変換後の集合で判定する
+ * {@link CharsetDef}実装クラスをサポートするクラス。
+ * <p/>
+ * 変換は{@link #initialize()}で行う。初期化されていない場合は、最初の判定時に変換する。
+ * 判定は変換後の集合に対して行うため、判定に要する時間は変換元の構成によらず一定となる。
+ *
+ * @author TIS
+ */
+abstract class CompilingCharsetDefSupport extends CharsetDefSupport implements Initializable {
+
+    /** 変換後のコードポイントの集合 */
+    private volatile CodePointSet compiled;
+
+    /**
+     * 許容文字をコードポイントの集合に変換する。
+     *
+     * @throws IllegalStateException 変換に必要な設定が行われていない場合
+     */
+    public void initialize() throws IllegalStateException {
+        compiled = compile();
+    }
+
+    /** {@inheritDoc} */
+    public boolean contains(int codePoint) {
+        return getCompiled().contains(codePoint);
+    }
+
+    /**
+     * 基本多言語面のビットマップのワードを取得する。
+     *
+     * @param index ワードのインデックス
+     * @return ワード(第kビットがコードポイント(index×64+k)の判定結果を表す)
+     */
+    long getBmpWord(int index) {
+        return getCompiled().getBmp()[index];
+    }
+
+    /**
+     * 変換後のコードポイントの集合を取得する。
+     * <p/>
+     * 変換されていない場合は変換する。
+     *
+     * @return 変換後のコードポイントの集合
+     * @throws IllegalStateException 変換に必要な設定が行われていない場合
+     */
+    CodePointSet getCompiled() throws IllegalStateException {
+        CodePointSet result = compiled;
+        if (result == null) {
+            result = compile();
+            compiled = result;
+        }
+        return result;
+    }
+
+    /**
+     * 変換後のコードポイントの集合を破棄する。
+     * <p/>
+     * 設定が変更された場合に呼び出す。次回の判定時に再度変換する。
+     */
+    void reset() {
+        compiled = null;
+    }
+
+    /**
+     * 許容文字をコードポイントの集合に変換する。
+     *
+     * @return 変換後のコードポイントの集合
+     * @throws IllegalStateException 変換に必要な設定が行われていない場合
+     */
+    abstract CodePointSet compile() throws IllegalStateException;
+}
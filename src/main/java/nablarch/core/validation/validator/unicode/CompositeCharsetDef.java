@@ -59,4 +59,13 @@ public class CompositeCharsetDef extends CharsetDefSupport {
     public void setCharsetDefList(List<? extends CharsetDef> definitions) {
         this.definitions = definitions;
     }
+
+    /**
+     * 許容文字集合定義のリストを取得する。
+     *
+     * @return 許容文字集合定義のリスト。設定されていない場合はnull
+     */
+    List<? extends CharsetDef> getCharsetDefList() {
+        return definitions;
+    }
 }
@@ -0,0 +1,77 @@
+package nablarch.core.validation.validator.unicode;
+
+/**
+ * 許容文字集合定義から、除外する許容文字集合定義の文字を取り除いた差集合による許容文字集合定義クラス。
+ * <p/>
+ * 初期化時に差集合を判定用の表に変換するため、判定に要する時間は元の許容文字集合定義の構成によらず一定となる。
+ * 変換は{@link #initialize()}で行う。初期化されていない場合は、最初の判定時に変換する。
+ * 変換後に元の許容文字集合定義を変更しても、本クラスの判定結果には反映されない。
+ * <p/>
+ * 例えば、JIS X 0208の漢字から特定の文字を除いた文字集合は、以下のように定義する。
+ * <pre>
+ * {@literal
+ * <component name="kanjiWithoutExcluded" class="nablarch.core.validation.validator.unicode.DifferenceCharsetDef">
+ *   <property name="charsetDef">
+ *     <component class="nablarch.core.validation.validator.unicode.JapaneseCharsetDef">
+ *       <property name="charset" value="JIS_X_0208_KANJI" />
+ *     </component>
+ *   </property>
+ *   <property name="excludedCharsetDef">
+ *     <component class="nablarch.core.validation.validator.unicode.LiteralCharsetDef">
+ *       <property name="allowedCharacters" value="丼鬱" />
+ *     </component>
+ *   </property>
+ * </component>
+ * }
+ * </pre>
+ *
+ * @author TIS
+ */
+public class DifferenceCharsetDef extends CompilingCharsetDefSupport {
+
+    /** 元の許容文字集合定義 */
+    private CharsetDef charsetDef;
+
+    /** 除外する許容文字集合定義 */
+    private CharsetDef excludedCharsetDef;
+
+    /**
+     * 元の許容文字集合定義を設定する。
+     *
+     * @param charsetDef 元の許容文字集合定義
+     */
+    public void setCharsetDef(CharsetDef charsetDef) {
+        this.charsetDef = charsetDef;
+        reset();
+    }
+
+    /**
+     * 除外する許容文字集合定義を設定する。
+     *
+     * @param excludedCharsetDef 除外する許容文字集合定義
+     */
+    public void setExcludedCharsetDef(CharsetDef excludedCharsetDef) {
+        this.excludedCharsetDef = excludedCharsetDef;
+        reset();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException 元の許容文字集合定義または除外する許容文字集合定義が設定されていない場合
+     */
+    @Override
+    CodePointSet compile() throws IllegalStateException {
+        if (charsetDef == null) {
+            throw new IllegalStateException(
+                    "charsetDef must be set.");
+        }
+        if (excludedCharsetDef == null) {
+            throw new IllegalStateException(
+                    "excludedCharsetDef must be set.");
+        }
+        CodePointSet included = new CodePointSet.Builder().addAll(charsetDef).build();
+        CodePointSet excluded = new CodePointSet.Builder().addAll(excludedCharsetDef).build();
+        return included.subtract(excluded);
+    }
+}
@@ -0,0 +1,227 @@
+package nablarch.core.validation.validator.unicode;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+import nablarch.core.validation.FusedValidator;
+import nablarch.core.validation.MessageIdProvider;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.validator.Length;
+import nablarch.core.validation.validator.LengthUnit;
+import nablarch.core.validation.validator.LengthValidator;
+import nablarch.core.validation.validator.Required;
+import nablarch.core.validation.validator.RequiredValidator;
+
+/**
+ * {@link Required}、{@link Length}、{@link SystemChar}が設定された文字列のプロパティを、まとめてバリデーションするクラス。
+ * <p>
+ *   アノテーションの抽出、空文字列のチェックおよび許容文字集合定義の取得をプロパティごとに1回で行う。
+ *   文字列の走査は、{@link Length#unit()}によって次のとおり行う。
+ *   <ul>
+ *     <li>{@link LengthUnit#CHAR}：文字列長は走査せずに取得し、許容文字のチェックのみ走査する。</li>
+ *     <li>{@link LengthUnit#CODE_POINT}：許容文字のチェックと同じ走査でコードポイント数を数えるため、走査は1回となる。
+ *     (許容されない文字が見つかった場合は、走査していない残りの部分のみ数える)</li>
+ *     <li>{@link LengthUnit#BYTE}：文字列長のチェックは{@link LengthValidator}に委譲するため、
+ *     許容文字のチェックとは別にバイト数を数える走査を行う。</li>
+ *   </ul>
+ *   チェックはアノテーションの設定順に評価し、最初に失敗したアノテーションに対応するバリデータでメッセージを追加するため、
+ *   アノテーションごとのバリデータを使用した場合と同じメッセージとなる。
+ *
+ *   <p>
+ *     <b>使用するための設定</b>
+ *   </p>
+ *   各アノテーションに対応するバリデータを設定し、{@link nablarch.core.validation.ValidationManager}の
+ *   fusedValidatorsプロパティに本クラスを設定する。
+ *   <pre>
+ *     {@code <component name="fusedStringValidator" class="nablarch.core.validation.validator.unicode.FusedStringValidator">
+ *         <property name="requiredValidator" ref="requiredValidator"/>
+ *         <property name="lengthValidator" ref="lengthValidator"/>
+ *         <property name="systemCharValidator" ref="systemCharValidator"/>
+ *     </component>}
+ *   </pre>
+ *   バリデータが設定されていないアノテーションを含むプロパティ、および値が文字列でないプロパティは、
+ *   本クラスの対象外となり、アノテーションごとのバリデータでバリデーションされる。
+ * </p>
+ *
+ * @author TIS
+ */
+public class FusedStringValidator implements FusedValidator, MessageIdProvider {
+
+    /** 必須入力をチェックするバリデータ */
+    private RequiredValidator requiredValidator;
+
+    /** 文字列長をチェックするバリデータ */
+    private LengthValidator lengthValidator;
+
+    /** システム許容文字をチェックするバリデータ */
+    private SystemCharValidator systemCharValidator;
+
+    /**
+     * 必須入力をチェックするバリデータを設定する。
+     *
+     * @param requiredValidator 必須入力をチェックするバリデータ
+     */
+    public void setRequiredValidator(RequiredValidator requiredValidator) {
+        this.requiredValidator = requiredValidator;
+    }
+
+    /**
+     * 文字列長をチェックするバリデータを設定する。
+     *
+     * @param lengthValidator 文字列長をチェックするバリデータ
+     */
+    public void setLengthValidator(LengthValidator lengthValidator) {
+        this.lengthValidator = lengthValidator;
+    }
+
+    /**
+     * システム許容文字をチェックするバリデータを設定する。
+     *
+     * @param systemCharValidator システム許容文字をチェックするバリデータ
+     */
+    public void setSystemCharValidator(SystemCharValidator systemCharValidator) {
+        this.systemCharValidator = systemCharValidator;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 設定されたバリデータのメッセージIDを返却する。
+     */
+    public List<String> getMessageIds() {
+        List<String> messageIds = new ArrayList<String>();
+        if (requiredValidator != null) {
+            messageIds.addAll(requiredValidator.getMessageIds());
+        }
+        if (lengthValidator != null) {
+            messageIds.addAll(lengthValidator.getMessageIds());
+        }
+        if (systemCharValidator != null) {
+            messageIds.addAll(systemCharValidator.getMessageIds());
+        }
+        return messageIds;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 値が文字列であり、全てのアノテーションが対応するバリデータの設定された
+     * {@link Required}、{@link Length}、{@link SystemChar}のいずれかである場合に適用可能と判定する。
+     */
+    public boolean isApplicable(List<Annotation> annotations, Object value) {
+        if (!(value instanceof String) || annotations.isEmpty()) {
+            return false;
+        }
+        for (Annotation annotation : annotations) {
+            Class<? extends Annotation> type = annotation.annotationType();
+            if (type == Required.class) {
+                if (requiredValidator == null) {
+                    return false;
+                }
+            } else if (type == Length.class) {
+                if (lengthValidator == null) {
+                    return false;
+                }
+            } else if (type == SystemChar.class) {
+                if (systemCharValidator == null) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    public <T> boolean validate(ValidationContext<T> context, String propertyName, Object propertyDisplayName,
+            List<Annotation> annotations, Object value) {
+        String str = (String) value;
+
+        // 空文字列は必須入力のチェックのみ失敗し、文字列長と許容文字のチェックは成功する
+        if (str.length() == 0) {
+            for (Annotation annotation : annotations) {
+                if (annotation.annotationType() == Required.class) {
+                    return requiredValidator.validate(context, propertyName, propertyDisplayName, annotation, str);
+                }
+            }
+            return true;
+        }
+
+        Length length = null;
+        SystemChar systemChar = null;
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType() == Length.class) {
+                length = (Length) annotation;
+            } else if (annotation.annotationType() == SystemChar.class) {
+                systemChar = (SystemChar) annotation;
+            }
+        }
+
+        // 許容文字のチェックとコードポイント数の計数は、同じ走査で行う
+        boolean countCodePoints = length != null && length.unit() == LengthUnit.CODE_POINT;
+        boolean charsetValid = true;
+        int valueLength = str.length();
+        if (systemChar != null) {
+            int[] codePointCount = countCodePoints ? new int[1] : null;
+            int invalidIndex = indexOfInvalid(str, systemChar, codePointCount);
+            charsetValid = invalidIndex < 0;
+            if (countCodePoints) {
+                // 許容されない文字が見つかった場合は、走査していない残りの部分のみ数える
+                valueLength = charsetValid ? codePointCount[0]
+                        : codePointCount[0] + str.codePointCount(invalidIndex, str.length());
+            }
+        } else if (countCodePoints) {
+            valueLength = str.codePointCount(0, str.length());
+        }
+
+        // アノテーションの設定順に評価し、最初に失敗したバリデータでメッセージを追加する
+        for (Annotation annotation : annotations) {
+            Class<? extends Annotation> type = annotation.annotationType();
+            if (type == Length.class) {
+                if (length.unit() == LengthUnit.BYTE) {
+                    if (!lengthValidator.validate(context, propertyName, propertyDisplayName, annotation, str)) {
+                        return false;
+                    }
+                } else if (!isLengthValid(length, valueLength)) {
+                    return lengthValidator.validate(context, propertyName, propertyDisplayName, annotation, str);
+                }
+            } else if (type == SystemChar.class && !charsetValid) {
+                return systemCharValidator.validate(context, propertyName, propertyDisplayName, annotation, str);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 文字列長が{@link Length}の範囲内であるかを判定する。
+     *
+     * @param length Lengthアノテーション
+     * @param valueLength 文字列長
+     * @return 範囲内である場合true
+     */
+    private static boolean isLengthValid(Length length, int valueLength) {
+        if (length.min() > 0 && valueLength < length.min()) {
+            return false;
+        }
+        return length.max() <= 0 || valueLength <= length.max();
+    }
+
+    /**
+     * 文字列のうち、許容されない最初の文字の位置を返す。
+     * <p/>
+     * 判定は{@link CharsetDefValidationUtil#indexOfInvalid(CharsetDef, String, boolean, boolean)}と同じ走査で行うため、
+     * {@link SystemCharValidator}と同じ結果となる。
+     *
+     * @param value バリデーション対象の文字列
+     * @param systemChar SystemCharアノテーション
+     * @param codePointCount 走査した範囲のコードポイント数を格納する配列。数える必要がない場合はnull
+     * @return 許容されない最初の文字の位置。全ての文字が許容される場合は-1
+     */
+    private int indexOfInvalid(String value, SystemChar systemChar, int[] codePointCount) {
+        CharsetDef charsetDef = systemCharValidator.getCharsetDefFrom(systemChar);
+        return CharsetDefValidationUtil.indexOfInvalid(charsetDef, value,
+                systemChar.allowLineSeparator(), systemCharValidator.isAllowSurrogatePair(), codePointCount);
+    }
+}
@@ -0,0 +1,66 @@
+package nablarch.core.validation.validator.unicode;
+
+import java.util.List;
+
+/**
+ * 複数の許容文字集合定義の全てに含まれる文字(積集合)による許容文字集合定義クラス。
+ * <p/>
+ * 初期化時に積集合を判定用の表に変換するため、判定に要する時間は元の許容文字集合定義の数や構成によらず一定となる。
+ * 変換は{@link #initialize()}で行う。初期化されていない場合は、最初の判定時に変換する。
+ * 変換後に元の許容文字集合定義を変更しても、本クラスの判定結果には反映されない。
+ * <p/>
+ * 例えば、JIS X 0213の文字のうちCJK統合漢字の範囲の文字は、以下のように定義する。
+ * <pre>
+ * {@literal
+ * <component name="jisX0213Unified" class="nablarch.core.validation.validator.unicode.IntersectionCharsetDef">
+ *   <property name="charsetDefList">
+ *     <list>
+ *       <component class="nablarch.core.validation.validator.unicode.JapaneseCharsetDef">
+ *         <property name="charset" value="JIS_X_0213" />
+ *       </component>
+ *       <component class="nablarch.core.validation.validator.unicode.RangedCharsetDef">
+ *         <property name="startCodePoint" value="U+4E00" />
+ *         <property name="endCodePoint" value="U+9FFF" />
+ *       </component>
+ *     </list>
+ *   </property>
+ * </component>
+ * }
+ * </pre>
+ *
+ * @author TIS
+ */
+public class IntersectionCharsetDef extends CompilingCharsetDefSupport {
+
+    /** 許容文字集合定義のリスト */
+    private List<? extends CharsetDef> definitions;
+
+    /**
+     * 許容文字集合定義のリストを設定する。
+     *
+     * @param definitions 許容文字集合定義のリスト
+     */
+    public void setCharsetDefList(List<? extends CharsetDef> definitions) {
+        this.definitions = definitions;
+        reset();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException 許容文字集合定義のリストが設定されていない場合、空の場合
+     */
+    @Override
+    CodePointSet compile() throws IllegalStateException {
+        if (definitions == null || definitions.isEmpty()) {
+            throw new IllegalStateException(
+                    "charsetDefList must not be empty.");
+        }
+        CodePointSet result = null;
+        for (CharsetDef definition : definitions) {
+            CodePointSet codePointSet = new CodePointSet.Builder().addAll(definition).build();
+            result = (result == null) ? codePointSet : result.intersect(codePointSet);
+        }
+        return result;
+    }
+}
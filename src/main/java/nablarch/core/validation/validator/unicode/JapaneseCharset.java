@@ -0,0 +1,122 @@
+package nablarch.core.validation.validator.unicode;
+
+import java.nio.ByteBuffer;
+
+import nablarch.core.util.annotation.Published;
+
+/**
+ * 本モジュールに同梱する、日本語の標準的な文字集合。
+ * <p/>
+ * 各文字集合は、{@link CharsetTableGenerator}で生成した表としてクラスパス上に同梱している。
+ * 表は最初に使用した際にヒープ外のバッファに読み込み、以降は全ての{@link JapaneseCharsetDef}で共有する。
+ * <p/>
+ * JIS X 0208とUnicodeの対応は、JDKの{@code x-JIS0208}と同じとする。
+ * このため、Windows-31Jで異なるUnicodeに対応付けられる文字(例えば、WAVE DASH(U+301C)に対するFULLWIDTH TILDE(U+FF5E))は、
+ * JIS X 0208の文字集合には含まれない。
+ * Windows-31J側の文字(U+2015, U+2225, U+FF0D, U+FF5E, U+FFE0, U+FFE1, U+FFE2の7文字)は{@link #WINDOWS_31J_EXTENSION}に含まれる。
+ * <p/>
+ * {@link #JIS_X_0208_NON_KANJI}, {@link #JIS_X_0208_KANJI}, {@link #WINDOWS_31J_EXTENSION}を組み合わせた文字集合は、
+ * Windows-31Jの2バイト文字(利用者定義文字を除く)を全て含むが、それより広い。
+ * JIS X 0208側の7文字(U+00A2, U+00A3, U+00AC, U+2014, U+2016, U+2212, U+301C)も含み、
+ * これらはWindows-31Jで往復変換できない(例えば、WAVE DASH(U+301C)はFULLWIDTH TILDE(U+FF5E)として格納される)。
+ * Windows-31Jで往復変換できる文字のみを許容する場合は、以下のように{@link DifferenceCharsetDef}でこれらの7文字を除外する。
+ * <pre>
+ * {@literal
+ * <component name="windows31j" class="nablarch.core.validation.validator.unicode.DifferenceCharsetDef">
+ *   <property name="charsetDef">
+ *     <component class="nablarch.core.validation.validator.unicode.CompositeCharsetDef">
+ *       <property name="charsetDefList">
+ *         <list>
+ *           <component class="nablarch.core.validation.validator.unicode.JapaneseCharsetDef">
+ *             <property name="charset" value="JIS_X_0208_NON_KANJI" />
+ *           </component>
+ *           <component class="nablarch.core.validation.validator.unicode.JapaneseCharsetDef">
+ *             <property name="charset" value="JIS_X_0208_KANJI" />
+ *           </component>
+ *           <component class="nablarch.core.validation.validator.unicode.JapaneseCharsetDef">
+ *             <property name="charset" value="WINDOWS_31J_EXTENSION" />
+ *           </component>
+ *         </list>
+ *       </property>
+ *     </component>
+ *   </property>
+ *   <property name="excludedCharsetDef">
+ *     <component class="nablarch.core.validation.validator.unicode.LiteralCharsetDef">
+ *       <property name="allowedCharacters" value="&#xA2;&#xA3;&#xAC;&#x2014;&#x2016;&#x2212;&#x301C;" />
+ *     </component>
+ *   </property>
+ * </component>
+ * }
+ * </pre>
+ *
+ * @author TIS
+ */
+@Published(tag = "architect")
+public enum JapaneseCharset {
+
+    /** JIS X 0208の非漢字(1～8区、524文字) */
+    JIS_X_0208_NON_KANJI("jis-x0208-non-kanji.tbl"),
+
+    /** JIS X 0208の第1水準漢字および第2水準漢字(16～84区、6355文字) */
+    JIS_X_0208_KANJI("jis-x0208-kanji.tbl"),
+
+    /** 半角カタカナ(U+FF61～U+FF9F、63文字) */
+    HALFWIDTH_KATAKANA("halfwidth-katakana.tbl"),
+
+    /**
+     * Windows-31Jの2バイト文字(利用者定義文字を除く)のうち、JIS X 0208の文字集合に含まれない文字(454文字)。
+     * 拡張文字(NEC特殊文字、NEC選定IBM拡張文字、IBM拡張文字)の447文字と、
+     * JIS X 0208の文字がWindows-31Jで異なるUnicodeに対応付けられる7文字(U+2015, U+2225, U+FF0D, U+FF5E, U+FFE0, U+FFE1, U+FFE2)からなる。
+     */
+    WINDOWS_31J_EXTENSION("windows-31j-extension.tbl"),
+
+    /**
+     * JIS X 0213:2004の第1面および第2面の文字のうち、
+     * 1つのコードポイントで表される文字(11208文字)。JIS X 0208の文字を全て含む。
+     */
+    JIS_X_0213("jis-x0213.tbl");
+
+    /** 表を格納したディレクトリのパス */
+    private static final String TABLE_DIRECTORY = "classpath:nablarch/core/validation/validator/unicode/charset/";
+
+    /** 表のファイル名 */
+    private final String tableName;
+
+    /** 表を保持するバッファ */
+    private volatile ByteBuffer table;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param tableName 表のファイル名
+     */
+    JapaneseCharset(String tableName) {
+        this.tableName = tableName;
+    }
+
+    /**
+     * コードポイントが文字集合に含まれるか判定する。
+     *
+     * @param codePoint コードポイント
+     * @return 含まれる場合true
+     */
+    public boolean contains(int codePoint) {
+        return CodePointSetFile.contains(getTable(), codePoint);
+    }
+
+    /**
+     * 表を保持するバッファを取得する。
+     * <p/>
+     * 読み込まれていない場合は読み込む。
+     *
+     * @return 表を保持するバッファ
+     */
+    ByteBuffer getTable() {
+        ByteBuffer result = table;
+        if (result == null) {
+            result = CodePointSetFile.load(TABLE_DIRECTORY + tableName);
+            table = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package nablarch.core.validation.validator.unicode;
+
+/**
+ * 本モジュールに同梱する日本語の標準的な文字集合({@link JapaneseCharset})による許容文字集合定義クラス。
+ * <p/>
+ * 文字集合は{@link JapaneseCharset}の定数名で指定する。
+ * 大量の文字を{@link LiteralCharsetDef}で定義する必要がなく、表は全てのインスタンスで共有するため、
+ * 複数の許容文字集合定義で同じ文字集合を使用してもメモリの使用量は増えない。
+ * 複数の文字集合を組み合わせる場合は、{@link CompositeCharsetDef}または{@link CompiledCharsetDef}を使用する。
+ * <pre>
+ * {@literal
+ * <component name="jisKanji" class="nablarch.core.validation.validator.unicode.JapaneseCharsetDef">
+ *   <property name="charset" value="JIS_X_0208_KANJI" />
+ *   <property name="messageId" value="MSG00001" />
+ * </component>
+ * }
+ * </pre>
+ *
+ * @author TIS
+ */
+public class JapaneseCharsetDef extends CharsetDefSupport {
+
+    /** 文字集合 */
+    private JapaneseCharset charset;
+
+    /**
+     * 文字集合を設定する。
+     *
+     * @param charset 文字集合({@link JapaneseCharset}の定数名)
+     * @throws IllegalArgumentException 文字集合の名称が{@link JapaneseCharset}の定数名でない場合
+     */
+    public void setCharset(String charset) throws IllegalArgumentException {
+        try {
+            this.charset = JapaneseCharset.valueOf(charset);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "unknown Japanese charset was specified. charset = [" + charset + "]", e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    public boolean contains(int codePoint) {
+        return getCharset().contains(codePoint);
+    }
+
+    /**
+     * 基本多言語面のビットマップのワードを取得する。
+     *
+     * @param index ワードのインデックス
+     * @return ワード(第kビットがコードポイント(index×64+k)の判定結果を表す)
+     */
+    long getBmpWord(int index) {
+        return CodePointSetFile.getBmpWord(getCharset().getTable(), index);
+    }
+
+    /**
+     * 文字集合を取得する。
+     *
+     * @return 文字集合
+     * @throws IllegalStateException 文字集合が設定されていない場合
+     */
+    JapaneseCharset getCharset() throws IllegalStateException {
+        if (charset == null) {
+            throw new IllegalStateException(
+                    "charset must be set.");
+        }
+        return charset;
+    }
+}
@@ -41,6 +41,17 @@ public class LiteralCharsetDef extends CharsetDefSupport {
         return this;
     }
 
+    /**
+     * 許容文字のコードポイントの集合を取得する。
+     * <p/>
+     * 返却した{@link BitSet}を変更してはならない。
+     *
+     * @return 許容文字のコードポイントの集合。設定されていない場合はnull
+     */
+    BitSet getAllowedCodePoints() {
+        return bitSet;
+    }
+
     /**
      * 許容文字を追加する。
      *
@@ -0,0 +1,109 @@
+package nablarch.core.validation.validator.unicode;
+
+import java.nio.ByteBuffer;
+
+import nablarch.core.repository.initialization.Initializable;
+
+/**
+ * {@link CharsetTableGenerator}で生成した許容文字集合の表を読み込み、判定する{@link CharsetDef}実装クラス。
+ * <p/>
+ * 表のファイルは、読み取り専用でメモリにマップして参照する。
+ * 起動時に許容文字集合定義を構築、変換する必要がないため、大きな許容文字集合であっても起動時の処理時間はほぼ発生しない。
+ * また、表はヒープ外に保持され、同じファイルを参照する複数のプロセス間でOSにより共有される。
+ * JARファイル内のリソースなど、ファイルシステム上に存在しない表は、ヒープ外のバッファに読み込んで参照する。
+ * <p/>
+ * 表のパスは{@code file:}または{@code classpath:}から始まる形式で指定する。
+ * <pre>
+ * {@literal
+ * <component name="jisKanji" class="nablarch.core.validation.validator.unicode.MappedCharsetDef">
+ *   <property name="tablePath" value="file:/opt/app/charset/jis-kanji.tbl" />
+ *   <property name="messageId" value="MSG00001" />
+ * </component>
+ * }
+ * </pre>
+ * 表の読み込みは{@link #initialize()}で行う。初期化されていない場合は、最初の判定時に読み込む。
+ *
+ * @author TIS
+ */
+public class MappedCharsetDef extends CharsetDefSupport implements Initializable {
+
+    /** 表のパス */
+    private String tablePath;
+
+    /** 表を保持するバッファ */
+    private volatile ByteBuffer table;
+
+    /**
+     * 表のパスを設定する。
+     *
+     * @param tablePath 表のパス({@code file:}または{@code classpath:}から始まる形式)
+     */
+    public void setTablePath(String tablePath) {
+        this.tablePath = tablePath;
+        this.table = null;
+    }
+
+    /**
+     * 表を読み込む。
+     *
+     * @throws IllegalStateException 表のパスが設定されていない場合、表の読み込みに失敗した場合、表の形式が不正な場合
+     * @throws IllegalArgumentException 表が存在しない場合
+     */
+    public void initialize() throws IllegalStateException, IllegalArgumentException {
+        table = load();
+    }
+
+    /** {@inheritDoc} */
+    public boolean contains(int codePoint) {
+        return CodePointSetFile.contains(getTable(), codePoint);
+    }
+
+    /**
+     * 基本多言語面のビットマップのワードを取得する。
+     *
+     * @param index ワードのインデックス
+     * @return ワード(第kビットがコードポイント(index×64+k)の判定結果を表す)
+     */
+    long getBmpWord(int index) {
+        return CodePointSetFile.getBmpWord(getTable(), index);
+    }
+
+    /**
+     * 表の内容をコードポイントの集合に変換する。
+     *
+     * @return コードポイントの集合
+     */
+    CodePointSet toCodePointSet() {
+        return CodePointSetFile.toCodePointSet(getTable());
+    }
+
+    /**
+     * 表を保持するバッファを取得する。
+     * <p/>
+     * 読み込まれていない場合は読み込む。
+     *
+     * @return 表を保持するバッファ
+     */
+    private ByteBuffer getTable() {
+        ByteBuffer result = table;
+        if (result == null) {
+            result = load();
+            table = result;
+        }
+        return result;
+    }
+
+    /**
+     * 表を読み込む。
+     *
+     * @return 表を保持するバッファ
+     * @throws IllegalStateException 表のパスが設定されていない場合
+     */
+    private ByteBuffer load() throws IllegalStateException {
+        if (tablePath == null) {
+            throw new IllegalStateException(
+                    "tablePath must be set.");
+        }
+        return CodePointSetFile.load(tablePath);
+    }
+}
@@ -0,0 +1,132 @@
+package nablarch.core.validation.validator.unicode;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * コードポイントごとの判定結果を保持するキャッシュ。
+ * <p/>
+ * コードポイントの全範囲を{@link #PAGE_SIZE}コードポイントごとのページに分割し、
+ * ページは初めて判定結果を書き込む際に割り当てる。
+ * このため、使用量は実際に判定したコードポイントを含むページの数に比例し、
+ * 使用されない補助平面の領域は割り当てられない。
+ * <p/>
+ * 各ページは、コードポイントごとに「判定済み」と「許容」の2ビットを{@link AtomicLongArray}に保持する。
+ * 読み出しはロックを取得せずに行い、ページの割り当てと判定結果の書き込みはCASで行うため、
+ * 複数のスレッドから同時に使用できる。
+ *
+ * @author TIS
+ */
+final class PagedCodePointCache {
+
+    /** 判定していないことを表す値 */
+    static final int UNKNOWN = 0;
+
+    /** 許容されないことを表す値 */
+    static final int REJECTED = 1;
+
+    /** 許容されることを表す値 */
+    static final int ALLOWED = 3;
+
+    /** 1ページのコードポイント数のビット数 */
+    private static final int PAGE_SHIFT = 12;
+
+    /** 1ページのコードポイント数 */
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    /** 1ワードに保持するコードポイントの数のビット数(1ワードに32コードポイント) */
+    private static final int WORD_SHIFT = 5;
+
+    /** コードポイントの数 */
+    private static final int MAX = Character.MAX_CODE_POINT + 1;
+
+    /** 判定済みを表すビット */
+    private static final long KNOWN_BIT = 1L;
+
+    /** 許容を表すビット */
+    private static final long ALLOWED_BIT = 2L;
+
+    /** ページの配列。割り当てられていないページはnull */
+    private final AtomicReferenceArray<AtomicLongArray> pages =
+            new AtomicReferenceArray<AtomicLongArray>(MAX >>> PAGE_SHIFT);
+
+    /**
+     * コードポイントがキャッシュの対象範囲内か判定する。
+     *
+     * @param codePoint コードポイント
+     * @return 範囲内の場合true
+     */
+    static boolean isCacheable(int codePoint) {
+        return codePoint >= 0 && codePoint < MAX;
+    }
+
+    /**
+     * コードポイントの判定結果を取得する。
+     *
+     * @param codePoint コードポイント(範囲内であること)
+     * @return {@link #UNKNOWN}、{@link #REJECTED}、{@link #ALLOWED}のいずれか
+     */
+    int get(int codePoint) {
+        AtomicLongArray page = pages.get(codePoint >>> PAGE_SHIFT);
+        if (page == null) {
+            return UNKNOWN;
+        }
+        return (int) (page.get(wordIndex(codePoint)) >>> shift(codePoint)) & ALLOWED;
+    }
+
+    /**
+     * コードポイントの判定結果を設定する。
+     *
+     * @param codePoint コードポイント(範囲内であること)
+     * @param allowed 許容される場合true
+     */
+    void put(int codePoint, boolean allowed) {
+        int pageIndex = codePoint >>> PAGE_SHIFT;
+        AtomicLongArray page = pages.get(pageIndex);
+        if (page == null) {
+            pages.compareAndSet(pageIndex, null, new AtomicLongArray(PAGE_SIZE >>> WORD_SHIFT));
+            page = pages.get(pageIndex);
+        }
+        int index = wordIndex(codePoint);
+        long flags = (allowed ? KNOWN_BIT | ALLOWED_BIT : KNOWN_BIT) << shift(codePoint);
+        long current;
+        do {
+            current = page.get(index);
+        } while (!page.compareAndSet(index, current, current | flags));
+    }
+
+    /**
+     * 割り当て済みのページ数を取得する。
+     *
+     * @return 割り当て済みのページ数
+     */
+    int allocatedPages() {
+        int count = 0;
+        for (int i = 0; i < pages.length(); i++) {
+            if (pages.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * ページ内のワードの位置を取得する。
+     *
+     * @param codePoint コードポイント
+     * @return ワードの位置
+     */
+    private static int wordIndex(int codePoint) {
+        return (codePoint & (PAGE_SIZE - 1)) >>> WORD_SHIFT;
+    }
+
+    /**
+     * ワード内のビット位置を取得する。
+     *
+     * @param codePoint コードポイント
+     * @return ビット位置
+     */
+    private static int shift(int codePoint) {
+        return (codePoint & ((1 << WORD_SHIFT) - 1)) << 1;
+    }
+}
@@ -133,4 +133,31 @@ public class RangedCharsetDef extends CharsetDefSupport {
     public boolean contains(int codePoint) {
         return start <= codePoint && codePoint <= end;
     }
+
+    /**
+     * 開始位置と終了位置が設定されているか判定する。
+     *
+     * @return 設定されている場合true
+     */
+    boolean isConfigured() {
+        return start != NOT_SET_YET && end != NOT_SET_YET;
+    }
+
+    /**
+     * 開始位置のコードポイントを取得する。
+     *
+     * @return 開始位置
+     */
+    int getStart() {
+        return start;
+    }
+
+    /**
+     * 終了位置のコードポイントを取得する。
+     *
+     * @return 終了位置
+     */
+    int getEnd() {
+        return end;
+    }
 }
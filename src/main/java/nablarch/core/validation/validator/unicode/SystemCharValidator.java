@@ -1,9 +1,14 @@
 package nablarch.core.validation.validator.unicode;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import nablarch.core.repository.initialization.Initializable;
 import nablarch.core.util.StringUtil;
+import nablarch.core.validation.AnnotationDescriptorFactory;
 import nablarch.core.validation.validator.CharacterLimitationValidator;
 
 /**
@@ -54,11 +59,29 @@ import nablarch.core.validation.validator.CharacterLimitationValidator;
  *   メッセージIDは{@link SystemChar}, {@link CharsetDef}, {@link SystemCharValidator}のそれぞれで設定できるが、
  *   使用するメッセージIDの優先順は{@link SystemChar}, {@link CharsetDef}, {@link SystemCharValidator}の順となる。
  *   例えば、全てにメッセージIDが指定されていた場合は{@link SystemChar}で指定されているメッセージIDが使用される。
+ *
+ *   <p>
+ *     <b>許容文字集合定義の取得</b>
+ *   </p>
+ *   {@link #createAnnotation(Map)}で生成したアノテーションは、最初に使用した際に
+ *   {@link nablarch.core.repository.SystemRepository}から取得した許容文字集合定義を保持し、以降はリポジトリを参照しない。
+ *   保持した許容文字集合定義は、取得したバリデータ以外から使用された場合と、
+ *   {@link #initialize()}が呼び出された場合に破棄し、再度リポジトリから取得する。
+ *   リポジトリを再読み込みしても本バリデータのインスタンスが置き換わらない場合は、再読み込み後に{@link #initialize()}を呼び出すこと。
+ *
+ *   <p>
+ *     <b>複数の許容文字集合定義の共有</b>
+ *   </p>
+ *   {@link CharsetDefTable}を設定した場合、{@link SystemChar#charsetDef()}に指定された名称が
+ *   {@link CharsetDefTable}に登録されていれば、リポジトリから取得した許容文字集合定義の代わりに
+ *   {@link CharsetDefTable}の表で判定する。
+ *   多数のプロパティで少数の許容文字集合定義を使い分ける場合に、全ての許容文字集合定義で1つの表を共有できる。
  * </p>
  *
  * @author T.Kawasaki
  */
-public class SystemCharValidator extends CharacterLimitationValidator<SystemChar> {
+public class SystemCharValidator extends CharacterLimitationValidator<SystemChar>
+implements AnnotationDescriptorFactory<SystemChar>, Initializable {
 
     /**
      * サロゲートペアを許容するかどうか。
@@ -69,6 +92,21 @@ public class SystemCharValidator extends CharacterLimitationValidator<SystemChar
     /** デフォルトの許容文字集合定義 */
     private CharsetDef defaultCharsetDef;
 
+    /** 許容文字集合定義の表 */
+    private CharsetDefTable charsetDefTable;
+
+    /** アノテーションに保持した許容文字集合定義の世代。{@link #initialize()}の呼び出しごとに更新する */
+    private volatile int generation = 0;
+
+    /**
+     * アノテーションに保持した許容文字集合定義を破棄する。
+     * <p/>
+     * 以降、各アノテーションは最初に使用した際に許容文字集合定義をリポジトリから再度取得する。
+     */
+    public void initialize() {
+        generation++;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected boolean isValid(SystemChar annotation, String value) {
@@ -86,20 +124,54 @@ public class SystemCharValidator extends CharacterLimitationValidator<SystemChar
      * アノテーションにて許容文字集合定義の名称が指定されていない場合、
      * デフォルトの許容文字集合を使用する。
      * 明示的に指定されている場合はリポジトリから取得する。
+     * {@link #createAnnotation(Map)}で生成したアノテーションの場合は、アノテーションに保持した許容文字集合定義を使用する。
      * </p>
      * @param annotation アノテーション
      * @return 許容文字集合定義クラス
      */
-    private CharsetDef getCharsetDefFrom(SystemChar annotation) {
+    CharsetDef getCharsetDefFrom(SystemChar annotation) {
         // 許容文字集合の名称
         String charsetDefName = annotation.charsetDef();
         boolean useDefaultCharsetDef = StringUtil.isNullOrEmpty(charsetDefName);
+        if (useDefaultCharsetDef) {
+            return defaultCharsetDef;
+        }
+        if (annotation instanceof BoundSystemChar) {
+            return ((BoundSystemChar) annotation).getCharsetDef(this);
+        }
         // 許容文字集合
-        return useDefaultCharsetDef
-                ? defaultCharsetDef
-                : CharsetDefValidationUtil.lookUp(charsetDefName);
+        return lookUp(charsetDefName);
+    }
+
+    /**
+     * 許容文字集合定義を名称から取得する。
+     * <p>
+     * 許容文字集合定義の表が設定され、名称が表に登録されている場合は表から取得する。
+     * それ以外の場合はリポジトリから取得する。
+     * </p>
+     * @param charsetDefName 許容文字集合定義の名称
+     * @return 許容文字集合定義
+     * @throws IllegalArgumentException 許容文字集合定義がリポジトリに登録されていない場合
+     */
+    private CharsetDef lookUp(String charsetDefName) throws IllegalArgumentException {
+        if (charsetDefTable != null) {
+            CharsetDef charsetDef = charsetDefTable.getCharsetDef(charsetDefName);
+            if (charsetDef != null) {
+                return charsetDef;
+            }
+        }
+        return CharsetDefValidationUtil.lookUp(charsetDefName);
     }
     
+    /**
+     * サロゲートペアを許容するかどうかを取得する。
+     *
+     * @return サロゲートペアを許容する場合、真
+     */
+    boolean isAllowSurrogatePair() {
+        return allowSurrogatePair;
+    }
+
     /** {@inheritDoc}
      * <p>
      * 指定された{@link SystemChar}がメッセージIDをを持つ場合は、
@@ -154,31 +226,161 @@ public class SystemCharValidator extends CharacterLimitationValidator<SystemChar
         this.defaultCharsetDef = defaultCharsetDef;
     }
 
+    /**
+     * 許容文字集合定義の表を設定する。
+     * <p>
+     * {@link SystemChar#charsetDef()}に指定された名称が表に登録されている場合は、
+     * リポジトリを参照せずに表から取得した許容文字集合定義を使用する。
+     * </p>
+     *
+     * @param charsetDefTable 許容文字集合定義の表
+     */
+    public void setCharsetDefTable(CharsetDefTable charsetDefTable) {
+        this.charsetDefTable = charsetDefTable;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * デフォルトの許容文字集合定義と、許容文字集合定義の表に登録された許容文字集合定義のメッセージIDも含める。
+     * </p>
+     */
+    @Override
+    public List<String> getMessageIds() {
+        List<String> messageIds = new ArrayList<String>(super.getMessageIds());
+        if (defaultCharsetDef != null) {
+            messageIds.add(defaultCharsetDef.getMessageId());
+        }
+        if (charsetDefTable != null) {
+            messageIds.addAll(charsetDefTable.getMessageIds());
+        }
+        return messageIds;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * アノテーションの属性値をパラメータとして{@link #createAnnotation(Map)}を呼び出し、ディスクリプタを生成する。
+     */
+    public SystemChar createDescriptor(SystemChar systemChar) {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("charsetDef", systemChar.charsetDef());
+        params.put("allowLineSeparator", systemChar.allowLineSeparator());
+        params.put("messageId", systemChar.messageId());
+        return createAnnotation(params);
+    }
+
     /** {@inheritDoc} */
     @Override
     public SystemChar createAnnotation(final Map<String, Object> params) {
-        return new SystemChar() {
-            public Class<? extends Annotation> annotationType() {
-                return SystemChar.class;
-            }
+        // 属性値の読み出しごとにMapを参照しないよう、生成時に属性値を取り出しておく。
+        String charsetDefParam = (String) params.get("charsetDef");
+        final String charsetDef = (charsetDefParam == null) ? ""
+                                                            : charsetDefParam;
+        Boolean allowLineSeparatorParam = (Boolean) params.get("allowLineSeparator");
+        final boolean allowLineSeparator = (allowLineSeparatorParam == null) ? false
+                                                                            : allowLineSeparatorParam;
+        String messageIdParam = (String) params.get("messageId");
+        final String messageId = (messageIdParam == null) ? ""
+                                                          : messageIdParam;
+        return new BoundSystemChar(charsetDef, allowLineSeparator, messageId);
+    }
 
-            public String charsetDef() {
-                String charsetDef = (String) params.get("charsetDef");
-                return (charsetDef == null) ? ""
-                                            : charsetDef;
-            }
+    /**
+     * リポジトリから取得した許容文字集合定義を保持する{@link SystemChar}。
+     */
+    private static final class BoundSystemChar implements SystemChar {
+
+        /** 許容文字集合定義の名称 */
+        private final String charsetDef;
+
+        /** 改行コードを許容するか */
+        private final boolean allowLineSeparator;
+
+        /** メッセージID */
+        private final String messageId;
+
+        /** 保持した許容文字集合定義 */
+        private volatile Binding binding;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param charsetDef 許容文字集合定義の名称
+         * @param allowLineSeparator 改行コードを許容するか
+         * @param messageId メッセージID
+         */
+        BoundSystemChar(String charsetDef, boolean allowLineSeparator, String messageId) {
+            this.charsetDef = charsetDef;
+            this.allowLineSeparator = allowLineSeparator;
+            this.messageId = messageId;
+        }
 
-            public boolean allowLineSeparator() {
-                Boolean allowLineSeparator = (Boolean) params.get("allowLineSeparator");
-                return (allowLineSeparator == null) ? false
-                                                    : allowLineSeparator;
+        /**
+         * 許容文字集合定義を取得する。
+         * <p/>
+         * 保持した許容文字集合定義が指定されたバリデータの現在の世代で取得したものでない場合は、リポジトリから取得し直す。
+         *
+         * @param validator バリデータ
+         * @return 許容文字集合定義
+         * @throws IllegalArgumentException 許容文字集合定義がリポジトリに登録されていない場合
+         */
+        CharsetDef getCharsetDef(SystemCharValidator validator) throws IllegalArgumentException {
+            int generation = validator.generation;
+            Binding current = binding;
+            if (current == null || current.validator != validator || current.generation != generation) {
+                current = new Binding(validator, generation, validator.lookUp(charsetDef));
+                binding = current;
             }
-            
-            public String messageId() {
-                String messageId = (String) params.get("messageId");
-                return (messageId == null) ? ""
-                                           : messageId;
-            }            
-        };
+            return current.charsetDef;
+        }
+
+        /** {@inheritDoc} */
+        public Class<? extends Annotation> annotationType() {
+            return SystemChar.class;
+        }
+
+        /** {@inheritDoc} */
+        public String charsetDef() {
+            return charsetDef;
+        }
+
+        /** {@inheritDoc} */
+        public boolean allowLineSeparator() {
+            return allowLineSeparator;
+        }
+
+        /** {@inheritDoc} */
+        public String messageId() {
+            return messageId;
+        }
+    }
+
+    /**
+     * アノテーションに保持する許容文字集合定義と、取得したバリデータおよび世代の組。
+     */
+    private static final class Binding {
+
+        /** 取得したバリデータ */
+        private final SystemCharValidator validator;
+
+        /** 取得した世代 */
+        private final int generation;
+
+        /** 許容文字集合定義 */
+        private final CharsetDef charsetDef;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param validator 取得したバリデータ
+         * @param generation 取得した世代
+         * @param charsetDef 許容文字集合定義
+         */
+        Binding(SystemCharValidator validator, int generation, CharsetDef charsetDef) {
+            this.validator = validator;
+            this.generation = generation;
+            this.charsetDef = charsetDef;
+        }
     }
 }
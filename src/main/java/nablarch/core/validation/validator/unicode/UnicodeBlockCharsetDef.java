@@ -0,0 +1,94 @@
+package nablarch.core.validation.validator.unicode;
+
+import java.lang.Character.UnicodeBlock;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link UnicodeBlock}の名称による許容文字集合定義クラス。<br/>
+ * 許容したいコードポイントの範囲が{@link UnicodeBlock}に定数定義されている場合、
+ * 本クラスにブロック名称を列挙することで簡便に許容文字集合を定義できる。
+ * <p/>
+ * 例えば、ひらがな(U+3040～U+309F)とカタカナ(U+30A0～U+30FF)を定義したい場合、
+ * 以下のようにプロパティを設定する。
+ * <pre>
+ * {@literal
+ * <component name="kana" class="nablarch.core.validation.validator.unicode.UnicodeBlockCharsetDef">
+ *     <property name="blockNames">
+ *         <list>
+ *             <value>HIRAGANA</value>
+ *             <value>KATAKANA</value>
+ *         </list>
+ *     </property>
+ * </component>
+ * }
+ * </pre>
+ * <p/>
+ * 初期化時に、指定されたブロックに含まれる全てのコードポイントを判定用の表に変換するため、
+ * 判定に要する時間は指定したブロックの数によらず一定となる。
+ * 変換は{@link #initialize()}で行う。初期化されていない場合は、最初の判定時に変換する。
+ * ブロックの範囲は、実行環境のJavaがサポートするUnicodeのバージョンに従う。
+ *
+ * @author TIS
+ * @see UnicodeBlock
+ */
+public class UnicodeBlockCharsetDef extends CompilingCharsetDefSupport {
+
+    /** 許容するUnicodeブロック */
+    private Set<UnicodeBlock> unicodeBlocks;
+
+    /**
+     * ブロック名称一覧を設定する。
+     * <p/>
+     * ブロック名称は{@link UnicodeBlock#forName(String)}で解釈できる形式で指定する。
+     *
+     * @param blockNames ブロック名称一覧
+     * @throws IllegalArgumentException 不正なブロック名称が含まれている場合
+     */
+    public void setBlockNames(List<String> blockNames) throws IllegalArgumentException {
+        Set<UnicodeBlock> blocks = new HashSet<UnicodeBlock>();
+        for (String name : blockNames) {
+            blocks.add(forName(name));
+        }
+        this.unicodeBlocks = blocks;
+        reset();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException ブロック名称一覧が設定されていない場合
+     */
+    @Override
+    CodePointSet compile() throws IllegalStateException {
+        if (unicodeBlocks == null) {
+            throw new IllegalStateException(
+                    "blockNames must be set.");
+        }
+        final Set<UnicodeBlock> blocks = unicodeBlocks;
+        return new CodePointSet.Builder().addByScan(new CharsetDefSupport() {
+            public boolean contains(int codePoint) {
+                UnicodeBlock block = UnicodeBlock.of(codePoint);
+                return block != null && blocks.contains(block);
+            }
+        }).build();
+    }
+
+    /**
+     * ブロック名称から{@link UnicodeBlock}へ変換する。
+     *
+     * @param blockName ブロック名称
+     * @return 名称に対応する {@link UnicodeBlock}
+     * @throws IllegalArgumentException ブロック名称が不正な場合
+     * @see UnicodeBlock#forName(String)
+     */
+    private static UnicodeBlock forName(String blockName) throws IllegalArgumentException {
+        try {
+            return UnicodeBlock.forName(blockName);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(
+                    "specified unicode block name was invalid. name=[" + blockName + "]", e);
+        }
+    }
+}
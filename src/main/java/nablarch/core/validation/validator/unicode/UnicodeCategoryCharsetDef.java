@@ -0,0 +1,135 @@
+package nablarch.core.validation.validator.unicode;
+
+import java.util.List;
+
+/**
+ * Unicodeの一般カテゴリ(General Category)による許容文字集合定義クラス。<br/>
+ * 一般カテゴリは、Unicode標準の略称(例えば、英大文字は"Lu"、10進数字は"Nd")で指定する。
+ * 1文字の略称(例えば、"L")を指定した場合は、その大分類に属する全てのカテゴリ("Lu", "Ll", "Lt", "Lm", "Lo")を指定したものとみなす。
+ * <p/>
+ * 例えば、文字と10進数字を定義したい場合、以下のようにプロパティを設定する。
+ * <pre>
+ * {@literal
+ * <component name="lettersAndDigits" class="nablarch.core.validation.validator.unicode.UnicodeCategoryCharsetDef">
+ *     <property name="categories">
+ *         <list>
+ *             <value>L</value>
+ *             <value>Nd</value>
+ *         </list>
+ *     </property>
+ * </component>
+ * }
+ * </pre>
+ * <p/>
+ * 初期化時に、指定されたカテゴリに属する全てのコードポイントを判定用の表に変換するため、
+ * 判定に要する時間は指定したカテゴリの数によらず一定となる。
+ * 変換は{@link #initialize()}で行う。初期化されていない場合は、最初の判定時に変換する。
+ * コードポイントのカテゴリは{@link Character#getType(int)}で判定するため、
+ * 実行環境のJavaがサポートするUnicodeのバージョンに従う。
+ *
+ * @author TIS
+ * @see Character#getType(int)
+ */
+public class UnicodeCategoryCharsetDef extends CompilingCharsetDefSupport {
+
+    /**
+     * 一般カテゴリの略称。
+     * {@link Character#getType(int)}が返却する値をインデックスとする。
+     */
+    private static final String[] CATEGORY_NAMES = new String[Character.FINAL_QUOTE_PUNCTUATION + 1];
+
+    static {
+        CATEGORY_NAMES[Character.UNASSIGNED] = "Cn";
+        CATEGORY_NAMES[Character.UPPERCASE_LETTER] = "Lu";
+        CATEGORY_NAMES[Character.LOWERCASE_LETTER] = "Ll";
+        CATEGORY_NAMES[Character.TITLECASE_LETTER] = "Lt";
+        CATEGORY_NAMES[Character.MODIFIER_LETTER] = "Lm";
+        CATEGORY_NAMES[Character.OTHER_LETTER] = "Lo";
+        CATEGORY_NAMES[Character.NON_SPACING_MARK] = "Mn";
+        CATEGORY_NAMES[Character.ENCLOSING_MARK] = "Me";
+        CATEGORY_NAMES[Character.COMBINING_SPACING_MARK] = "Mc";
+        CATEGORY_NAMES[Character.DECIMAL_DIGIT_NUMBER] = "Nd";
+        CATEGORY_NAMES[Character.LETTER_NUMBER] = "Nl";
+        CATEGORY_NAMES[Character.OTHER_NUMBER] = "No";
+        CATEGORY_NAMES[Character.SPACE_SEPARATOR] = "Zs";
+        CATEGORY_NAMES[Character.LINE_SEPARATOR] = "Zl";
+        CATEGORY_NAMES[Character.PARAGRAPH_SEPARATOR] = "Zp";
+        CATEGORY_NAMES[Character.CONTROL] = "Cc";
+        CATEGORY_NAMES[Character.FORMAT] = "Cf";
+        CATEGORY_NAMES[Character.PRIVATE_USE] = "Co";
+        CATEGORY_NAMES[Character.SURROGATE] = "Cs";
+        CATEGORY_NAMES[Character.DASH_PUNCTUATION] = "Pd";
+        CATEGORY_NAMES[Character.START_PUNCTUATION] = "Ps";
+        CATEGORY_NAMES[Character.END_PUNCTUATION] = "Pe";
+        CATEGORY_NAMES[Character.CONNECTOR_PUNCTUATION] = "Pc";
+        CATEGORY_NAMES[Character.OTHER_PUNCTUATION] = "Po";
+        CATEGORY_NAMES[Character.MATH_SYMBOL] = "Sm";
+        CATEGORY_NAMES[Character.CURRENCY_SYMBOL] = "Sc";
+        CATEGORY_NAMES[Character.MODIFIER_SYMBOL] = "Sk";
+        CATEGORY_NAMES[Character.OTHER_SYMBOL] = "So";
+        CATEGORY_NAMES[Character.INITIAL_QUOTE_PUNCTUATION] = "Pi";
+        CATEGORY_NAMES[Character.FINAL_QUOTE_PUNCTUATION] = "Pf";
+    }
+
+    /** 許容するカテゴリ({@link Character#getType(int)}の値に対応するビットを立てたマスク) */
+    private Integer categoryMask;
+
+    /**
+     * 一般カテゴリの略称の一覧を設定する。
+     *
+     * @param categories 一般カテゴリの略称の一覧
+     * @throws IllegalArgumentException 不正な略称が含まれている場合
+     */
+    public void setCategories(List<String> categories) throws IllegalArgumentException {
+        int mask = 0;
+        for (String category : categories) {
+            mask |= toMask(category);
+        }
+        this.categoryMask = mask;
+        reset();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException 一般カテゴリの略称の一覧が設定されていない場合
+     */
+    @Override
+    CodePointSet compile() throws IllegalStateException {
+        if (categoryMask == null) {
+            throw new IllegalStateException(
+                    "categories must be set.");
+        }
+        final int mask = categoryMask;
+        return new CodePointSet.Builder().addByScan(new CharsetDefSupport() {
+            public boolean contains(int codePoint) {
+                return ((mask >>> Character.getType(codePoint)) & 1) != 0;
+            }
+        }).build();
+    }
+
+    /**
+     * 一般カテゴリの略称を、{@link Character#getType(int)}の値に対応するビットを立てたマスクに変換する。
+     *
+     * @param category 一般カテゴリの略称
+     * @return マスク
+     * @throws IllegalArgumentException 略称が不正な場合
+     */
+    private static int toMask(String category) throws IllegalArgumentException {
+        int mask = 0;
+        for (int type = 0; category != null && type < CATEGORY_NAMES.length; type++) {
+            String name = CATEGORY_NAMES[type];
+            if (name == null) {
+                continue;
+            }
+            if (name.equals(category) || (category.length() == 1 && name.charAt(0) == category.charAt(0))) {
+                mask |= 1 << type;
+            }
+        }
+        if (mask == 0) {
+            throw new IllegalArgumentException(
+                    "specified unicode general category was invalid. name=[" + category + "]");
+        }
+        return mask;
+    }
+}
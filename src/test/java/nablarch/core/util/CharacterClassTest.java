@@ -0,0 +1,72 @@
+package nablarch.core.util;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link CharacterClass}のテストクラス。
+ */
+public class CharacterClassTest {
+
+    /**
+     * ASCII文字の全範囲について、{@link BitSet}と同じ判定結果となること。
+     */
+    @Test
+    public void testContains() {
+        BitSet chars = CharacterCheckerUtil.createCharSet("\u0000?@_`\u007Fazあ");
+        CharacterClass target = CharacterClass.of(chars);
+        for (char c = 0; c < 0x100; c++) {
+            assertThat(String.valueOf((int) c), target.contains(c), is(chars.get(c)));
+        }
+        assertThat(target.contains('あ'), is(true));
+        assertThat(target.contains('い'), is(false));
+        assertThat(target.contains('\uFFFF'), is(false));
+
+        // 作成後にBitSetを変更しても反映されないこと
+        chars.set('b');
+        chars.set('い');
+        assertThat(target.contains('b'), is(false));
+        assertThat(target.contains('い'), is(false));
+    }
+
+    /**
+     * 集合に含まれない最初の文字の位置が返却されること。
+     */
+    @Test
+    public void testIndexOfInvalid() {
+        CharacterClass digits = CharacterClass.of("0123456789");
+        assertThat(digits.indexOfInvalid(""), is(-1));
+        assertThat(digits.indexOfInvalid("0"), is(-1));
+        assertThat(digits.indexOfInvalid("0123456789012"), is(-1));
+        // 4文字ずつまとめて判定する範囲、および残りの文字の範囲で不正な文字を検出できること
+        for (int i = 0; i < 13; i++) {
+            StringBuilder value = new StringBuilder("0123456789012");
+            value.setCharAt(i, 'a');
+            assertThat(digits.indexOfInvalid(value.toString()), is(i));
+            value.setCharAt(i, 'あ');
+            assertThat(digits.indexOfInvalid(value.toString()), is(i));
+            // ビットマスクのシフト量が64の剰余となる文字
+            value.setCharAt(i, (char) ('0' + 64));
+            assertThat(digits.indexOfInvalid(value.toString()), is(i));
+        }
+        assertThat(digits.containsAll("2024"), is(true));
+        assertThat(digits.containsAll("2024-01"), is(false));
+    }
+
+    /**
+     * ASCII以外の文字を含む集合でも判定できること。
+     */
+    @Test
+    public void testNonAscii() {
+        CharacterClass target = CharacterClass.of("abc", "あいう");
+        assertThat(target.containsAll("aあbいcう"), is(true));
+        assertThat(target.indexOfInvalid("aあbいcうえ"), is(6));
+        assertThat(target.indexOfInvalid("abcd"), is(3));
+        assertThat(CharacterCheckerUtil.checkValidCharOnly(target, "あいうabc"), is(true));
+        assertThat(CharacterCheckerUtil.checkValidCharOnly(target, "あいうabcd"), is(false));
+    }
+}
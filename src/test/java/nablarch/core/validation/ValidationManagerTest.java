@@ -7,9 +7,18 @@ import nablarch.core.message.MessageNotFoundException;
 import nablarch.core.message.MockStringResourceHolder;
 import nablarch.core.message.StringResource;
 import nablarch.core.validation.convertor.Digits;
+import nablarch.core.validation.convertor.LongConvertor;
+import nablarch.core.validation.convertor.StringConvertor;
+import nablarch.core.validation.validator.FromTo;
+import nablarch.core.validation.validator.FromToValidator;
 import nablarch.core.validation.validator.Length;
+import nablarch.core.validation.validator.LengthValidator;
 import nablarch.core.validation.validator.NumberRange;
 import nablarch.core.validation.validator.Required;
+import nablarch.core.validation.validator.RequiredIf;
+import nablarch.core.validation.validator.RequiredIfValidator;
+import nablarch.core.validation.validator.SumEquals;
+import nablarch.core.validation.validator.SumEqualsValidator;
 import nablarch.test.support.SystemRepositoryResource;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -50,6 +59,9 @@ public class ValidationManagerTest {
         { "MSG00051","ja","{0}は{2}以下で入力してください。","en","{0} cannot be greater than {2}."},
         { "MSG00052","ja","{0}は{1}以上{2}以下で入力してください。","en","{0} is not in the range {1} through {2}."},
         { "MSG00053","ja","{0}は{1}以上{2}以下で入力してください。","en","{0} is not in the range {1} through {2}."},
+        { "MSG00061","ja","{0}は{1}以降の値を入力してください。","en","{0} must be later than {1}."},
+        { "MSG00062","ja","{1}を指定した場合、{0}は必ず入力してください。","en","{0} is required when {1} is specified."},
+        { "MSG00063","ja","{0}が内訳の合計と一致しません。","en","{0} does not match the sum."},
         { "PROP0001","ja","名前","en","Name"},
         { "PROP0002","ja","ユーザ氏名","en","User Name"},
         { "PROP0003","ja","備考","en","Remarks"},
@@ -981,6 +993,501 @@ public class ValidationManagerTest {
     }
 
 
+    /**
+     * {@link ValidationManager#prepare(Class, String, Class, Map)}のテスト。
+     * <br/>
+     * 事前に解決したバリデーションが、パラメータを指定したバリデーションと同じ結果になること。
+     */
+    @Test
+    public void testPrepare() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("id", new String[]{"00000001"});
+        params.put("name", new String[]{"テストユーザ"});
+        params.put("age", new String[]{"30"});
+
+        Map<String, Object> lengthParams = new HashMap<String, Object>();
+        lengthParams.put("max", 3);
+        PreparedValidation prepared = manager.prepare(User.class, "name", Length.class, lengthParams);
+        // 事前解決後にパラメータを変更しても影響しない。
+        lengthParams.put("max", 100);
+        assertEquals("name", prepared.getPropertyName());
+
+        ValidationContext<User> preparedContext = manager.validateAndConvert("", User.class, params, null);
+        assertTrue(preparedContext.isValid());
+        assertFalse(prepared.validate(preparedContext));
+        assertFalse("繰り返し実行できること", prepared.validate(preparedContext));
+
+        ValidationContext<User> directContext = manager.validateAndConvert("", User.class, params, null);
+        lengthParams.put("max", 3);
+        manager.validate(directContext, "name", Length.class, lengthParams);
+
+        assertEquals(2, preparedContext.getMessages().size());
+        assertEquals(1, directContext.getMessages().size());
+        ThreadContext.setLanguage(Locale.JAPANESE);
+        assertEquals(directContext.getMessages().get(0).formatMessage(), preparedContext.getMessages().get(0).formatMessage());
+        assertEquals("MSG00021", preparedContext.getMessages().get(0).getMessageId());
+
+        Map<String, Object> rangeParams = new HashMap<String, Object>();
+        rangeParams.put("max", 10.0);
+        assertFalse(manager.prepare(User.class, "age", NumberRange.class, rangeParams).validate(preparedContext));
+        assertTrue(manager.prepare(User.class, "id", Required.class, new HashMap<String, Object>()).validate(preparedContext));
+        assertEquals(3, preparedContext.getMessages().size());
+    }
+
+    /**
+     * {@link PreparedValidation#validate(ValidationContext)}のテスト。
+     * <br/>
+     * 事前解決時と異なるクラスのコンテキストが指定された場合、例外が送出されること。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPreparedValidationWithDifferentClass() {
+        PreparedValidation prepared = manager.prepare(User.class, "name", Required.class, new HashMap<String, Object>());
+        prepared.validate(manager.validateAndConvert("", StringArrayValueHolder.class, new HashMap<String, String[]>(), null));
+    }
+
+    /**
+     * {@link ValidationManager#prepare(Class, String, Class, Map)}のテスト。
+     * <br/>
+     * 対応するバリデータが存在しない場合、例外が送出されること。
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testPrepareUnsupportedAnnotation() {
+        manager.prepare(User.class, "name", Digits.class, new HashMap<String, Object>());
+    }
+
+    /**
+     * {@link ValidationManager#setFusedValidators(List)}のテスト。
+     * <br/>
+     * 適用可能な{@link FusedValidator}が設定されている場合、アノテーションごとのバリデーションの代わりに
+     * まとめてバリデーションが行われること。適用できないプロパティはアノテーションごとにバリデーションされること。
+     */
+    @Test
+    public void testFusedValidators() {
+        final Set<String> fusedProperties = new HashSet<String>();
+        manager.setFusedValidators(Arrays.<FusedValidator>asList(new FusedValidator() {
+            public boolean isApplicable(List<Annotation> annotations, Object value) {
+                return value instanceof String;
+            }
+
+            public <T> boolean validate(ValidationContext<T> context, String propertyName,
+                    Object propertyDisplayName, List<Annotation> annotations, Object value) {
+                fusedProperties.add(propertyName);
+                return true;
+            }
+        }));
+
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("id", new String[]{"0000001"});
+        params.put("name", new String[]{"123456789"});
+        params.put("age", new String[]{"101"});
+
+        ValidationContext<User> result = manager.validateAndConvert("", User.class, params, null);
+        assertEquals(new HashSet<String>(Arrays.asList("id", "name")), fusedProperties);
+        assertEquals(1, result.getMessages().size());
+        assertEquals("age", ((ValidationResultMessage) result.getMessages().get(0)).getPropertyName());
+    }
+
+    /**
+     * プロパティのバリデーション時に、バリデータとコンバータのアノテーションがディスクリプタに置き換えられ、
+     * プロパティの定義に保持されること。
+     */
+    @Test
+    public void testAnnotationDescriptors() {
+        FormValidationDefinition formDef = new FormValidationDefinition(User.class);
+        PropertyValidationDefinition propertyDef = formDef.getPropertyValidationDefinition("age");
+        assertNull(propertyDef.getValidatorDescriptors());
+        assertNull(propertyDef.getConvertorFormatDescriptor());
+
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("age", new String[]{"101"});
+        ValidationContext<User> context = new ValidationContext<User>(
+                "", User.class, new nablarch.core.validation.creator.ReflectionFormCreator(), params, null);
+        manager.validateAndConvertProperty(context, formDef, propertyDef);
+        assertEquals(1, context.getMessages().size());
+        assertEquals("MSG00052", context.getMessages().get(0).getMessageId());
+
+        Digits digits = (Digits) propertyDef.getConvertorFormatDescriptor();
+        assertFalse(java.lang.reflect.Proxy.isProxyClass(digits.getClass()));
+        assertEquals(3, digits.integer());
+        assertEquals(0, digits.fraction());
+        assertTrue(digits.commaSeparated());
+        assertEquals(Digits.class, digits.annotationType());
+
+        List<Annotation> descriptors = propertyDef.getValidatorDescriptors();
+        assertEquals(2, descriptors.size());
+        for (Annotation descriptor : descriptors) {
+            assertFalse(java.lang.reflect.Proxy.isProxyClass(descriptor.getClass()));
+        }
+        NumberRange range = (NumberRange) descriptors.get(1);
+        assertEquals(0.0, range.min(), 0);
+        assertEquals(100.0, range.max(), 0);
+        assertEquals("", range.messageId());
+
+        // 2回目以降は同じディスクリプタが使用されること
+        context = new ValidationContext<User>(
+                "", User.class, new nablarch.core.validation.creator.ReflectionFormCreator(), params, null);
+        manager.validateAndConvertProperty(context, formDef, propertyDef);
+        assertSame(descriptors, propertyDef.getValidatorDescriptors());
+        assertSame(digits, propertyDef.getConvertorFormatDescriptor());
+    }
+
+    /**
+     * 項目間のバリデーションのテスト。
+     * <br/>
+     * フォームのクラスに設定したアノテーションに従い、プロパティのバリデーション後に項目間のバリデーションが行われること。
+     */
+    @Test
+    public void testCrossFieldValidation() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("dateFrom", new String[]{"20240101"});
+        params.put("dateTo", new String[]{"20240131"});
+        params.put("code", new String[]{"99"});
+        params.put("reason", new String[]{"test"});
+        params.put("price", new String[]{"100"});
+        params.put("tax", new String[]{"8"});
+        params.put("total", new String[]{"108"});
+
+        ValidationContext<CrossFieldForm> result = manager.validateAndConvert("", CrossFieldForm.class, params, null);
+        assertTrue(result.isValid());
+
+        params.put("dateTo", new String[]{"20231231"});
+        params.put("reason", new String[]{""});
+        params.put("total", new String[]{"109"});
+        result = manager.validateAndConvert("", CrossFieldForm.class, params, null);
+        assertFalse(result.isValid());
+        assertEquals(3, result.getMessages().size());
+
+        ThreadContext.setLanguage(Locale.JAPANESE);
+        ValidationContextMatcher.ValidationContextWrapper contextWrapper = new ValidationContextMatcher.ValidationContextWrapper(
+                result);
+        assertThat(contextWrapper,
+                ValidationContextMatcher.containsMessage(
+                        "MSG00061", "dateToはdateFrom以降の値を入力してください。", "dateTo"));
+        assertThat(contextWrapper,
+                ValidationContextMatcher.containsMessage(
+                        "MSG00062", "codeを指定した場合、reasonは必ず入力してください。", "reason"));
+        assertThat(contextWrapper,
+                ValidationContextMatcher.containsMessage(
+                        "MSG00063", "totalが内訳の合計と一致しません。", "total"));
+
+        // 条件に一致しない場合は必須入力とならないこと
+        params.put("dateTo", new String[]{"20240101"});
+        params.put("code", new String[]{"01"});
+        params.put("total", new String[]{"108"});
+        result = manager.validateAndConvert("", CrossFieldForm.class, params, null);
+        assertTrue(result.isValid());
+    }
+
+    /**
+     * 項目間のバリデーションのテスト。
+     * <br/>
+     * 使用するプロパティがバリデーションエラーとなっている場合、項目間のバリデーションが行われないこと。
+     */
+    @Test
+    public void testCrossFieldValidationSkippedWhenPropertyInvalid() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("dateFrom", new String[]{"2024010"});
+        params.put("dateTo", new String[]{"20231231"});
+        params.put("code", new String[]{"01"});
+        params.put("price", new String[]{"abc"});
+        params.put("tax", new String[]{"8"});
+        params.put("total", new String[]{"109"});
+
+        ValidationContext<CrossFieldForm> result = manager.validateAndConvert("", CrossFieldForm.class, params, null);
+        Set<String> messageIds = new HashSet<String>();
+        for (Message message : result.getMessages()) {
+            messageIds.add(message.getMessageId());
+        }
+        assertEquals(new HashSet<String>(Arrays.asList("MSG00023", "MSG00031")), messageIds);
+    }
+
+    /**
+     * 項目間のバリデーションのテスト。
+     * <br/>
+     * バリデーション対象メソッドを指定した場合、バリデーションされたプロパティのみを使用する項目間のバリデーションが行われること。
+     */
+    @Test
+    public void testCrossFieldValidationWithValidateFor() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("dateFrom", new String[]{"20240101"});
+        params.put("dateTo", new String[]{"20231231"});
+        params.put("price", new String[]{"100"});
+        params.put("tax", new String[]{"8"});
+        params.put("total", new String[]{"109"});
+
+        ValidationContext<CrossFieldForm> result = manager.validateAndConvert("", CrossFieldForm.class, params, "dates");
+        assertEquals(1, result.getMessages().size());
+        assertEquals("MSG00061", result.getMessages().get(0).getMessageId());
+    }
+
+    /**
+     * 項目間のバリデーションのテスト。
+     * <br/>
+     * コンテナアノテーションで同じアノテーションを複数設定でき、アノテーションに指定したメッセージIDが使用されること。
+     */
+    @Test
+    public void testCrossFieldValidationContainer() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("dateFrom", new String[]{"20240101"});
+        params.put("dateTo", new String[]{"20240101"});
+        params.put("code", new String[]{""});
+        params.put("price", new String[]{"100"});
+        params.put("tax", new String[]{"8"});
+        params.put("total", new String[]{"108"});
+
+        ValidationContext<CrossFieldListForm> result = manager.validateAndConvert("", CrossFieldListForm.class, params, null);
+        assertEquals(1, result.getMessages().size());
+        assertEquals("MSG00001", result.getMessages().get(0).getMessageId());
+        assertEquals("dateTo", ((ValidationResultMessage) result.getMessages().get(0)).getPropertyName());
+
+        params.put("dateTo", new String[]{"20240102"});
+        params.put("total", new String[]{"100"});
+        result = manager.validateAndConvert("", CrossFieldListForm.class, params, null);
+        assertEquals(1, result.getMessages().size());
+        assertEquals("MSG00063", result.getMessages().get(0).getMessageId());
+        assertEquals("total", ((ValidationResultMessage) result.getMessages().get(0)).getPropertyName());
+
+        // 項目間のバリデーションの定義は、ValidationManagerに保持されること
+        BasicStaticDataCache<FormValidationDefinition> cache = repositoryResource.getComponent("validationManager.formDefinitionCache");
+        FormValidationDefinition formDef = cache.getValue(CrossFieldListForm.class);
+        assertEquals(3, formDef.getCrossFieldAnnotations().size());
+        List<CrossFieldRule> rules = manager.getCrossFieldRules(CrossFieldListForm.class);
+        assertEquals(3, rules.size());
+        manager.validateAndConvert("", CrossFieldListForm.class, params, null);
+        assertSame(rules, manager.getCrossFieldRules(CrossFieldListForm.class));
+
+        // 初期化し直した場合は破棄され、次のバリデーションで解決し直されること
+        manager.initialize();
+        assertNull(manager.getCrossFieldRules(CrossFieldListForm.class));
+        manager.validateAndConvert("", CrossFieldListForm.class, params, null);
+        assertEquals(3, manager.getCrossFieldRules(CrossFieldListForm.class).size());
+        assertNotSame(rules, manager.getCrossFieldRules(CrossFieldListForm.class));
+    }
+
+    /**
+     * 項目間のバリデーションのテスト。
+     * <br/>
+     * フォームの定義のキャッシュを共有する場合も、それぞれの{@link ValidationManager}に設定されたバリデータが使用されること。
+     */
+    @Test
+    public void testCrossFieldValidationSharedFormDefinitionCache() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("dateFrom", new String[]{"20240101"});
+        params.put("dateTo", new String[]{"20231231"});
+        params.put("code", new String[]{"01"});
+        params.put("price", new String[]{"100"});
+        params.put("tax", new String[]{"8"});
+        params.put("total", new String[]{"108"});
+
+        ValidationContext<CrossFieldForm> result = manager.validateAndConvert("", CrossFieldForm.class, params, null);
+        assertEquals(1, result.getMessages().size());
+        assertEquals("MSG00061", result.getMessages().get(0).getMessageId());
+
+        FromToValidator fromToValidator = new FromToValidator();
+        fromToValidator.setMessageId("MSG00001");
+        ValidationManager other = createManagerSharingFormDefinitionCache(
+                Arrays.<CrossFieldValidator>asList(fromToValidator, new RequiredIfValidator(), new SumEqualsValidator()));
+        result = other.validateAndConvert("", CrossFieldForm.class, params, null);
+        assertEquals(1, result.getMessages().size());
+        assertEquals("MSG00001", result.getMessages().get(0).getMessageId());
+
+        // 元のValidationManagerは、自身のバリデータを使用すること
+        result = manager.validateAndConvert("", CrossFieldForm.class, params, null);
+        assertEquals(1, result.getMessages().size());
+        assertEquals("MSG00061", result.getMessages().get(0).getMessageId());
+
+        // 対応するバリデータが設定されていない場合は、解決済みの定義があっても例外が発生すること
+        ValidationManager notSupported = createManagerSharingFormDefinitionCache(new ArrayList<CrossFieldValidator>());
+        try {
+            notSupported.validateAndConvert("", CrossFieldForm.class, params, null);
+            fail("例外が発生するはず。");
+        } catch (UnsupportedOperationException e) {
+            assertThat(e.getMessage(), containsString(FromTo.class.getName()));
+        }
+    }
+
+    /**
+     * テスト用の{@link ValidationManager}とフォームの定義のキャッシュを共有する{@link ValidationManager}を生成する。
+     *
+     * @param crossFieldValidators 項目間のバリデーションを行うバリデータのリスト
+     * @return 生成した{@link ValidationManager}
+     */
+    private ValidationManager createManagerSharingFormDefinitionCache(List<CrossFieldValidator> crossFieldValidators) {
+        StringConvertor stringConvertor = new StringConvertor();
+        stringConvertor.setConversionFailedMessageId("MSG00001");
+        LongConvertor longConvertor = new LongConvertor();
+        longConvertor.setInvalidDigitsIntegerMessageId("MSG00031");
+        LengthValidator lengthValidator = new LengthValidator();
+        lengthValidator.setMaxMessageId("MSG00021");
+        lengthValidator.setMaxAndMinMessageId("MSG00022");
+        lengthValidator.setFixLengthMessageId("MSG00023");
+
+        ValidationManager result = new ValidationManager();
+        result.setConvertors(Arrays.<Convertor>asList(stringConvertor, longConvertor));
+        result.setValidators(Arrays.<Validator>asList(lengthValidator));
+        result.setCrossFieldValidators(crossFieldValidators);
+        BasicStaticDataCache<FormValidationDefinition> cache =
+                repositoryResource.getComponent("validationManager.formDefinitionCache");
+        result.setFormDefinitionCache(cache);
+        result.initialize();
+        return result;
+    }
+
+    /**
+     * 項目間のバリデーションのテスト。
+     * <br/>
+     * 対応するバリデータが設定されていないアノテーションの場合、例外が発生すること。
+     */
+    @Test
+    public void testCrossFieldValidationNotSupported() {
+        manager.setCrossFieldValidators(new ArrayList<CrossFieldValidator>());
+        manager.initialize();
+
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        try {
+            manager.validateAndConvert("", CrossFieldForm.class, params, null);
+            fail("例外が発生するはず。");
+        } catch (UnsupportedOperationException e) {
+            assertThat(e.getMessage(), containsString(FromTo.class.getName()));
+        }
+    }
+
+    /**
+     * 項目間のバリデーションのテスト。
+     * <br/>
+     * 存在しないプロパティ名が指定された場合、例外が発生すること。
+     */
+    @Test
+    public void testCrossFieldValidationUnknownProperty() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        try {
+            manager.validateAndConvert("", CrossFieldUnknownPropertyForm.class, params, null);
+            fail("例外が発生するはず。");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString("unknown"));
+        }
+    }
+
+    /**
+     * {@link ValidationManager#initialize()}のテスト。
+     * <br/>
+     * {@link CrossFieldValidation}が設定されていないアノテーションに対応するバリデータが設定された場合、例外が発生すること。
+     */
+    @Test
+    public void testInitializeCrossFieldValidatorWithoutMetaAnnotation() {
+        manager.setCrossFieldValidators(Arrays.<CrossFieldValidator>asList(new CrossFieldValidator() {
+            public Class<? extends Annotation> getAnnotationClass() {
+                return Required.class;
+            }
+
+            public String[] getPropertyNames(Annotation annotation) {
+                return new String[0];
+            }
+
+            public <T> boolean validate(ValidationContext<T> context, Annotation annotation, CrossFieldValues values) {
+                return true;
+            }
+        }));
+        try {
+            manager.initialize();
+            fail("例外が発生するはず。");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), containsString("CrossFieldValidator's annotation class was not annotated."));
+        }
+    }
+
+    /**
+     * {@link ValidationManager#setPrefetchMessages(boolean)}のテスト。
+     * <br/>
+     * 事前に取得したメッセージが使用され、事前に取得していないメッセージは従来通り取得されること。
+     */
+    @Test
+    public void testPrefetchMessages() {
+        manager.setPrefetchMessages(true);
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("id", new String[]{"00000001"});
+        params.put("name", new String[]{"123456789"});
+        params.put("age", new String[]{"10"});
+
+        ThreadContext.setLanguage(Locale.JAPANESE);
+        ValidationContext<User> result = manager.validateAndConvert("", User.class, params, null);
+        assertEquals(1, result.getMessages().size());
+        assertEquals("nameは8文字以下で入力してください。", result.getMessages().get(0).formatMessage());
+
+        // メッセージを変更しても、事前に取得したメッセージが使用されること
+        String[][] changed = new String[MESSAGES.length][];
+        for (int i = 0; i < MESSAGES.length; i++) {
+            changed[i] = MESSAGES[i].clone();
+            changed[i][2] = "変更後:" + changed[i][2];
+        }
+        MockStringResourceHolder mock = repositoryResource.getComponent("stringResourceHolder");
+        mock.setMessages(changed);
+        BasicStaticDataCache<StringResource> msgCache = repositoryResource.getComponent("stringResourceCache");
+        msgCache.initialize();
+
+        result = manager.validateAndConvert("", User.class, params, null);
+        assertEquals(1, result.getMessages().size());
+        assertEquals("nameは8文字以下で入力してください。", result.getMessages().get(0).formatMessage());
+
+        // 設定しない場合は、メッセージの取得時に変更後のメッセージが使用されること
+        manager.setPrefetchMessages(false);
+        result = manager.validateAndConvert("", User.class, params, null);
+        assertEquals("変更後:nameは8文字以下で入力してください。", result.getMessages().get(0).formatMessage());
+    }
+
+    /**
+     * {@link ValidationManager#createPropertyDisplayNameObject(ValidationContext, PropertyValidationDefinition)}のテスト。
+     * <br/>
+     * プロパティの表示名のメッセージは、エラーメッセージの生成時にのみ取得され、取得結果が保持されること。
+     */
+    @Test
+    public void testLazyPropertyDisplayName() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("id", new String[]{"00000001"});
+        ValidationContext<PropertyNameNotFoundEntity> result = manager.validateAndConvert("",
+                PropertyNameNotFoundEntity.class, params, null);
+        assertTrue(result.isValid());
+
+        BasicStaticDataCache<FormValidationDefinition> cache = repositoryResource.getComponent("validationManager.formDefinitionCache");
+        PropertyValidationDefinition propertyDef = cache.getValue(PropertyNameNotFoundEntity.class)
+                .getPropertyValidationDefinition("id");
+        PropertyDisplayName displayName = propertyDef.getDisplayName(false);
+        assertNotNull(displayName);
+        assertNull(propertyDef.getDisplayName(true));
+
+        // メッセージが存在しない場合は、プロパティ名が使用されること
+        params.put("id", new String[]{"0000"});
+        for (int i = 0; i < 2; i++) {
+            result = manager.validateAndConvert("", PropertyNameNotFoundEntity.class, params, null);
+            assertFalse(result.isValid());
+            assertEquals("idは8文字で入力してください。", result.getMessages().get(0).formatMessage(Locale.JAPANESE));
+            assertSame(displayName, propertyDef.getDisplayName(false));
+        }
+        assertEquals("id", displayName.resolve(null));
+
+        // プロパティ名をメッセージIDとして使用する場合も、バリデーションエラーがなければメッセージを取得しないこと
+        setUpEntityPropertyNameMode();
+        params.put("id", new String[]{"00000001"});
+        assertTrue(manager.validateAndConvert("", PropertyNameNotFoundEntity.class, params, null).isValid());
+
+        // メッセージが存在する場合は、取得したメッセージが言語ごとに使用されること
+        params.put("id", new String[]{"0000"});
+        params.put("name", new String[]{"123456789"});
+        params.put("age", new String[]{"10"});
+        ValidationContext<User> userResult = manager.validateAndConvert("", User.class, params, null);
+        assertEquals(2, userResult.getMessages().size());
+        ValidationContextMatcher.ValidationContextWrapper contextWrapper = new ValidationContextMatcher.ValidationContextWrapper(
+                userResult);
+        ThreadContext.setLanguage(Locale.JAPANESE);
+        assertThat(contextWrapper,
+                ValidationContextMatcher.containsMessage(
+                        "MSG00023", "IDは8文字で入力してください。", "id"));
+        ThreadContext.setLanguage(Locale.ENGLISH);
+        assertThat(contextWrapper,
+                ValidationContextMatcher.containsMessage(
+                        "MSG00021", "Name cannot be greater than 8 characters.", "name"));
+    }
+
     static @interface TestAnnotation {
 
     }
@@ -1241,4 +1748,76 @@ public class ValidationManagerTest {
             this.id = id;
         }
     }
+
+    public static class CrossFieldPropertiesForm {
+
+        public CrossFieldPropertiesForm(Map<String, Object> props) {
+        }
+
+        @Length(min = 8, max = 8)
+        public void setDateFrom(String dateFrom) {
+        }
+
+        @Length(min = 8, max = 8)
+        public void setDateTo(String dateTo) {
+        }
+
+        @Length(max = 2)
+        public void setCode(String code) {
+        }
+
+        @Length(max = 10)
+        public void setReason(String reason) {
+        }
+
+        @Digits(integer = 10)
+        public void setPrice(Long price) {
+        }
+
+        @Digits(integer = 10)
+        public void setTax(Long tax) {
+        }
+
+        @Digits(integer = 10)
+        public void setTotal(Long total) {
+        }
+    }
+
+    @FromTo(from = "dateFrom", to = "dateTo")
+    @RequiredIf(property = "reason", dependsOn = "code", values = "99")
+    @SumEquals(properties = {"price", "tax"}, total = "total")
+    public static class CrossFieldForm extends CrossFieldPropertiesForm {
+
+        public CrossFieldForm(Map<String, Object> props) {
+            super(props);
+        }
+
+        @ValidateFor("dates")
+        public static void validateDates(ValidationContext<CrossFieldForm> context) {
+            ValidationUtil.validate(context, new String[] {"dateFrom", "dateTo"});
+        }
+    }
+
+    @FromTo.List({
+            @FromTo(from = "dateFrom", to = "dateTo", allowEqual = false, messageId = "MSG00001"),
+            @FromTo(from = "price", to = "total")
+    })
+    @SumEquals(properties = {"price", "tax"}, total = "total")
+    public static class CrossFieldListForm extends CrossFieldPropertiesForm {
+
+        public CrossFieldListForm(Map<String, Object> props) {
+            super(props);
+        }
+    }
+
+    @FromTo(from = "unknown", to = "dateTo")
+    public static class CrossFieldUnknownPropertyForm {
+
+        public CrossFieldUnknownPropertyForm(Map<String, Object> props) {
+        }
+
+        @Length(min = 8, max = 8)
+        public void setDateTo(String dateTo) {
+        }
+    }
 }
@@ -12,6 +12,7 @@ import org.junit.Test;
 
 import java.lang.annotation.Annotation;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -817,4 +818,90 @@ public class BigDecimalConvertorTest {
         assertNull(testee.convert(context, "param", "　　　10　　　", null));
     }
 
+    /**
+     * {@link BigDecimalConvertor#convertToPropertyType(String)}のテスト。
+     * <p/>
+     * 非スケール値から生成した結果が、スケールも含めて文字列から生成した結果と一致することの確認。
+     */
+    @Test
+    public void testConvertToPropertyType() {
+        String[] values = {
+                "0", "-0", "+0", "10", "0.10", ".01", "+.01", "-1.", "123456789012345678",
+                "-123456789.012345678", "0.000000000000000001", "1234567890123456789",
+                "-9999999999999999999.99", "1E+3"};
+        for (String value : values) {
+            BigDecimal actual = (BigDecimal) testee.convertToPropertyType(value);
+            BigDecimal expected = new BigDecimal(value);
+            assertEquals(value, expected, actual);
+            assertEquals(value, expected.scale(), actual.scale());
+        }
+    }
+
+    /**
+     * {@link BigDecimalConvertor#convertToPropertyType(String)}のテスト。
+     * <p/>
+     * 数値として不正な文字列の場合に、文字列から生成した場合と同じ例外が送出されることの確認。
+     */
+    @Test(expected = NumberFormatException.class)
+    public void testConvertToPropertyTypeInvalid() {
+        testee.convertToPropertyType("1.2.3");
+    }
+
+    /**
+     * {@link BigDecimalConvertor#isConvertible(ValidationContext, String, Object, Object, Annotation)}のテスト。
+     * <p/>
+     * 数値型の値の判定結果が、文字列に変換した値の判定結果と一致することの確認。
+     */
+    @Test
+    public void testIsConvertibleTypedNumber() {
+        ValidationContext<TestTarget> context = new ValidationContext<TestTarget>(
+                "", TestTarget.class, new ReflectionFormCreator(),
+                new HashMap<String, String[]>(), "");
+
+        Number[] valid = {
+                new BigDecimal("12345.67"), new BigDecimal("0.01"), new BigDecimal("-99999.99"),
+                new BigDecimal("0.00"), new BigDecimal("1E+3"), BigInteger.valueOf(12345),
+                99999L, -1, (short) 100, (byte) -128};
+        for (Number value : valid) {
+            assertTrue(value.toString(), testee.isConvertible(context, "param", "PROP0001", value, digits));
+            assertTrue(value.toString(), testee.isConvertible(context, "param", "PROP0001", toPlainString(value), digits));
+        }
+        assertThat(context.getMessages().size(), is(0));
+
+        Number[] invalid = {
+                new BigDecimal("123456"), new BigDecimal("1.234"), new BigDecimal("1.230"),
+                new BigDecimal("1E+5"), BigInteger.valueOf(123456), 100000L, Long.MIN_VALUE};
+        for (Number value : invalid) {
+            assertFalse(value.toString(), testee.isConvertible(context, "param", "PROP0001", value, digits));
+            assertFalse(value.toString(), testee.isConvertible(context, "param", "PROP0001", toPlainString(value), digits));
+        }
+        assertThat(context.getMessages().size(), is(invalid.length * 2));
+    }
+
+    /**
+     * {@link BigDecimalConvertor#convert(ValidationContext, String, Object, Annotation)}のテスト。
+     * <p/>
+     * 数値型の値が、文字列に変換した値と同じ値に変換されることの確認。
+     */
+    @Test
+    public void testConvertTypedNumber() {
+        ValidationContext<TestTarget> context = new ValidationContext<TestTarget>(
+                "", TestTarget.class, new ReflectionFormCreator(),
+                new HashMap<String, String[]>(), "");
+
+        BigDecimal decimal = new BigDecimal("123.450");
+        assertSame(decimal, testee.convert(context, "param", decimal, digits));
+
+        Number[] values = {new BigDecimal("1E+3"), BigInteger.TEN.pow(20), Long.MAX_VALUE, -5, (short) 3, (byte) 1};
+        for (Number value : values) {
+            BigDecimal expected = (BigDecimal) testee.convert(context, "param", toPlainString(value), digits);
+            BigDecimal actual = (BigDecimal) testee.convert(context, "param", value, digits);
+            assertEquals(value.toString(), expected, actual);
+            assertEquals(value.toString(), expected.scale(), actual.scale());
+        }
+    }
+
+    private static String toPlainString(Number value) {
+        return value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+    }
 }
@@ -133,4 +133,20 @@ public class BooleanConvertorTest {
             assertFalse((Boolean)testee.convert(context, "param", null, null));
         }
     }
+
+    /**
+     * 真偽値が文字列を経由せずに変換されること。
+     */
+    @Test
+    public void testBooleanValue() {
+        ValidationContext<TestTarget> context = new ValidationContext<TestTarget>(
+                "", TestTarget.class, new ReflectionFormCreator(),
+                new HashMap<String, String[]>(), "");
+
+        assertTrue(testee.isConvertible(context, "param", "PROP0001", Boolean.TRUE, null));
+        assertTrue(testee.isConvertible(context, "param", "PROP0001", Boolean.FALSE, null));
+        assertEquals(0, context.getMessages().size());
+        assertSame(Boolean.TRUE, testee.convert(context, "param", Boolean.TRUE, null));
+        assertSame(Boolean.FALSE, testee.convert(context, "param", Boolean.FALSE, null));
+    }
 }
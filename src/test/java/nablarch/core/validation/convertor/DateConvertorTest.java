@@ -0,0 +1,138 @@
+package nablarch.core.validation.convertor;
+
+import nablarch.core.ThreadContext;
+import nablarch.core.message.MockStringResourceHolder;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.creator.ReflectionFormCreator;
+import nablarch.test.support.SystemRepositoryResource;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.*;
+
+/**
+ * {@link DateConvertor}のテストクラス。
+ */
+public class DateConvertorTest {
+
+    @ClassRule
+    public static SystemRepositoryResource repo = new SystemRepositoryResource("nablarch/core/validation/convertor-test-base.xml");
+
+    private static final String[][] MESSAGES = {
+            {"MSG00001", "ja", "{0}は正しい日付で入力してください。", "en", "{0} is not a valid date."},
+            {"PROP0001", "ja", "プロパティ1", "en", "property1"},};
+
+    private DateConvertor testee;
+
+    private Map<String, String[]> params;
+
+    private ValidationContext<TestTarget> context;
+
+    @BeforeClass
+    public static void setUpClass() {
+        repo.getComponentByType(MockStringResourceHolder.class).setMessages(MESSAGES);
+    }
+
+    @Before
+    public void setUp() {
+        testee = new DateConvertor();
+        testee.setConversionFailedMessageId("MSG00001");
+        testee.setDefaultPattern("yyyyMMdd");
+        params = new HashMap<String, String[]>();
+        context = new ValidationContext<TestTarget>("", TestTarget.class, new ReflectionFormCreator(), params, "");
+    }
+
+    private static Date date(String pattern, String value) throws Exception {
+        return new SimpleDateFormat(pattern).parse(value);
+    }
+
+    /**
+     * デフォルトのパターンで変換できること。
+     */
+    @Test
+    public void testDefaultPattern() throws Exception {
+        assertThat(testee.getTargetClass() == Date.class, is(true));
+        assertTrue(testee.isConvertible(context, "param", "PROP0001", "20160229", null));
+        assertThat((Date) testee.convert(context, "param", "20160229", null), is(date("yyyyMMdd", "20160229")));
+        assertThat((Date) testee.convert(context, "param", new String[] {" 20161231 "}, null), is(date("yyyyMMdd", "20161231")));
+        assertThat(context.getMessages().size(), is(0));
+    }
+
+    /**
+     * フォーマット仕様のパターンが優先されること。
+     */
+    @Test
+    public void testFormatSpec() throws Exception {
+        params.put("param_nablarch_formatSpec", new String[] {"date{yyyy/MM/dd HH:mm:ss}"});
+
+        assertTrue(testee.isConvertible(context, "param", "PROP0001", "2016/01/05 23:59:58", null));
+        assertThat((Date) testee.convert(context, "param", "2016/01/05 23:59:58", null),
+                is(date("yyyy/MM/dd HH:mm:ss", "2016/01/05 23:59:58")));
+
+        assertFalse(testee.isConvertible(context, "param", "PROP0001", "20160105", null));
+        assertThat(context.getMessages().size(), is(1));
+    }
+
+    /**
+     * フォーマット仕様に言語が指定された場合、その言語で解析されること。
+     */
+    @Test
+    public void testFormatSpecWithLanguage() throws Exception {
+        params.put("param_nablarch_formatSpec", new String[] {"date{dd MMM yyyy|en}"});
+        params.put("param_nablarch_formatSpec_separator", new String[] {"|"});
+
+        assertTrue(testee.isConvertible(context, "param", "PROP0001", "05 Jan 2016", null));
+        assertThat((Date) testee.convert(context, "param", "05 Jan 2016", null),
+                is(new SimpleDateFormat("dd MMM yyyy", Locale.ENGLISH).parse("05 Jan 2016")));
+    }
+
+    /**
+     * 日付として不正な値は変換できないこと。
+     */
+    @Test
+    public void testInvalidDate() {
+        assertFalse(testee.isConvertible(context, "param", "PROP0001", "20150229", null));
+        assertFalse(testee.isConvertible(context, "param", "PROP0001", "20161301", null));
+        assertFalse(testee.isConvertible(context, "param", "PROP0001", "2016010a", null));
+        assertFalse(testee.isConvertible(context, "param", "PROP0001", "2016010", null));
+        assertFalse(testee.isConvertible(context, "param", "PROP0001", new String[] {"20160101", "20160102"}, null));
+        assertFalse(testee.isConvertible(context, "param", "PROP0001", Integer.valueOf(20160101), null));
+        assertThat(context.getMessages().size(), is(6));
+
+        ThreadContext.setLanguage(Locale.JAPANESE);
+        assertThat(context.getMessages().get(0).formatMessage(), is("PROP0001は正しい日付で入力してください。"));
+    }
+
+    /**
+     * nullおよび空文字列の扱い。
+     */
+    @Test
+    public void testNullAndEmpty() {
+        assertTrue(testee.isConvertible(context, "param", "PROP0001", null, null));
+        assertTrue(testee.isConvertible(context, "param", "PROP0001", "", null));
+        assertThat(testee.convert(context, "param", "", null), nullValue());
+        assertThat(testee.convert(context, "param", null, null), nullValue());
+
+        testee.setAllowNullValue(false);
+        assertFalse(testee.isConvertible(context, "param", "PROP0001", null, null));
+    }
+
+    /**
+     * パターンが指定されていない場合は例外が送出されること。
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testPatternNotSpecified() {
+        testee.setDefaultPattern(null);
+        testee.isConvertible(context, "param", "PROP0001", "20160101", null);
+    }
+}
@@ -0,0 +1,150 @@
+package nablarch.core.validation.convertor;
+
+import org.junit.Test;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link DatePattern}のテストクラス。
+ */
+public class DatePatternTest {
+
+    /**
+     * パターンとロケールの組み合わせごとにキャッシュされること。
+     */
+    @Test
+    public void testCache() {
+        DatePattern pattern = DatePattern.getInstance("yyyy/MM/dd", Locale.JAPANESE);
+        assertThat(DatePattern.getInstance("yyyy/MM/dd", Locale.JAPANESE), sameInstance(pattern));
+        assertThat(DatePattern.getInstance("yyyy/MM/dd", Locale.ENGLISH) == pattern, is(false));
+        assertThat(pattern.getPattern(), is("yyyy/MM/dd"));
+    }
+
+    /**
+     * 固定長の数値項目のみのパターンは直接解析されること。
+     */
+    @Test
+    public void testFixedWidth() {
+        assertThat(DatePattern.getInstance("yyyyMMdd", Locale.JAPANESE).isFixedWidth(), is(true));
+        assertThat(DatePattern.getInstance("yyyy-MM-dd'T'HH:mm", Locale.JAPANESE).isFixedWidth(), is(false));
+        assertThat(DatePattern.getInstance("yyyy/M/d", Locale.JAPANESE).isFixedWidth(), is(false));
+        assertThat(DatePattern.getInstance("yy/MM/dd", Locale.JAPANESE).isFixedWidth(), is(false));
+        assertThat(DatePattern.getInstance("yyyy/MMM/dd", Locale.JAPANESE).isFixedWidth(), is(false));
+        assertThat(DatePattern.getInstance("yyyy/MM/dd", new Locale("ja", "JP", "JP")).isFixedWidth(), is(false));
+    }
+
+    /**
+     * 直接解析した結果が{@link SimpleDateFormat}の解析結果と一致すること。
+     */
+    @Test
+    public void testParseSameAsSimpleDateFormat() throws Exception {
+        String[][] cases = {
+                {"yyyyMMdd", "20000229"},
+                {"yyyyMMdd", "19991231"},
+                {"yyyy/MM/dd", "2016/04/30"},
+                {"yyyy/MM/dd HH:mm:ss.SSS", "2016/04/30 00:00:00.000"},
+                {"yyyy/MM/dd HH:mm:ss.SSS", "2016/12/31 23:59:59.999"},
+                {"yyyyMM", "201602"},
+                {"yyyyMMdd", "15000229"},
+        };
+        for (String[] c : cases) {
+            SimpleDateFormat format = new SimpleDateFormat(c[0], Locale.JAPANESE);
+            format.setLenient(false);
+            assertThat(c[0] + " " + c[1],
+                    DatePattern.getInstance(c[0], Locale.JAPANESE).parse(c[1]), is(format.parse(c[1])));
+        }
+    }
+
+    /**
+     * 日付として不正な値は解析できないこと。
+     */
+    @Test
+    public void testParseInvalid() {
+        DatePattern pattern = DatePattern.getInstance("yyyy/MM/dd", Locale.JAPANESE);
+        assertThat(pattern.parse("2100/02/29"), nullValue());
+        assertThat(pattern.parse("2016/04/31"), nullValue());
+        assertThat(pattern.parse("2016/00/01"), nullValue());
+        assertThat(pattern.parse("2016/01/00"), nullValue());
+        assertThat(pattern.parse("2016-01-01"), nullValue());
+        assertThat(pattern.parse("2016/01/01x"), nullValue());
+        assertThat(pattern.parse(""), nullValue());
+
+        DatePattern time = DatePattern.getInstance("HHmmss", Locale.JAPANESE);
+        assertThat(time.parse("240000"), nullValue());
+        assertThat(time.parse("236000"), nullValue());
+        assertThat(time.parse("235960"), nullValue());
+    }
+
+    /**
+     * 桁数がパターンと一致しない値は{@link SimpleDateFormat}で解析されること。
+     */
+    @Test
+    public void testParseFallback() throws Exception {
+        DatePattern pattern = DatePattern.getInstance("yyyy/MM/dd", Locale.JAPANESE);
+        assertThat(pattern.parse("2016/1/5"), is(new SimpleDateFormat("yyyy/MM/dd").parse("2016/01/05")));
+    }
+
+    /**
+     * 夏時間への切り替えで存在しない日時は、{@link SimpleDateFormat}と同様に解析できないこと。
+     */
+    @Test
+    public void testParseDaylightSavingTimeGap() throws Exception {
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        try {
+            Locale locale = Locale.US;
+            DatePattern pattern = DatePattern.getInstance("yyyy/MM/dd HH:mm", locale);
+            assertThat(pattern.isFixedWidth(), is(true));
+
+            SimpleDateFormat format = new SimpleDateFormat("yyyy/MM/dd HH:mm", locale);
+            format.setLenient(false);
+            assertThat(format.parse("2024/03/10 02:30", new ParsePosition(0)), nullValue());
+            assertThat(pattern.parse("2024/03/10 02:30"), nullValue());
+
+            // 切り替えの前後の日時は解析できること
+            assertThat(pattern.parse("2024/03/10 01:59"), is(format.parse("2024/03/10 01:59")));
+            assertThat(pattern.parse("2024/03/10 03:00"), is(format.parse("2024/03/10 03:00")));
+            assertThat(pattern.parse("2024/11/03 01:30"), is(format.parse("2024/11/03 01:30")));
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+    }
+
+    /**
+     * 取得時点のデフォルトのタイムゾーンで解析されること。
+     */
+    @Test
+    public void testDefaultTimeZone() throws Exception {
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            DatePattern tokyo = DatePattern.getInstance("yyyy/MM/dd HH:mm", Locale.JAPANESE);
+            Date expected = new SimpleDateFormat("yyyy/MM/dd HH:mm").parse("2024/01/01 09:00");
+            assertThat(tokyo.parse("2024/01/01 09:00"), is(expected));
+            assertThat(tokyo.parse("2024/1/1 09:00"), is(expected));
+
+            TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+            DatePattern utc = DatePattern.getInstance("yyyy/MM/dd HH:mm", Locale.JAPANESE);
+            assertThat(utc == tokyo, is(false));
+            // 同じ時刻を表す文字列は、同じ日付に解析されること
+            assertThat(new SimpleDateFormat("yyyy/MM/dd HH:mm").parse("2024/01/01 00:00"), is(expected));
+            assertThat(utc.parse("2024/01/01 00:00"), is(expected));
+            assertThat(utc.parse("2024/1/1 00:00"), is(expected));
+
+            // 元のタイムゾーンに戻した場合は、キャッシュされたインスタンスが使用されること
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            assertThat(DatePattern.getInstance("yyyy/MM/dd HH:mm", Locale.JAPANESE), sameInstance(tokyo));
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+    }
+}
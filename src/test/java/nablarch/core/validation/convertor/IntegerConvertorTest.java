@@ -12,6 +12,7 @@ import org.junit.Test;
 
 import java.lang.annotation.Annotation;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -643,4 +644,85 @@ public class IntegerConvertorTest {
         // Stringを指定した場合に、全角スペースがトリムされないためBigDecimalへの変換に失敗し、nullが返却されることの確認
         assertNull(testee.convert(context, "param", "　　　10　　　", null));
     }
+
+    /**
+     * {@link IntegerConvertor#isConvertible(ValidationContext, String, Object, Object, Annotation)}のテスト。
+     * <p/>
+     * 数値型の値の判定結果が、文字列に変換した値の判定結果と一致することの確認。
+     */
+    @Test
+    public void testIsConvertibleTypedNumber() {
+        ValidationContext<TestTarget> context = new ValidationContext<TestTarget>(
+                "", TestTarget.class, new ReflectionFormCreator(),
+                new HashMap<String, String[]>(), "");
+
+        Number[] valid = {99999, -99999, 0, 12L, (short) -1, new BigDecimal("1E+4"), BigInteger.ONE};
+        for (Number value : valid) {
+            assertTrue(value.toString(), testee.isConvertible(context, "param", "PROP0001", value, digits));
+        }
+        assertThat(context.getMessages().size(), is(0));
+
+        Number[] invalid = {100000, -100000, Integer.MIN_VALUE, 10000000000L, new BigDecimal("1.0"),
+                new BigDecimal("0.5"), BigInteger.TEN.pow(5)};
+        for (Number value : invalid) {
+            assertFalse(value.toString(), testee.isConvertible(context, "param", "PROP0001", value, digits));
+        }
+        assertThat(context.getMessages().size(), is(invalid.length));
+    }
+
+    /**
+     * {@link IntegerConvertor#isConvertible(ValidationContext, String, Object, Object, Annotation)}のテスト。
+     * <p/>
+     * 数値型の値の場合も、Digitsの整数部桁数が10以上の場合は例外が送出されることの確認。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testIsConvertibleTypedNumberInvalidDigits() {
+        ValidationContext<TestTarget> context = new ValidationContext<TestTarget>(
+                "", TestTarget.class, new ReflectionFormCreator(),
+                new HashMap<String, String[]>(), "");
+        testee.isConvertible(context, "param", "PROP0001", 1, new Digits() {
+            public int integer() {
+                return 10;
+            }
+
+            public int fraction() {
+                return 0;
+            }
+
+            public boolean commaSeparated() {
+                return true;
+            }
+
+            public String messageId() {
+                return "";
+            }
+
+            public Class<? extends Annotation> annotationType() {
+                return Digits.class;
+            }
+        });
+    }
+
+    /**
+     * {@link IntegerConvertor#convert(ValidationContext, String, Object, Annotation)}のテスト。
+     * <p/>
+     * 数値型の値が文字列を経由せずに変換され、Integerで表現できない値はnullとなることの確認。
+     */
+    @Test
+    public void testConvertTypedNumber() {
+        ValidationContext<TestTarget> context = new ValidationContext<TestTarget>(
+                "", TestTarget.class, new ReflectionFormCreator(),
+                new HashMap<String, String[]>(), "");
+
+        Integer value = 12345;
+        assertSame(value, testee.convert(context, "param", value, digits));
+        assertEquals(123, testee.convert(context, "param", 123L, digits));
+        assertEquals(-1, testee.convert(context, "param", (byte) -1, digits));
+        assertEquals(1000, testee.convert(context, "param", new BigDecimal("1E+3"), digits));
+        assertEquals(Integer.MIN_VALUE, testee.convert(context, "param", BigInteger.valueOf(Integer.MIN_VALUE), digits));
+
+        assertNull(testee.convert(context, "param", 10000000000L, digits));
+        assertNull(testee.convert(context, "param", new BigDecimal("1.0"), digits));
+        assertNull(testee.convert(context, "param", BigInteger.TEN.pow(20), digits));
+    }
 }
@@ -12,6 +12,7 @@ import org.junit.Test;
 
 import java.lang.annotation.Annotation;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -592,5 +593,49 @@ public class LongConvertorTest {
         // Stringを指定した場合に、全角スペースがトリムされないためBigDecimalへの変換に失敗し、nullが返却されることの確認
         assertNull(testee.convert(context, "param", "　　　10　　　", null));
     }
-    
+
+    /**
+     * {@link LongConvertor#isConvertible(ValidationContext, String, Object, Object, Annotation)}のテスト。
+     * <p/>
+     * 数値型の値の桁数が、文字列に変換せずにチェックされることの確認。
+     */
+    @Test
+    public void testIsConvertibleTypedNumber() {
+        ValidationContext<TestTarget> context = new ValidationContext<TestTarget>(
+                "", TestTarget.class, new ReflectionFormCreator(),
+                new HashMap<String, String[]>(), "");
+
+        assertTrue(testee.isConvertible(context, "param", "PROP0001", 999999999999999999L, digits));
+        assertTrue(testee.isConvertible(context, "param", "PROP0001", -999999999999999999L, digits));
+        assertTrue(testee.isConvertible(context, "param", "PROP0001", Integer.MIN_VALUE, digits));
+        assertTrue(testee.isConvertible(context, "param", "PROP0001", new BigDecimal("999999999999999999"), digits));
+        assertThat(context.getMessages().size(), is(0));
+
+        assertFalse(testee.isConvertible(context, "param", "PROP0001", 1000000000000000000L, digits));
+        assertFalse(testee.isConvertible(context, "param", "PROP0001", Long.MAX_VALUE, digits));
+        assertFalse(testee.isConvertible(context, "param", "PROP0001", Long.MIN_VALUE, digits));
+        assertFalse(testee.isConvertible(context, "param", "PROP0001", BigInteger.TEN.pow(18), digits));
+        assertThat(context.getMessages().size(), is(4));
+    }
+
+    /**
+     * {@link LongConvertor#convert(ValidationContext, String, Object, Annotation)}のテスト。
+     * <p/>
+     * 数値型の値が文字列を経由せずに変換され、Longで表現できない値はnullとなることの確認。
+     */
+    @Test
+    public void testConvertTypedNumber() {
+        ValidationContext<TestTarget> context = new ValidationContext<TestTarget>(
+                "", TestTarget.class, new ReflectionFormCreator(),
+                new HashMap<String, String[]>(), "");
+
+        Long value = 123456789012L;
+        assertSame(value, testee.convert(context, "param", value, digits));
+        assertEquals(5L, testee.convert(context, "param", 5, digits));
+        assertEquals(Long.MIN_VALUE, testee.convert(context, "param", BigInteger.valueOf(Long.MIN_VALUE), digits));
+        assertEquals(1000L, testee.convert(context, "param", new BigDecimal("1E+3"), digits));
+
+        assertNull(testee.convert(context, "param", BigInteger.TEN.pow(19), digits));
+        assertNull(testee.convert(context, "param", new BigDecimal("0.1"), digits));
+    }
 }
@@ -0,0 +1,218 @@
+package nablarch.core.validation.convertor;
+
+import nablarch.core.ThreadContext;
+import nablarch.core.message.MockStringResourceHolder;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.creator.ReflectionFormCreator;
+import nablarch.test.support.SystemRepositoryResource;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.*;
+
+/**
+ * {@link NumberArrayConvertorSupport}および各サブクラスのテスト。
+ */
+public class NumberArrayConvertorSupportTest {
+
+    @ClassRule
+    public static SystemRepositoryResource repo = new SystemRepositoryResource("nablarch/core/validation/convertor-test-base.xml");
+
+    private static final String[][] MESSAGES = {
+            {"MSG00001", "ja", "{0}の{3}番目の要素には{1}桁以下の数値を入力してください。", "en", "element {3} of {0} must be {1} digits or less."},
+            {"MSG00002", "ja", "{0}の{3}番目の要素には整数部{1}桁以下、小数部{2}桁以下の数値を入力してください。", "en", "element {3} of {0} is invalid."},
+            {"PROP0001", "ja", "プロパティ1", "en", "property1"},};
+
+    private Map<String, String[]> params;
+
+    private ValidationContext<TestTarget> context;
+
+    @BeforeClass
+    public static void setUpClass() {
+        repo.getComponentByType(MockStringResourceHolder.class).setMessages(MESSAGES);
+    }
+
+    @Before
+    public void setUp() {
+        params = new HashMap<String, String[]>();
+        context = new ValidationContext<TestTarget>("", TestTarget.class, new ReflectionFormCreator(), params, "");
+    }
+
+    private static Digits digits(final int integer, final int fraction) {
+        return new Digits() {
+            public int integer() {
+                return integer;
+            }
+
+            public int fraction() {
+                return fraction;
+            }
+
+            public boolean commaSeparated() {
+                return true;
+            }
+
+            public String messageId() {
+                return "";
+            }
+
+            public Class<? extends Annotation> annotationType() {
+                return Digits.class;
+            }
+        };
+    }
+
+    private static <T extends NumberArrayConvertorSupport> T setUpConvertor(T convertor) {
+        convertor.setInvalidDigitsIntegerMessageId("MSG00001");
+        convertor.setInvalidDigitsFractionMessageId("MSG00002");
+        return convertor;
+    }
+
+    /**
+     * 変換対象の型が各要素型の配列であること。
+     */
+    @Test
+    public void testGetTargetClass() {
+        assertTrue(new IntegerArrayConvertor().getTargetClass() == Integer[].class);
+        assertTrue(new LongArrayConvertor().getTargetClass() == Long[].class);
+        assertTrue(new BigDecimalArrayConvertor().getTargetClass() == BigDecimal[].class);
+        assertTrue(new IntArrayConvertor().getTargetClass() == int[].class);
+        assertTrue(new PrimitiveLongArrayConvertor().getTargetClass() == long[].class);
+    }
+
+    /**
+     * 参照型の配列に変換できること。空文字列の要素はnullとなること。
+     */
+    @Test
+    public void testConvertToObjectArray() {
+        IntegerArrayConvertor integer = setUpConvertor(new IntegerArrayConvertor());
+        String[] value = {"1", " 1,234 ", "", "-5"};
+        assertTrue(integer.isConvertible(context, "param", "PROP0001", value, digits(5, 0)));
+        assertArrayEquals(new Integer[] {1, 1234, null, -5},
+                (Integer[]) integer.convert(context, "param", value, digits(5, 0)));
+
+        LongArrayConvertor longs = setUpConvertor(new LongArrayConvertor());
+        value = new String[] {"123456789012345678", "0"};
+        assertTrue(longs.isConvertible(context, "param", "PROP0001", value, digits(18, 0)));
+        assertArrayEquals(new Long[] {123456789012345678L, 0L},
+                (Long[]) longs.convert(context, "param", value, digits(18, 0)));
+
+        BigDecimalArrayConvertor decimal = setUpConvertor(new BigDecimalArrayConvertor());
+        value = new String[] {"1.5", "12,345.25"};
+        assertTrue(decimal.isConvertible(context, "param", "PROP0001", value, digits(5, 2)));
+        assertArrayEquals(new BigDecimal[] {new BigDecimal("1.5"), new BigDecimal("12345.25")},
+                (BigDecimal[]) decimal.convert(context, "param", value, digits(5, 2)));
+        assertThat(context.getMessages().size(), is(0));
+    }
+
+    /**
+     * プリミティブ型の配列に変換できること。空文字列の要素は変換不可となること。
+     */
+    @Test
+    public void testConvertToPrimitiveArray() {
+        IntArrayConvertor ints = setUpConvertor(new IntArrayConvertor());
+        String[] value = {"1", "22", "-333"};
+        assertTrue(ints.isConvertible(context, "param", "PROP0001", value, digits(3, 0)));
+        assertArrayEquals(new int[] {1, 22, -333}, (int[]) ints.convert(context, "param", value, digits(3, 0)));
+
+        PrimitiveLongArrayConvertor longs = setUpConvertor(new PrimitiveLongArrayConvertor());
+        value = new String[] {"9999999999"};
+        assertTrue(longs.isConvertible(context, "param", "PROP0001", value, digits(10, 0)));
+        assertArrayEquals(new long[] {9999999999L}, (long[]) longs.convert(context, "param", value, digits(10, 0)));
+        assertThat(context.getMessages().size(), is(0));
+
+        assertFalse(ints.isConvertible(context, "param", "PROP0001", new String[] {"1", " "}, digits(3, 0)));
+        assertFalse(longs.isConvertible(context, "param", "PROP0001", new String[] {null}, digits(3, 0)));
+        assertThat(context.getMessages().size(), is(2));
+        ThreadContext.setLanguage(Locale.JAPANESE);
+        assertThat(context.getMessages().get(0).formatMessage(),
+                is("PROP0001の2番目の要素には3桁以下の数値を入力してください。"));
+        assertThat(context.getMessages().get(1).formatMessage(),
+                is("PROP0001の1番目の要素には3桁以下の数値を入力してください。"));
+    }
+
+    /**
+     * 最初に変換に失敗した要素の位置(1始まり)がメッセージに含まれること。
+     */
+    @Test
+    public void testInvalidElement() {
+        IntegerArrayConvertor integer = setUpConvertor(new IntegerArrayConvertor());
+        assertFalse(integer.isConvertible(context, "param", "PROP0001",
+                new String[] {"1", "2", "1234", "abc"}, digits(3, 0)));
+        assertThat(context.getMessages().size(), is(1));
+
+        BigDecimalArrayConvertor decimal = setUpConvertor(new BigDecimalArrayConvertor());
+        assertFalse(decimal.isConvertible(context, "param", "PROP0001",
+                new String[] {"1.123", "1.1"}, digits(3, 2)));
+        assertThat(context.getMessages().size(), is(2));
+
+        ThreadContext.setLanguage(Locale.JAPANESE);
+        assertThat(context.getMessages().get(0).formatMessage(),
+                is("PROP0001の3番目の要素には3桁以下の数値を入力してください。"));
+        assertThat(context.getMessages().get(1).formatMessage(),
+                is("PROP0001の1番目の要素には整数部3桁以下、小数部2桁以下の数値を入力してください。"));
+    }
+
+    /**
+     * フォーマット仕様の言語に応じて変換されること。
+     */
+    @Test
+    public void testFormatSpec() {
+        params.put("param_nablarch_formatSpec", new String[] {"decimal{###,###.##|fr}"});
+        params.put("param_nablarch_formatSpec_separator", new String[] {"|"});
+
+        BigDecimalArrayConvertor decimal = setUpConvertor(new BigDecimalArrayConvertor());
+        String[] value = {"1,5", "2"};
+        assertTrue(decimal.isConvertible(context, "param", "PROP0001", value, digits(5, 2)));
+        assertArrayEquals(new BigDecimal[] {new BigDecimal("1.5"), new BigDecimal("2")},
+                (BigDecimal[]) decimal.convert(context, "param", value, digits(5, 2)));
+    }
+
+    /**
+     * 要素の変換に使用するコンバータに設定されたメッセージIDが取得できること。
+     */
+    @Test
+    public void testGetMessageIds() {
+        assertThat(setUpConvertor(new BigDecimalArrayConvertor()).getMessageIds(),
+                is(Arrays.asList("MSG00001", "MSG00002", null)));
+    }
+
+    /**
+     * nullおよび空配列の扱い。
+     */
+    @Test
+    public void testNullAndEmpty() {
+        IntArrayConvertor ints = setUpConvertor(new IntArrayConvertor());
+        assertTrue(ints.isConvertible(context, "param", "PROP0001", null, digits(3, 0)));
+        assertThat(ints.convert(context, "param", null, digits(3, 0)), nullValue());
+        assertTrue(ints.isConvertible(context, "param", "PROP0001", new String[0], digits(3, 0)));
+        assertThat(((int[]) ints.convert(context, "param", new String[0], digits(3, 0))).length, is(0));
+    }
+
+    /**
+     * String配列以外の値は例外が送出されること。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidValueType() {
+        setUpConvertor(new IntegerArrayConvertor()).isConvertible(context, "param", "PROP0001", "1", digits(3, 0));
+    }
+
+    /**
+     * Digitsアノテーションが指定されていない場合は例外が送出されること。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testDigitsNotSpecified() {
+        setUpConvertor(new IntegerArrayConvertor()).isConvertible(context, "param", "PROP0001", new String[] {"1"}, null);
+    }
+}
@@ -568,6 +568,50 @@ public class StringConvertorTest {
         assertEquals("String配列OK", "日本語", configurationConvertor.convert(context, "param", new String[]{"   \r\n\t\0日本語    \t\r\n\0"}, null));
         assertEquals("StringOK", "文字列", configurationConvertor.convert(context, "param", "   \r\n\t\0文字列    \t\r\n\0", null));
     }
-    
-    
+
+    /**
+     * {@link StringConvertor#convert(ValidationContext, String, Object, Annotation)}のテスト。
+     * <p/>
+     * 正規化ポリシーにしたがって正規化されること。
+     */
+    @Test
+    public void testNormalizePolicies() {
+
+        Map<String, String[]> params = new HashMap<String, String[]>();
+
+        ValidationContext<TestTarget> context = new ValidationContext<TestTarget>(
+                "", TestTarget.class,
+                new ReflectionFormCreator(),
+                params, "");
+
+        // 正規化ポリシーを設定しない場合は、正規化されないこと
+        assertEquals("\u3000ＡＢＣ\r\n\u3000", testee.convert(context, "param", "\u3000ＡＢＣ\r\n\u3000", null));
+
+        testee.setNormalizePolicies(Arrays.asList("trimFullWidthSpace", "toHalfWidthAscii", "unifyLineSeparator"));
+        assertEquals("ABC\nDEF", testee.convert(context, "param", new String[]{"\u3000ＡＢＣ\r\nＤＥＦ\u3000"}, null));
+        assertEquals("ABC\nDEF", testee.convert(context, "param", "\u3000ＡＢＣ\rＤＥＦ\u3000", null));
+
+        // トリムポリシーの後に正規化されること
+        testee.setTrimPolicy("trimAll");
+        testee.setNormalizePolicies(Arrays.asList("toHalfWidthAscii"));
+        assertEquals("A B", testee.convert(context, "param", " Ａ\u3000Ｂ ", null));
+
+        // 空のリストを設定した場合は、正規化されないこと
+        testee.setNormalizePolicies(new ArrayList<String>());
+        assertEquals("Ａ", testee.convert(context, "param", " Ａ ", null));
+    }
+
+    /**
+     * 不正な正規化ポリシー名を設定した場合、例外がスローされるテスト。
+     */
+    @Test
+    public void testInvalidNormalizePolicyName() {
+        try {
+            testee.setNormalizePolicies(Arrays.asList("trimFullWidthSpace", "abc"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("invalid property value was specified. 'abc' was not supported normalize policy name."
+                    + " supported normalize policy name=[\"trimFullWidthSpace\", \"toHalfWidthAscii\", \"unifyLineSeparator\"]."));
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package nablarch.core.validation.convertor;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link StringNormalizer}のテストクラス。
+ */
+public class StringNormalizerTest {
+
+    /**
+     * 全角スペースを含めてトリムされること。
+     */
+    @Test
+    public void testTrim() {
+        StringNormalizer normalizer = new StringNormalizer(true, false, false);
+        assertThat(normalizer.normalize("　 \t日本語　語\r\n　"), is("日本語　語"));
+        assertThat(normalizer.normalize("　　"), is(""));
+        assertThat(normalizer.normalize(""), is(""));
+    }
+
+    /**
+     * 全角英数記号と全角スペースが半角に変換されること。
+     */
+    @Test
+    public void testToHalfWidth() {
+        StringNormalizer normalizer = new StringNormalizer(false, true, false);
+        assertThat(normalizer.normalize("ＡＢＣ１２３！～　ａｂｃ"), is("ABC123!~ abc"));
+        assertThat(normalizer.normalize("あいうアイウ漢字ｱｲｳ"), is("あいうアイウ漢字ｱｲｳ"));
+    }
+
+    /**
+     * 改行コードがLFに統一されること。
+     */
+    @Test
+    public void testUnifyLineSeparator() {
+        StringNormalizer normalizer = new StringNormalizer(false, false, true);
+        assertThat(normalizer.normalize("a\r\nb\rc\nd\r"), is("a\nb\nc\nd\n"));
+        assertThat(normalizer.normalize("\r\n\r\n"), is("\n\n"));
+    }
+
+    /**
+     * 全ての正規化が同時に適用されること。
+     */
+    @Test
+    public void testAll() {
+        StringNormalizer normalizer = new StringNormalizer(true, true, true);
+        assertThat(normalizer.normalize("　ＡＢ\r\nＣ　Ｄ\r\n"), is("AB\nC D"));
+    }
+
+    /**
+     * 値が変化しない場合は元の文字列がそのまま返されること。
+     */
+    @Test
+    public void testUnchanged() {
+        StringNormalizer normalizer = new StringNormalizer(true, true, true);
+        String value = "abc\ndef";
+        assertThat(normalizer.normalize(value), sameInstance(value));
+    }
+
+    /**
+     * バッファの再利用の上限を超える長さの文字列も正規化できること。
+     */
+    @Test
+    public void testLongValue() {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            input.append("Ａ\r\n");
+            expected.append("A\n");
+        }
+        StringNormalizer normalizer = new StringNormalizer(false, true, true);
+        assertThat(normalizer.normalize(input.toString()), is(expected.toString()));
+        assertThat(normalizer.normalize("Ｂ"), is("B"));
+    }
+}
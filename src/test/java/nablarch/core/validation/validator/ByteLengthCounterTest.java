@@ -0,0 +1,57 @@
+package nablarch.core.validation.validator;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link ByteLengthCounter}のテスト。
+ */
+public class ByteLengthCounterTest {
+
+    private static final String[] VALUES = {
+            "", "abc", "é", "あいう", "ｱｲｳ", "①Ⅱ", "𠀋", "a\uD840", "\uDC0Bb", "表~¥",
+            "～〜‖", "\r\n\t", createLongValue()};
+
+    private static String createLongValue() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append("aあ𠀋");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 文字セットごとにインスタンスがキャッシュされること。
+     */
+    @Test
+    public void testGetInstance() {
+        assertThat(ByteLengthCounter.getInstance("Windows-31J"), sameInstance(ByteLengthCounter.getInstance("Windows-31J")));
+    }
+
+    /**
+     * 数えたバイト数が、{@link String#getBytes(Charset)}で生成したバイト配列の長さと一致すること。
+     */
+    @Test
+    public void testCount() {
+        String[] charsets = {"UTF-8", "Windows-31J", "Shift_JIS", "EUC-JP", "ISO-2022-JP", "UTF-16", "ISO-8859-1"};
+        for (String charset : charsets) {
+            ByteLengthCounter counter = ByteLengthCounter.getInstance(charset);
+            for (String value : VALUES) {
+                assertThat(charset + ":" + value, counter.count(value), is(value.getBytes(Charset.forName(charset)).length));
+            }
+        }
+    }
+
+    /**
+     * サポートされていない文字セットの場合は例外が送出されること。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedCharset() {
+        ByteLengthCounter.getInstance("unknown-charset");
+    }
+}
@@ -0,0 +1,168 @@
+package nablarch.core.validation.validator;
+
+import nablarch.core.ThreadContext;
+import nablarch.core.cache.BasicStaticDataCache;
+import nablarch.core.message.MockStringResourceHolder;
+import nablarch.core.message.StringResource;
+import nablarch.core.validation.PropertyName;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.ValidationManager;
+import nablarch.core.validation.convertor.Digits;
+import nablarch.test.support.SystemRepositoryResource;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.junit.matchers.JUnitMatchers.containsString;
+
+/**
+ * {@link FromToValidator}のテストクラス。
+ */
+public class FromToValidatorTest {
+
+    @Rule
+    public SystemRepositoryResource repositoryResource = new SystemRepositoryResource(
+            "nablarch/core/validation/validation-manager.xml");
+
+    private static final String[][] MESSAGES = {
+            {"MSG00001", "ja", "{0}の値が不正です。", "en", "{0} value is invalid."},
+            {"MSG00061", "ja", "{0}は{1}以降の値を入力してください。", "en", "{0} must be later than {1}."},
+            {"PROP0001", "ja", "開始日", "en", "Start date"},
+            {"PROP0002", "ja", "終了日", "en", "End date"},};
+
+    private ValidationManager manager;
+
+    @Before
+    public void setUp() {
+        MockStringResourceHolder mock = repositoryResource.getComponent("stringResourceHolder");
+        mock.setMessages(MESSAGES);
+        BasicStaticDataCache<StringResource> msgCache = repositoryResource.getComponent("stringResourceCache");
+        msgCache.initialize();
+        BasicStaticDataCache<?> cache = repositoryResource.getComponent("validationManager.formDefinitionCache");
+        cache.initialize();
+        manager = repositoryResource.getComponent("validationManager");
+        manager.initialize();
+        ThreadContext.setLanguage(Locale.JAPANESE);
+    }
+
+    @FromTo(from = "dateFrom", to = "dateTo")
+    public static class DateForm {
+
+        public DateForm(Map<String, Object> props) {
+        }
+
+        @PropertyName(messageId = "PROP0001")
+        @Length(max = 8)
+        public void setDateFrom(String dateFrom) {
+        }
+
+        @PropertyName(messageId = "PROP0002")
+        @Length(max = 8)
+        public void setDateTo(String dateTo) {
+        }
+    }
+
+    @FromTo(from = "min", to = "max", allowEqual = false, messageId = "MSG00001")
+    public static class NumberForm {
+
+        public NumberForm(Map<String, Object> props) {
+        }
+
+        @Digits(integer = 10)
+        public void setMin(Long min) {
+        }
+
+        @Digits(integer = 5, fraction = 2)
+        public void setMax(BigDecimal max) {
+        }
+    }
+
+    @FromTo(from = "from", to = "to")
+    public static class ArrayForm {
+
+        public ArrayForm(Map<String, Object> props) {
+        }
+
+        public void setFrom(String[] from) {
+        }
+
+        public void setTo(String[] to) {
+        }
+    }
+
+    private static Map<String, String[]> params(String from, String to) {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("dateFrom", new String[] {from});
+        params.put("dateTo", new String[] {to});
+        params.put("min", new String[] {from});
+        params.put("max", new String[] {to});
+        return params;
+    }
+
+    /**
+     * 文字列の大小を比較できること。
+     */
+    @Test
+    public void testValidateString() {
+        assertThat(manager.validateAndConvert("", DateForm.class, params("20240101", "20240102"), null).isValid(), is(true));
+        assertThat(manager.validateAndConvert("", DateForm.class, params("20240101", "20240101"), null).isValid(), is(true));
+
+        ValidationContext<DateForm> result = manager.validateAndConvert("", DateForm.class, params("20240102", "20240101"), null);
+        assertThat(result.isValid(), is(false));
+        assertThat(result.getMessages().size(), is(1));
+        assertThat(result.getMessages().get(0).formatMessage(), is("終了日は開始日以降の値を入力してください。"));
+        assertThat(result.isInvalid("dateTo"), is(true));
+        assertThat(result.isInvalid("dateFrom"), is(false));
+    }
+
+    /**
+     * いずれかの値が入力されていない場合はチェックを行わないこと。
+     */
+    @Test
+    public void testValidateEmpty() {
+        assertThat(manager.validateAndConvert("", DateForm.class, params("", "20240101"), null).isValid(), is(true));
+        assertThat(manager.validateAndConvert("", DateForm.class, params("20240101", ""), null).isValid(), is(true));
+        assertThat(manager.validateAndConvert("", DateForm.class, new HashMap<String, String[]>(), null).isValid(), is(true));
+    }
+
+    /**
+     * 型の異なる数値を数値として比較でき、allowEqualとmessageIdの指定が有効となること。
+     */
+    @Test
+    public void testValidateNumber() {
+        assertThat(manager.validateAndConvert("", NumberForm.class, params("9", "10"), null).isValid(), is(true));
+        assertThat(manager.validateAndConvert("", NumberForm.class, params("10", "10.01"), null).isValid(), is(true));
+
+        ValidationContext<NumberForm> result = manager.validateAndConvert("", NumberForm.class, params("10", "10.00"), null);
+        assertThat(result.isValid(), is(false));
+        assertThat(result.getMessages().get(0).getMessageId(), is("MSG00001"));
+        assertThat(result.getMessages().get(0).formatMessage(), is("maxの値が不正です。"));
+
+        result = manager.validateAndConvert("", NumberForm.class, params("11", "10"), null);
+        assertThat(result.isValid(), is(false));
+    }
+
+    /**
+     * 比較できない型の値の場合、例外が発生すること。
+     */
+    @Test
+    public void testValidateNotComparable() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("from", new String[] {"1"});
+        params.put("to", new String[] {"2"});
+        try {
+            manager.validateAndConvert("", ArrayForm.class, params, null);
+            fail("例外が発生するはず。");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString("values of @FromTo could not be compared."));
+        }
+    }
+}
@@ -75,6 +75,14 @@ public class LengthValidatorTest {
         public int max() {
             return 10;
         }
+
+        public LengthUnit unit() {
+            return LengthUnit.CHAR;
+        }
+
+        public String charset() {
+            return "";
+        }
     };
 
     @Test
@@ -103,6 +111,14 @@ public class LengthValidatorTest {
             public int max() {
                 return 10;
             }
+
+            public LengthUnit unit() {
+                return LengthUnit.CHAR;
+            }
+
+            public String charset() {
+                return "";
+            }
         };
         assertFalse(testee.validate(context, "param", "PROP0001", length, "12345678901"));    
         
@@ -151,6 +167,14 @@ public class LengthValidatorTest {
             public int max() {
                 return 10;
             }
+
+            public LengthUnit unit() {
+                return LengthUnit.CHAR;
+            }
+
+            public String charset() {
+                return "";
+            }
         };
         // min を指定していても、長さ0の文字列は許可する
         assertTrue(testee.validate(context, "param", "PROP0001", length, ""));    
@@ -184,6 +208,14 @@ public class LengthValidatorTest {
             public int max() {
                 return 10;
             }
+
+            public LengthUnit unit() {
+                return LengthUnit.CHAR;
+            }
+
+            public String charset() {
+                return "";
+            }
         };
         assertFalse(testee.validate(context, "param", "PROP0001", length, "12345678901"));    
         
@@ -211,6 +243,14 @@ public class LengthValidatorTest {
             public int max() {
                 return 10;
             }
+
+            public LengthUnit unit() {
+                return LengthUnit.CHAR;
+            }
+
+            public String charset() {
+                return "";
+            }
         };
         assertFalse(testee.validate(context, "param", "PROP0001", length, "12345678901"));    
         
@@ -239,6 +279,14 @@ public class LengthValidatorTest {
             public int max() {
                 return 0;
             }
+
+            public LengthUnit unit() {
+                return LengthUnit.CHAR;
+            }
+
+            public String charset() {
+                return "";
+            }
         };
         // MAXおよびMINが0の場合は全てtrue(カバレッジ以外に意味はない。)
         assertTrue(testee.validate(context, "param", "PROP0001", length, "12345678901"));    
@@ -268,6 +316,15 @@ public class LengthValidatorTest {
         assertThat(lengthAnnotation.max(), is(10));
         assertThat(lengthAnnotation.messageId(), is("id"));
 
+        assertThat("unitはデフォルト値のCHARとなる", lengthAnnotation.unit(), is(LengthUnit.CHAR));
+        assertThat(lengthAnnotation.charset(), is(""));
+
+        param.put("unit", LengthUnit.BYTE);
+        param.put("charset", "UTF-8");
+        lengthAnnotation = sut.createAnnotation(param);
+        assertThat(lengthAnnotation.unit(), is(LengthUnit.BYTE));
+        assertThat(lengthAnnotation.charset(), is("UTF-8"));
+
         param.put("max", null);
         lengthAnnotation = sut.createAnnotation(param);
         try {
@@ -282,4 +339,73 @@ public class LengthValidatorTest {
     public void testGetAnnotationClass() {
     	assertEquals(Length.class, testee.getAnnotationClass());
     }
+
+    private static Length length(final int min, final int max, final LengthUnit unit, final String charset) {
+        return new Length() {
+
+            public Class<? extends Annotation> annotationType() {
+                return Length.class;
+            }
+
+            public int min() {
+                return min;
+            }
+
+            public String messageId() {
+                return "";
+            }
+
+            public int max() {
+                return max;
+            }
+
+            public LengthUnit unit() {
+                return unit;
+            }
+
+            public String charset() {
+                return charset;
+            }
+        };
+    }
+
+    /**
+     * コードポイント数で数える場合、サロゲートペアが1文字として数えられること。
+     */
+    @Test
+    public void testValidateCodePoint() {
+        String value = "\uD840\uDC0B\uD840\uDC0Bあ";
+        assertTrue(testee.validate(context, "param", "PROP0001", length(0, 3, LengthUnit.CODE_POINT, ""), value));
+        assertFalse(testee.validate(context, "param", "PROP0001", length(0, 3, LengthUnit.CHAR, ""), value));
+        assertFalse(testee.validate(context, "param", "PROP0001", length(4, 5, LengthUnit.CODE_POINT, ""), value));
+        assertEquals(2, context.getMessages().size());
+    }
+
+    /**
+     * バイト数で数える場合、アノテーションまたはバリデータに指定された文字セットでのバイト数で数えられること。
+     */
+    @Test
+    public void testValidateByte() {
+        assertTrue(testee.validate(context, "param", "PROP0001", length(0, 6, LengthUnit.BYTE, "UTF-8"), "あい"));
+        assertFalse(testee.validate(context, "param", "PROP0001", length(0, 5, LengthUnit.BYTE, "UTF-8"), "あい"));
+        assertTrue(testee.validate(context, "param", "PROP0001", length(0, 4, LengthUnit.BYTE, "Windows-31J"), "あい"));
+        assertFalse(testee.validate(context, "param", "PROP0001", length(5, 10, LengthUnit.BYTE, "Windows-31J"), "あい"));
+        assertEquals(2, context.getMessages().size());
+
+        testee.setCharset("Windows-31J");
+        assertTrue(testee.validate(context, "param", "PROP0001", length(4, 4, LengthUnit.BYTE, ""), "あい"));
+        assertTrue(testee.validate(context, "param", "PROP0001", length(6, 6, LengthUnit.BYTE, "UTF-8"), "あい"));
+
+        // 空文字列はバイト数を数えずに許可される。
+        assertTrue(testee.validate(context, "param", "PROP0001", length(4, 4, LengthUnit.BYTE, ""), ""));
+        assertEquals(2, context.getMessages().size());
+    }
+
+    /**
+     * バイト数で数える場合に文字セットが指定されていない場合は例外が送出されること。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testValidateByteWithoutCharset() {
+        testee.validate(context, "param", "PROP0001", length(0, 4, LengthUnit.BYTE, ""), "あい");
+    }
 }
@@ -0,0 +1,95 @@
+package nablarch.core.validation.validator;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link LinearPattern}のテストクラス。
+ */
+public class LinearPatternTest {
+
+    /** 対応する構文の正規表現 */
+    private static final String[] SUPPORTED = {
+            "", "^$", "abc", "^abc$", "a?b*c+", "a{3}", "a{2,}", "a{1,3}b", "a??b*?c+?", "a{1,2}?",
+            ".", ".*", "a.c", "[abc]+", "[^abc]*", "[a-c0-2_]{2,4}", "[a-]*", "[-a]*", "[\\d\\s]*",
+            "\\d{3}-\\d{4}", "\\D+", "\\w*\\W", "\\s\\S", "\\.\\*\\\\", "\\t\\n", "\\u3042+", "\\x41+",
+            "[\\u3041-\\u3093]+", "[^\\n]*", "]", "a}", "[a-c]*[b-d]+c?", "a*a*a*a*a*b", "\\$", "x$",
+    };
+
+    /** 対応しない構文の正規表現 */
+    private static final String[] UNSUPPORTED = {
+            "(ab)*", "a|b", "a*+", "a\\b", "\\p{Alpha}", "[a[b]]", "[a&&b]", "\\1", "(?i)a", "a^",
+            "$a", "[]a]", "[\\d-z]", "\\Qa\\E", "a{1025}", "\\0101",
+    };
+
+    /** テストに使用する文字 */
+    private static final String ALPHABET = "abcd012_-.*\\ \t\n\r\u0085あ𠀋$A}]";
+
+    /**
+     * 対応する構文の正規表現について、{@link java.util.regex.Pattern}と同じ照合結果となること。
+     */
+    @Test
+    public void testMatchesSameAsPattern() {
+        Random random = new Random(0);
+        for (String regexp : SUPPORTED) {
+            LinearPattern linear = LinearPattern.compile(regexp);
+            assertThat(regexp, linear, notNullValue());
+            java.util.regex.Pattern pattern = java.util.regex.Pattern.compile(regexp);
+            for (int i = 0; i < 2000; i++) {
+                StringBuilder input = new StringBuilder();
+                int length = random.nextInt(7);
+                for (int j = 0; j < length; j++) {
+                    input.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+                String value = input.toString();
+                assertThat(regexp + " : " + value, linear.matches(value), is(pattern.matcher(value).matches()));
+            }
+        }
+    }
+
+    /**
+     * 代表的な入力値について、期待通りの照合結果となること。
+     */
+    @Test
+    public void testMatches() {
+        LinearPattern postalCode = LinearPattern.compile("\\d{3}-\\d{4}");
+        assertThat(postalCode.matches("123-4567"), is(true));
+        assertThat(postalCode.matches("123-456"), is(false));
+        assertThat(postalCode.matches("123-45678"), is(false));
+
+        LinearPattern surrogate = LinearPattern.compile("[𠀀-𪛟]*");
+        assertThat(surrogate.matches("𠀋𠀋"), is(true));
+        assertThat(surrogate.matches("𠀋a"), is(false));
+    }
+
+    /**
+     * 対応しない構文の正規表現はnullとなること。
+     */
+    @Test
+    public void testUnsupported() {
+        for (String regexp : UNSUPPORTED) {
+            assertThat(regexp, LinearPattern.compile(regexp), nullValue());
+        }
+        assertThat(LinearPattern.compile("a{1024}"), notNullValue());
+        assertThat(LinearPattern.compile("ab{1024}"), nullValue());
+    }
+
+    /**
+     * 入力値の長さに比例する時間で照合されること。
+     */
+    @Test(timeout = 10000)
+    public void testLinearTime() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            input.append('a');
+        }
+        input.append('!');
+        assertThat(LinearPattern.compile("a*a*a*a*a*a*a*a*a*a*b").matches(input), is(false));
+    }
+}
@@ -349,6 +349,126 @@ public class NumberRangeValidatorTest {
         assertTrue(testee.validate(context, "param", "PROP0001", range, 21l));    
     }
 
+    private static class Form {
+        @NumberRange(min = -9007199254740992.0, max = 9007199254740992.0)
+        public void setValue(Object value) {
+        }
+
+        @NumberRange(min = 0.5, max = 2.5)
+        public void setFraction(Object value) {
+        }
+
+        @NumberRange(min = 0.1, max = 99.99)
+        public void setDecimal(Object value) {
+        }
+    }
+
+    private static NumberRange rangeOf(String methodName) throws Exception {
+        return Form.class.getMethod(methodName, Object.class).getAnnotation(NumberRange.class);
+    }
+
+    /**
+     * doubleで表現できない精度のLong、BigDecimal、BigIntegerの値が正確に比較されること。
+     */
+    @Test
+    public void testValidateExactComparison() throws Exception {
+        NumberRange range = rangeOf("setValue");
+        assertTrue(testee.validate(context, "param", "PROP0001", range, 9007199254740992L));
+        assertTrue(testee.validate(context, "param", "PROP0001", range, -9007199254740992L));
+        assertTrue(testee.validate(context, "param", "PROP0001", range, new BigDecimal("9007199254740992")));
+        assertTrue(testee.validate(context, "param", "PROP0001", range, new java.math.BigInteger("9007199254740992")));
+        assertEquals(0, context.getMessages().size());
+
+        // doubleに変換すると2^53に丸められる値
+        assertFalse(testee.validate(context, "param", "PROP0001", range, 9007199254740993L));
+        assertFalse(testee.validate(context, "param", "PROP0001", range, -9007199254740993L));
+        assertFalse(testee.validate(context, "param", "PROP0001", range, new BigDecimal("9007199254740992.0000000001")));
+        assertFalse(testee.validate(context, "param", "PROP0001", range, new java.math.BigInteger("9007199254740993")));
+        assertEquals(4, context.getMessages().size());
+        assertEquals("PROP0001は-9,007,199,254,740,992以上9,007,199,254,740,992以下で入力してください。",
+                context.getMessages().get(0).formatMessage());
+    }
+
+    /**
+     * 小数を含む範囲と整数の値が比較されること。
+     */
+    @Test
+    public void testValidateFractionBounds() throws Exception {
+        NumberRange range = rangeOf("setFraction");
+        assertFalse(testee.validate(context, "param", "PROP0001", range, 0));
+        assertTrue(testee.validate(context, "param", "PROP0001", range, 1));
+        assertTrue(testee.validate(context, "param", "PROP0001", range, (short) 2));
+        assertFalse(testee.validate(context, "param", "PROP0001", range, (byte) 3));
+        assertFalse(testee.validate(context, "param", "PROP0001", range, new BigDecimal("0.4999")));
+        assertTrue(testee.validate(context, "param", "PROP0001", range, new BigDecimal("0.5")));
+        assertTrue(testee.validate(context, "param", "PROP0001", range, new BigDecimal("2.50")));
+        assertFalse(testee.validate(context, "param", "PROP0001", range, new BigDecimal("2.5001")));
+        assertTrue(testee.validate(context, "param", "PROP0001", range, 2.5d));
+        assertFalse(testee.validate(context, "param", "PROP0001", range, 2.6f));
+
+        // 同じアノテーションで繰り返しバリデーションできること
+        assertTrue(testee.validate(context, "param", "PROP0001", rangeOf("setFraction"), 1L));
+        assertEquals(5, context.getMessages().size());
+    }
+
+    /**
+     * 2進数で正確に表現できない小数の範囲と、BigDecimalの値がアノテーションに記述した値で比較されること。
+     */
+    @Test
+    public void testValidateDecimalBounds() throws Exception {
+        NumberRange range = rangeOf("setDecimal");
+        assertTrue(testee.validate(context, "param", "PROP0001", range, new BigDecimal("0.1")));
+        assertTrue(testee.validate(context, "param", "PROP0001", range, new BigDecimal("0.10")));
+        assertTrue(testee.validate(context, "param", "PROP0001", range, new BigDecimal("99.99")));
+        assertTrue(testee.validate(context, "param", "PROP0001", range, new java.math.BigInteger("99")));
+        assertTrue(testee.validate(context, "param", "PROP0001", range, 0.1d));
+        assertTrue(testee.validate(context, "param", "PROP0001", range, 99.99d));
+        assertEquals(0, context.getMessages().size());
+
+        assertFalse(testee.validate(context, "param", "PROP0001", range, new BigDecimal("0.0999")));
+        assertFalse(testee.validate(context, "param", "PROP0001", range, new BigDecimal("99.9901")));
+        assertFalse(testee.validate(context, "param", "PROP0001", range, new java.math.BigInteger("100")));
+        assertEquals(3, context.getMessages().size());
+
+        // パラメータから生成したアノテーションも同じ結果となること
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("min", 0.1);
+        params.put("max", 99.99);
+        assertTrue(testee.validate(context, "param", "PROP0001", params, new BigDecimal("0.1")));
+        assertTrue(testee.validate(context, "param", "PROP0001", params, new BigDecimal("99.99")));
+        assertFalse(testee.validate(context, "param", "PROP0001", params, new BigDecimal("99.991")));
+        assertEquals(4, context.getMessages().size());
+    }
+
+    /**
+     * longの範囲を越える範囲が指定された場合も、longの値が正しく比較されること。
+     */
+    @Test
+    public void testValidateOutOfLongBounds() {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("min", 1e19);
+        assertFalse(testee.validate(context, "param", "PROP0001", params, Long.MAX_VALUE));
+        assertTrue(testee.validate(context, "param", "PROP0001", params, new BigDecimal("1e19")));
+
+        params = new HashMap<String, Object>();
+        params.put("min", -1e19);
+        params.put("max", 1e19);
+        assertTrue(testee.validate(context, "param", "PROP0001", params, Long.MIN_VALUE));
+        assertTrue(testee.validate(context, "param", "PROP0001", params, Long.MAX_VALUE));
+
+        params = new HashMap<String, Object>();
+        params.put("max", -1e19);
+        assertFalse(testee.validate(context, "param", "PROP0001", params, Long.MIN_VALUE));
+
+        params = new HashMap<String, Object>();
+        params.put("min", 1.2);
+        params.put("max", 1.8);
+        assertFalse(testee.validate(context, "param", "PROP0001", params, 1));
+        assertFalse(testee.validate(context, "param", "PROP0001", params, 2));
+        assertTrue(testee.validate(context, "param", "PROP0001", params, 1.5));
+        assertEquals(4, context.getMessages().size());
+    }
+
     @Test
     public void testGetAnnotationClass() {
     	assertEquals(NumberRange.class, testee.getAnnotationClass());
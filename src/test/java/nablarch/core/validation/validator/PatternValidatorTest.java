@@ -0,0 +1,192 @@
+package nablarch.core.validation.validator;
+
+import nablarch.core.ThreadContext;
+import nablarch.core.message.MockStringResourceHolder;
+import nablarch.core.repository.SystemRepository;
+import nablarch.core.repository.di.DiContainer;
+import nablarch.core.repository.di.config.xml.XmlComponentDefinitionLoader;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.convertor.TestTarget;
+import nablarch.core.validation.creator.ReflectionFormCreator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.PatternSyntaxException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link PatternValidator}のテストクラス。
+ */
+public class PatternValidatorTest {
+
+    private static final String[][] MESSAGES = {
+            {"MSG00001", "ja", "{0}の形式が正しくありません。", "en", "{0} does not match {1}."},
+            {"MSG00002", "ja", "{0}は郵便番号の形式で入力してください。", "en", "{0} must be a postal code."},
+            {"PROP0001", "ja", "プロパティ1", "en", "property1"},};
+
+    private PatternValidator testee;
+
+    private ValidationContext<TestTarget> context;
+
+    @Before
+    public void setUp() {
+        XmlComponentDefinitionLoader loader = new XmlComponentDefinitionLoader("nablarch/core/validation/convertor-test-base.xml");
+        DiContainer container = new DiContainer(loader);
+        SystemRepository.load(container);
+        container.getComponentByType(MockStringResourceHolder.class).setMessages(MESSAGES);
+
+        testee = new PatternValidator();
+        testee.setMessageId("MSG00001");
+        context = new ValidationContext<TestTarget>("", TestTarget.class, new ReflectionFormCreator(),
+                new HashMap<String, String[]>(), "");
+        ThreadContext.setLanguage(Locale.JAPANESE);
+    }
+
+    private static Pattern pattern(final String regexp, final String messageId) {
+        return new Pattern() {
+            public Class<? extends Annotation> annotationType() {
+                return Pattern.class;
+            }
+
+            public String regexp() {
+                return regexp;
+            }
+
+            public String messageId() {
+                return messageId;
+            }
+        };
+    }
+
+    /**
+     * 入力値全体が正規表現に一致するかチェックされること。
+     */
+    @Test
+    public void testValidate() {
+        Pattern postalCode = pattern("[0-9]{3}-[0-9]{4}", "");
+        assertThat(testee.validate(context, "param", "PROP0001", postalCode, "123-4567"), is(true));
+        assertThat(testee.validate(context, "param", "PROP0001", postalCode, ""), is(true));
+        assertThat(testee.validate(context, "param", "PROP0001", postalCode, null), is(true));
+        assertThat(testee.validate(context, "param", "PROP0001", postalCode, new String[] {"123-4567", "000-0000"}), is(true));
+        assertThat(context.getMessages().size(), is(0));
+
+        assertThat(testee.validate(context, "param", "PROP0001", postalCode, "1234-567"), is(false));
+        assertThat(context.getMessages().size(), is(1));
+        assertThat(context.getMessages().get(0).formatMessage(), is("PROP0001の形式が正しくありません。"));
+        assertThat(context.getMessages().get(0).formatMessage(Locale.ENGLISH), is("PROP0001 does not match [0-9]{3}-[0-9]{4}."));
+
+        assertThat(testee.validate(context, "param", "PROP0001", postalCode, new String[] {"123-4567", "000-000"}), is(false));
+    }
+
+    /**
+     * アノテーションに指定したメッセージIDが使用されること。
+     */
+    @Test
+    public void testValidateWithMessageId() {
+        assertThat(testee.validate(context, "param", "PROP0001", pattern("\\d{3}-\\d{4}", "MSG00002"), "abc"), is(false));
+        assertThat(context.getMessages().get(0).formatMessage(), is("PROP0001は郵便番号の形式で入力してください。"));
+    }
+
+    /**
+     * 線形時間で照合する設定でも、同じ照合結果となること。
+     * 対応しない構文の正規表現は、{@link java.util.regex.Pattern}で照合されること。
+     */
+    @Test
+    public void testLinearMatching() {
+        testee.setLinearMatching(true);
+        Pattern postalCode = pattern("\\d{3}-\\d{4}", "");
+        assertThat(testee.validate(context, "param", "PROP0001", postalCode, "123-4567"), is(true));
+        assertThat(testee.validate(context, "param", "PROP0001", postalCode, "123-456"), is(false));
+
+        Pattern group = pattern("(ab)+|c", "");
+        assertThat(testee.validate(context, "param", "PROP0001", group, "abab"), is(true));
+        assertThat(testee.validate(context, "param", "PROP0001", group, "c"), is(true));
+        assertThat(testee.validate(context, "param", "PROP0001", group, "abc"), is(false));
+    }
+
+    /**
+     * 照合中の参照回数が制限を超えた場合、一致しないものとして扱われること。
+     */
+    @Test(timeout = 10000)
+    public void testCatastrophicBacktracking() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            input.append('a');
+        }
+        input.append('!');
+        Pattern nested = pattern("(a+)+", "");
+        assertThat(testee.validate(context, "param", "PROP0001", nested, input.toString()), is(false));
+        assertThat(testee.validate(context, "param", "PROP0001", nested, "aaaa"), is(true));
+    }
+
+    /**
+     * グループの繰り返しを長い入力値と照合してスタックオーバーフローが発生した場合、一致しないものとして扱われること。
+     */
+    @Test(timeout = 60000)
+    public void testStackOverflow() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            input.append("ab");
+        }
+        Pattern grouped = pattern("(a|b)*", "");
+        assertThat(testee.validate(context, "param", "PROP0001", grouped, input.toString()), is(false));
+        assertThat(testee.validate(context, "param", "PROP0001", grouped, "abab"), is(true));
+
+        // 参照回数を制限しない場合も同様
+        testee.setMaxReadsPerChar(0);
+        assertThat(testee.validate(context, "param", "PROP0001", grouped, input.toString()), is(false));
+        assertThat(testee.validate(context, "param", "PROP0001", grouped, "abab"), is(true));
+    }
+
+    /**
+     * パラメータから作成したアノテーションは、コンパイル済みの正規表現を共有すること。
+     */
+    @Test
+    public void testCreateAnnotation() {
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("regexp", "[a-z]+");
+        Pattern created = testee.createAnnotation(params);
+        assertThat(created.regexp(), is("[a-z]+"));
+        assertThat(created.messageId(), is(""));
+        assertThat(created.annotationType() == Pattern.class, is(true));
+        assertThat(testee.validate(context, "param", "PROP0001", params, "abc"), is(true));
+        assertThat(testee.validate(context, "param", "PROP0001", params, "ABC"), is(false));
+
+        Pattern descriptor = testee.createDescriptor(pattern("[a-z]+", "MSG00002"));
+        assertThat(descriptor.messageId(), is("MSG00002"));
+        assertThat(CompiledPattern.get("[a-z]+"), sameInstance(CompiledPattern.get("[a-z]+")));
+
+        try {
+            testee.createAnnotation(new HashMap<String, Object>());
+            fail("例外が発生するはず。");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("regexp must be assigned to execute the validation of @Pattern."));
+        }
+        params.put("regexp", "[a-z");
+        try {
+            testee.createAnnotation(params);
+            fail("例外が発生するはず。");
+        } catch (PatternSyntaxException e) {
+            // OK
+        }
+    }
+
+    /**
+     * キャッシュに保持する正規表現の数が上限を超えないこと。
+     */
+    @Test
+    public void testCacheSize() {
+        for (int i = 0; i < CompiledPattern.MAX_CACHE_SIZE + 10; i++) {
+            CompiledPattern.get("cache" + i);
+        }
+        assertThat(CompiledPattern.cacheSize() <= CompiledPattern.MAX_CACHE_SIZE, is(true));
+    }
+}
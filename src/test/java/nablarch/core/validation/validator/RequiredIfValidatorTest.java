@@ -0,0 +1,122 @@
+package nablarch.core.validation.validator;
+
+import nablarch.core.ThreadContext;
+import nablarch.core.cache.BasicStaticDataCache;
+import nablarch.core.message.MockStringResourceHolder;
+import nablarch.core.message.StringResource;
+import nablarch.core.validation.PropertyName;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.ValidationManager;
+import nablarch.core.validation.convertor.Digits;
+import nablarch.test.support.SystemRepositoryResource;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link RequiredIfValidator}のテストクラス。
+ */
+public class RequiredIfValidatorTest {
+
+    @Rule
+    public SystemRepositoryResource repositoryResource = new SystemRepositoryResource(
+            "nablarch/core/validation/validation-manager.xml");
+
+    private static final String[][] MESSAGES = {
+            {"MSG00001", "ja", "{0}の値が不正です。", "en", "{0} value is invalid."},
+            {"MSG00062", "ja", "{1}を指定した場合、{0}は必ず入力してください。", "en", "{0} is required when {1} is specified."},
+            {"PROP0001", "ja", "理由", "en", "Reason"},
+            {"PROP0002", "ja", "区分", "en", "Type"},};
+
+    private ValidationManager manager;
+
+    @Before
+    public void setUp() {
+        MockStringResourceHolder mock = repositoryResource.getComponent("stringResourceHolder");
+        mock.setMessages(MESSAGES);
+        BasicStaticDataCache<StringResource> msgCache = repositoryResource.getComponent("stringResourceCache");
+        msgCache.initialize();
+        BasicStaticDataCache<?> cache = repositoryResource.getComponent("validationManager.formDefinitionCache");
+        cache.initialize();
+        manager = repositoryResource.getComponent("validationManager");
+        manager.initialize();
+        ThreadContext.setLanguage(Locale.JAPANESE);
+    }
+
+    @RequiredIf(property = "reason", dependsOn = "type", values = {"2", "3"})
+    public static class ValuesForm {
+
+        public ValuesForm(Map<String, Object> props) {
+        }
+
+        @PropertyName(messageId = "PROP0001")
+        @Length(max = 10)
+        public void setReason(String reason) {
+        }
+
+        @PropertyName(messageId = "PROP0002")
+        @Digits(integer = 1)
+        public void setType(Long type) {
+        }
+    }
+
+    @RequiredIf(property = "reason", dependsOn = "type", messageId = "MSG00001")
+    public static class AnyValueForm {
+
+        public AnyValueForm(Map<String, Object> props) {
+        }
+
+        @Length(max = 10)
+        public void setReason(String reason) {
+        }
+
+        @Length(max = 1)
+        public void setType(String type) {
+        }
+    }
+
+    private static Map<String, String[]> params(String reason, String type) {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("reason", new String[] {reason});
+        params.put("type", new String[] {type});
+        return params;
+    }
+
+    /**
+     * 条件となるプロパティの値が指定した値のいずれかに一致する場合に、必須入力となること。
+     */
+    @Test
+    public void testValidateWithValues() {
+        assertThat(manager.validateAndConvert("", ValuesForm.class, params("", "1"), null).isValid(), is(true));
+        assertThat(manager.validateAndConvert("", ValuesForm.class, params("", ""), null).isValid(), is(true));
+        assertThat(manager.validateAndConvert("", ValuesForm.class, params("理由", "2"), null).isValid(), is(true));
+
+        ValidationContext<ValuesForm> result = manager.validateAndConvert("", ValuesForm.class, params("", "3"), null);
+        assertThat(result.isValid(), is(false));
+        assertThat(result.getMessages().size(), is(1));
+        assertThat(result.getMessages().get(0).formatMessage(), is("区分を指定した場合、理由は必ず入力してください。"));
+        assertThat(result.isInvalid("reason"), is(true));
+    }
+
+    /**
+     * 値を指定しない場合、条件となるプロパティが入力されていれば必須入力となり、messageIdの指定が有効となること。
+     */
+    @Test
+    public void testValidateAnyValue() {
+        assertThat(manager.validateAndConvert("", AnyValueForm.class, params("", ""), null).isValid(), is(true));
+        assertThat(manager.validateAndConvert("", AnyValueForm.class, new HashMap<String, String[]>(), null).isValid(), is(true));
+        assertThat(manager.validateAndConvert("", AnyValueForm.class, params("理由", "a"), null).isValid(), is(true));
+
+        ValidationContext<AnyValueForm> result = manager.validateAndConvert("", AnyValueForm.class, params("", "a"), null);
+        assertThat(result.isValid(), is(false));
+        assertThat(result.getMessages().get(0).getMessageId(), is("MSG00001"));
+        assertThat(result.getMessages().get(0).formatMessage(), is("reasonの値が不正です。"));
+    }
+}
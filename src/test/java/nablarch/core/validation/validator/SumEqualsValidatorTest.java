@@ -0,0 +1,136 @@
+package nablarch.core.validation.validator;
+
+import nablarch.core.ThreadContext;
+import nablarch.core.cache.BasicStaticDataCache;
+import nablarch.core.message.MockStringResourceHolder;
+import nablarch.core.message.StringResource;
+import nablarch.core.validation.PropertyName;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.ValidationManager;
+import nablarch.core.validation.convertor.Digits;
+import nablarch.test.support.SystemRepositoryResource;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.junit.matchers.JUnitMatchers.containsString;
+
+/**
+ * {@link SumEqualsValidator}のテストクラス。
+ */
+public class SumEqualsValidatorTest {
+
+    @Rule
+    public SystemRepositoryResource repositoryResource = new SystemRepositoryResource(
+            "nablarch/core/validation/validation-manager.xml");
+
+    private static final String[][] MESSAGES = {
+            {"MSG00001", "ja", "{0}の値が不正です。", "en", "{0} value is invalid."},
+            {"MSG00063", "ja", "{0}が内訳の合計と一致しません。", "en", "{0} does not match the sum."},
+            {"PROP0001", "ja", "合計金額", "en", "Total"},};
+
+    private ValidationManager manager;
+
+    @Before
+    public void setUp() {
+        MockStringResourceHolder mock = repositoryResource.getComponent("stringResourceHolder");
+        mock.setMessages(MESSAGES);
+        BasicStaticDataCache<StringResource> msgCache = repositoryResource.getComponent("stringResourceCache");
+        msgCache.initialize();
+        BasicStaticDataCache<?> cache = repositoryResource.getComponent("validationManager.formDefinitionCache");
+        cache.initialize();
+        manager = repositoryResource.getComponent("validationManager");
+        manager.initialize();
+        ThreadContext.setLanguage(Locale.JAPANESE);
+    }
+
+    @SumEquals(properties = {"price", "tax", "fee"}, total = "total")
+    public static class SumForm {
+
+        public SumForm(Map<String, Object> props) {
+        }
+
+        @Digits(integer = 10)
+        public void setPrice(Long price) {
+        }
+
+        @Digits(integer = 5, fraction = 2)
+        public void setTax(BigDecimal tax) {
+        }
+
+        @Digits(integer = 10)
+        public void setFee(Long fee) {
+        }
+
+        @PropertyName(messageId = "PROP0001")
+        @Digits(integer = 10, fraction = 2)
+        public void setTotal(BigDecimal total) {
+        }
+    }
+
+    @SumEquals(properties = {"price"}, total = "total", messageId = "MSG00001")
+    public static class NotNumberForm {
+
+        public NotNumberForm(Map<String, Object> props) {
+        }
+
+        @Length(max = 10)
+        public void setPrice(String price) {
+        }
+
+        @Digits(integer = 10)
+        public void setTotal(Long total) {
+        }
+    }
+
+    private static Map<String, String[]> params(String price, String tax, String fee, String total) {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("price", new String[] {price});
+        params.put("tax", new String[] {tax});
+        params.put("fee", new String[] {fee});
+        params.put("total", new String[] {total});
+        return params;
+    }
+
+    /**
+     * 合計を表すプロパティの値が、内訳の合計と一致するかをチェックできること。
+     */
+    @Test
+    public void testValidate() {
+        assertThat(manager.validateAndConvert("", SumForm.class, params("100", "8.50", "10", "118.5"), null).isValid(), is(true));
+        // 入力されていない内訳は0として扱われること
+        assertThat(manager.validateAndConvert("", SumForm.class, params("100", "", "", "100.00"), null).isValid(), is(true));
+        // 合計が入力されていない場合はチェックを行わないこと
+        assertThat(manager.validateAndConvert("", SumForm.class, params("100", "8", "", ""), null).isValid(), is(true));
+
+        ValidationContext<SumForm> result = manager.validateAndConvert("", SumForm.class, params("100", "8.50", "10", "118.49"), null);
+        assertThat(result.isValid(), is(false));
+        assertThat(result.getMessages().size(), is(1));
+        assertThat(result.getMessages().get(0).formatMessage(), is("合計金額が内訳の合計と一致しません。"));
+        assertThat(result.isInvalid("total"), is(true));
+    }
+
+    /**
+     * 数値でない値の場合、例外が発生すること。
+     */
+    @Test
+    public void testValidateNotNumber() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("price", new String[] {"100"});
+        params.put("total", new String[] {"100"});
+        try {
+            manager.validateAndConvert("", NotNumberForm.class, params, null);
+            fail("例外が発生するはず。");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString("value of @SumEquals must be a number."));
+        }
+    }
+}
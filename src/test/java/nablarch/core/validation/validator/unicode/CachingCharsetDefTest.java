@@ -2,7 +2,13 @@ package nablarch.core.validation.validator.unicode;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -46,6 +52,96 @@ public class CachingCharsetDefTest {
         assertThat(mock.count, is(2));   
     }
 
+    /**
+     * 全てのコードポイントについて、委譲先と同じ判定結果がキャッシュされること。
+     * 同じワードに保持される隣接したコードポイントの判定結果が互いに影響しないこと。
+     */
+    @Test
+    public void testAllCodePoints() {
+        MockCharsetDef mock = new MockCharsetDef();
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint += 3) {
+            mock.allowed.set(codePoint);
+        }
+        target.setCharsetDef(mock);
+        for (int i = 0; i < 2; i++) {
+            for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+                assertThat(target.contains(codePoint), is(codePoint % 3 == 0));
+            }
+        }
+        assertThat(mock.count, is(Character.MAX_CODE_POINT + 1));
+
+        // 範囲外のコードポイントはキャッシュせず委譲先に問い合わせること
+        assertThat(target.contains(Character.MAX_CODE_POINT + 1), is(false));
+        assertThat(target.contains(Character.MAX_CODE_POINT + 1), is(false));
+        assertThat(mock.count, is(Character.MAX_CODE_POINT + 3));
+    }
+
+    /**
+     * 判定結果を保持するページは、そのページのコードポイントを判定した時点で割り当てられること。
+     */
+    @Test
+    public void testPagesAllocatedOnDemand() {
+        MockCharsetDef mock = new MockCharsetDef();
+        mock.allowed.set('a');
+        mock.allowed.set(0x20000);
+        target.setCharsetDef(mock);
+        assertThat(target.getAllocatedPages(), is(0));
+
+        // ASCIIの範囲のみ判定した場合は1ページのみ割り当てられること
+        for (int codePoint = 0; codePoint < 0x80; codePoint++) {
+            assertThat(target.contains(codePoint), is(codePoint == 'a'));
+        }
+        assertThat(target.getAllocatedPages(), is(1));
+
+        // 同じページ内のコードポイントでは新たに割り当てられないこと
+        assertThat(target.contains(PagedCodePointCache.PAGE_SIZE - 1), is(false));
+        assertThat(target.getAllocatedPages(), is(1));
+
+        // 別のページ、補助平面のコードポイントを判定した場合に割り当てられること
+        assertThat(target.contains(PagedCodePointCache.PAGE_SIZE), is(false));
+        assertThat(target.contains(0x20000), is(true));
+        assertThat(target.contains(0x20000), is(true));
+        assertThat(target.getAllocatedPages(), is(3));
+        assertThat(mock.count, is(0x80 + 3));
+
+        // 範囲外のコードポイントではページが割り当てられないこと
+        assertThat(target.contains(Character.MAX_CODE_POINT + 1), is(false));
+        assertThat(target.getAllocatedPages(), is(3));
+    }
+
+    /**
+     * 複数のスレッドから同時に呼び出された場合も、正しい判定結果となること。
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final LiteralCharsetDef literal = new LiteralCharsetDef();
+        literal.setAllowedCharacters("acegikmoqsuwy");
+        target.setCharsetDef(literal);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    public Boolean call() {
+                        for (int i = 0; i < 100; i++) {
+                            for (int codePoint = 'a'; codePoint <= 'z'; codePoint++) {
+                                if (target.contains(codePoint) != literal.contains(codePoint)) {
+                                    return false;
+                                }
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(), is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     /**
      * 委譲先の許容文字集合定義が設定されていない状態で
      * 判定メソッドを起動された場合、例外が発生すること。
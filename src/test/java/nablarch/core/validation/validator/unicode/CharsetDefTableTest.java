@@ -0,0 +1,170 @@
+package nablarch.core.validation.validator.unicode;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static nablarch.core.validation.validator.unicode.DifferenceCharsetDefTest.randomRanges;
+import static nablarch.core.validation.validator.unicode.DifferenceCharsetDefTest.ranged;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link CharsetDefTable}のテストクラス。
+ */
+public class CharsetDefTableTest {
+
+    /**
+     * 表から取得した許容文字集合定義が、全てのコードポイントについて元の許容文字集合定義と同じ判定結果となること。
+     */
+    @Test
+    public void testContains() {
+        LiteralCharsetDef literal = new LiteralCharsetDef().setAllowedCharacters("あいう𠀋");
+        literal.setMessageId("LITERAL");
+        CompositeCharsetDef kanji = new CompositeCharsetDef();
+        kanji.setCharsetDefList(Arrays.<CharsetDef>asList(ranged(0x4E00, 0x9FFF), ranged(0x20000, 0x2A6DF)));
+        Map<String, CharsetDef> charsetDefs = new LinkedHashMap<String, CharsetDef>();
+        charsetDefs.put("ascii", ranged(0x20, 0x7E));
+        charsetDefs.put("literal", literal);
+        charsetDefs.put("kanji", kanji);
+        charsetDefs.put("last", ranged(0x10FF00, Character.MAX_CODE_POINT));
+
+        CharsetDefTable target = new CharsetDefTable();
+        target.setCharsetDefs(charsetDefs);
+        target.initialize();
+        for (Map.Entry<String, CharsetDef> entry : charsetDefs.entrySet()) {
+            CharsetDef def = target.getCharsetDef(entry.getKey());
+            for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+                assertThat(entry.getKey() + ":" + Integer.toHexString(codePoint), def.contains(codePoint),
+                        is(entry.getValue().contains(codePoint)));
+            }
+            assertThat(def.contains(-1), is(false));
+            assertThat(def.contains(Character.MAX_CODE_POINT + 1), is(false));
+        }
+
+        // メッセージIDは元の許容文字集合定義から取得すること
+        assertThat(target.getCharsetDef("literal").getMessageId(), is("LITERAL"));
+        assertThat(target.getCharsetDef("ascii").getMessageId(), is(nullValue()));
+        // 登録されていない名称はnullとなること
+        assertThat(target.getCharsetDef("notRegistered"), is(nullValue()));
+
+        assertThat(CharsetDefValidationUtil.isValid(target.getCharsetDef("ascii"), "ABC"), is(true));
+        assertThat(CharsetDefValidationUtil.isValid(target.getCharsetDef("ascii"), "AB\n", true), is(true));
+        assertThat(CharsetDefValidationUtil.indexOfInvalid(target.getCharsetDef("ascii"), "AB\u0001", false, false),
+                is(2));
+        assertThat(CharsetDefValidationUtil.isValid(target.getCharsetDef("literal"), "あいう"), is(true));
+        assertThat(CharsetDefValidationUtil.isValid(target.getCharsetDef("literal"), "あいう𠀋", false, true),
+                is(true));
+        assertThat(CharsetDefValidationUtil.isValid(target.getCharsetDef("literal"), "あいうA"), is(false));
+    }
+
+    /**
+     * 補助平面の範囲の組み合わせによらず、元の許容文字集合定義と同じ判定結果となること。
+     */
+    @Test
+    public void testRandomRanges() {
+        Random random = new Random(1);
+        for (int n = 0; n < 100; n++) {
+            Map<String, CharsetDef> charsetDefs = new HashMap<String, CharsetDef>();
+            for (int i = 0; i < 5; i++) {
+                charsetDefs.put("def" + i, randomRanges(random));
+            }
+            CharsetDefTable target = new CharsetDefTable();
+            target.setCharsetDefs(charsetDefs);
+            for (Map.Entry<String, CharsetDef> entry : charsetDefs.entrySet()) {
+                CharsetDef def = target.getCharsetDef(entry.getKey());
+                for (int codePoint = 0x10000; codePoint < 0x10100; codePoint++) {
+                    assertThat(n + ":" + entry.getKey() + ":" + Integer.toHexString(codePoint),
+                            def.contains(codePoint), is(entry.getValue().contains(codePoint)));
+                }
+            }
+        }
+    }
+
+    /**
+     * 許容文字集合定義を設定し直した場合、表が作成し直されること。
+     */
+    @Test
+    public void testRebuild() {
+        CharsetDefTable target = new CharsetDefTable();
+        target.setCharsetDefs(singleton("def", ranged(0x41, 0x5A)));
+        CharsetDef before = target.getCharsetDef("def");
+        assertThat(target.getCharsetDef("def"), is(sameInstance(before)));
+        assertThat(before.contains('A'), is(true));
+
+        target.setCharsetDefs(singleton("def", ranged(0x61, 0x7A)));
+        CharsetDef after = target.getCharsetDef("def");
+        assertThat(after, is(not(sameInstance(before))));
+        assertThat(after.contains('A'), is(false));
+        assertThat(after.contains('a'), is(true));
+        // 作成済みの許容文字集合定義は、作成時の表で判定すること
+        assertThat(before.contains('A'), is(true));
+    }
+
+    /**
+     * 許容文字集合定義の数が最大数を超える場合、例外が発生すること。
+     */
+    @Test
+    public void testTooManyCharsetDefs() {
+        Map<String, CharsetDef> charsetDefs = new HashMap<String, CharsetDef>();
+        for (int i = 0; i < CharsetDefTable.MAX_CHARSET_DEFS; i++) {
+            charsetDefs.put("def" + i, ranged(0x41 + i, 0x41 + i));
+        }
+        CharsetDefTable target = new CharsetDefTable();
+        target.setCharsetDefs(charsetDefs);
+        for (int i = 0; i < CharsetDefTable.MAX_CHARSET_DEFS; i++) {
+            assertThat(target.getCharsetDef("def" + i).contains(0x41 + i), is(true));
+            assertThat(target.getCharsetDef("def" + i).contains(0x40 + i), is(false));
+        }
+
+        charsetDefs.put("over", ranged(0x30, 0x39));
+        try {
+            target.setCharsetDefs(charsetDefs);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString("max = 32, size = 33"));
+        }
+    }
+
+    /**
+     * 許容文字集合定義が設定されていない場合、例外が発生すること。
+     */
+    @Test
+    public void testNotConfigured() {
+        CharsetDefTable target = new CharsetDefTable();
+        try {
+            target.getCharsetDef("def");
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("charsetDefs must be set."));
+        }
+        try {
+            target.initialize();
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("charsetDefs must be set."));
+        }
+    }
+
+    /**
+     * 1つの許容文字集合定義からなるMapを作成する。
+     *
+     * @param name 名称
+     * @param charsetDef 許容文字集合定義
+     * @return Map
+     */
+    private static Map<String, CharsetDef> singleton(String name, CharsetDef charsetDef) {
+        Map<String, CharsetDef> result = new HashMap<String, CharsetDef>();
+        result.put(name, charsetDef);
+        return result;
+    }
+}
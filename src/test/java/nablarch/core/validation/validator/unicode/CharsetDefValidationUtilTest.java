@@ -6,7 +6,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Random;
 
+import static nablarch.core.validation.validator.unicode.CharsetDefValidationUtil.indexOfInvalid;
 import static nablarch.core.validation.validator.unicode.CharsetDefValidationUtil.isValid;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -118,6 +120,153 @@ public class CharsetDefValidationUtilTest {
         assertThat(isValid(name, "\uD867\uDE3D", false, false), is(false));   // サロゲートペアを許容
     }
 
+    /**
+     * 許容されない最初の文字の位置が返却されること。
+     */
+    @Test
+    public void testIndexOfInvalid() {
+        CharsetDef def = composite(asciiWoCC, kana, cjkExtensionB);
+        assertThat(indexOfInvalid(def, "", false, false), is(-1));
+        assertThat(indexOfInvalid(def, "01ABCあア", false, false), is(-1));
+        assertThat(indexOfInvalid(def, "01ABCあア川", false, false), is(7));
+        assertThat(indexOfInvalid(def, "\t01ABC", false, false), is(0));
+        // 改行コード
+        assertThat(indexOfInvalid(def, "01\rA\nBC", false, false), is(2));
+        assertThat(indexOfInvalid(def, "01\rA\nBC", true, false), is(-1));
+        // サロゲートペアは上位サロゲートの位置が返却されること
+        assertThat(indexOfInvalid(def, "あ\uD867\uDE3D", false, false), is(1));
+        assertThat(indexOfInvalid(def, "あ\uD867\uDE3D", false, true), is(-1));
+        assertThat(indexOfInvalid(def, "あ\uD867\uDE3D\uD83D\uDE00", false, true), is(3));
+    }
+
+    /**
+     * 許容されない最初の文字の位置とともに、その位置より前(全て許容される場合は文字列全体)のコードポイント数が数えられること。
+     */
+    @Test
+    public void testIndexOfInvalidWithCodePointCount() {
+        RangedCharsetDef allAscii = new RangedCharsetDef();
+        allAscii.setStartCodePoint("U+0000");
+        allAscii.setEndCodePoint("U+007F");
+        CharsetDef[] defs = {composite(asciiWoCC, kana, cjkExtensionB), composite(allAscii, kana, cjkExtensionB)};
+        String[] values = {
+                "", "01ABCあア", "01ABCあア川", "\t01ABC", "01\rA\nBC", "あ\uD867\uDE3D", "あ\uD867\uDE3D\uD83D\uDE00",
+                "\uD867\uDE3DA\uD867\uDE3D川", "a\uD867b", "a\uD867", "\uDE3Da",
+        };
+        for (CharsetDef def : defs) {
+            for (String value : values) {
+                for (int flags = 0; flags < 4; flags++) {
+                    boolean allowLineSeparator = (flags & 1) != 0;
+                    boolean allowSurrogatePair = (flags & 2) != 0;
+                    int[] codePointCount = {-1};
+                    int index = CharsetDefValidationUtil.indexOfInvalid(def, value,
+                            allowLineSeparator, allowSurrogatePair, codePointCount);
+                    String message = value + ":" + flags;
+                    assertThat(message, index, is(indexOfInvalid(def, value, allowLineSeparator, allowSurrogatePair)));
+                    assertThat(message, codePointCount[0],
+                            is(value.codePointCount(0, index < 0 ? value.length() : index)));
+                }
+            }
+        }
+    }
+
+    /**
+     * 許容文字集合定義の種類、改行コードとサロゲートペアの許容設定の組み合わせによらず、
+     * 1文字ずつ判定した場合と同じ結果となること。
+     */
+    @Test
+    public void testIndexOfInvalidSameAsSimpleScan() {
+        RangedCharsetDef allAscii = new RangedCharsetDef();
+        allAscii.setStartCodePoint("U+0000");
+        allAscii.setEndCodePoint("U+007F");
+        LiteralCharsetDef partial = new LiteralCharsetDef();
+        partial.setAllowedCharacters("\u0000?@AZ_`az\u007F\rあ\uD867\uDE3D");
+        RangedCharsetDef kanaRange = new RangedCharsetDef();
+        kanaRange.setStartCodePoint("U+3040");
+        kanaRange.setEndCodePoint("U+30FF");
+        RangedCharsetDef extensionB = new RangedCharsetDef();
+        extensionB.setStartCodePoint("U+20000");
+        extensionB.setEndCodePoint("U+2A6DF");
+        CompiledCharsetDef compiledAllAscii = new CompiledCharsetDef();
+        compiledAllAscii.setCharsetDef(composite(allAscii, kanaRange, extensionB));
+        CompiledCharsetDef compiledPartial = new CompiledCharsetDef();
+        compiledPartial.setCharsetDef(partial);
+        CharsetDef[] defs = {
+                composite(asciiWoCC, kanaRange, extensionB), partial, compiledAllAscii, compiledPartial};
+
+        char[] chars = {'\u0000', '\t', '\n', '\r', ' ', '?', '@', 'A', 'Z', '_', '`', 'a', 'z', '\u007F',
+                '\u0080', 'あ', 'ア', '川', '\uD867', '\uDE3D', '\uD83D', '\uDE00'};
+        Random random = new Random(1);
+        for (int n = 0; n < 5000; n++) {
+            StringBuilder value = new StringBuilder();
+            for (int length = random.nextInt(12); length > 0; length--) {
+                value.append(chars[random.nextInt(chars.length)]);
+            }
+            for (CharsetDef def : defs) {
+                for (int flags = 0; flags < 4; flags++) {
+                    boolean allowLineSeparator = (flags & 1) != 0;
+                    boolean allowSurrogatePair = (flags & 2) != 0;
+                    String message = toHex(value) + " " + flags;
+                    int expected = simpleScan(def, value.toString(), allowLineSeparator, allowSurrogatePair);
+                    assertThat(message, indexOfInvalid(def, value.toString(), allowLineSeparator, allowSurrogatePair),
+                            is(expected));
+                    assertThat(message, isValid(def, value.toString(), allowLineSeparator, allowSurrogatePair),
+                            is(expected < 0));
+                }
+            }
+        }
+    }
+
+    /**
+     * ASCII文字の判定は、1回の走査中に同じ文字について1回のみ許容文字集合定義に問い合わせること。
+     */
+    @Test
+    public void testAsciiLookedUpOnce() {
+        final int[] count = {0};
+        CharsetDef def = new CharsetDefSupport() {
+            public boolean contains(int codePoint) {
+                count[0]++;
+                return asciiWoCC.contains(codePoint);
+            }
+        };
+        assertThat(indexOfInvalid(def, "aaaaabbbbbあ", false, false), is(10));
+        assertThat(count[0], is(3));
+    }
+
+    /**
+     * 1文字ずつ判定し、許容されない最初の文字の位置を返す。
+     */
+    private static int simpleScan(CharsetDef def, String value, boolean allowLineSeparator,
+            boolean allowSurrogatePair) {
+        for (int i = 0; i < value.length(); i++) {
+            int start = i;
+            int codePoint = value.codePointAt(i);
+            if (i != value.length() - 1 && Character.isHighSurrogate(value.charAt(i))) {
+                if (!allowSurrogatePair) {
+                    return start;
+                }
+                i++;
+            }
+            if (codePoint == '\r' || codePoint == '\n') {
+                if (allowLineSeparator) {
+                    continue;
+                }
+                return start;
+            }
+            if (!def.contains(codePoint)) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    private static String toHex(CharSequence value) {
+        StringBuilder hex = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            hex.append(Integer.toHexString(value.charAt(i))).append(' ');
+        }
+        return hex.toString();
+    }
+
     /** コンストラクタ呼び出しテスト（カバレッジ対策） */
     @Test
     public void testConstructor() {
@@ -0,0 +1,81 @@
+package nablarch.core.validation.validator.unicode;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link CharsetTableGenerator}のテストクラス。
+ */
+public class CharsetTableGeneratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * テキストファイルに列挙したコードポイントが表のファイルに出力されること。
+     */
+    @Test
+    public void testMain() throws Exception {
+        File output = new File(folder.getRoot(), "kanji.tbl");
+        CharsetTableGenerator.main(new String[] {
+                "classpath:nablarch/core/validation/validator/unicode/charset-table-generator.txt",
+                output.getPath()});
+
+        MappedCharsetDef target = new MappedCharsetDef();
+        target.setTablePath(output.toURI().toString());
+        assertThat(target.contains('々'), is(true));
+        assertThat(target.contains('〆'), is(true));
+        assertThat(target.contains('〇'), is(false));
+        assertThat(target.contains('一'), is(true));
+        assertThat(target.contains(0x9FFF), is(true));
+        assertThat(target.contains('あ'), is(false));
+        assertThat(target.contains(0x29E3D), is(true));
+        assertThat(target.contains(0x2A6E0), is(false));
+    }
+
+    /**
+     * 引数の数が正しくない場合は例外が発生すること。
+     */
+    @Test
+    public void testInvalidArguments() throws Exception {
+        try {
+            CharsetTableGenerator.main(new String[] {"file:dummy.txt"});
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("usage: CharsetTableGenerator <code point list file> <output file>"));
+        }
+    }
+
+    /**
+     * テキストファイルの記述が不正な場合は例外が発生すること。
+     */
+    @Test
+    public void testInvalidDefinition() throws Exception {
+        String[] invalidLines = {"U+3042 U+3044", "あ", "U+110000", "U+3044-U+3042"};
+        for (String invalidLine : invalidLines) {
+            File input = folder.newFile();
+            FileOutputStream out = new FileOutputStream(input);
+            try {
+                out.write(("# comment\n" + invalidLine + "\n").getBytes("UTF-8"));
+            } finally {
+                out.close();
+            }
+            String path = input.toURI().toString();
+            try {
+                CharsetTableGenerator.main(new String[] {path, new File(folder.getRoot(), "out.tbl").getPath()});
+                fail(invalidLine);
+            } catch (IllegalArgumentException e) {
+                assertThat(e.getMessage(), is("invalid code point definition. path = [" + path
+                        + "], line = 2, value = [" + invalidLine + "]"));
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package nablarch.core.validation.validator.unicode;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link CompiledCharsetDef}のテストクラス。
+ */
+public class CompiledCharsetDefTest {
+
+    /**
+     * 入れ子になった許容文字集合定義と、全てのコードポイントについて同じ判定結果となること。
+     */
+    @Test
+    public void testContainsSameAsSource() {
+        CompositeCharsetDef source = createSource();
+        CompiledCharsetDef target = new CompiledCharsetDef();
+        target.setCharsetDef(source);
+        target.initialize();
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            assertThat(Integer.toHexString(codePoint), target.contains(codePoint), is(source.contains(codePoint)));
+        }
+        assertThat(target.contains(-1), is(false));
+        assertThat(target.contains(Character.MAX_CODE_POINT + 1), is(false));
+    }
+
+    /**
+     * 補助平面の範囲が整列、併合されること。
+     */
+    @Test
+    public void testMergeRanges() {
+        CompiledCharsetDef target = new CompiledCharsetDef();
+        target.setCharsetDef(createSource());
+        int[] ranges = target.getCompiled().getRanges();
+        // U+20000-U+2A6DF, U+29E3D(範囲内), U+2A6E0-U+2A6FF(隣接), U+30000-U+3000F, U+1F600
+        assertThat(Arrays.toString(ranges), is(Arrays.toString(new int[] {
+                0x1F600, 0x1F600, 0x20000, 0x2A6FF, 0x30000, 0x3000F})));
+    }
+
+    /**
+     * 初期化されていない場合は、最初の判定時に変換されること。
+     * 変換後に変換元を変更しても判定結果に反映されないこと。
+     */
+    @Test
+    public void testCompileOnFirstUse() {
+        LiteralCharsetDef literal = new LiteralCharsetDef();
+        literal.setAllowedCharacters("abc");
+        CompiledCharsetDef target = new CompiledCharsetDef();
+        target.setCharsetDef(literal);
+        assertThat(target.contains('a'), is(true));
+        assertThat(target.contains('d'), is(false));
+
+        literal.setAllowedCharacters("d");
+        assertThat(target.contains('a'), is(true));
+        assertThat(target.contains('d'), is(false));
+
+        // 再度初期化すると反映されること
+        target.initialize();
+        assertThat(target.contains('a'), is(false));
+        assertThat(target.contains('d'), is(true));
+    }
+
+    /**
+     * 本パッケージ以外の許容文字集合定義、変換済みの許容文字集合定義を変換できること。
+     */
+    @Test
+    public void testOtherCharsetDef() {
+        CharsetDef even = new CharsetDefSupport() {
+            public boolean contains(int codePoint) {
+                return codePoint % 2 == 0;
+            }
+        };
+        CompiledCharsetDef compiledEven = new CompiledCharsetDef();
+        compiledEven.setCharsetDef(even);
+
+        LiteralCharsetDef literal = new LiteralCharsetDef();
+        literal.setAllowedCharacters("a");
+        CompiledCharsetDef target = new CompiledCharsetDef();
+        CompositeCharsetDef composite = new CompositeCharsetDef();
+        composite.setCharsetDefList(Arrays.asList(compiledEven, literal));
+        target.setCharsetDef(composite);
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint += 7) {
+            assertThat(target.contains(codePoint), is(codePoint % 2 == 0 || codePoint == 'a'));
+        }
+        assertThat(target.contains('a'), is(true));
+        assertThat(target.contains(Character.MAX_CODE_POINT - 1), is(true));
+        assertThat(target.contains(Character.MAX_CODE_POINT), is(false));
+    }
+
+    /**
+     * メッセージIDが設定されていない場合は、変換元のメッセージIDが返却されること。
+     */
+    @Test
+    public void testMessageId() {
+        LiteralCharsetDef literal = new LiteralCharsetDef();
+        literal.setAllowedCharacters("a");
+        CompiledCharsetDef target = new CompiledCharsetDef();
+        assertThat(target.getMessageId(), is(nullValue()));
+        target.setCharsetDef(literal);
+        assertThat(target.getMessageId(), is(nullValue()));
+        literal.setMessageId("source");
+        assertThat(target.getMessageId(), is("source"));
+        target.setMessageId("compiled");
+        assertThat(target.getMessageId(), is("compiled"));
+    }
+
+    /**
+     * 変換元の許容文字集合定義が設定されていない場合、例外が発生すること。
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testNotSet() {
+        new CompiledCharsetDef().initialize();
+    }
+
+    /**
+     * 入れ子になった許容文字集合定義を作成する。
+     *
+     * @return 許容文字集合定義
+     */
+    private static CompositeCharsetDef createSource() {
+        CompositeCharsetDef kanji = new CompositeCharsetDef();
+        kanji.setCharsetDefList(Arrays.asList(
+                ranged("U+20000", "U+2A6DF"),
+                ranged("U+4E00", "U+9FFF"),
+                new LiteralCharsetDef().setAllowedCharacters("𩸽々〆")));
+        CachingCharsetDef caching = new CachingCharsetDef();
+        caching.setCharsetDef(kanji);
+
+        CompositeCharsetDef root = new CompositeCharsetDef();
+        root.setCharsetDefList(Arrays.asList(
+                ranged("U+0020", "U+007E"),
+                ranged("U+30000", "U+3000F"),
+                caching,
+                ranged("U+2A6E0", "U+2A6FF"),
+                new LiteralCharsetDef().setAllowedCharacters("あいう😀")));
+        return root;
+    }
+
+    /**
+     * 範囲による許容文字集合定義を作成する。
+     *
+     * @param start 開始位置
+     * @param end 終了位置
+     * @return 許容文字集合定義
+     */
+    private static RangedCharsetDef ranged(String start, String end) {
+        RangedCharsetDef ranged = new RangedCharsetDef();
+        ranged.setStartCodePoint(start);
+        ranged.setEndCodePoint(end);
+        return ranged;
+    }
+}
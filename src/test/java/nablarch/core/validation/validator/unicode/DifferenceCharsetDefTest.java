@@ -0,0 +1,127 @@
+package nablarch.core.validation.validator.unicode;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link DifferenceCharsetDef}のテストクラス。
+ */
+public class DifferenceCharsetDefTest {
+
+    /**
+     * 元の許容文字集合定義から、除外する許容文字集合定義の文字が取り除かれること。
+     */
+    @Test
+    public void testContains() {
+        CompositeCharsetDef kanji = new CompositeCharsetDef();
+        kanji.setCharsetDefList(Arrays.asList(ranged(0x4E00, 0x9FFF), ranged(0x20000, 0x2A6DF)));
+        CompositeCharsetDef excluded = new CompositeCharsetDef();
+        excluded.setCharsetDefList(Arrays.asList(
+                new LiteralCharsetDef().setAllowedCharacters("丼鬱𩸽"), ranged(0x2A000, 0x2AFFF)));
+
+        DifferenceCharsetDef target = new DifferenceCharsetDef();
+        target.setCharsetDef(kanji);
+        target.setExcludedCharsetDef(excluded);
+        target.initialize();
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            assertThat(Integer.toHexString(codePoint), target.contains(codePoint),
+                    is(kanji.contains(codePoint) && !excluded.contains(codePoint)));
+        }
+        assertThat(Arrays.toString(target.getCompiled().getRanges()),
+                is(Arrays.toString(new int[] {0x20000, 0x29E3C, 0x29E3E, 0x29FFF})));
+        assertThat(CharsetDefValidationUtil.isValid(target, "漢字"), is(true));
+        assertThat(CharsetDefValidationUtil.isValid(target, "漢丼"), is(false));
+    }
+
+    /**
+     * 補助平面の範囲の組み合わせによらず、差集合が正しく計算されること。
+     */
+    @Test
+    public void testRandomRanges() {
+        Random random = new Random(1);
+        for (int n = 0; n < 300; n++) {
+            CompositeCharsetDef included = randomRanges(random);
+            CompositeCharsetDef excluded = randomRanges(random);
+            DifferenceCharsetDef target = new DifferenceCharsetDef();
+            target.setCharsetDef(included);
+            target.setExcludedCharsetDef(excluded);
+            for (int codePoint = 0x10000; codePoint < 0x10100; codePoint++) {
+                assertThat(n + ":" + Integer.toHexString(codePoint), target.contains(codePoint),
+                        is(included.contains(codePoint) && !excluded.contains(codePoint)));
+            }
+        }
+    }
+
+    /**
+     * 設定を変更した場合、次回の判定時に変換し直されること。
+     */
+    @Test
+    public void testReset() {
+        DifferenceCharsetDef target = new DifferenceCharsetDef();
+        target.setCharsetDef(new LiteralCharsetDef().setAllowedCharacters("abc"));
+        target.setExcludedCharsetDef(new LiteralCharsetDef().setAllowedCharacters("b"));
+        assertThat(target.contains('a'), is(true));
+        assertThat(target.contains('b'), is(false));
+        target.setExcludedCharsetDef(new LiteralCharsetDef().setAllowedCharacters("a"));
+        assertThat(target.contains('a'), is(false));
+        assertThat(target.contains('b'), is(true));
+    }
+
+    /**
+     * 元の許容文字集合定義が設定されていない場合、例外が発生すること。
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testCharsetDefNotSet() {
+        DifferenceCharsetDef target = new DifferenceCharsetDef();
+        target.setExcludedCharsetDef(new LiteralCharsetDef().setAllowedCharacters("a"));
+        target.initialize();
+    }
+
+    /**
+     * 除外する許容文字集合定義が設定されていない場合、例外が発生すること。
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testExcludedCharsetDefNotSet() {
+        DifferenceCharsetDef target = new DifferenceCharsetDef();
+        target.setCharsetDef(new LiteralCharsetDef().setAllowedCharacters("a"));
+        target.contains('a');
+    }
+
+    /**
+     * U+10000～U+100FFの範囲に、ランダムな範囲の許容文字集合定義を作成する。
+     *
+     * @param random 乱数
+     * @return 許容文字集合定義
+     */
+    static CompositeCharsetDef randomRanges(Random random) {
+        List<CharsetDef> ranges = new ArrayList<CharsetDef>();
+        for (int i = random.nextInt(6); i > 0; i--) {
+            int start = 0x10000 + random.nextInt(0x100);
+            ranges.add(ranged(start, Math.min(start + random.nextInt(0x40), 0x100FF)));
+        }
+        CompositeCharsetDef composite = new CompositeCharsetDef();
+        composite.setCharsetDefList(ranges);
+        return composite;
+    }
+
+    /**
+     * 範囲による許容文字集合定義を作成する。
+     *
+     * @param start 開始位置
+     * @param end 終了位置
+     * @return 許容文字集合定義
+     */
+    static RangedCharsetDef ranged(int start, int end) {
+        RangedCharsetDef ranged = new RangedCharsetDef();
+        ranged.setStartCodePoint(String.format("U+%04X", start));
+        ranged.setEndCodePoint(String.format("U+%04X", end));
+        return ranged;
+    }
+}
@@ -0,0 +1,278 @@
+package nablarch.core.validation.validator.unicode;
+
+import nablarch.core.ThreadContext;
+import nablarch.core.message.Message;
+import nablarch.core.message.MockStringResourceHolder;
+import nablarch.core.repository.SimpleLoader;
+import nablarch.core.repository.SystemRepository;
+import nablarch.core.repository.di.DiContainer;
+import nablarch.core.repository.di.config.xml.XmlComponentDefinitionLoader;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.Validator;
+import nablarch.core.validation.convertor.TestTarget;
+import nablarch.core.validation.creator.ReflectionFormCreator;
+import nablarch.core.validation.validator.Length;
+import nablarch.core.validation.validator.LengthUnit;
+import nablarch.core.validation.validator.LengthValidator;
+import nablarch.core.validation.validator.Required;
+import nablarch.core.validation.validator.RequiredValidator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@link FusedStringValidator}のテストクラス。
+ */
+public class FusedStringValidatorTest {
+
+    private static final String[][] MESSAGES = {
+            {"MSG00001", "ja", "{0}は必ず入力してください。", "en", "{0} is required."},
+            {"MSG00002", "ja", "{0}は{2}文字以下で入力してください。", "en", "{0} cannot be longer than {2}."},
+            {"MSG00003", "ja", "{0}は{1}文字以上{2}文字以下で入力してください。", "en", "{0} is not in the range {1} through {2}."},
+            {"MSG00004", "ja", "{0}は{1}文字で入力してください。", "en", "{0} must be {1} characters."},
+            {"MSG00005", "ja", "{0}に使用できない文字が含まれています。", "en", "{0} contains invalid characters."},
+            {"PROP0001", "ja", "プロパティ1", "en", "property1"},};
+
+    private FusedStringValidator target;
+
+    private RequiredValidator required;
+
+    private LengthValidator length;
+
+    private SystemCharValidator systemChar;
+
+    @Before
+    public void setUp() {
+        XmlComponentDefinitionLoader loader = new XmlComponentDefinitionLoader("nablarch/core/validation/convertor-test-base.xml");
+        DiContainer container = new DiContainer(loader);
+        SystemRepository.load(container);
+        container.getComponentByType(MockStringResourceHolder.class).setMessages(MESSAGES);
+
+        RangedCharsetDef ascii = new RangedCharsetDef();
+        ascii.setStartCodePoint("U+0020");
+        ascii.setEndCodePoint("U+007E");
+        new SimpleLoader().add("ascii", ascii).register();
+        RangedCharsetDef cjkExtensionB = new RangedCharsetDef();
+        cjkExtensionB.setStartCodePoint("U+20000");
+        cjkExtensionB.setEndCodePoint("U+2A6DF");
+        CompositeCharsetDef asciiAndSurrogates = new CompositeCharsetDef();
+        asciiAndSurrogates.setCharsetDefList(Arrays.<CharsetDef>asList(ascii, cjkExtensionB));
+        new SimpleLoader().add("asciiAndSurrogates", asciiAndSurrogates).register();
+
+        required = new RequiredValidator();
+        required.setMessageId("MSG00001");
+        length = new LengthValidator();
+        length.setMaxMessageId("MSG00002");
+        length.setMaxAndMinMessageId("MSG00003");
+        length.setFixLengthMessageId("MSG00004");
+        length.setCharset("UTF-8");
+        systemChar = new SystemCharValidator();
+        systemChar.setMessageId("MSG00005");
+
+        target = new FusedStringValidator();
+        target.setRequiredValidator(required);
+        target.setLengthValidator(length);
+        target.setSystemCharValidator(systemChar);
+        ThreadContext.setLanguage(Locale.JAPANESE);
+    }
+
+    public static class Form {
+        @Required
+        @Length(min = 2, max = 4)
+        @SystemChar(charsetDef = "ascii")
+        public void setRequiredLengthSystemChar(String value) {
+        }
+
+        @SystemChar(charsetDef = "ascii")
+        @Length(max = 3)
+        public void setSystemCharFirst(String value) {
+        }
+
+        @Length(max = 3, unit = LengthUnit.CODE_POINT)
+        @SystemChar(charsetDef = "asciiAndSurrogates")
+        public void setCodePoint(String value) {
+        }
+
+        @Length(min = 4, max = 4, unit = LengthUnit.BYTE)
+        @SystemChar(charsetDef = "ascii", allowLineSeparator = true)
+        public void setByte(String value) {
+        }
+
+        @Required
+        @Length(max = 3)
+        public void setRequiredLength(String value) {
+        }
+    }
+
+    private static List<Annotation> annotations(String methodName) throws Exception {
+        return Arrays.asList(Form.class.getMethod(methodName, String.class).getAnnotations());
+    }
+
+    private static ValidationContext<TestTarget> newContext() {
+        return new ValidationContext<TestTarget>("", TestTarget.class, new ReflectionFormCreator(),
+                new HashMap<String, String[]>(), "");
+    }
+
+    private Validator validatorOf(Annotation annotation) {
+        if (annotation.annotationType() == Required.class) {
+            return required;
+        } else if (annotation.annotationType() == Length.class) {
+            return length;
+        }
+        return systemChar;
+    }
+
+    /**
+     * アノテーションごとのバリデータを順に呼び出した場合と、結果およびメッセージが一致することを確認する。
+     */
+    private void assertSameAsSeparateValidators(String methodName, String value, boolean expected) throws Exception {
+        List<Annotation> annotations = annotations(methodName);
+        assertThat(target.isApplicable(annotations, value), is(true));
+
+        ValidationContext<TestTarget> separate = newContext();
+        boolean separateResult = true;
+        for (Annotation annotation : annotations) {
+            if (!validatorOf(annotation).validate(separate, "param", "PROP0001", annotation, value)) {
+                separateResult = false;
+                break;
+            }
+        }
+
+        ValidationContext<TestTarget> fused = newContext();
+        boolean fusedResult = target.validate(fused, "param", "PROP0001", annotations, value);
+
+        assertThat(methodName + ":" + value, fusedResult, is(expected));
+        assertThat(methodName + ":" + value, separateResult, is(expected));
+        assertThat(fused.getMessages().size(), is(separate.getMessages().size()));
+        for (int i = 0; i < fused.getMessages().size(); i++) {
+            assertThat(fused.getMessages().get(i).formatMessage(), is(separate.getMessages().get(i).formatMessage()));
+        }
+    }
+
+    /**
+     * 必須入力、文字列長、許容文字の各チェックが、個別のバリデータと同じ結果となること。
+     */
+    @Test
+    public void testRequiredLengthSystemChar() throws Exception {
+        assertSameAsSeparateValidators("setRequiredLengthSystemChar", "", false);
+        assertSameAsSeparateValidators("setRequiredLengthSystemChar", "a", false);
+        assertSameAsSeparateValidators("setRequiredLengthSystemChar", "abcde", false);
+        assertSameAsSeparateValidators("setRequiredLengthSystemChar", "abcdeあ", false);
+        assertSameAsSeparateValidators("setRequiredLengthSystemChar", "aあ", false);
+        assertSameAsSeparateValidators("setRequiredLengthSystemChar", "a\n", false);
+        assertSameAsSeparateValidators("setRequiredLengthSystemChar", "ab", true);
+        assertSameAsSeparateValidators("setRequiredLengthSystemChar", "abcd", true);
+
+        ValidationContext<TestTarget> context = newContext();
+        target.validate(context, "param", "PROP0001", annotations("setRequiredLengthSystemChar"), "abcde");
+        Message message = context.getMessages().get(0);
+        assertThat(message.formatMessage(), is("PROP0001は2文字以上4文字以下で入力してください。"));
+    }
+
+    /**
+     * アノテーションの設定順に評価され、最初に失敗したアノテーションのメッセージとなること。
+     */
+    @Test
+    public void testAnnotationOrder() throws Exception {
+        assertSameAsSeparateValidators("setSystemCharFirst", "", true);
+        assertSameAsSeparateValidators("setSystemCharFirst", "abcあ", false);
+        assertSameAsSeparateValidators("setSystemCharFirst", "abcd", false);
+        assertSameAsSeparateValidators("setSystemCharFirst", "abc", true);
+
+        ValidationContext<TestTarget> context = newContext();
+        target.validate(context, "param", "PROP0001", annotations("setSystemCharFirst"), "abcdあ");
+        assertThat(context.getMessages().get(0).formatMessage(), is("PROP0001に使用できない文字が含まれています。"));
+    }
+
+    /**
+     * コードポイント数で文字列長をチェックできること。
+     */
+    @Test
+    public void testCodePoint() throws Exception {
+        assertSameAsSeparateValidators("setCodePoint", "a𠀋b", false);
+        systemChar.setAllowSurrogatePair(true);
+        assertSameAsSeparateValidators("setCodePoint", "a𠀋b", true);
+        assertSameAsSeparateValidators("setCodePoint", "𠀋𠀋𠀋", true);
+        assertSameAsSeparateValidators("setCodePoint", "𠀋𠀋𠀋a", false);
+        assertSameAsSeparateValidators("setCodePoint", "ab𠀋あ", false);
+        assertSameAsSeparateValidators("setCodePoint", "abcdあ", false);
+        // 対になっていないサロゲート
+        assertSameAsSeparateValidators("setCodePoint", "\uD840a", false);
+        // 許容されない文字より後ろのサロゲートペアも文字列長に数えること
+        assertSameAsSeparateValidators("setCodePoint", "aあ𠀋𠀋𠀋", false);
+        assertSameAsSeparateValidators("setCodePoint", "あ𠀋", false);
+    }
+
+    /**
+     * バイト数で文字列長をチェックできること。
+     */
+    @Test
+    public void testByte() throws Exception {
+        assertSameAsSeparateValidators("setByte", "abcd", true);
+        assertSameAsSeparateValidators("setByte", "a\r\nb", true);
+        assertSameAsSeparateValidators("setByte", "abc", false);
+        assertSameAsSeparateValidators("setByte", "abあ", false);
+        assertSameAsSeparateValidators("setByte", "aあ", false);
+    }
+
+    /**
+     * 許容文字のチェックを含まない組み合わせでも、個別のバリデータと同じ結果となること。
+     */
+    @Test
+    public void testWithoutSystemChar() throws Exception {
+        assertSameAsSeparateValidators("setRequiredLength", "", false);
+        assertSameAsSeparateValidators("setRequiredLength", "abcd", false);
+        assertSameAsSeparateValidators("setRequiredLength", "abc", true);
+    }
+
+    /**
+     * ASCII文字の許容文字の判定は、文字ごとに最初の1回のみ許容文字集合定義に問い合わせること。
+     */
+    @Test
+    public void testAsciiLookedUpOnce() throws Exception {
+        final int[] count = {0};
+        final RangedCharsetDef ascii = new RangedCharsetDef();
+        ascii.setStartCodePoint("U+0020");
+        ascii.setEndCodePoint("U+007E");
+        new SimpleLoader().add("ascii", new CharsetDefSupport() {
+            public boolean contains(int codePoint) {
+                count[0]++;
+                return ascii.contains(codePoint);
+            }
+        }).register();
+        assertThat(target.validate(newContext(), "param", "PROP0001",
+                annotations("setRequiredLengthSystemChar"), "abab"), is(true));
+        assertThat(count[0], is(2));
+    }
+
+    /**
+     * 文字列以外の値や、対応するバリデータが設定されていないアノテーションを含む場合は適用されないこと。
+     */
+    @Test
+    public void testIsApplicable() throws Exception {
+        List<Annotation> annotations = annotations("setRequiredLengthSystemChar");
+        assertThat(target.isApplicable(annotations, null), is(false));
+        assertThat(target.isApplicable(annotations, new String[] {"a"}), is(false));
+        assertThat(target.isApplicable(new ArrayList<Annotation>(), "a"), is(false));
+
+        List<Annotation> withOther = new ArrayList<Annotation>(annotations);
+        withOther.add(Required.class.getAnnotation(Retention.class));
+        assertThat(target.isApplicable(withOther, "a"), is(false));
+
+        FusedStringValidator withoutSystemChar = new FusedStringValidator();
+        withoutSystemChar.setRequiredValidator(required);
+        withoutSystemChar.setLengthValidator(length);
+        assertThat(withoutSystemChar.isApplicable(annotations, "a"), is(false));
+        assertThat(withoutSystemChar.isApplicable(annotations("setRequiredLength"), "a"), is(true));
+    }
+}
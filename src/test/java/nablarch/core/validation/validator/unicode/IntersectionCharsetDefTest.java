@@ -0,0 +1,95 @@
+package nablarch.core.validation.validator.unicode;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import static nablarch.core.validation.validator.unicode.DifferenceCharsetDefTest.randomRanges;
+import static nablarch.core.validation.validator.unicode.DifferenceCharsetDefTest.ranged;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link IntersectionCharsetDef}のテストクラス。
+ */
+public class IntersectionCharsetDefTest {
+
+    /**
+     * 全ての許容文字集合定義に含まれる文字のみが許容されること。
+     */
+    @Test
+    public void testContains() {
+        JapaneseCharsetDef jisX0213 = new JapaneseCharsetDef();
+        jisX0213.setCharset("JIS_X_0213");
+        RangedCharsetDef unified = ranged(0x4E00, 0x9FFF);
+        RangedCharsetDef extensionB = ranged(0x20000, 0x2A6DF);
+        CompositeCharsetDef cjk = new CompositeCharsetDef();
+        cjk.setCharsetDefList(Arrays.asList(unified, extensionB));
+
+        IntersectionCharsetDef target = new IntersectionCharsetDef();
+        target.setCharsetDefList(Arrays.asList(jisX0213, cjk));
+        target.initialize();
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            assertThat(Integer.toHexString(codePoint), target.contains(codePoint),
+                    is(jisX0213.contains(codePoint) && cjk.contains(codePoint)));
+        }
+        assertThat(target.contains('漢'), is(true));
+        assertThat(target.contains('あ'), is(false));
+        assertThat(target.contains(0x2000B), is(true));
+    }
+
+    /**
+     * 補助平面の範囲の組み合わせによらず、積集合が正しく計算されること。
+     */
+    @Test
+    public void testRandomRanges() {
+        Random random = new Random(2);
+        for (int n = 0; n < 300; n++) {
+            CompositeCharsetDef first = randomRanges(random);
+            CompositeCharsetDef second = randomRanges(random);
+            CompositeCharsetDef third = randomRanges(random);
+            IntersectionCharsetDef target = new IntersectionCharsetDef();
+            target.setCharsetDefList(n % 2 == 0 ? Arrays.asList(first, second) : Arrays.asList(first, second, third));
+            for (int codePoint = 0x10000; codePoint < 0x10100; codePoint++) {
+                boolean expected = first.contains(codePoint) && second.contains(codePoint)
+                        && (n % 2 == 0 || third.contains(codePoint));
+                assertThat(n + ":" + Integer.toHexString(codePoint), target.contains(codePoint), is(expected));
+            }
+        }
+    }
+
+    /**
+     * 許容文字集合定義が1つの場合は、その許容文字集合定義と同じ判定結果となること。
+     */
+    @Test
+    public void testSingle() {
+        IntersectionCharsetDef target = new IntersectionCharsetDef();
+        target.setCharsetDefList(Collections.singletonList(new LiteralCharsetDef().setAllowedCharacters("ab")));
+        assertThat(target.contains('a'), is(true));
+        assertThat(target.contains('c'), is(false));
+    }
+
+    /**
+     * 許容文字集合定義のリストが設定されていない場合、空の場合は例外が発生すること。
+     */
+    @Test
+    public void testEmpty() {
+        IntersectionCharsetDef target = new IntersectionCharsetDef();
+        try {
+            target.initialize();
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("charsetDefList must not be empty."));
+        }
+        target.setCharsetDefList(Collections.<CharsetDef>emptyList());
+        try {
+            target.contains('a');
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("charsetDefList must not be empty."));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package nablarch.core.validation.validator.unicode;
+
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link JapaneseCharsetDef}のテストクラス。
+ */
+public class JapaneseCharsetDefTest {
+
+    /**
+     * JIS X 0208の文字集合が、JDKの{@code x-JIS0208}で符号化できる文字と一致すること。
+     */
+    @Test
+    public void testJisX0208() throws Exception {
+        JapaneseCharsetDef nonKanji = create("JIS_X_0208_NON_KANJI");
+        JapaneseCharsetDef kanji = create("JIS_X_0208_KANJI");
+        CharsetEncoder encoder = Charset.forName("x-JIS0208").newEncoder();
+        int nonKanjiCount = 0;
+        int kanjiCount = 0;
+        for (int codePoint = 0; codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT; codePoint++) {
+            int row = 0;
+            if ((codePoint < 0xD800 || codePoint > 0xDFFF) && encoder.canEncode((char) codePoint)) {
+                row = (encoder.encode(CharBuffer.wrap(new char[] {(char) codePoint})).get(0) & 0xFF) - 0x20;
+            }
+            String message = Integer.toHexString(codePoint);
+            assertThat(message, nonKanji.contains(codePoint), is(row >= 1 && row <= 8));
+            assertThat(message, kanji.contains(codePoint), is(row >= 16 && row <= 84));
+            nonKanjiCount += nonKanji.contains(codePoint) ? 1 : 0;
+            kanjiCount += kanji.contains(codePoint) ? 1 : 0;
+        }
+        assertThat(nonKanjiCount, is(524));
+        assertThat(kanjiCount, is(6355));
+        assertThat(kanji.contains(0x20B9F), is(false));
+    }
+
+    /**
+     * 各文字集合に含まれる文字、含まれない文字が正しく判定されること。
+     */
+    @Test
+    public void testContains() {
+        JapaneseCharsetDef nonKanji = create("JIS_X_0208_NON_KANJI");
+        assertThat(nonKanji.contains('あ'), is(true));
+        assertThat(nonKanji.contains('〜'), is(true));
+        assertThat(nonKanji.contains('～'), is(false));
+        assertThat(nonKanji.contains('A'), is(false));
+
+        JapaneseCharsetDef halfwidth = create("HALFWIDTH_KATAKANA");
+        assertThat(halfwidth.contains('｡'), is(true));
+        assertThat(halfwidth.contains('ｱ'), is(true));
+        assertThat(halfwidth.contains('ﾟ'), is(true));
+        assertThat(halfwidth.contains('ア'), is(false));
+        assertThat(halfwidth.contains(0xFFA0), is(false));
+
+        JapaneseCharsetDef extension = create("WINDOWS_31J_EXTENSION");
+        assertThat(extension.contains('①'), is(true));
+        assertThat(extension.contains('㈱'), is(true));
+        assertThat(extension.contains('髙'), is(true));
+        assertThat(extension.contains('ⅰ'), is(true));
+        // JIS X 0208にも含まれる文字は含まない
+        assertThat(extension.contains('∵'), is(false));
+        assertThat(extension.contains('高'), is(false));
+        // JIS X 0208の文字のうち、Windows-31Jで異なるUnicodeに対応付けられる文字は含む
+        assertThat(extension.contains('～'), is(true));
+        assertThat(extension.contains('－'), is(true));
+        assertThat(extension.contains('〜'), is(false));
+        assertThat(extension.contains('−'), is(false));
+
+        JapaneseCharsetDef jisX0213 = create("JIS_X_0213");
+        assertThat(jisX0213.contains('高'), is(true));
+        assertThat(jisX0213.contains('①'), is(true));
+        assertThat(jisX0213.contains(0x2000B), is(true));
+        assertThat(jisX0213.contains(0x20000), is(false));
+        assertThat(jisX0213.contains(-1), is(false));
+        assertThat(jisX0213.contains(Character.MAX_CODE_POINT + 1), is(false));
+    }
+
+    /**
+     * JIS X 0208の文字集合とWindows-31Jの拡張文字を組み合わせた文字集合は、
+     * JDKの{@code windows-31j}で往復変換できる2バイト文字(利用者定義文字を除く)に、
+     * 往復変換できないJIS X 0208の7文字を加えたものと一致すること。
+     * また、{@link DifferenceCharsetDef}でその7文字を除外した文字集合は、往復変換できる2バイト文字と一致すること。
+     */
+    @Test
+    public void testWindows31j() throws Exception {
+        JapaneseCharsetDef nonKanji = create("JIS_X_0208_NON_KANJI");
+        JapaneseCharsetDef kanji = create("JIS_X_0208_KANJI");
+        JapaneseCharsetDef extension = create("WINDOWS_31J_EXTENSION");
+        CompositeCharsetDef combined = new CompositeCharsetDef();
+        combined.setCharsetDefList(Arrays.asList(nonKanji, kanji, extension));
+        LiteralCharsetDef notRoundTrip = new LiteralCharsetDef()
+                .setAllowedCharacters("\u00A2\u00A3\u00AC\u2014\u2016\u2212\u301C");
+        DifferenceCharsetDef roundTripOnly = new DifferenceCharsetDef();
+        roundTripOnly.setCharsetDef(combined);
+        roundTripOnly.setExcludedCharsetDef(notRoundTrip);
+
+        Charset windows31j = Charset.forName("windows-31j");
+        CharsetEncoder encoder = windows31j.newEncoder();
+        int extensionCount = 0;
+        for (int codePoint = 0; codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT; codePoint++) {
+            boolean roundTrip = false;
+            if ((codePoint < 0xD800 || codePoint > 0xDFFF) && encoder.canEncode((char) codePoint)) {
+                byte[] bytes = String.valueOf((char) codePoint).getBytes(windows31j.name());
+                int lead = bytes[0] & 0xFF;
+                roundTrip = bytes.length == 2 && (lead < 0xF0 || lead > 0xF9)
+                        && new String(bytes, windows31j.name()).equals(String.valueOf((char) codePoint));
+            }
+            String message = Integer.toHexString(codePoint);
+            assertThat(message, combined.contains(codePoint), is(roundTrip || notRoundTrip.contains(codePoint)));
+            assertThat(message, roundTripOnly.contains(codePoint), is(roundTrip));
+            if (extension.contains(codePoint)) {
+                assertThat(message, nonKanji.contains(codePoint) || kanji.contains(codePoint), is(false));
+                extensionCount++;
+            }
+        }
+        assertThat(extensionCount, is(454));
+        // WAVE DASHは組み合わせた文字集合には含まれ、除外後の文字集合には含まれないこと
+        assertThat(combined.contains('〜'), is(true));
+        assertThat(roundTripOnly.contains('〜'), is(false));
+        assertThat(roundTripOnly.contains('～'), is(true));
+    }
+
+    /**
+     * JIS X 0213の文字集合が、JIS X 0208の文字を全て含むこと。
+     */
+    @Test
+    public void testJisX0213ContainsJisX0208() {
+        JapaneseCharsetDef jisX0213 = create("JIS_X_0213");
+        JapaneseCharsetDef nonKanji = create("JIS_X_0208_NON_KANJI");
+        JapaneseCharsetDef kanji = create("JIS_X_0208_KANJI");
+        for (int codePoint = 0; codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT; codePoint++) {
+            if (nonKanji.contains(codePoint) || kanji.contains(codePoint)) {
+                assertThat(Integer.toHexString(codePoint), jisX0213.contains(codePoint), is(true));
+            }
+        }
+    }
+
+    /**
+     * 同じ文字集合の表は、全てのインスタンスで共有されること。
+     */
+    @Test
+    public void testShared() {
+        JapaneseCharsetDef first = create("JIS_X_0208_KANJI");
+        JapaneseCharsetDef second = create("JIS_X_0208_KANJI");
+        assertThat(first.getCharset().getTable(), is(sameInstance(second.getCharset().getTable())));
+    }
+
+    /**
+     * {@link CompiledCharsetDef}で他の許容文字集合定義と組み合わせられること。
+     */
+    @Test
+    public void testCompile() {
+        CompositeCharsetDef composite = new CompositeCharsetDef();
+        composite.setCharsetDefList(Arrays.asList(create("JIS_X_0208_KANJI"), create("HALFWIDTH_KATAKANA")));
+        CompiledCharsetDef target = new CompiledCharsetDef();
+        target.setCharsetDef(composite);
+        assertThat(target.contains('亜'), is(true));
+        assertThat(target.contains('ｱ'), is(true));
+        assertThat(target.contains('あ'), is(false));
+    }
+
+    /**
+     * 文字集合の名称が不正な場合、例外が発生すること。
+     */
+    @Test
+    public void testUnknownCharset() {
+        try {
+            new JapaneseCharsetDef().setCharset("JIS_X_0212");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("unknown Japanese charset was specified. charset = [JIS_X_0212]"));
+        }
+    }
+
+    /**
+     * 文字集合が設定されていない場合、例外が発生すること。
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testNotSet() {
+        new JapaneseCharsetDef().contains('a');
+    }
+
+    /**
+     * 許容文字集合定義を作成する。
+     *
+     * @param charset 文字集合の名称
+     * @return 許容文字集合定義
+     */
+    private static JapaneseCharsetDef create(String charset) {
+        JapaneseCharsetDef charsetDef = new JapaneseCharsetDef();
+        charsetDef.setCharset(charset);
+        return charsetDef;
+    }
+}
@@ -0,0 +1,179 @@
+package nablarch.core.validation.validator.unicode;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link MappedCharsetDef}のテストクラス。
+ */
+public class MappedCharsetDefTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * 表のファイルを読み込み、出力元の許容文字集合定義と全てのコードポイントについて同じ判定結果となること。
+     */
+    @Test
+    public void testContainsSameAsSource() throws Exception {
+        CompositeCharsetDef source = createSource();
+        File file = folder.newFile("charset.tbl");
+        CharsetTableGenerator.generate(source, file);
+
+        MappedCharsetDef target = new MappedCharsetDef();
+        target.setTablePath(file.toURI().toString());
+        target.initialize();
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            assertThat(Integer.toHexString(codePoint), target.contains(codePoint), is(source.contains(codePoint)));
+        }
+        assertThat(target.contains(-1), is(false));
+        assertThat(target.contains(Character.MAX_CODE_POINT + 1), is(false));
+    }
+
+    /**
+     * ファイルシステム上に存在しない表(JARファイル内のリソース)を読み込めること。
+     * 初期化されていない場合は、最初の判定時に読み込まれること。
+     */
+    @Test
+    public void testLoadFromJar() throws Exception {
+        File table = folder.newFile("charset.tbl");
+        CharsetTableGenerator.generate(createSource(), table);
+        File jar = folder.newFile("charset.jar");
+        JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            out.putNextEntry(new ZipEntry("charset.tbl"));
+            FileInputStream in = new FileInputStream(table);
+            try {
+                byte[] buf = new byte[1024];
+                for (int n; (n = in.read(buf)) != -1;) {
+                    out.write(buf, 0, n);
+                }
+            } finally {
+                in.close();
+            }
+            out.closeEntry();
+        } finally {
+            out.close();
+        }
+
+        MappedCharsetDef target = new MappedCharsetDef();
+        target.setTablePath("jar:" + jar.toURI() + "!/charset.tbl");
+        assertThat(target.contains('A'), is(true));
+        assertThat(target.contains('a'), is(false));
+        assertThat(target.contains(0x20B9F), is(true));
+        assertThat(target.contains(0x2A6E0), is(false));
+    }
+
+    /**
+     * {@link CompiledCharsetDef}の変換元として使用できること。
+     */
+    @Test
+    public void testCompile() throws Exception {
+        File file = folder.newFile("charset.tbl");
+        CharsetTableGenerator.generate(createSource(), file);
+        MappedCharsetDef mapped = new MappedCharsetDef();
+        mapped.setTablePath(file.toURI().toString());
+        LiteralCharsetDef literal = new LiteralCharsetDef();
+        literal.setAllowedCharacters("a");
+        CompositeCharsetDef composite = new CompositeCharsetDef();
+        composite.setCharsetDefList(Arrays.asList(mapped, literal));
+
+        CompiledCharsetDef target = new CompiledCharsetDef();
+        target.setCharsetDef(composite);
+        assertThat(target.contains('A'), is(true));
+        assertThat(target.contains('a'), is(true));
+        assertThat(target.contains('b'), is(false));
+        assertThat(target.contains(0x20B9F), is(true));
+    }
+
+    /**
+     * 表の形式が不正な場合、例外が発生すること。
+     */
+    @Test
+    public void testInvalidFormat() throws Exception {
+        File file = folder.newFile("charset.tbl");
+        CharsetTableGenerator.generate(createSource(), file);
+        // 末尾に余分なデータを追加する
+        FileOutputStream out = new FileOutputStream(file, true);
+        try {
+            out.write(0);
+        } finally {
+            out.close();
+        }
+        assertInvalid(file);
+
+        out = new FileOutputStream(file);
+        try {
+            out.write("not a charset table".getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+        assertInvalid(file);
+    }
+
+    /**
+     * 表が存在しない場合、例外が発生すること。
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotFound() {
+        MappedCharsetDef target = new MappedCharsetDef();
+        target.setTablePath("classpath:nablarch/core/validation/validator/unicode/notFound.tbl");
+        target.initialize();
+    }
+
+    /**
+     * 表のパスが設定されていない場合、例外が発生すること。
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testNotSet() {
+        new MappedCharsetDef().contains('a');
+    }
+
+    /**
+     * 表の形式が不正であることを表す例外が発生することを確認する。
+     *
+     * @param file 表のファイル
+     * @throws IOException 想定外の例外
+     */
+    private static void assertInvalid(File file) throws IOException {
+        MappedCharsetDef target = new MappedCharsetDef();
+        target.setTablePath(file.toURI().toString());
+        try {
+            target.initialize();
+            fail();
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("invalid charset table format. path = [" + file.toURI() + "]"));
+        }
+    }
+
+    /**
+     * 出力元の許容文字集合定義を作成する。
+     *
+     * @return 許容文字集合定義
+     */
+    private static CompositeCharsetDef createSource() {
+        RangedCharsetDef ascii = new RangedCharsetDef();
+        ascii.setStartCodePoint("U+0041");
+        ascii.setEndCodePoint("U+005A");
+        RangedCharsetDef kanji = new RangedCharsetDef();
+        kanji.setStartCodePoint("U+20000");
+        kanji.setEndCodePoint("U+2A6DF");
+        CompositeCharsetDef source = new CompositeCharsetDef();
+        source.setCharsetDefList(Arrays.asList(ascii, kanji,
+                new LiteralCharsetDef().setAllowedCharacters("あ😀￿")));
+        return source;
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.Test;
 import org.junit.rules.TestName;
 
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * @author T.Kawasaki
@@ -29,10 +30,11 @@ public class PerformanceTest {
 
     private static test.core.validation.validator.unicode.BlockNameCharsetDef tenBlocks = new test.core.validation.validator.unicode.BlockNameCharsetDef();
 
+    private static UnicodeBlockCharsetDef unicodeBlocks = new UnicodeBlockCharsetDef();
+
     @BeforeClass
     public static void setUp() {
-        tenBlocks.setBlockNames(
-                Arrays.asList(
+        List<String> blockNames = Arrays.asList(
                         "AEGEAN_NUMBERS",
                         "ALPHABETIC_PRESENTATION_FORMS",
                         "ARABIC",
@@ -155,8 +157,10 @@ public class PerformanceTest {
                         "YI_SYLLABLES",
                         "YIJING_HEXAGRAM_SYMBOLS",
                         "HALFWIDTH_AND_FULLWIDTH_FORMS"
-                )
-        );
+                );
+        tenBlocks.setBlockNames(blockNames);
+        unicodeBlocks.setBlockNames(blockNames);
+        unicodeBlocks.initialize();
     }
 
 
@@ -188,6 +192,11 @@ public class PerformanceTest {
         go(cache, halfKana, LOOP_CNT);
     }
 
+    @Test
+    public void UnicodeBlockCharsetDefで最後のブロックに合致する() {
+        go(unicodeBlocks, halfKana, LOOP_CNT);
+    }
+
     @Test
     public void RangedNameCharsetDef一つで合致するパターンリポジトリ登録なし() {
         RangedCharsetDef def = new RangedCharsetDef();
@@ -8,10 +8,12 @@ import org.junit.Test;
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 /**
  * {@link SystemCharValidator}のテストクラス。
@@ -218,6 +220,111 @@ public class SystemCharValidatorTest {
         assertThat(annotation.messageId(), is("b"));
     }
 
+    /**
+     * {@link SystemCharValidator#createAnnotation(java.util.Map)}で生成したアノテーションは、
+     * 最初に取得した許容文字集合定義を保持し、初期化されるまでリポジトリを参照しないこと。
+     */
+    @Test
+    public void testBoundCharsetDef() {
+        register("bound", asciiWoCC);
+        SystemChar annotation = target.createAnnotation(new HashMap<String, Object>() {{
+            put("charsetDef", "bound");
+        }});
+        assertThat(target.isValid(annotation, "ABC"), is(true));
+        assertThat(target.isValid(annotation, "アイウ"), is(false));
+
+        // リポジトリの定義を置き換えても、保持した許容文字集合定義が使用されること
+        LiteralCharsetDef katakana = new LiteralCharsetDef();
+        katakana.setAllowedCharacters("アイウ");
+        katakana.setMessageId("KATAKANA");
+        register("bound", katakana);
+        assertThat(target.isValid(annotation, "ABC"), is(true));
+        assertThat(target.getMessageIdFromAnnotation(annotation), is(nullValue()));
+
+        // 別のバリデータから使用された場合は、リポジトリから取得し直すこと
+        SystemCharValidator other = new SystemCharValidator();
+        assertThat(other.isValid(annotation, "ABC"), is(false));
+        assertThat(other.isValid(annotation, "アイウ"), is(true));
+
+        // 初期化された場合は、リポジトリから取得し直すこと
+        target.initialize();
+        assertThat(target.isValid(annotation, "ABC"), is(false));
+        assertThat(target.isValid(annotation, "アイウ"), is(true));
+        assertThat(target.getMessageIdFromAnnotation(annotation), is("KATAKANA"));
+
+        // 取得し直した定義がリポジトリに登録されていない場合は、例外が発生すること
+        target.initialize();
+        SystemChar notRegistered = target.createAnnotation(new HashMap<String, Object>() {{
+            put("charsetDef", "notRegistered");
+        }});
+        try {
+            target.isValid(notRegistered, "ABC");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString("name=[notRegistered]"));
+        }
+    }
+
+    /**
+     * 許容文字集合定義の表が設定された場合、表に登録された名称は表から取得した許容文字集合定義で判定すること。
+     */
+    @Test
+    public void testCharsetDefTable() {
+        LiteralCharsetDef katakana = new LiteralCharsetDef();
+        katakana.setAllowedCharacters("アイウ");
+        katakana.setMessageId("KATAKANA");
+        Map<String, CharsetDef> charsetDefs = new HashMap<String, CharsetDef>();
+        charsetDefs.put("tableAscii", asciiWoCC);
+        charsetDefs.put("tableKatakana", katakana);
+        CharsetDefTable table = new CharsetDefTable();
+        table.setCharsetDefs(charsetDefs);
+        target.setCharsetDefTable(table);
+
+        SystemChar ascii = target.createAnnotation(new HashMap<String, Object>() {{
+            put("charsetDef", "tableAscii");
+        }});
+        SystemChar katakanaOnly = target.createAnnotation(new HashMap<String, Object>() {{
+            put("charsetDef", "tableKatakana");
+        }});
+        assertThat(target.getCharsetDefFrom(ascii), is(instanceOf(CharsetDefTable.Member.class)));
+        assertThat(target.isValid(ascii, "ABC"), is(true));
+        assertThat(target.isValid(ascii, "アイウ"), is(false));
+        assertThat(target.isValid(katakanaOnly, "アイウ"), is(true));
+        assertThat(target.isValid(katakanaOnly, "ABC"), is(false));
+        assertThat(target.getMessageIdFromAnnotation(katakanaOnly), is("KATAKANA"));
+        // アノテーションを直接使用した場合も表から取得すること
+        assertThat(target.isValid(get("tableKatakana", false), "アイウ"), is(true));
+
+        // 表に登録されていない名称は、リポジトリから取得すること
+        register("notInTable", katakana);
+        SystemChar notInTable = target.createAnnotation(new HashMap<String, Object>() {{
+            put("charsetDef", "notInTable");
+        }});
+        assertThat(target.isValid(notInTable, "アイウ"), is(true));
+        assertThat(target.isValid(notInTable, "ABC"), is(false));
+    }
+
+    /**
+     * バリデータ、デフォルトの許容文字集合定義および許容文字集合定義の表に設定されたメッセージIDが取得できること。
+     */
+    @Test
+    public void testGetMessageIds() {
+        target.setMessageId("MSG90001");
+        assertThat(target.getMessageIds(), is(Arrays.asList("MSG90001")));
+
+        LiteralCharsetDef defaultDef = new LiteralCharsetDef();
+        defaultDef.setMessageId("DEFAULT");
+        target.setDefaultCharsetDef(defaultDef);
+        LiteralCharsetDef katakana = new LiteralCharsetDef();
+        katakana.setMessageId("KATAKANA");
+        Map<String, CharsetDef> charsetDefs = new HashMap<String, CharsetDef>();
+        charsetDefs.put("tableKatakana", katakana);
+        CharsetDefTable table = new CharsetDefTable();
+        table.setCharsetDefs(charsetDefs);
+        target.setCharsetDefTable(table);
+        assertThat(target.getMessageIds(), is(Arrays.asList("MSG90001", "DEFAULT", "KATAKANA")));
+    }
+
     /**
      * 許容文字集合定義をシステムリポジトリに登録する。
      *
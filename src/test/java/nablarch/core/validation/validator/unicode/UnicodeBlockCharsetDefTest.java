@@ -0,0 +1,72 @@
+package nablarch.core.validation.validator.unicode;
+
+import org.junit.Test;
+
+import java.lang.Character.UnicodeBlock;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link UnicodeBlockCharsetDef}のテストクラス。
+ */
+public class UnicodeBlockCharsetDefTest {
+
+    /**
+     * 全てのコードポイントについて、{@link UnicodeBlock#of(int)}と同じ判定結果となること。
+     */
+    @Test
+    public void testContains() {
+        UnicodeBlockCharsetDef target = new UnicodeBlockCharsetDef();
+        target.setBlockNames(Arrays.asList("HIRAGANA", "Katakana", "CJK Unified Ideographs",
+                "CJK_UNIFIED_IDEOGRAPHS_EXTENSION_B", "BASIC_LATIN"));
+        target.initialize();
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            UnicodeBlock block = UnicodeBlock.of(codePoint);
+            boolean expected = block == UnicodeBlock.HIRAGANA
+                    || block == UnicodeBlock.KATAKANA
+                    || block == UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS
+                    || block == UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS_EXTENSION_B
+                    || block == UnicodeBlock.BASIC_LATIN;
+            assertThat(Integer.toHexString(codePoint), target.contains(codePoint), is(expected));
+        }
+        assertThat(CharsetDefValidationUtil.isValid(target, "abcあア漢𩸽", false, true), is(true));
+        assertThat(CharsetDefValidationUtil.isValid(target, "ｱ"), is(false));
+    }
+
+    /**
+     * 設定を変更した場合、次回の判定時に変換し直されること。
+     */
+    @Test
+    public void testReset() {
+        UnicodeBlockCharsetDef target = new UnicodeBlockCharsetDef();
+        target.setBlockNames(Arrays.asList("HIRAGANA"));
+        assertThat(target.contains('あ'), is(true));
+        target.setBlockNames(Arrays.asList("KATAKANA"));
+        assertThat(target.contains('あ'), is(false));
+        assertThat(target.contains('ア'), is(true));
+    }
+
+    /**
+     * 不正なブロック名称が指定された場合、例外が発生すること。
+     */
+    @Test
+    public void testInvalidBlockName() {
+        try {
+            new UnicodeBlockCharsetDef().setBlockNames(Arrays.asList("HIRAGANA", "HIRAKANA"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("specified unicode block name was invalid. name=[HIRAKANA]"));
+        }
+    }
+
+    /**
+     * ブロック名称一覧が設定されていない場合、例外が発生すること。
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testNotSet() {
+        new UnicodeBlockCharsetDef().contains('a');
+    }
+}
@@ -0,0 +1,101 @@
+package nablarch.core.validation.validator.unicode;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link UnicodeCategoryCharsetDef}のテストクラス。
+ */
+public class UnicodeCategoryCharsetDefTest {
+
+    /**
+     * 全てのコードポイントについて、{@link Character#getType(int)}と同じ判定結果となること。
+     * 大分類を指定した場合は、その大分類に属する全てのカテゴリが許容されること。
+     */
+    @Test
+    public void testContains() {
+        UnicodeCategoryCharsetDef target = new UnicodeCategoryCharsetDef();
+        target.setCategories(Arrays.asList("L", "Nd", "Zs"));
+        target.initialize();
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            int type = Character.getType(codePoint);
+            boolean expected = type == Character.UPPERCASE_LETTER
+                    || type == Character.LOWERCASE_LETTER
+                    || type == Character.TITLECASE_LETTER
+                    || type == Character.MODIFIER_LETTER
+                    || type == Character.OTHER_LETTER
+                    || type == Character.DECIMAL_DIGIT_NUMBER
+                    || type == Character.SPACE_SEPARATOR;
+            assertThat(Integer.toHexString(codePoint), target.contains(codePoint), is(expected));
+        }
+        assertThat(CharsetDefValidationUtil.isValid(target, "Abc 123 あア漢　"), is(true));
+        assertThat(CharsetDefValidationUtil.isValid(target, "Abc-123"), is(false));
+    }
+
+    /**
+     * 各カテゴリの略称で指定できること。
+     */
+    @Test
+    public void testCategoryNames() {
+        assertCategory("Lu", 'A', 'a');
+        assertCategory("Ll", 'a', 'A');
+        assertCategory("Nd", '1', 'A');
+        assertCategory("No", '①', '1');
+        assertCategory("Pd", '-', '_');
+        assertCategory("Pc", '_', '-');
+        assertCategory("Ps", '(', ')');
+        assertCategory("Pe", ')', '(');
+        assertCategory("Sc", '$', '%');
+        assertCategory("Sm", '+', '-');
+        assertCategory("Cc", '\n', ' ');
+        assertCategory("Zs", '　', '\t');
+        assertCategory("Co", 0xE000, 'a');
+        assertCategory("Cs", 0xD800, 'a');
+        assertCategory("Cn", 0x0378, 'a');
+        assertCategory("P", '!', 'a');
+        assertCategory("S", '+', 'a');
+    }
+
+    /**
+     * 不正な略称が指定された場合、例外が発生すること。
+     */
+    @Test
+    public void testInvalidCategory() {
+        for (String invalid : new String[] {"Lx", "X", "LU", "", "Letter"}) {
+            try {
+                new UnicodeCategoryCharsetDef().setCategories(Arrays.asList("Lu", invalid));
+                fail(invalid);
+            } catch (IllegalArgumentException e) {
+                assertThat(e.getMessage(), is("specified unicode general category was invalid. name=[" + invalid + "]"));
+            }
+        }
+    }
+
+    /**
+     * 略称の一覧が設定されていない場合、例外が発生すること。
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testNotSet() {
+        new UnicodeCategoryCharsetDef().initialize();
+    }
+
+    /**
+     * 指定したカテゴリのみを許容する許容文字集合定義の判定結果を確認する。
+     *
+     * @param category カテゴリの略称
+     * @param included 許容されるコードポイント
+     * @param excluded 許容されないコードポイント
+     */
+    private static void assertCategory(String category, int included, int excluded) {
+        UnicodeCategoryCharsetDef target = new UnicodeCategoryCharsetDef();
+        target.setCategories(Collections.singletonList(category));
+        assertThat(category, target.contains(included), is(true));
+        assertThat(category, target.contains(excluded), is(false));
+    }
+}